@@ -1,6 +1,8 @@
 
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 
+DROP TABLE IF EXISTS product_escrow_slots CASCADE;
+DROP TABLE IF EXISTS stock_reservations CASCADE;
 DROP TABLE IF EXISTS inventory_events CASCADE;
 DROP TABLE IF EXISTS products CASCADE;
 
@@ -11,6 +13,7 @@ CREATE TABLE products (
     name VARCHAR(255) NOT NULL,
     quantity INTEGER NOT NULL DEFAULT 0,
     reserved_quantity INTEGER NOT NULL DEFAULT 0,
+    escrow_slots INTEGER NOT NULL DEFAULT 0,
     min_stock_level INTEGER NOT NULL DEFAULT 10,
     max_stock_level INTEGER NOT NULL DEFAULT 1000,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
@@ -26,6 +29,7 @@ CREATE INDEX idx_products_store_id ON products(store_id);
 CREATE INDEX idx_products_product_id ON products(product_id);
 CREATE INDEX idx_products_store_product ON products(store_id, product_id);
 CREATE INDEX idx_products_last_updated ON products(last_updated);
+CREATE INDEX idx_products_escrowed ON products(store_id, product_id) WHERE escrow_slots > 0;
 
 CREATE TABLE inventory_events (
     id BIGSERIAL PRIMARY KEY,
@@ -48,6 +52,46 @@ CREATE INDEX idx_events_store_id ON inventory_events(store_id);
 CREATE INDEX idx_events_product_id ON inventory_events(product_id);
 CREATE INDEX idx_events_status ON inventory_events(status);
 CREATE INDEX idx_events_timestamp ON inventory_events(timestamp);
+CREATE INDEX idx_events_unpublished ON inventory_events(id) WHERE processed_at IS NULL;
+
+CREATE TABLE stock_reservations (
+    id BIGSERIAL PRIMARY KEY,
+    reservation_id VARCHAR(100) NOT NULL UNIQUE,
+    store_id VARCHAR(50) NOT NULL,
+    product_id VARCHAR(50) NOT NULL,
+    quantity INTEGER NOT NULL,
+    status VARCHAR(50) NOT NULL DEFAULT 'HELD',
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+
+    CONSTRAINT stock_reservations_quantity_check CHECK (quantity > 0)
+);
+
+CREATE INDEX idx_reservations_status_expires ON stock_reservations(status, expires_at);
+
+CREATE TABLE product_escrow_slots (
+    store_id VARCHAR(50) NOT NULL,
+    product_id VARCHAR(50) NOT NULL,
+    slot INTEGER NOT NULL,
+    quantity INTEGER NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (store_id, product_id, slot),
+    CONSTRAINT product_escrow_slots_quantity_check CHECK (quantity >= 0)
+);
+
+CREATE TABLE product_bundles (
+    bundle_id VARCHAR(50) NOT NULL,
+    component_id VARCHAR(50) NOT NULL,
+    quantity INTEGER NOT NULL,
+
+    PRIMARY KEY (bundle_id, component_id),
+    CONSTRAINT product_bundles_quantity_check CHECK (quantity > 0)
+);
+
+INSERT INTO product_bundles (bundle_id, component_id, quantity) VALUES
+    ('KIT_0001', 'PROD_0001', 2),
+    ('KIT_0001', 'PROD_0002', 1);
 
 
 DO $$
@@ -82,6 +126,12 @@ BEGIN
 END $$;
 
 
+-- JPA allocates ids in blocks of 50 (pooled optimizer); see migrations/001_pooled_sequence_ids.sql
+ALTER SEQUENCE products_id_seq INCREMENT BY 50;
+ALTER SEQUENCE inventory_events_id_seq INCREMENT BY 50;
+ALTER SEQUENCE stock_reservations_id_seq INCREMENT BY 50;
+
+
 CREATE OR REPLACE FUNCTION update_last_updated_column()
 RETURNS TRIGGER AS $$
 BEGIN
@@ -0,0 +1,17 @@
+-- Pooled sequence ids for products and inventory_events.
+--
+-- The entities now use GenerationType.SEQUENCE with allocationSize = 50. Hibernate calls nextval once
+-- per 50 rows and hands out (value - 49 .. value) itself, so the sequences must step by 50.
+-- Hibernate checks the increment at startup and refuses to boot on a mismatch.
+--
+-- Run once against existing databases before rolling out the new build. Fresh databases get this
+-- from init.sql. No setval is needed: the next value is at least max(id) + 50, so the first pooled
+-- block starts above every existing id. Instances still on IDENTITY and raw inserts using the column
+-- default keep working; each of their rows just takes the top of its own block.
+
+BEGIN;
+
+ALTER SEQUENCE products_id_seq INCREMENT BY 50;
+ALTER SEQUENCE inventory_events_id_seq INCREMENT BY 50;
+
+COMMIT;
@@ -0,0 +1,13 @@
+-- Outbox relay for inventory_events.
+--
+-- Rows with processed_at IS NULL are unpublished. Relay workers claim them in id order with
+-- FOR UPDATE SKIP LOCKED and stamp processed_at once the sink has accepted the batch. The partial
+-- index keeps that claim cheap however large the history grows.
+--
+-- Existing events are stamped as processed so that turning the relay on does not replay the whole
+-- history. Drop the UPDATE if the history should be published.
+
+UPDATE inventory_events SET processed_at = timestamp WHERE processed_at IS NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_events_unpublished
+    ON inventory_events(id) WHERE processed_at IS NULL;
@@ -0,0 +1,14 @@
+-- Bill of materials for kit / bundle SKUs.
+--
+-- A checkout line for bundle_id is expanded into quantity units of every component_id and the
+-- components are what get locked and decremented; bundles hold no stock of their own. Components
+-- are plain SKUs (bundles do not nest). The table is global: a kit has the same recipe in every store.
+
+CREATE TABLE IF NOT EXISTS product_bundles (
+    bundle_id VARCHAR(50) NOT NULL,
+    component_id VARCHAR(50) NOT NULL,
+    quantity INTEGER NOT NULL,
+
+    PRIMARY KEY (bundle_id, component_id),
+    CONSTRAINT product_bundles_quantity_check CHECK (quantity > 0)
+);
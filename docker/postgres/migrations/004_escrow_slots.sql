@@ -0,0 +1,24 @@
+-- Escrow slots for hot SKUs.
+--
+-- A SKU selling faster than inventory.escrow.split-rate has its available stock moved into
+-- product_escrow_slots rows, so concurrent sales lock different rows; products.escrow_slots records how
+-- many slots it has (0 = not split). Product maps the column and the app boots with ddl-auto=validate,
+-- so existing databases need this before rolling out the build. Fresh databases get it from init.sql.
+--
+-- Adding a column with a constant default does not rewrite the table. The partial index is built
+-- CONCURRENTLY, so run this file outside a transaction block.
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS escrow_slots INTEGER NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS product_escrow_slots (
+    store_id VARCHAR(50) NOT NULL,
+    product_id VARCHAR(50) NOT NULL,
+    slot INTEGER NOT NULL,
+    quantity INTEGER NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (store_id, product_id, slot),
+    CONSTRAINT product_escrow_slots_quantity_check CHECK (quantity >= 0)
+);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_escrowed
+    ON products(store_id, product_id) WHERE escrow_slots > 0;
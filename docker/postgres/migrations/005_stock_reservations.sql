@@ -0,0 +1,28 @@
+-- Stock reservations.
+--
+-- A reservation holds quantity in products.reserved_quantity until it is confirmed (sold), released, or
+-- expires; stock_reservations records each hold. The sweeper claims expired HELD rows by
+-- (status, expires_at), which the index serves. Fresh databases get this from init.sql; existing ones
+-- need it before rolling out the reservation API.
+--
+-- Ids come from the pooled optimizer like products and inventory_events (see 001_pooled_sequence_ids.sql),
+-- so the sequence steps by 50. Running this file again on a database that already has the table only
+-- applies the ALTER.
+
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    id BIGSERIAL PRIMARY KEY,
+    reservation_id VARCHAR(100) NOT NULL UNIQUE,
+    store_id VARCHAR(50) NOT NULL,
+    product_id VARCHAR(50) NOT NULL,
+    quantity INTEGER NOT NULL,
+    status VARCHAR(50) NOT NULL DEFAULT 'HELD',
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+
+    CONSTRAINT stock_reservations_quantity_check CHECK (quantity > 0)
+);
+
+CREATE INDEX IF NOT EXISTS idx_reservations_status_expires ON stock_reservations(status, expires_at);
+
+ALTER SEQUENCE stock_reservations_id_seq INCREMENT BY 50;
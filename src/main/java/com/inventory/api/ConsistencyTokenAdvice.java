@@ -0,0 +1,47 @@
+package com.inventory.api;
+
+import com.inventory.config.ReadConsistency;
+import com.inventory.config.ReplicaLsnTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Set;
+
+// Write responses carry the primary's WAL position once the write has committed; presenting it on a later
+// read keeps that read off any replica that has not replayed this far
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class ConsistencyTokenAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final Set<HttpMethod> WRITES =
+            Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+    // POST only because the key list is too long for a query string; reading it writes nothing
+    private static final Set<String> READ_ONLY_PATHS = Set.of("/api/v1/inventory/multi-get");
+
+    private final ReplicaLsnTracker replicaLsnTracker;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (WRITES.contains(request.getMethod()) && !READ_ONLY_PATHS.contains(request.getURI().getPath())) {
+            String token = replicaLsnTracker.issueToken();
+            if (token != null) {
+                response.getHeaders().set(ReadConsistency.HEADER, token);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,34 @@
+package com.inventory.api;
+
+import com.inventory.config.ReadConsistency;
+import com.inventory.config.ReplicaLsnTracker;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Slf4j
+public class ConsistencyTokenInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadConsistency.clear();
+        String token = request.getHeader(ReadConsistency.HEADER);
+        if (token == null || token.isBlank()) {
+            return true;
+        }
+        try {
+            ReadConsistency.require(ReplicaLsnTracker.parse(token.trim()));
+        } catch (IllegalArgumentException e) {
+            // A token we cannot read only costs the guarantee, not the request
+            log.debug("Ignoring malformed consistency token: {}", token);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        ReadConsistency.clear();
+    }
+}
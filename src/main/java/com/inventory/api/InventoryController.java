@@ -1,10 +1,15 @@
 package com.inventory.api;
 
 import com.inventory.api.InventoryDTOs.*;
+import com.inventory.service.CheckoutService;
 import com.inventory.service.InventoryService;
+import com.inventory.service.SyncStreamProcessor;
+import com.inventory.service.TransferService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,14 +17,21 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/v1/inventory")
 @RequiredArgsConstructor
 @Slf4j
 @Tag(name = "Inventory Management", description = "APIs for distributed inventory management")
 public class InventoryController {
+
+    private static final String NDJSON = "application/x-ndjson";
     
     private final InventoryService inventoryService;
+    private final SyncStreamProcessor syncStreamProcessor;
+    private final TransferService transferService;
+    private final CheckoutService checkoutService;
 
     @GetMapping
     @Operation(summary = "Get inventory", description = "Retrieve current stock level for a product")
@@ -35,6 +47,20 @@ public class InventoryController {
             : ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @PostMapping("/multi-get")
+    @Operation(summary = "Get inventory for many keys",
+        description = "Retrieve stock levels for up to 500 store/product keys, returned in request order")
+    public ResponseEntity<MultiGetResponse> getInventories(
+            @Valid @RequestBody MultiGetRequest request) {
+
+        log.info("POST /api/v1/inventory/multi-get - Keys: {}", request.getKeys().size());
+        MultiGetResponse response = inventoryService.getInventories(request.getKeys());
+
+        return response.isSuccess()
+            ? ResponseEntity.ok(response)
+            : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
     @PostMapping("/sell")
     @Operation(summary = "Process sale", description = "Process a product sale and update inventory")
     public ResponseEntity<InventoryResponse> processSale(
@@ -61,6 +87,33 @@ public class InventoryController {
             : ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @PostMapping("/checkout")
+    @Operation(summary = "Checkout", description = "Sell every line of a checkout, bundles expanded, all or nothing")
+    public ResponseEntity<CheckoutResponse> checkout(
+            @Valid @RequestBody CheckoutRequest request) {
+
+        log.info("POST /api/v1/inventory/checkout - Store: {}, Lines: {}",
+            request.getStoreId(), request.getLines().size());
+        CheckoutResponse response = checkoutService.checkout(request);
+
+        return response.isSuccess()
+            ? ResponseEntity.ok(response)
+            : ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @PostMapping("/transfer")
+    @Operation(summary = "Transfer stock", description = "Move stock of a product from one store to another in one transaction")
+    public ResponseEntity<TransferResponse> transfer(
+            @Valid @RequestBody TransferRequest request) {
+
+        log.info("POST /api/v1/inventory/transfer - Request: {}", request);
+        TransferResponse response = transferService.transfer(request);
+
+        return response.isSuccess()
+            ? ResponseEntity.ok(response)
+            : ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     @PostMapping("/sync")
     @Operation(summary = "Batch sync", description = "Synchronize multiple inventory operations in batch")
     public ResponseEntity<SyncResponse> processBatchSync(
@@ -76,6 +129,20 @@ public class InventoryController {
             : ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).body(response);
     }
 
+    @PostMapping(value = "/sync/stream", consumes = NDJSON, produces = NDJSON)
+    @Operation(summary = "Streaming batch sync",
+        description = "Apply newline-delimited operations in committed chunks, streaming one result line per chunk")
+    public void streamBatchSync(
+            @Parameter(description = "Store ID") @RequestParam String storeId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        log.info("POST /api/v1/inventory/sync/stream - Store: {}", storeId);
+
+        response.setContentType(NDJSON);
+        syncStreamProcessor.process(storeId, request.getInputStream(), response.getOutputStream());
+    }
+
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check if the service is running")
     public ResponseEntity<String> healthCheck() {
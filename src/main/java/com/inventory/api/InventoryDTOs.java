@@ -1,8 +1,11 @@
 package com.inventory.api;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -30,6 +33,9 @@ public class InventoryDTOs {
         private Integer quantity;
         
         private LocalDateTime timestamp;
+
+        @Size(max = 100, message = "Idempotency key must be at most 100 characters")
+        private String idempotencyKey;
     }
 
     @Data
@@ -48,6 +54,9 @@ public class InventoryDTOs {
         private Integer quantity;
         
         private LocalDateTime timestamp;
+
+        @Size(max = 100, message = "Idempotency key must be at most 100 characters")
+        private String idempotencyKey;
     }
 
     @Data
@@ -63,6 +72,9 @@ public class InventoryDTOs {
         
         @NotBlank(message = "Type is required")
         private String type;
+
+        @Size(max = 100, message = "Idempotency key must be at most 100 characters")
+        private String idempotencyKey;
     }
 
     @Data
@@ -120,6 +132,62 @@ public class InventoryDTOs {
         private String eventId;
         private Boolean cached;
         private Integer quantityBefore;
+        private Integer reservedQuantity;
+        private Integer availableQuantity;
+        private Long version;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class InventoryKey {
+        @NotBlank(message = "Store ID is required")
+        private String storeId;
+
+        @NotBlank(message = "Product ID is required")
+        private String productId;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MultiGetRequest {
+        @NotEmpty(message = "Keys are required")
+        @Size(max = 500, message = "A lookup can have at most 500 keys")
+        private List<@Valid InventoryKey> keys;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MultiGetResponse {
+        private boolean success;
+        private String message;
+        // One entry per requested key, in request order; null where the product is not stocked
+        private List<InventoryData> items;
+        private Integer notFoundCount;
+        private LocalDateTime timestamp;
+
+        public static MultiGetResponse success(String message, List<InventoryData> items, int notFoundCount) {
+            return MultiGetResponse.builder()
+                .success(true)
+                .message(message)
+                .items(items)
+                .notFoundCount(notFoundCount)
+                .timestamp(LocalDateTime.now())
+                .build();
+        }
+
+        public static MultiGetResponse error(String message) {
+            return MultiGetResponse.builder()
+                .success(false)
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .build();
+        }
     }
 
     @Data
@@ -134,4 +202,232 @@ public class InventoryDTOs {
         private List<String> errors;
         private LocalDateTime timestamp;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SyncChunkResult {
+        private String type;
+        private Integer chunk;
+        private Long firstLine;
+        private Integer lines;
+        private Integer successCount;
+        private Integer failureCount;
+        private List<String> errors;
+        private String message;
+        private LocalDateTime timestamp;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TransferRequest {
+        @NotBlank(message = "Source store ID is required")
+        private String fromStoreId;
+
+        @NotBlank(message = "Destination store ID is required")
+        private String toStoreId;
+
+        @NotBlank(message = "Product ID is required")
+        private String productId;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantity;
+
+        private LocalDateTime timestamp;
+
+        // Leaves room for the ":out" / ":in" suffix of the paired event ids
+        @Size(max = 96, message = "Idempotency key must be at most 96 characters")
+        private String idempotencyKey;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TransferData {
+        private String transferId;
+        private String productId;
+        private String fromStoreId;
+        private String toStoreId;
+        private Integer quantity;
+        private Integer fromQuantityBefore;
+        private Integer fromQuantityAfter;
+        private Integer toQuantityBefore;
+        private Integer toQuantityAfter;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TransferResponse {
+        private boolean success;
+        private String message;
+        private TransferData data;
+        private LocalDateTime timestamp;
+
+        public static TransferResponse success(String message, TransferData data) {
+            return TransferResponse.builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .timestamp(LocalDateTime.now())
+                .build();
+        }
+
+        public static TransferResponse error(String message) {
+            return TransferResponse.builder()
+                .success(false)
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .build();
+        }
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CheckoutLine {
+        @NotBlank(message = "Product ID is required")
+        private String productId;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantity;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CheckoutRequest {
+        @NotBlank(message = "Store ID is required")
+        private String storeId;
+
+        @NotEmpty(message = "Lines are required")
+        @Size(max = 100, message = "A checkout can have at most 100 lines")
+        private List<@Valid CheckoutLine> lines;
+
+        private LocalDateTime timestamp;
+
+        @Size(max = 90, message = "Idempotency key must be at most 90 characters")
+        private String idempotencyKey;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CheckoutItem {
+        private String productId;
+        private Integer quantity;
+        private Integer quantityBefore;
+        private Integer quantityAfter;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CheckoutData {
+        private String checkoutId;
+        private String storeId;
+        private List<CheckoutItem> items;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CheckoutResponse {
+        private boolean success;
+        private String message;
+        private CheckoutData data;
+        private List<String> errors;
+        private LocalDateTime timestamp;
+
+        public static CheckoutResponse success(String message, CheckoutData data) {
+            return CheckoutResponse.builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .errors(List.of())
+                .timestamp(LocalDateTime.now())
+                .build();
+        }
+
+        public static CheckoutResponse error(String message, List<String> errors) {
+            return CheckoutResponse.builder()
+                .success(false)
+                .message(message)
+                .errors(errors)
+                .timestamp(LocalDateTime.now())
+                .build();
+        }
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReserveRequest {
+        @NotBlank(message = "Store ID is required")
+        private String storeId;
+
+        @NotBlank(message = "Product ID is required")
+        private String productId;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantity;
+
+        @Min(value = 1, message = "TTL must be at least 1 second")
+        private Integer ttlSeconds;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReservationData {
+        private String reservationId;
+        private String storeId;
+        private String productId;
+        private Integer quantity;
+        private String status;
+        private LocalDateTime expiresAt;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReservationResponse {
+        private boolean success;
+        private String message;
+        private ReservationData data;
+        private LocalDateTime timestamp;
+
+        public static ReservationResponse success(String message, ReservationData data) {
+            return ReservationResponse.builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .timestamp(LocalDateTime.now())
+                .build();
+        }
+
+        public static ReservationResponse error(String message) {
+            return ReservationResponse.builder()
+                .success(false)
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .build();
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package com.inventory.api;
+
+import com.inventory.api.InventoryDTOs.InventoryResponse;
+import com.inventory.config.ReadConsistency;
+import com.inventory.service.ReactiveInventoryReader;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/inventory")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "inventory.reactive.enabled", havingValue = "true")
+@Tag(name = "Inventory Management", description = "APIs for distributed inventory management")
+public class ReactiveInventoryController {
+
+    private final ReactiveInventoryReader reactiveInventoryReader;
+
+    // The params condition makes this mapping more specific than InventoryController#getInventory, so it wins
+    // the route when enabled; the servlet thread goes back to the pool while Redis or the replica answers.
+    // Reads carrying a consistency token stay on the blocking path, whose routing honours the token.
+    @GetMapping(params = {"storeId", "productId"}, headers = "!" + ReadConsistency.HEADER)
+    @Operation(summary = "Get inventory", description = "Retrieve current stock level for a product (non-blocking)")
+    public Mono<ResponseEntity<InventoryResponse>> getInventory(
+            @Parameter(description = "Store ID") @RequestParam String storeId,
+            @Parameter(description = "Product ID") @RequestParam String productId) {
+
+        log.info("GET /api/v1/inventory (reactive) - storeId: {}, productId: {}", storeId, productId);
+        return reactiveInventoryReader.getInventory(storeId, productId)
+                .map(response -> response.isSuccess()
+                        ? ResponseEntity.ok(response)
+                        : ResponseEntity.status(HttpStatus.NOT_FOUND).body(response));
+    }
+}
@@ -0,0 +1,57 @@
+package com.inventory.api;
+
+import com.inventory.api.InventoryDTOs.ReservationResponse;
+import com.inventory.api.InventoryDTOs.ReserveRequest;
+import com.inventory.service.ReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/inventory/reservations")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Stock Reservations", description = "APIs for holding stock during checkout")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    @PostMapping
+    @Operation(summary = "Reserve stock", description = "Hold stock for a checkout until it is confirmed, released or expires")
+    public ResponseEntity<ReservationResponse> reserve(
+            @Valid @RequestBody ReserveRequest request) {
+
+        log.info("POST /api/v1/inventory/reservations - Request: {}", request);
+        return toResponseEntity(reservationService.reserve(request));
+    }
+
+    @PostMapping("/{reservationId}/confirm")
+    @Operation(summary = "Confirm reservation", description = "Turn a held reservation into a sale")
+    public ResponseEntity<ReservationResponse> confirm(
+            @Parameter(description = "Reservation ID") @PathVariable String reservationId) {
+
+        log.info("POST /api/v1/inventory/reservations/{}/confirm", reservationId);
+        return toResponseEntity(reservationService.confirm(reservationId));
+    }
+
+    @PostMapping("/{reservationId}/release")
+    @Operation(summary = "Release reservation", description = "Return held stock to the available pool")
+    public ResponseEntity<ReservationResponse> release(
+            @Parameter(description = "Reservation ID") @PathVariable String reservationId) {
+
+        log.info("POST /api/v1/inventory/reservations/{}/release", reservationId);
+        return toResponseEntity(reservationService.release(reservationId));
+    }
+
+    private ResponseEntity<ReservationResponse> toResponseEntity(ReservationResponse response) {
+        return response.isSuccess()
+            ? ResponseEntity.ok(response)
+            : ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+}
@@ -0,0 +1,68 @@
+package com.inventory.api;
+
+import com.inventory.api.InventoryDTOs.InventoryData;
+import com.inventory.api.InventoryDTOs.InventoryResponse;
+import com.inventory.service.RedisStockGate;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/v1/inventory/gate")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Stock Gate", description = "Operations for the Redis-first stock gate")
+public class StockGateController {
+
+    private final RedisStockGate redisStockGate;
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Rebuild counter", description = "Reset the Redis counter of a SKU from Postgres plus unreconciled entries")
+    public ResponseEntity<InventoryResponse> rebuild(
+            @Parameter(description = "Store ID") @RequestParam String storeId,
+            @Parameter(description = "Product ID") @RequestParam String productId) {
+
+        log.info("POST /api/v1/inventory/gate/rebuild - storeId: {}, productId: {}", storeId, productId);
+        if (!redisStockGate.isActive()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(InventoryResponse.error("Redis stock gate is not active"));
+        }
+
+        int quantity = redisStockGate.rebuild(storeId, productId);
+        InventoryData data = InventoryData.builder()
+                .storeId(storeId)
+                .productId(productId)
+                .quantity(quantity)
+                .lastUpdated(LocalDateTime.now())
+                .cached(false)
+                .build();
+        return ResponseEntity.ok(InventoryResponse.success("Stock gate rebuilt from database", data));
+    }
+
+    @GetMapping("/drift")
+    @Operation(summary = "Check drift", description = "Compare the Redis counter of a SKU with Postgres plus unreconciled entries")
+    public ResponseEntity<InventoryResponse> drift(
+            @Parameter(description = "Store ID") @RequestParam String storeId,
+            @Parameter(description = "Product ID") @RequestParam String productId) {
+
+        log.info("GET /api/v1/inventory/gate/drift - storeId: {}, productId: {}", storeId, productId);
+        if (!redisStockGate.isActive()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(InventoryResponse.error("Redis stock gate is not active"));
+        }
+
+        Optional<Integer> drift = redisStockGate.checkDrift(storeId, productId);
+        return drift
+                .map(value -> ResponseEntity.ok(InventoryResponse.success("Drift: " + value, null)))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(InventoryResponse.error("SKU is not seeded in the stock gate")));
+    }
+}
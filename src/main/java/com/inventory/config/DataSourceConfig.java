@@ -1,8 +1,11 @@
 package com.inventory.config;
 
+import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,7 +18,9 @@ import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
@@ -56,23 +61,59 @@ public class DataSourceConfig {
                 .build();
     }
 
+    // The configured replica plus one Hikari pool per additional URL, each inheriting the replica's pool settings
+    @Bean
+    public ReplicaPool replicaPool(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+            InventoryProperties inventoryProperties,
+            MeterRegistry meterRegistry) {
+
+        List<ReplicaNode> nodes = new ArrayList<>();
+        nodes.add(replicaNode(replicaDataSource, inventoryProperties, meterRegistry));
+
+        int index = 2;
+        for (String url : inventoryProperties.getReplicas().getAdditionalUrls()) {
+            if (url == null || url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            replicaDataSource.copyStateTo(config);
+            config.setJdbcUrl(url.trim());
+            config.setPoolName("replica-" + index++);
+            nodes.add(replicaNode(new HikariDataSource(config), inventoryProperties, meterRegistry));
+        }
+
+        return new ReplicaPool(nodes, primaryDataSource, inventoryProperties, meterRegistry);
+    }
+
     @Bean
     public DataSource routingDataSource(
             @Qualifier("primaryDataSource") DataSource primaryDataSource,
-            @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+            ReplicaPool replicaPool,
+            ReplicaLsnTracker replicaLsnTracker) {
         
-        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource();
+        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource(replicaLsnTracker);
         
         Map<Object, Object> dataSourceMap = new HashMap<>();
         dataSourceMap.put("primary", primaryDataSource);
-        dataSourceMap.put("replica", replicaDataSource);
+        dataSourceMap.put("replica", replicaPool);
         
         routingDataSource.setTargetDataSources(dataSourceMap);
-        routingDataSource.setDefaultTargetDataSource(replicaDataSource);
+        routingDataSource.setDefaultTargetDataSource(replicaPool);
         
         return routingDataSource;
     }
 
+    // Named by host:port so the per-replica meters read the same on every instance
+    private ReplicaNode replicaNode(HikariDataSource dataSource, InventoryProperties inventoryProperties,
+                                   MeterRegistry meterRegistry) {
+        String url = dataSource.getJdbcUrl();
+        String name = url.replaceFirst("^jdbc:[a-z]+://", "").replaceFirst("[/?].*$", "");
+        return new ReplicaNode(name, dataSource, ReplicaLsnTracker.pollTemplate(dataSource, inventoryProperties),
+                meterRegistry);
+    }
+
     @Primary
     @Bean
     public DataSource dataSource(@Qualifier("routingDataSource") DataSource routingDataSource) {
@@ -82,11 +123,12 @@ public class DataSourceConfig {
     @Primary
     @Bean
     public LocalContainerEntityManagerFactoryBean entityManagerFactory(
-            @Qualifier("dataSource") DataSource dataSource) {
+            @Qualifier("dataSource") DataSource dataSource, JpaProperties jpaProperties) {
         
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
         em.setDataSource(dataSource);
         em.setPackagesToScan("com.inventory.model");
+        em.setJpaPropertyMap(jpaProperties.getProperties());
         
         HibernateJpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
         em.setJpaVendorAdapter(vendorAdapter);
@@ -0,0 +1,197 @@
+package com.inventory.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "inventory")
+public class InventoryProperties {
+
+    private Sale sale = new Sale();
+    private Restock restock = new Restock();
+    private Coalescing coalescing = new Coalescing();
+    private Ledger ledger = new Ledger();
+    private Idempotency idempotency = new Idempotency();
+    private Reservation reservation = new Reservation();
+    private Escrow escrow = new Escrow();
+    private Gate gate = new Gate();
+    private Sync sync = new Sync();
+    private Events events = new Events();
+    private Outbox outbox = new Outbox();
+    private Checkout checkout = new Checkout();
+    private Reactive reactive = new Reactive();
+    private NearCache nearCache = new NearCache();
+    private Cache cache = new Cache();
+    private Consistency consistency = new Consistency();
+    private Replicas replicas = new Replicas();
+
+    public enum SaleMode {
+        LOCKING,
+        CONDITIONAL,
+        COALESCING,
+        OPTIMISTIC,
+        REDIS
+    }
+
+    public enum RestockMode {
+        LOCKING,
+        OPTIMISTIC
+    }
+
+    public enum EventDurability {
+        SYNC,
+        GROUP
+    }
+
+    @Data
+    public static class Sale {
+        private SaleMode mode = SaleMode.LOCKING;
+    }
+
+    @Data
+    public static class Restock {
+        private RestockMode mode = RestockMode.LOCKING;
+    }
+
+    @Data
+    public static class Coalescing {
+        private Duration window = Duration.ofMillis(2);
+        private int maxBatchSize = 200;
+        private int lanes = 4;
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Ledger {
+        private boolean enabled = false;
+        private int workers = 4;
+        private int ringCapacity = 4096;
+        private int flushBatchSize = 500;
+        private Duration flushInterval = Duration.ofMillis(20);
+        private Duration retryDelay = Duration.ofSeconds(1);
+        private int maxPersistAttempts = 5;
+        private Duration timeout = Duration.ofSeconds(5);
+        private Set<String> ownedStores = new HashSet<>();
+    }
+
+    @Data
+    public static class Idempotency {
+        private Duration pendingTtl = Duration.ofSeconds(30);
+        private Duration ttl = Duration.ofHours(24);
+    }
+
+    @Data
+    public static class Reservation {
+        private Duration defaultTtl = Duration.ofMinutes(10);
+        private Duration maxTtl = Duration.ofHours(1);
+        private int sweepBatchSize = 500;
+    }
+
+    @Data
+    public static class Escrow {
+        private boolean enabled = false;
+        private int slots = 8;
+        private double splitRate = 200;
+        private double mergeRate = 20;
+        private Duration sampleInterval = Duration.ofSeconds(1);
+        private Duration cooldown = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Gate {
+        private String stream = "gate:stream";
+        private String group = "reconciler";
+        private String consumerName = "inventory-api";
+        private int batchSize = 1000;
+        private Duration claimIdle = Duration.ofSeconds(30);
+        private int driftSampleSize = 100;
+        private boolean repairDrift = false;
+        private int maxRebuildAttempts = 3;
+    }
+
+    @Data
+    public static class Sync {
+        private boolean bulk = true;
+        private boolean netting = true;
+        private int lockChunkSize = 1000;
+        private int streamChunkSize = 1000;
+        private int chunkSize = 500;
+        private boolean parallel = false;
+        private int workers = 4;
+    }
+
+    @Data
+    public static class Events {
+        private EventDurability durability = EventDurability.SYNC;
+        private int queueCapacity = 8192;
+        private int batchSize = 500;
+        private Duration flushInterval = Duration.ofMillis(5);
+        private Duration offerTimeout = Duration.ofMillis(50);
+        private Duration retryDelay = Duration.ofMillis(200);
+        private int maxFlushAttempts = 5;
+        private Duration shutdownTimeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Outbox {
+        private boolean enabled = false;
+        private int workers = 2;
+        private int batchSize = 500;
+        private Duration pollInterval = Duration.ofMillis(200);
+        private String sink = "memory";
+        private int memoryCapacity = 10000;
+        private String filePath = "outbox/inventory-events.ndjson";
+    }
+
+    @Data
+    public static class Checkout {
+        private Duration bomCacheTtl = Duration.ofMinutes(5);
+        private long bomCacheMaxSize = 10000;
+    }
+
+    @Data
+    public static class NearCache {
+        private boolean enabled = true;
+        private long maxSize = 10000;
+        private Duration ttl = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Cache {
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Consistency {
+        private boolean enabled = true;
+        private Duration pollInterval = Duration.ofMillis(50);
+        private Duration pollTimeout = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Replicas {
+        // Joined to spring.datasource.replica.url, with its credentials and Hikari settings
+        private List<String> additionalUrls = new ArrayList<>();
+        private long maxLagBytes = 16L * 1024 * 1024;
+        private double maxErrorRate = 0.5;
+        private int minCalls = 20;
+        private Duration errorWindow = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Reactive {
+        private boolean enabled = false;
+        private int poolInitialSize = 5;
+        private int poolMaxSize = 30;
+        private int primaryPoolMaxSize = 5;
+        private Duration acquireTimeout = Duration.ofSeconds(2);
+    }
+}
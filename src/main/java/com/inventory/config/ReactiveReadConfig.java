@@ -0,0 +1,95 @@
+package com.inventory.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "inventory.reactive.enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    // Targets come from the JDBC replica list rather than a URL of their own, so the reactive path reads from the
+    // same replicas, with the same credentials, as the blocking one
+    @Bean
+    public ReactiveReplicaPool reactiveReplicaPool(ReplicaPool replicaPool,
+                                                   @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                                   InventoryProperties inventoryProperties,
+                                                   MeterRegistry meterRegistry) {
+        InventoryProperties.Reactive settings = inventoryProperties.getReactive();
+
+        Map<ReplicaNode, ConnectionPool> replicas = new LinkedHashMap<>();
+        for (ReplicaNode node : replicaPool.getNodes()) {
+            if (!(node.getDataSource() instanceof HikariDataSource replica)) {
+                throw new IllegalStateException("Replica " + node.getName() + " has no JDBC URL to derive R2DBC from");
+            }
+            replicas.put(node, connectionPool(replica, settings.getPoolInitialSize(), settings.getPoolMaxSize(),
+                    settings));
+        }
+        // Opened only when every replica is out of rotation
+        ConnectionPool primary = connectionPool(primaryDataSource, 0, settings.getPrimaryPoolMaxSize(), settings);
+
+        return new ReactiveReplicaPool(replicaPool, replicas, primary, meterRegistry);
+    }
+
+    @Bean
+    public DatabaseClient replicaDatabaseClient(ReactiveReplicaPool reactiveReplicaPool) {
+        return DatabaseClient.create(reactiveReplicaPool);
+    }
+
+    private ConnectionPool connectionPool(HikariDataSource dataSource, int initialSize, int maxSize,
+                                          InventoryProperties.Reactive settings) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(r2dbcUrl(dataSource.getJdbcUrl()))
+                .mutate();
+        if (dataSource.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, dataSource.getUsername());
+        }
+        if (dataSource.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, dataSource.getPassword());
+        }
+
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxAcquireTime(settings.getAcquireTimeout())
+                .build());
+    }
+
+    // jdbc:postgresql://host:port/db?params -> r2dbc:postgresql://host:port/db; JDBC driver parameters have no
+    // R2DBC equivalent, so they are dropped
+    static String r2dbcUrl(String jdbcUrl) {
+        if (jdbcUrl == null || !jdbcUrl.startsWith("jdbc:")) {
+            throw new IllegalArgumentException("Not a JDBC URL: " + jdbcUrl);
+        }
+        return "r2dbc:" + jdbcUrl.substring("jdbc:".length()).replaceFirst("\\?.*$", "");
+    }
+
+    // Same key and value serializers as RedisConfig, so both read paths share the cache entries
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(
+            ReactiveRedisConnectionFactory connectionFactory,
+            @Qualifier("redisObjectMapper") ObjectMapper objectMapper) {
+        RedisSerializationContext<String, Object> context = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(new GenericJackson2JsonRedisSerializer(objectMapper))
+                .build();
+
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+}
@@ -0,0 +1,70 @@
+package com.inventory.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.io.Closeable;
+import java.util.Map;
+
+// The reactive read path's side of ReplicaPool: one R2DBC pool per ReplicaNode, picked the same way, so a replica
+// the poll has ejected for lag or errors leaves both paths at once. Acquire failures count toward the node's
+// error rate; with no healthy replica left, reads fall back to the primary.
+@Slf4j
+public class ReactiveReplicaPool implements ConnectionFactory, Closeable {
+
+    private final ReplicaPool replicaPool;
+    private final Map<ReplicaNode, ConnectionPool> replicas;
+    private final ConnectionPool primary;
+    private final Counter primaryFallbacks;
+
+    public ReactiveReplicaPool(ReplicaPool replicaPool, Map<ReplicaNode, ConnectionPool> replicas,
+                               ConnectionPool primary, MeterRegistry meterRegistry) {
+        this.replicaPool = replicaPool;
+        this.replicas = Map.copyOf(replicas);
+        this.primary = primary;
+        this.primaryFallbacks = meterRegistry.counter("inventory.replica.primary.fallbacks");
+
+        replicas.forEach((node, pool) -> registerAcquired(meterRegistry, node.getName(), pool));
+        registerAcquired(meterRegistry, "primary", primary);
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        ReplicaNode node = replicaPool.pick(null);
+        if (node == null) {
+            log.debug("No healthy replica, routing reactive read to PRIMARY");
+            primaryFallbacks.increment();
+            return primary.create();
+        }
+        return replicas.get(node).create()
+                .doOnNext(connection -> node.recordCall())
+                .doOnError(e -> node.recordError());
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return primary.getMetadata();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach((node, pool) -> pool.dispose());
+        primary.dispose();
+    }
+
+    private void registerAcquired(MeterRegistry meterRegistry, String target, ConnectionPool pool) {
+        pool.getMetrics().ifPresent(metrics -> Gauge.builder("inventory.replica.reactive.acquired", metrics,
+                        PoolMetrics::acquiredSize)
+                .tag("replica", target)
+                .description("R2DBC connections currently acquired from this target")
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,25 @@
+package com.inventory.config;
+
+// Per-request read floor: the WAL position a client has already seen, taken from its consistency token.
+// Held for the request thread only; ReplicationRoutingDataSource reads it when a connection is opened.
+public final class ReadConsistency {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    private static final ThreadLocal<Long> REQUIRED_LSN = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    public static void require(long lsn) {
+        REQUIRED_LSN.set(lsn);
+    }
+
+    public static Long requiredLsn() {
+        return REQUIRED_LSN.get();
+    }
+
+    public static void clear() {
+        REQUIRED_LSN.remove();
+    }
+}
@@ -0,0 +1,149 @@
+package com.inventory.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class ReplicaLsnTracker {
+
+    private static final String PRIMARY_LSN = "SELECT pg_current_wal_lsn()::text";
+    // A database that is not in recovery (replica URL pointed at the primary) has no replay position
+    private static final String REPLAYED_LSN =
+            "SELECT COALESCE(pg_last_wal_replay_lsn(), pg_current_wal_lsn())::text";
+
+    private final JdbcTemplate primary;
+    private final ReplicaPool replicaPool;
+    private final InventoryProperties.Consistency settings;
+    private final Counter primaryReads;
+
+    private ScheduledExecutorService poller;
+
+    @Autowired
+    public ReplicaLsnTracker(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                             ReplicaPool replicaPool,
+                             InventoryProperties inventoryProperties,
+                             MeterRegistry meterRegistry) {
+        this(pollTemplate(primaryDataSource, inventoryProperties), replicaPool, inventoryProperties, meterRegistry);
+    }
+
+    ReplicaLsnTracker(JdbcTemplate primary, ReplicaPool replicaPool,
+                      InventoryProperties inventoryProperties, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicaPool = replicaPool;
+        this.settings = inventoryProperties.getConsistency();
+        this.primaryReads = meterRegistry.counter("inventory.routing.primary.reads");
+    }
+
+    // A query timeout on every template the poll uses: a replica that stops answering must not stall the round
+    static JdbcTemplate pollTemplate(DataSource dataSource, InventoryProperties inventoryProperties) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setQueryTimeout((int) Math.max(1, inventoryProperties.getConsistency().getPollTimeout().toSeconds()));
+        return template;
+    }
+
+    // A thread of its own rather than the shared @Scheduled one: the other jobs can't delay the poll, and a slow
+    // round can't delay them
+    @PostConstruct
+    public void start() {
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lsn-poll");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = settings.getPollInterval().toMillis();
+        poller.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (RuntimeException e) {
+                // An exception escaping here would cancel every later round
+                log.warn("Replica LSN poll round failed - Error: {}", e.getMessage());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    // Polled off the request path, so routing a read costs a few volatile loads rather than a replica query.
+    // The same round measures each replica's lag for the pool's health check.
+    public void poll() {
+        Long primaryLsn = null;
+        try {
+            primaryLsn = lsnOf(primary.queryForObject(PRIMARY_LSN, String.class));
+        } catch (Exception e) {
+            log.warn("Primary LSN poll failed, replica lag not updated - Error: {}", e.getMessage());
+        }
+
+        for (ReplicaNode node : replicaPool.getNodes()) {
+            try {
+                Long replayed = lsnOf(node.getJdbcTemplate().queryForObject(REPLAYED_LSN, String.class));
+                if (replayed != null) {
+                    node.recordReplayed(replayed);
+                }
+            } catch (Exception e) {
+                node.recordError();
+                log.warn("Replica LSN poll failed, keeping last position - Replica: {}, Error: {}",
+                        node.getName(), e.getMessage());
+            }
+        }
+        replicaPool.evaluate(primaryLsn);
+    }
+
+    // Read after the write committed, so it is at or past that transaction's commit record
+    public String issueToken() {
+        if (!settings.isEnabled()) {
+            return null;
+        }
+        try {
+            return primary.queryForObject(PRIMARY_LSN, String.class);
+        } catch (Exception e) {
+            log.warn("Could not read primary LSN, response goes out without a consistency token - Error: {}",
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    public boolean hasReplayed(long lsn) {
+        return !settings.isEnabled() || replicaPool.canServe(lsn);
+    }
+
+    public void recordPrimaryRead() {
+        primaryReads.increment();
+    }
+
+    private static Long lsnOf(String text) {
+        return text == null ? null : parse(text);
+    }
+
+    // pg_lsn text form is two hex halves, "16/B374D848"
+    public static long parse(String lsn) {
+        int slash = lsn.indexOf('/');
+        if (slash <= 0 || slash == lsn.length() - 1) {
+            throw new IllegalArgumentException("Invalid LSN: " + lsn);
+        }
+        long high = Long.parseLong(lsn.substring(0, slash), 16);
+        long low = Long.parseLong(lsn.substring(slash + 1), 16);
+        return (high << 32) | low;
+    }
+
+    public static String format(long lsn) {
+        return Long.toHexString(lsn >>> 32).toUpperCase() + "/" + Long.toHexString(lsn & 0xFFFFFFFFL).toUpperCase();
+    }
+}
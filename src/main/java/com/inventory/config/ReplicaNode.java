@@ -0,0 +1,154 @@
+package com.inventory.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class ReplicaNode {
+
+    private final String name;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong replayedLsn = new AtomicLong(-1);
+    private final AtomicLong lagBytes = new AtomicLong();
+    private final AtomicInteger windowCalls = new AtomicInteger();
+    private final AtomicInteger windowErrors = new AtomicInteger();
+    private final Counter errors;
+
+    private volatile boolean lagging;
+    private volatile boolean failing;
+    private volatile boolean healthy = true;
+
+    public ReplicaNode(String name, DataSource dataSource, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        Gauge.builder("inventory.replica.outstanding", outstanding, AtomicInteger::get)
+                .tag("replica", name)
+                .description("Connections currently borrowed from this replica")
+                .register(meterRegistry);
+        Gauge.builder("inventory.replica.lag.bytes", lagBytes, AtomicLong::get)
+                .tag("replica", name)
+                .description("WAL the replica has yet to replay, as of the last poll")
+                .register(meterRegistry);
+        Gauge.builder("inventory.replica.healthy", this, node -> node.healthy ? 1 : 0)
+                .tag("replica", name)
+                .register(meterRegistry);
+        this.errors = Counter.builder("inventory.replica.errors").tag("replica", name).register(meterRegistry);
+    }
+
+    // The returned connection gives its slot back on close, which is what least-outstanding balances on
+    public Connection borrow() throws SQLException {
+        outstanding.incrementAndGet();
+        try {
+            Connection connection = dataSource.getConnection();
+            windowCalls.incrementAndGet();
+            return track(connection);
+        } catch (SQLException | RuntimeException e) {
+            outstanding.decrementAndGet();
+            recordError();
+            throw e;
+        }
+    }
+
+    // A connection the reactive read path acquired from this replica's R2DBC pool
+    public void recordCall() {
+        windowCalls.incrementAndGet();
+    }
+
+    public void recordReplayed(long lsn) {
+        replayedLsn.accumulateAndGet(lsn, Math::max);
+        windowCalls.incrementAndGet();
+    }
+
+    public void recordError() {
+        windowCalls.incrementAndGet();
+        windowErrors.incrementAndGet();
+        errors.increment();
+    }
+
+    // Lag is judged on every poll; the error rate only when its window closes, so a single failure
+    // among a handful of calls cannot eject a replica
+    void evaluate(Long primaryLsn, InventoryProperties.Replicas settings, boolean closeWindow) {
+        long replayed = replayedLsn.get();
+        if (primaryLsn != null && replayed >= 0) {
+            long lag = Math.max(0, primaryLsn - replayed);
+            lagBytes.set(lag);
+            lagging = lag > settings.getMaxLagBytes();
+        }
+        if (closeWindow) {
+            int calls = windowCalls.getAndSet(0);
+            int failed = windowErrors.getAndSet(0);
+            failing = calls >= settings.getMinCalls() && (double) failed / calls > settings.getMaxErrorRate();
+        }
+
+        boolean nowHealthy = !lagging && !failing;
+        if (nowHealthy != healthy) {
+            healthy = nowHealthy;
+            if (nowHealthy) {
+                log.info("Replica back in rotation - Replica: {}", name);
+            } else {
+                log.warn("Replica out of rotation - Replica: {}, Lag: {} bytes, Error rate exceeded: {}",
+                        name, lagBytes.get(), failing);
+            }
+        }
+    }
+
+    public boolean hasReplayed(long lsn) {
+        return replayedLsn.get() >= lsn;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    private Connection track(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("equals".equals(method.getName())) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName())) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        outstanding.decrementAndGet();
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,109 @@
+package com.inventory.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// The "replica" target of ReplicationRoutingDataSource: N replicas behind one DataSource, balanced by
+// least outstanding connections. Health comes from ReplicaLsnTracker's poll; with no healthy replica left,
+// reads fall back to the primary.
+@Slf4j
+public class ReplicaPool extends AbstractDataSource implements Closeable {
+
+    private final List<ReplicaNode> nodes;
+    private final DataSource primary;
+    private final InventoryProperties.Replicas settings;
+    private final Counter primaryFallbacks;
+    private final AtomicInteger nextStart = new AtomicInteger();
+
+    private volatile long windowStartedAt = System.nanoTime();
+
+    public ReplicaPool(List<ReplicaNode> nodes, DataSource primary,
+                       InventoryProperties inventoryProperties, MeterRegistry meterRegistry) {
+        this.nodes = List.copyOf(nodes);
+        this.primary = primary;
+        this.settings = inventoryProperties.getReplicas();
+        this.primaryFallbacks = meterRegistry.counter("inventory.replica.primary.fallbacks");
+        log.info("Replica pool - Replicas: {}", this.nodes.stream().map(ReplicaNode::getName).toList());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ReplicaNode node = pick(ReadConsistency.requiredLsn());
+        if (node == null) {
+            log.debug("No healthy replica, routing read to PRIMARY");
+            primaryFallbacks.increment();
+            return primary.getConnection();
+        }
+        return node.borrow();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica pool connects with each replica's configured credentials");
+    }
+
+    // Least outstanding wins; the rotating start spreads ties instead of always favouring the first replica
+    ReplicaNode pick(Long requiredLsn) {
+        int size = nodes.size();
+        int start = Math.floorMod(nextStart.getAndIncrement(), size);
+        ReplicaNode best = null;
+        for (int i = 0; i < size; i++) {
+            ReplicaNode node = nodes.get((start + i) % size);
+            if (!node.isHealthy() || (requiredLsn != null && !node.hasReplayed(requiredLsn))) {
+                continue;
+            }
+            if (best == null || node.outstanding() < best.outstanding()) {
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    public boolean canServe(long lsn) {
+        for (ReplicaNode node : nodes) {
+            if (node.isHealthy() && node.hasReplayed(lsn)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Runs after each poll round; primaryLsn is null when the primary could not be read this round
+    public void evaluate(Long primaryLsn) {
+        long now = System.nanoTime();
+        boolean closeWindow = now - windowStartedAt >= settings.getErrorWindow().toNanos();
+        for (ReplicaNode node : nodes) {
+            node.evaluate(primaryLsn, settings, closeWindow);
+        }
+        if (closeWindow) {
+            windowStartedAt = now;
+        }
+    }
+
+    public List<ReplicaNode> getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public void close() {
+        for (ReplicaNode node : nodes) {
+            if (node.getDataSource() instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Replica pool did not close cleanly - Replica: {}, Error: {}", node.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+}
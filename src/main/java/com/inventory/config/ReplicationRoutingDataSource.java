@@ -1,12 +1,16 @@
 package com.inventory.config;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Slf4j
+@RequiredArgsConstructor
 public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
 
+    private final ReplicaLsnTracker lsnTracker;
+
     @Override
     protected Object determineCurrentLookupKey() {
         boolean isReadOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
@@ -15,9 +19,17 @@ public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
         if (isInTransaction && !isReadOnly) {
             log.debug("Routing to PRIMARY (write)");
             return "primary";
-        } else {
-            log.debug("Routing to REPLICA (read)");
-            return "replica";
         }
+
+        // A client that presented a token must not read older data than it already saw
+        Long requiredLsn = ReadConsistency.requiredLsn();
+        if (requiredLsn != null && !lsnTracker.hasReplayed(requiredLsn)) {
+            log.debug("Routing to PRIMARY (replica behind {})", ReplicaLsnTracker.format(requiredLsn));
+            lsnTracker.recordPrimaryRead();
+            return "primary";
+        }
+
+        log.debug("Routing to REPLICA (read)");
+        return "replica";
     }
 }
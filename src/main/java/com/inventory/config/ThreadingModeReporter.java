@@ -0,0 +1,38 @@
+package com.inventory.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class ThreadingModeReporter {
+
+    private final boolean virtualRequested;
+    private final int primaryPoolSize;
+    private final int replicaPoolSize;
+
+    public ThreadingModeReporter(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualRequested,
+            @Value("${spring.datasource.primary.hikari.maximum-pool-size:10}") int primaryPoolSize,
+            @Value("${spring.datasource.replica.hikari.maximum-pool-size:10}") int replicaPoolSize) {
+        this.virtualRequested = virtualRequested;
+        this.primaryPoolSize = primaryPoolSize;
+        this.replicaPoolSize = replicaPoolSize;
+    }
+
+    // Spring Boot silently ignores spring.threads.virtual.enabled below Java 21, so say which mode is really running
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualRequested && javaVersion < 21) {
+            log.warn("Virtual threads requested but the runtime is Java {} - running on platform threads; " +
+                    "build the image with JAVA_VERSION=21", javaVersion);
+            return;
+        }
+        log.info("Request threads: {} (Java {}) - Pools: primary {}, replica {}",
+                virtualRequested ? "VIRTUAL" : "PLATFORM", javaVersion, primaryPoolSize, replicaPoolSize);
+    }
+}
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class InventoryEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_events_id_seq")
+    @SequenceGenerator(name = "inventory_events_id_seq", sequenceName = "inventory_events_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "event_id", nullable = false, unique = true, length = 100)
@@ -58,7 +59,9 @@ public class InventoryEvent {
         SALE,
         RESTOCK,
         ADJUSTMENT,
-        SYNC
+        SYNC,
+        TRANSFER_OUT,
+        TRANSFER_IN
     }
 
     public enum EventStatus {
@@ -22,7 +22,8 @@ import java.time.LocalDateTime;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_id_seq")
+    @SequenceGenerator(name = "products_id_seq", sequenceName = "products_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "store_id", nullable = false, length = 50)
@@ -34,6 +35,14 @@ public class Product {
     @Column(nullable = false)
     private Integer quantity;
 
+    @Column(name = "reserved_quantity", nullable = false)
+    @Builder.Default
+    private Integer reservedQuantity = 0;
+
+    @Column(name = "escrow_slots", nullable = false)
+    @Builder.Default
+    private Integer escrowSlots = 0;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -56,6 +65,14 @@ public class Product {
         lastUpdated = LocalDateTime.now();
     }
 
+    public int getAvailableQuantity() {
+        return quantity - (reservedQuantity == null ? 0 : reservedQuantity);
+    }
+
+    public boolean isEscrowSplit() {
+        return escrowSlots != null && escrowSlots > 0;
+    }
+
     public void addQuantity(int amount) {
         if (amount < 0) {
             throw new IllegalArgumentException("Amount to add cannot be negative");
@@ -0,0 +1,57 @@
+package com.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stock_reservations", indexes = {
+    @Index(name = "idx_reservations_status_expires", columnList = "status,expires_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservations_id_seq")
+    @SequenceGenerator(name = "stock_reservations_id_seq", sequenceName = "stock_reservations_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "reservation_id", nullable = false, unique = true, length = 100)
+    private String reservationId;
+
+    @Column(name = "store_id", nullable = false, length = 50)
+    private String storeId;
+
+    @Column(name = "product_id", nullable = false, length = 50)
+    private String productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false, length = 50)
+    @Builder.Default
+    private String status = "HELD";
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum ReservationStatus {
+        HELD,
+        CONFIRMED,
+        RELEASED,
+        EXPIRED
+    }
+}
@@ -0,0 +1,10 @@
+package com.inventory.repository;
+
+public interface BundleComponent {
+
+    String getBundleId();
+
+    String getComponentId();
+
+    Integer getQuantity();
+}
@@ -0,0 +1,10 @@
+package com.inventory.repository;
+
+public interface EscrowState {
+
+    Integer getQuantity();
+
+    Integer getReservedQuantity();
+
+    Integer getEscrowSlots();
+}
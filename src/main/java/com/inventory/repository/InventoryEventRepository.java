@@ -2,12 +2,15 @@ package com.inventory.repository;
 
 import com.inventory.model.InventoryEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface InventoryEventRepository extends JpaRepository<InventoryEvent, Long> {
@@ -25,4 +28,23 @@ public interface InventoryEventRepository extends JpaRepository<InventoryEvent,
     List<InventoryEvent> findByStatusOrderByTimestampAsc(InventoryEvent.EventStatus status);
 
     boolean existsByEventId(String eventId);
+
+    Optional<InventoryEvent> findByEventId(String eventId);
+
+    List<InventoryEvent> findByEventIdIn(Collection<String> eventIds);
+
+    @Query("SELECT e.eventId FROM InventoryEvent e WHERE e.eventId IN :eventIds")
+    List<String> findExistingEventIds(@Param("eventIds") Collection<String> eventIds);
+
+    @Query(value = "SELECT * FROM inventory_events WHERE processed_at IS NULL " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<InventoryEvent> claimUnpublished(@Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE InventoryEvent e SET e.processedAt = :processedAt WHERE e.id IN :ids")
+    int markProcessed(
+        @Param("ids") Collection<Long> ids,
+        @Param("processedAt") LocalDateTime processedAt
+    );
 }
@@ -3,11 +3,14 @@ package com.inventory.repository;
 import com.inventory.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,8 +24,191 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
         @Param("productId") String productId
     );
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.storeId = :storeId AND p.productId IN :productIds ORDER BY p.productId")
+    List<Product> findAllForUpdate(
+        @Param("storeId") String storeId,
+        @Param("productIds") Collection<String> productIds
+    );
+
+    @Query(value = "UPDATE products SET quantity = quantity - :amount, version = version + 1, " +
+            "last_updated = CURRENT_TIMESTAMP " +
+            "WHERE store_id = :storeId AND product_id = :productId AND quantity - reserved_quantity >= :amount " +
+            "AND escrow_slots = 0 " +
+            "RETURNING quantity + :amount AS \"quantityBefore\", quantity AS \"quantityAfter\", " +
+            "reserved_quantity AS \"reservedQuantity\", version AS \"version\"",
+            nativeQuery = true)
+    Optional<StockChange> decrementIfAvailable(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId,
+        @Param("amount") int amount
+    );
+
+    @Modifying
+    @Query("UPDATE Product p SET p.reservedQuantity = p.reservedQuantity + :amount, p.version = p.version + 1 " +
+            "WHERE p.storeId = :storeId AND p.productId = :productId " +
+            "AND p.quantity - p.reservedQuantity >= :amount")
+    int reserveIfAvailable(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId,
+        @Param("amount") int amount
+    );
+
+    @Modifying
+    @Query("UPDATE Product p SET p.reservedQuantity = p.reservedQuantity - :amount, p.version = p.version + 1 " +
+            "WHERE p.storeId = :storeId AND p.productId = :productId AND p.reservedQuantity >= :amount")
+    int releaseReserved(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId,
+        @Param("amount") int amount
+    );
+
+    @Query(value = "UPDATE products SET quantity = quantity - :amount, " +
+            "reserved_quantity = reserved_quantity - :amount, version = version + 1, " +
+            "last_updated = CURRENT_TIMESTAMP " +
+            "WHERE store_id = :storeId AND product_id = :productId " +
+            "AND reserved_quantity >= :amount AND quantity >= :amount " +
+            "RETURNING quantity + :amount AS \"quantityBefore\", quantity AS \"quantityAfter\", " +
+            "reserved_quantity AS \"reservedQuantity\", version AS \"version\"",
+            nativeQuery = true)
+    Optional<StockChange> consumeReserved(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId,
+        @Param("amount") int amount
+    );
+
+    @Modifying
+    @Query("UPDATE Product p SET p.quantity = p.quantity + :delta, p.lastUpdated = :lastUpdated, p.version = p.version + 1 " +
+            "WHERE p.storeId = :storeId AND p.productId = :productId")
+    int addQuantity(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId,
+        @Param("delta") int delta,
+        @Param("lastUpdated") LocalDateTime lastUpdated
+    );
+
+    @Query(value = "SELECT quantity AS \"quantity\", reserved_quantity AS \"reservedQuantity\", " +
+            "escrow_slots AS \"escrowSlots\" FROM products " +
+            "WHERE store_id = :storeId AND product_id = :productId FOR UPDATE",
+            nativeQuery = true)
+    Optional<EscrowState> lockEscrowState(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId
+    );
+
+    @Query(value = "SELECT COALESCE(SUM(quantity), 0) FROM (" +
+            "SELECT quantity FROM product_escrow_slots " +
+            "WHERE store_id = :storeId AND product_id = :productId ORDER BY slot FOR UPDATE) locked",
+            nativeQuery = true)
+    long lockEscrowed(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId
+    );
+
+    @Query(value = "SELECT COALESCE(SUM(quantity), 0) FROM product_escrow_slots " +
+            "WHERE store_id = :storeId AND product_id = :productId",
+            nativeQuery = true)
+    long sumEscrowed(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId
+    );
+
+    @Query(value = "SELECT bundle_id AS \"bundleId\", component_id AS \"componentId\", quantity AS \"quantity\" " +
+            "FROM product_bundles WHERE bundle_id IN (:productIds)",
+            nativeQuery = true)
+    List<BundleComponent> findBundleComponents(@Param("productIds") Collection<String> productIds);
+
+    @Query(value = "SELECT p.quantity - p.reserved_quantity + COALESCE((SELECT SUM(s.quantity) FROM product_escrow_slots s " +
+            "WHERE s.store_id = p.store_id AND s.product_id = p.product_id), 0) " +
+            "FROM products p WHERE p.store_id = :storeId AND p.product_id = :productId",
+            nativeQuery = true)
+    Optional<Long> availableWithEscrow(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId
+    );
+
+    // The slot's own RETURNING value plus the rest of the SKU read in the same statement: the other slots and
+    // the base row come from the snapshot the UPDATE ran in, so a sale committed on another slot in between
+    // can't leak into this sale's quantity_after. Empty when the slot is short
+    @Query(value = "WITH taken AS (UPDATE product_escrow_slots SET quantity = quantity - :amount " +
+            "WHERE store_id = :storeId AND product_id = :productId AND slot = :slot AND quantity >= :amount " +
+            "RETURNING quantity) " +
+            "SELECT t.quantity + p.quantity + COALESCE((SELECT SUM(s.quantity) FROM product_escrow_slots s " +
+            "WHERE s.store_id = p.store_id AND s.product_id = p.product_id AND s.slot <> :slot), 0) " +
+            "FROM taken t CROSS JOIN products p WHERE p.store_id = :storeId AND p.product_id = :productId",
+            nativeQuery = true)
+    Optional<Long> takeFromEscrowSlot(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId,
+        @Param("slot") int slot,
+        @Param("amount") int amount
+    );
+
+    @Modifying
+    @Query(value = "INSERT INTO product_escrow_slots (store_id, product_id, slot, quantity) " +
+            "SELECT :storeId, :productId, s, :share + CASE WHEN s < :remainder THEN 1 ELSE 0 END " +
+            "FROM generate_series(0, :slots - 1) s",
+            nativeQuery = true)
+    int createEscrowSlots(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId,
+        @Param("slots") int slots,
+        @Param("share") int share,
+        @Param("remainder") int remainder
+    );
+
+    @Modifying
+    @Query(value = "UPDATE product_escrow_slots SET quantity = :share + CASE WHEN slot < :remainder THEN 1 ELSE 0 END " +
+            "WHERE store_id = :storeId AND product_id = :productId",
+            nativeQuery = true)
+    int spreadEscrow(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId,
+        @Param("share") int share,
+        @Param("remainder") int remainder
+    );
+
+    @Modifying
+    @Query(value = "DELETE FROM product_escrow_slots WHERE store_id = :storeId AND product_id = :productId",
+            nativeQuery = true)
+    int deleteEscrowSlots(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId
+    );
+
+    @Modifying
+    @Query("UPDATE Product p SET p.quantity = :quantity, p.escrowSlots = :escrowSlots, p.version = p.version + 1 " +
+            "WHERE p.storeId = :storeId AND p.productId = :productId")
+    int updateEscrow(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId,
+        @Param("quantity") int quantity,
+        @Param("escrowSlots") int escrowSlots
+    );
+
+    @Modifying
+    @Query("UPDATE Product p SET p.quantity = p.quantity + :amount, p.version = p.version + 1 " +
+            "WHERE p.storeId = :storeId AND p.productId = :productId")
+    int addToBase(
+        @Param("storeId") String storeId,
+        @Param("productId") String productId,
+        @Param("amount") int amount
+    );
+
+    // The keys travel as two parallel arrays, so the statement text is the same for any number of keys
+    @Query(value = "SELECT p.* FROM products p WHERE (p.store_id, p.product_id) IN (" +
+            "SELECT k.store_id, k.product_id FROM unnest(CAST(:storeIds AS varchar[]), " +
+            "CAST(:productIds AS varchar[])) AS k(store_id, product_id))",
+            nativeQuery = true)
+    List<Product> findAllByKeys(
+        @Param("storeIds") String[] storeIds,
+        @Param("productIds") String[] productIds
+    );
+
     Optional<Product> findByStoreIdAndProductId(String storeId, String productId);
 
+    List<Product> findByEscrowSlotsGreaterThan(int escrowSlots);
+
     List<Product> findByStoreId(String storeId);
 
     boolean existsByStoreIdAndProductId(String storeId, String productId);
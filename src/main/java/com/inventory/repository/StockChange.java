@@ -0,0 +1,12 @@
+package com.inventory.repository;
+
+public interface StockChange {
+
+    Integer getQuantityBefore();
+
+    Integer getQuantityAfter();
+
+    Integer getReservedQuantity();
+
+    Long getVersion();
+}
@@ -0,0 +1,37 @@
+package com.inventory.repository;
+
+import com.inventory.model.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    Optional<StockReservation> findByReservationId(String reservationId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.reservationId = :reservationId")
+    Optional<StockReservation> findByReservationIdWithLock(@Param("reservationId") String reservationId);
+
+    @Query(value = "SELECT * FROM stock_reservations WHERE status = 'HELD' AND expires_at < :now " +
+            "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<StockReservation> lockExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = :status, r.updatedAt = :updatedAt WHERE r.id IN :ids")
+    int updateStatus(
+        @Param("ids") List<Long> ids,
+        @Param("status") String status,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+}
@@ -0,0 +1,299 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.BatchOperation;
+import com.inventory.api.InventoryDTOs.InventoryData;
+import com.inventory.api.InventoryDTOs.InventoryKey;
+import com.inventory.api.InventoryDTOs.InventoryResponse;
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.InventoryEvent;
+import com.inventory.model.Product;
+import com.inventory.repository.InventoryEventRepository;
+import com.inventory.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatchSyncEngine {
+
+    private final ProductRepository productRepository;
+    private final InventoryEventRepository eventRepository;
+    private final InventoryCache inventoryCache;
+    private final HotSkuEscrow hotSkuEscrow;
+    private final IdempotencyService idempotencyService;
+    private final InventoryProperties inventoryProperties;
+
+    // Results are aligned with operations; null leaves the line to the per-operation path
+    public List<InventoryResponse> apply(String storeId, List<BatchOperation> operations) {
+        InventoryResponse[] results = new InventoryResponse[operations.size()];
+        Map<String, Integer> claimed = new LinkedHashMap<>();
+        Map<Integer, Integer> repeats = new HashMap<>();
+        List<Integer> pending = claim(operations, results, claimed, repeats);
+
+        try {
+            apply(storeId, operations, pending, results);
+            // Write errors must surface here, while the claims can still be given back
+            productRepository.flush();
+        } catch (RuntimeException e) {
+            claimed.keySet().forEach(idempotencyService::abandon);
+            throw e;
+        }
+
+        for (Map.Entry<String, Integer> entry : claimed.entrySet()) {
+            InventoryResponse result = results[entry.getValue()];
+            if (result == null) {
+                idempotencyService.abandon(entry.getKey());
+            } else {
+                idempotencyService.complete(entry.getKey(), result);
+            }
+        }
+        repeats.forEach((index, first) -> results[index] = results[first]);
+
+        return Arrays.asList(results);
+    }
+
+    // Replays are answered before any row is locked, the same way the single-operation path answers them: from
+    // the stored response, or from the stored event once that has expired. A key repeated within the batch is
+    // applied once and its later lines get the same answer
+    private List<Integer> claim(List<BatchOperation> operations, InventoryResponse[] results,
+                                Map<String, Integer> claimed, Map<Integer, Integer> repeats) {
+        List<Integer> pending = new ArrayList<>(operations.size());
+        Map<String, Integer> seen = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            String key = operations.get(i).getIdempotencyKey();
+            if (key == null) {
+                pending.add(i);
+                continue;
+            }
+            Integer first = seen.putIfAbsent(key, i);
+            if (first != null) {
+                repeats.put(i, first);
+                continue;
+            }
+            Optional<InventoryResponse> previous;
+            try {
+                previous = idempotencyService.begin(key);
+            } catch (RuntimeException e) {
+                claimed.keySet().forEach(idempotencyService::abandon);
+                throw e;
+            }
+            if (previous.isPresent()) {
+                log.info("Bulk sync line replayed - IdempotencyKey: {}", key);
+                results[i] = previous.get();
+            } else {
+                claimed.put(key, i);
+                pending.add(i);
+            }
+        }
+        return pending;
+    }
+
+    private void apply(String storeId, List<BatchOperation> operations, List<Integer> pending,
+                       InventoryResponse[] results) {
+        Map<String, List<Integer>> lines = foldByProduct(operations, pending);
+        Map<String, StockRow> rows = lockRows(storeId, lines.keySet());
+        boolean netting = inventoryProperties.getSync().isNetting();
+
+        List<InventoryEvent> events = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Map.Entry<String, List<Integer>> entry : lines.entrySet()) {
+            StockRow row = rows.computeIfAbsent(entry.getKey(), productId -> StockRow.created(productId));
+            if (row.escrowed) {
+                if (!netting) {
+                    continue;
+                }
+                row.loadEscrow((int) productRepository.lockEscrowed(storeId, row.productId));
+            }
+
+            for (int index : entry.getValue()) {
+                BatchOperation op = operations.get(index);
+                String eventId = op.getIdempotencyKey() != null ? op.getIdempotencyKey() : UUID.randomUUID().toString();
+                results[index] = applyOperation(storeId, op, row, eventId, now, events);
+            }
+        }
+
+        List<InventoryKey> touched = write(storeId, rows.values(), events);
+        inventoryCache.refreshAfterCommit(touched);
+
+        log.info("Bulk sync applied - Store: {}, Operations: {}, Products written: {}, Events: {}",
+                storeId, operations.size(), touched.size(), events.size());
+    }
+
+    private InventoryResponse applyOperation(String storeId, BatchOperation op, StockRow row,
+                                             String eventId, LocalDateTime now, List<InventoryEvent> events) {
+        int before = row.quantity;
+
+        if ("SALE".equals(op.getType())) {
+            int amount = Math.abs(op.getDelta());
+            if (row.available() < amount) {
+                events.add(event(eventId, "SALE", storeId, op.getProductId(), before, before, -amount, now, "FAILED"));
+                return InventoryResponse.error(
+                        String.format("Insufficient stock. Available: %d, Requested: %d", row.available(), amount));
+            }
+            row.quantity -= amount;
+            row.dirty = true;
+            events.add(event(eventId, "SALE", storeId, op.getProductId(), before, row.quantity, -amount, now, "SUCCESS"));
+            return InventoryResponse.success("Sale processed successfully", data(storeId, op, before, row, eventId));
+        }
+
+        if ("RESTOCK".equals(op.getType())) {
+            if (op.getDelta() < 0) {
+                return InventoryResponse.error(
+                        String.format("Product %s: Amount to add cannot be negative", op.getProductId()));
+            }
+            row.quantity += op.getDelta();
+            row.dirty = true;
+            events.add(event(eventId, "RESTOCK", storeId, op.getProductId(), before, row.quantity, op.getDelta(), now, "SUCCESS"));
+            return InventoryResponse.success("Restock processed successfully", data(storeId, op, before, row, eventId));
+        }
+
+        return null;
+    }
+
+    // Lines grouped per product in their original order; the sorted keys double as the lock order
+    private Map<String, List<Integer>> foldByProduct(List<BatchOperation> operations, List<Integer> pending) {
+        Map<String, List<Integer>> lines = new TreeMap<>();
+        for (int index : pending) {
+            lines.computeIfAbsent(operations.get(index).getProductId(), productId -> new ArrayList<>()).add(index);
+        }
+        return lines;
+    }
+
+    private Map<String, StockRow> lockRows(String storeId, Set<String> productIds) {
+        Map<String, StockRow> rows = new TreeMap<>();
+        int chunkSize = Math.max(1, inventoryProperties.getSync().getLockChunkSize());
+        List<String> sorted = new ArrayList<>(productIds);
+        for (int from = 0; from < sorted.size(); from += chunkSize) {
+            List<String> chunk = sorted.subList(from, Math.min(from + chunkSize, sorted.size()));
+            for (Product product : productRepository.findAllForUpdate(storeId, chunk)) {
+                rows.put(product.getProductId(), StockRow.of(product));
+            }
+        }
+        return rows;
+    }
+
+    // Locked rows are managed entities, so their UPDATEs and the inserts below are flushed as JDBC batches
+    private List<InventoryKey> write(String storeId, Iterable<StockRow> rows, List<InventoryEvent> events) {
+        List<Product> created = new ArrayList<>();
+        List<InventoryKey> touched = new ArrayList<>();
+
+        for (StockRow row : rows) {
+            if (!row.dirty) {
+                continue;
+            }
+            if (row.escrowed) {
+                writeEscrowed(storeId, row);
+            } else if (row.product == null) {
+                created.add(Product.builder()
+                        .storeId(storeId)
+                        .productId(row.productId)
+                        .quantity(row.quantity)
+                        .build());
+            } else {
+                row.product.setQuantity(row.quantity);
+            }
+            touched.add(new InventoryKey(storeId, row.productId));
+        }
+
+        if (!created.isEmpty()) {
+            productRepository.saveAll(created);
+        }
+        if (!events.isEmpty()) {
+            eventRepository.saveAll(events);
+        }
+        return touched;
+    }
+
+    // One escrow movement per SKU: sales come out of the slots, restocks land on the base row
+    private void writeEscrowed(String storeId, StockRow row) {
+        int net = row.quantity - row.loadedQuantity;
+        if (net < 0 && hotSkuEscrow.take(storeId, row.productId, -net).isEmpty()) {
+            throw new IllegalStateException(String.format(
+                    "Escrow pool for product %s changed under lock", row.productId));
+        }
+        if (net > 0) {
+            productRepository.addToBase(storeId, row.productId, net);
+        }
+    }
+
+    private InventoryEvent event(String eventId, String type, String storeId, String productId,
+                                 int before, int after, int delta, LocalDateTime timestamp, String status) {
+        return InventoryEvent.builder()
+                .eventId(eventId)
+                .eventType(type)
+                .storeId(storeId)
+                .productId(productId)
+                .quantityBefore(before)
+                .quantityAfter(after)
+                .quantityDelta(delta)
+                .timestamp(timestamp)
+                .status(status)
+                .build();
+    }
+
+    private InventoryData data(String storeId, BatchOperation op, int before, StockRow row, String eventId) {
+        return InventoryData.builder()
+                .storeId(storeId)
+                .productId(op.getProductId())
+                .quantity(row.quantity)
+                .quantityBefore(before)
+                .reservedQuantity(row.reserved)
+                .availableQuantity(row.available())
+                .lastUpdated(LocalDateTime.now())
+                .eventId(eventId)
+                .cached(false)
+                .build();
+    }
+
+    private static class StockRow {
+        private Product product;
+        private String productId;
+        private int quantity;
+        private int loadedQuantity;
+        private int reserved;
+        private boolean escrowed;
+        private boolean dirty;
+
+        static StockRow of(Product product) {
+            StockRow row = new StockRow();
+            row.product = product;
+            row.productId = product.getProductId();
+            row.quantity = product.getQuantity();
+            row.loadedQuantity = row.quantity;
+            row.reserved = product.getReservedQuantity() == null ? 0 : product.getReservedQuantity();
+            row.escrowed = product.isEscrowSplit();
+            return row;
+        }
+
+        static StockRow created(String productId) {
+            StockRow row = new StockRow();
+            row.productId = productId;
+            return row;
+        }
+
+        // Escrowed rows are simulated on base plus slots, the same total the single-line path reports
+        void loadEscrow(int escrowed) {
+            quantity += escrowed;
+            loadedQuantity = quantity;
+        }
+
+        int available() {
+            return quantity - reserved;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.inventory.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inventory.config.InventoryProperties;
+import com.inventory.repository.BundleComponent;
+import com.inventory.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Slf4j
+@Component
+public class BillOfMaterials {
+
+    private final ProductRepository productRepository;
+    private final Cache<String, Map<String, Integer>> recipes;
+
+    public BillOfMaterials(ProductRepository productRepository, InventoryProperties inventoryProperties) {
+        this.productRepository = productRepository;
+        InventoryProperties.Checkout settings = inventoryProperties.getCheckout();
+        // Every SKU ever checked out gets an entry, so the size bound keeps the catalogue from piling up here
+        this.recipes = Caffeine.newBuilder()
+                .maximumSize(settings.getBomCacheMaxSize())
+                .expireAfterWrite(settings.getBomCacheTtl())
+                .build();
+    }
+
+    // Turns ordered SKUs into component demand, sorted by product id; plain SKUs map to themselves
+    public TreeMap<String, Integer> expand(Map<String, Integer> lines) {
+        Map<String, Map<String, Integer>> found = recipesOf(lines.keySet());
+
+        TreeMap<String, Integer> demand = new TreeMap<>();
+        for (Map.Entry<String, Integer> line : lines.entrySet()) {
+            Map<String, Integer> components = found.get(line.getKey());
+            if (components.isEmpty()) {
+                demand.merge(line.getKey(), line.getValue(), Integer::sum);
+                continue;
+            }
+            for (Map.Entry<String, Integer> component : components.entrySet()) {
+                demand.merge(component.getKey(), component.getValue() * line.getValue(), Integer::sum);
+            }
+        }
+        return demand;
+    }
+
+    // Plain SKUs are cached too (as an empty recipe), so a warm checkout does no lookup at all
+    private Map<String, Map<String, Integer>> recipesOf(Iterable<String> productIds) {
+        Map<String, Map<String, Integer>> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String productId : productIds) {
+            Map<String, Integer> cached = recipes.getIfPresent(productId);
+            if (cached != null) {
+                found.put(productId, cached);
+            } else {
+                missing.add(productId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        Map<String, Map<String, Integer>> loaded = new HashMap<>();
+        for (String productId : missing) {
+            loaded.put(productId, new LinkedHashMap<>());
+        }
+        for (BundleComponent component : productRepository.findBundleComponents(missing)) {
+            loaded.get(component.getBundleId()).put(component.getComponentId(), component.getQuantity());
+        }
+
+        for (Map.Entry<String, Map<String, Integer>> recipe : loaded.entrySet()) {
+            Map<String, Integer> components = Collections.unmodifiableMap(recipe.getValue());
+            recipes.put(recipe.getKey(), components);
+            found.put(recipe.getKey(), components);
+        }
+        log.debug("Bill of materials loaded - SKUs: {}", missing.size());
+        return found;
+    }
+}
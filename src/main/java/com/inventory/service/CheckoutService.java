@@ -0,0 +1,244 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.CheckoutData;
+import com.inventory.api.InventoryDTOs.CheckoutItem;
+import com.inventory.api.InventoryDTOs.CheckoutLine;
+import com.inventory.api.InventoryDTOs.CheckoutRequest;
+import com.inventory.api.InventoryDTOs.CheckoutResponse;
+import com.inventory.api.InventoryDTOs.InventoryKey;
+import com.inventory.model.InventoryEvent;
+import com.inventory.model.Product;
+import com.inventory.repository.InventoryEventRepository;
+import com.inventory.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CheckoutService {
+
+    private final ProductRepository productRepository;
+    private final InventoryEventRepository eventRepository;
+    private final EventWriter eventWriter;
+    private final BillOfMaterials billOfMaterials;
+    private final HotSkuEscrow hotSkuEscrow;
+    private final InventoryCache inventoryCache;
+    private final LedgerEngine ledgerEngine;
+    private final RedisStockGate redisStockGate;
+    private final IdempotencyService idempotencyService;
+
+    @Transactional
+    public CheckoutResponse checkout(CheckoutRequest request) {
+        String storeId = request.getStoreId();
+        log.info("Processing CHECKOUT - Store: {}, Lines: {}", storeId, request.getLines().size());
+
+        // Refusals that last only while the store's mode does are checked before the key is claimed, so they are
+        // never stored as the key's response
+        if (ledgerEngine.owns(storeId)) {
+            return CheckoutResponse.error("Checkout is not available for ledger-owned stores", List.of());
+        }
+        if (redisStockGate.isActive()) {
+            return CheckoutResponse.error("Checkout is not available while the Redis stock gate is active", List.of());
+        }
+
+        Map<String, Integer> ordered = new LinkedHashMap<>();
+        for (CheckoutLine line : request.getLines()) {
+            ordered.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        TreeMap<String, Integer> demand = billOfMaterials.expand(ordered);
+
+        String idempotencyKey = request.getIdempotencyKey();
+        if (idempotencyKey == null) {
+            return executeCheckout(request, demand, UUID.randomUUID().toString());
+        }
+
+        Optional<CheckoutResponse> previous = idempotencyService.begin(idempotencyKey, CheckoutResponse.class,
+                () -> CheckoutResponse.error(IdempotencyService.IN_PROGRESS_MESSAGE, List.of()),
+                key -> replayFromEventLog(key, storeId, demand.size()));
+        if (previous.isPresent()) {
+            log.info("Checkout replayed - IdempotencyKey: {}", idempotencyKey);
+            return previous.get();
+        }
+
+        try {
+            CheckoutResponse response = executeCheckout(request, demand, idempotencyKey);
+            idempotencyService.complete(idempotencyKey, response);
+            return response;
+        } catch (RuntimeException e) {
+            idempotencyService.abandon(idempotencyKey);
+            throw e;
+        }
+    }
+
+    private CheckoutResponse executeCheckout(CheckoutRequest request, TreeMap<String, Integer> demand,
+                                             String checkoutId) {
+        String storeId = request.getStoreId();
+
+        // One query locks every component row, in product order like every other multi-row writer
+        Map<String, Product> rows = new HashMap<>();
+        for (Product product : productRepository.findAllForUpdate(storeId, demand.keySet())) {
+            rows.put(product.getProductId(), product);
+        }
+
+        // Checked again under the row locks: a retry that got past an unavailable Redis still gets the response
+        // of a checkout that has committed, or waits here for one that is still committing
+        if (request.getIdempotencyKey() != null) {
+            Optional<CheckoutResponse> applied = replayFromEventLog(checkoutId, storeId, demand.size());
+            if (applied.isPresent()) {
+                return applied.get();
+            }
+        }
+
+        List<String> errors = validate(storeId, demand, rows);
+        if (!errors.isEmpty()) {
+            log.info("CHECKOUT rejected - Store: {}, Errors: {}", storeId, errors.size());
+            return CheckoutResponse.error("Checkout rejected", errors);
+        }
+
+        List<CheckoutItem> items = new ArrayList<>(demand.size());
+        List<InventoryEvent> events = new ArrayList<>(demand.size());
+        for (Map.Entry<String, Integer> entry : demand.entrySet()) {
+            Product product = rows.get(entry.getKey());
+            int quantity = entry.getValue();
+            hotSkuEscrow.recordSale(storeId, product.getProductId());
+            int quantityBefore;
+            int quantityAfter;
+
+            if (product.isEscrowSplit()) {
+                Optional<Integer> remaining = hotSkuEscrow.take(storeId, product.getProductId(), quantity);
+                if (remaining.isEmpty()) {
+                    return rollBack(String.format("Insufficient stock for %s. Requested: %d",
+                            product.getProductId(), quantity));
+                }
+                quantityAfter = remaining.get();
+                quantityBefore = quantityAfter + quantity;
+            } else {
+                quantityBefore = product.getQuantity();
+                product.removeQuantity(quantity);
+                product.setLastUpdated(LocalDateTime.now());
+                quantityAfter = product.getQuantity();
+            }
+
+            items.add(CheckoutItem.builder()
+                    .productId(product.getProductId())
+                    .quantity(quantity)
+                    .quantityBefore(quantityBefore)
+                    .quantityAfter(quantityAfter)
+                    .build());
+            events.add(InventoryEvent.builder()
+                    .eventId(eventId(checkoutId, events.size() + 1))
+                    .eventType(InventoryEvent.EventType.SALE.name())
+                    .status(InventoryEvent.EventStatus.SUCCESS.name())
+                    .storeId(storeId)
+                    .productId(product.getProductId())
+                    .quantityBefore(quantityBefore)
+                    .quantityAfter(quantityAfter)
+                    .quantityDelta(-quantity)
+                    .timestamp(request.getTimestamp() != null ? request.getTimestamp() : LocalDateTime.now())
+                    .build());
+        }
+
+        // Durable: these rows are what a retry of this checkout is checked against
+        eventWriter.writeAllDurable(events);
+        refreshAfterCommit(storeId, demand.keySet());
+
+        log.info("CHECKOUT completed - Checkout: {}, Store: {}, Lines: {}, SKUs: {}",
+                checkoutId, storeId, request.getLines().size(), items.size());
+
+        return CheckoutResponse.success("Checkout completed", CheckoutData.builder()
+                .checkoutId(checkoutId)
+                .storeId(storeId)
+                .items(items)
+                .build());
+    }
+
+    // One SUCCESS row per component, numbered in product order and committed together. A retry carries the same
+    // lines, so the same numbers; the rows are the original response's items
+    private Optional<CheckoutResponse> replayFromEventLog(String checkoutId, String storeId, int lines) {
+        List<String> eventIds = new ArrayList<>(lines);
+        for (int line = 1; line <= lines; line++) {
+            eventIds.add(eventId(checkoutId, line));
+        }
+        Map<String, InventoryEvent> events = new HashMap<>();
+        for (InventoryEvent event : eventRepository.findByEventIdIn(eventIds)) {
+            events.put(event.getEventId(), event);
+        }
+        if (events.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<CheckoutItem> items = new ArrayList<>(events.size());
+        for (String eventId : eventIds) {
+            InventoryEvent event = events.get(eventId);
+            if (event != null) {
+                items.add(CheckoutItem.builder()
+                        .productId(event.getProductId())
+                        .quantity(-event.getQuantityDelta())
+                        .quantityBefore(event.getQuantityBefore())
+                        .quantityAfter(event.getQuantityAfter())
+                        .build());
+            }
+        }
+        return Optional.of(CheckoutResponse.success("Checkout completed", CheckoutData.builder()
+                .checkoutId(checkoutId)
+                .storeId(storeId)
+                .items(items)
+                .build()));
+    }
+
+    // Every line is checked before anything is written, so the caller sees all shortages at once
+    private List<String> validate(String storeId, Map<String, Integer> demand, Map<String, Product> rows) {
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : demand.entrySet()) {
+            Product product = rows.get(entry.getKey());
+            if (product == null) {
+                errors.add(String.format("Product %s not found in inventory", entry.getKey()));
+                continue;
+            }
+            int available = product.isEscrowSplit()
+                    ? hotSkuEscrow.availableQuantity(storeId, product.getProductId())
+                    : product.getAvailableQuantity();
+            if (available < entry.getValue()) {
+                errors.add(String.format("Insufficient stock for %s. Available: %d, Requested: %d",
+                        entry.getKey(), available, entry.getValue()));
+            }
+        }
+        return errors;
+    }
+
+    // Escrow slots can still run dry after validation; undo the rows already decremented
+    private CheckoutResponse rollBack(String error) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+        log.info("CHECKOUT rolled back - {}", error);
+        return CheckoutResponse.error("Checkout rejected", List.of(error));
+    }
+
+    private String eventId(String checkoutId, int line) {
+        return checkoutId + ":" + line;
+    }
+
+    private void refreshAfterCommit(String storeId, Iterable<String> productIds) {
+        List<InventoryKey> keys = new ArrayList<>();
+        for (String productId : productIds) {
+            keys.add(new InventoryKey(storeId, productId));
+        }
+        inventoryCache.refreshAfterCommit(keys);
+    }
+}
@@ -0,0 +1,345 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.config.InventoryProperties.EventDurability;
+import com.inventory.model.InventoryEvent;
+import com.inventory.repository.InventoryEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.LongStream;
+
+@Slf4j
+@Component
+public class EventWriter {
+
+    private static final long PARK_NANOS = 50_000L;
+    private static final int ROWS_PER_STATEMENT = 1000;
+
+    // Must match InventoryEvent's allocationSize: both hand out ids by the block from the same sequence
+    private static final int ID_BLOCK = 50;
+    private static final String NEXT_BLOCKS =
+            "SELECT nextval('inventory_events_id_seq') FROM generate_series(1, ?)";
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO inventory_events (id, event_id, event_type, store_id, product_id, quantity_before, " +
+            "quantity_after, quantity_delta, timestamp, status, error_message) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final InventoryEventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ownTransaction;
+    private final InventoryProperties.Events settings;
+    private final Counter backpressure;
+    private final Counter fallbacks;
+    private final Counter conflicts;
+    private final Counter dropped;
+
+    private volatile RingBuffer<InventoryEvent> queue;
+    private volatile Semaphore slots;
+    private volatile boolean running;
+    private Thread flusher;
+
+    public EventWriter(InventoryEventRepository eventRepository,
+                       JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       InventoryProperties inventoryProperties,
+                       MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        // Inserts come from the flusher or from a caller outside any transaction, and commit on their own
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.settings = inventoryProperties.getEvents();
+        this.backpressure = meterRegistry.counter("inventory.events.backpressure");
+        this.fallbacks = meterRegistry.counter("inventory.events.fallback");
+        this.conflicts = meterRegistry.counter("inventory.events.conflicts");
+        this.dropped = meterRegistry.counter("inventory.events.dropped");
+        meterRegistry.gauge("inventory.events.queued", this, writer -> writer.queue == null ? 0 : writer.queue.size());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (settings.getDurability() != EventDurability.GROUP) {
+            return;
+        }
+        queue = new RingBuffer<>(settings.getQueueCapacity());
+        slots = new Semaphore(queue.capacity());
+        running = true;
+        flusher = new Thread(this::run, "event-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+
+        log.info("Event writer started - Durability: GROUP, Queue capacity: {}, Batch size: {}",
+                queue.capacity(), settings.getBatchSize());
+    }
+
+    public void write(InventoryEvent event) {
+        writeAll(List.of(event));
+    }
+
+    public void writeAll(List<InventoryEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (queue == null) {
+            eventRepository.saveAll(events);
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (reserve(events.size())) {
+                enqueue(events);
+            } else {
+                writeDirect(events);
+            }
+            return;
+        }
+
+        // The caller holds a primary connection until its transaction is cleaned up, which is after every callback.
+        // So nothing here waits on the flusher or opens a second connection: queue space is reserved before
+        // commit, and without space the events are saved in the caller's own transaction instead
+        List<InventoryEvent> committed = new ArrayList<>(events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean reserved;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                reserved = reserve(committed.size());
+                if (!reserved) {
+                    backpressure.increment();
+                    fallbacks.increment(committed.size());
+                    eventRepository.saveAll(committed);
+                }
+            }
+
+            @Override
+            public void afterCommit() {
+                if (reserved) {
+                    enqueue(committed);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (reserved && status != STATUS_COMMITTED) {
+                    slots.release(committed.size());
+                }
+            }
+        });
+    }
+
+    // For events whose row is the proof that an operation was applied: transfers, checkouts and keyed sales and
+    // restocks are deduplicated against inventory_events, so their events are saved in the caller's transaction
+    // whatever the durability, and a retry that takes the row locks after the commit always finds them
+    public void writeDurable(InventoryEvent event) {
+        writeAllDurable(List.of(event));
+    }
+
+    public void writeAllDurable(List<InventoryEvent> events) {
+        if (!events.isEmpty()) {
+            eventRepository.saveAll(events);
+        }
+    }
+
+    private boolean reserve(int count) {
+        try {
+            return slots.tryAcquire(count, settings.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Space was reserved, so every offer succeeds; the flusher gives the permit back when it takes the event
+    private void enqueue(List<InventoryEvent> events) {
+        for (InventoryEvent event : events) {
+            queue.offer(event);
+        }
+    }
+
+    private void writeDirect(List<InventoryEvent> events) {
+        backpressure.increment();
+        fallbacks.increment(events.size());
+        try {
+            insertReportingConflicts(events);
+        } catch (RuntimeException e) {
+            deadLetter(events, e);
+        }
+    }
+
+    private void run() {
+        List<InventoryEvent> batch = new ArrayList<>();
+        long oldest = 0;
+
+        while (running || !queue.isEmpty()) {
+            InventoryEvent next = queue.poll();
+            if (next != null) {
+                slots.release();
+                if (batch.isEmpty()) {
+                    oldest = System.nanoTime();
+                }
+                batch.add(next);
+            }
+
+            boolean full = batch.size() >= settings.getBatchSize();
+            boolean due = !batch.isEmpty() && System.nanoTime() - oldest >= settings.getFlushInterval().toNanos();
+            if (full || due) {
+                flush(batch);
+                batch = new ArrayList<>();
+            } else if (next == null) {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    // A batch is retried max-flush-attempts times, for outages. If it still fails it is split in halves, each
+    // tried once, so one bad row can't hold up the queue: only the event that fails on its own is dead-lettered
+    private void flush(List<InventoryEvent> events) {
+        int attempts = Math.max(1, settings.getMaxFlushAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insertReportingConflicts(events);
+                log.debug("Event batch flushed - Events: {}", events.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= attempts || !running) {
+                    log.error("Event batch flush failed, isolating the failing rows - Events: {}, Attempts: {}",
+                            events.size(), attempt, e);
+                    isolate(events, e);
+                    return;
+                }
+                log.warn("Event batch flush failed, retrying - Events: {}, Attempt: {}, Error: {}",
+                        events.size(), attempt, e.getMessage());
+                LockSupport.parkNanos(settings.getRetryDelay().toNanos());
+            }
+        }
+    }
+
+    private void isolate(List<InventoryEvent> events, RuntimeException cause) {
+        if (events.size() == 1) {
+            deadLetter(events, cause);
+            return;
+        }
+        int middle = events.size() / 2;
+        for (List<InventoryEvent> half : List.of(events.subList(0, middle), events.subList(middle, events.size()))) {
+            try {
+                insertReportingConflicts(half);
+            } catch (RuntimeException e) {
+                isolate(half, e);
+            }
+        }
+    }
+
+    // Every field is logged, so a dropped audit row can be replayed by hand
+    private void deadLetter(List<InventoryEvent> events, RuntimeException cause) {
+        dropped.increment(events.size());
+        for (InventoryEvent event : events) {
+            log.error("Event DROPPED - EventId: {}, Type: {}, Status: {}, Store: {}, Product: {}, Before: {}, " +
+                            "After: {}, Delta: {}, Timestamp: {}, Error: {}",
+                    event.getEventId(), event.getEventType(), event.getStatus(), event.getStoreId(),
+                    event.getProductId(), event.getQuantityBefore(), event.getQuantityAfter(),
+                    event.getQuantityDelta(), event.getTimestamp(), cause.getMessage());
+        }
+    }
+
+    // A duplicate event id is a real replay that got past idempotency: the batch is split so the other events
+    // still land, and each duplicate is logged and counted rather than silently dropped
+    private void insertReportingConflicts(List<InventoryEvent> events) {
+        try {
+            insert(events);
+        } catch (DuplicateKeyException e) {
+            for (InventoryEvent event : events) {
+                try {
+                    insert(List.of(event));
+                } catch (DuplicateKeyException duplicate) {
+                    conflicts.increment();
+                    log.error("Duplicate event id rejected, event not stored - EventId: {}, Type: {}, Store: {}, Product: {}",
+                            event.getEventId(), event.getEventType(), event.getStoreId(), event.getProductId());
+                }
+            }
+        }
+    }
+
+    void insert(List<InventoryEvent> events) {
+        ownTransaction.executeWithoutResult(status -> {
+            PrimitiveIterator.OfLong ids = allocateIds(events.size());
+            for (int from = 0; from < events.size(); from += ROWS_PER_STATEMENT) {
+                List<InventoryEvent> chunk = events.subList(from, Math.min(from + ROWS_PER_STATEMENT, events.size()));
+                StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+                List<Object> args = new ArrayList<>(chunk.size() * 11);
+                for (int i = 0; i < chunk.size(); i++) {
+                    InventoryEvent event = chunk.get(i);
+                    sql.append(i == 0 ? ROW : ", " + ROW);
+                    args.add(ids.nextLong());
+                    args.add(event.getEventId());
+                    args.add(event.getEventType());
+                    args.add(event.getStoreId());
+                    args.add(event.getProductId());
+                    args.add(event.getQuantityBefore());
+                    args.add(event.getQuantityAfter());
+                    args.add(event.getQuantityDelta());
+                    args.add(event.getTimestamp());
+                    args.add(event.getStatus());
+                    args.add(event.getErrorMessage());
+                }
+                jdbcTemplate.update(sql.toString(), args.toArray());
+            }
+        });
+    }
+
+    // Ids the way Hibernate's pooled optimizer takes them: each nextval reserves (value - 49 .. value), so one
+    // call per 50 rows and no id wasted. A value below the block size only comes from a fresh sequence, whose
+    // first block Hibernate numbers differently, so it is skipped rather than shared
+    private PrimitiveIterator.OfLong allocateIds(int count) {
+        List<Long> blocks = new ArrayList<>();
+        int needed = (count + ID_BLOCK - 1) / ID_BLOCK;
+        while (blocks.size() < needed) {
+            for (Long value : jdbcTemplate.queryForList(NEXT_BLOCKS, Long.class, needed - blocks.size())) {
+                if (value >= ID_BLOCK) {
+                    blocks.add(value);
+                }
+            }
+        }
+        return blocks.stream()
+                .flatMapToLong(top -> LongStream.rangeClosed(top - ID_BLOCK + 1, top))
+                .limit(count)
+                .iterator();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        try {
+            flusher.join(settings.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.error("Event writer stopped with unflushed events - Count: {}", queue.size());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.InventoryEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    // Not synchronized: a virtual thread blocked on the fsync below would pin its carrier
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    public FileOutboxSink(@Qualifier("objectMapper") ObjectMapper objectMapper,
+                          InventoryProperties inventoryProperties) {
+        this.objectMapper = objectMapper;
+        this.path = Paths.get(inventoryProperties.getOutbox().getFilePath());
+    }
+
+    // One NDJSON line per event, forced to disk before the batch is marked processed
+    @Override
+    public void publish(List<InventoryEvent> events) {
+        StringBuilder lines = new StringBuilder();
+        appendLock.lock();
+        try {
+            for (InventoryEvent event : events) {
+                lines.append(objectMapper.writeValueAsString(event)).append('\n');
+            }
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append outbox batch to " + path, e);
+        } finally {
+            appendLock.unlock();
+        }
+        log.debug("Outbox batch appended - File: {}, Events: {}", path, events.size());
+    }
+}
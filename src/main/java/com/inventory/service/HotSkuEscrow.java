@@ -0,0 +1,245 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.Product;
+import com.inventory.repository.EscrowState;
+import com.inventory.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotSkuEscrow {
+
+    private final ProductRepository productRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final InventoryProperties inventoryProperties;
+
+    private final Map<Sku, LongAdder> saleCounts = new ConcurrentHashMap<>();
+    private final Map<Sku, Integer> splitSlots = new ConcurrentHashMap<>();
+    private final Map<Sku, Integer> coolSamples = new ConcurrentHashMap<>();
+
+    public void recordSale(String storeId, String productId) {
+        if (!inventoryProperties.getEscrow().isEnabled()) {
+            return;
+        }
+        saleCounts.computeIfAbsent(new Sku(storeId, productId), k -> new LongAdder()).increment();
+    }
+
+    public boolean isSplit(String storeId, String productId) {
+        return splitSlots.containsKey(new Sku(storeId, productId));
+    }
+
+    @Transactional
+    public Optional<Integer> take(String storeId, String productId, int amount) {
+        Integer slots = splitSlots.get(new Sku(storeId, productId));
+        if (slots != null) {
+            int start = ThreadLocalRandom.current().nextInt(slots);
+            for (int i = 0; i < slots; i++) {
+                Optional<Long> after = productRepository.takeFromEscrowSlot(
+                        storeId, productId, (start + i) % slots, amount);
+                if (after.isPresent()) {
+                    return Optional.of(after.get().intValue());
+                }
+            }
+        }
+        return takeWithRebalance(storeId, productId, amount);
+    }
+
+    @Transactional
+    public boolean moveToBase(String storeId, String productId, int amount) {
+        if (take(storeId, productId, amount).isEmpty()) {
+            return false;
+        }
+        productRepository.addToBase(storeId, productId, amount);
+        return true;
+    }
+
+    public int escrowedQuantity(String storeId, String productId) {
+        return (int) productRepository.sumEscrowed(storeId, productId);
+    }
+
+    public int availableQuantity(String storeId, String productId) {
+        return productRepository.availableWithEscrow(storeId, productId).map(Long::intValue).orElse(0);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.escrow.sample-interval:PT1S}")
+    public void sample() {
+        InventoryProperties.Escrow settings = inventoryProperties.getEscrow();
+        if (!settings.isEnabled()) {
+            return;
+        }
+
+        refreshSplits();
+
+        double seconds = settings.getSampleInterval().toMillis() / 1000.0;
+        long cooldownSamples = Math.max(1, settings.getCooldown().toMillis() / settings.getSampleInterval().toMillis());
+
+        Set<Sku> seen = new HashSet<>();
+        Iterator<Map.Entry<Sku, LongAdder>> it = saleCounts.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Sku, LongAdder> entry = it.next();
+            Sku sku = entry.getKey();
+            double rate = entry.getValue().sumThenReset() / seconds;
+            seen.add(sku);
+
+            if (!splitSlots.containsKey(sku)) {
+                if (rate >= settings.getSplitRate()) {
+                    split(sku, settings.getSlots(), rate);
+                } else if (rate == 0) {
+                    it.remove();
+                }
+            } else {
+                trackCooling(sku, rate < settings.getMergeRate(), cooldownSamples);
+            }
+        }
+
+        for (Sku sku : splitSlots.keySet()) {
+            if (!seen.contains(sku)) {
+                trackCooling(sku, true, cooldownSamples);
+            }
+        }
+    }
+
+    private void trackCooling(Sku sku, boolean cool, long cooldownSamples) {
+        if (!cool) {
+            coolSamples.remove(sku);
+            return;
+        }
+        if (coolSamples.merge(sku, 1, Integer::sum) >= cooldownSamples) {
+            merge(sku);
+        }
+    }
+
+    private void refreshSplits() {
+        try {
+            Set<Sku> current = new HashSet<>();
+            for (Product product : productRepository.findByEscrowSlotsGreaterThan(0)) {
+                Sku sku = new Sku(product.getStoreId(), product.getProductId());
+                current.add(sku);
+                splitSlots.put(sku, product.getEscrowSlots());
+            }
+            splitSlots.keySet().retainAll(current);
+            coolSamples.keySet().retainAll(current);
+        } catch (Exception e) {
+            log.warn("Escrow refresh failed (non-fatal): {}", e.getMessage());
+        }
+    }
+
+    void split(Sku sku, int slots, double rate) {
+        try {
+            Integer created = new TransactionTemplate(transactionManager).execute(status -> {
+                EscrowState state = productRepository.lockEscrowState(sku.getStoreId(), sku.getProductId())
+                        .orElse(null);
+                if (state == null) {
+                    return null;
+                }
+                if (state.getEscrowSlots() > 0) {
+                    return state.getEscrowSlots();
+                }
+
+                int available = state.getQuantity() - state.getReservedQuantity();
+                if (available < slots) {
+                    return null;
+                }
+
+                productRepository.createEscrowSlots(sku.getStoreId(), sku.getProductId(),
+                        slots, available / slots, available % slots);
+                productRepository.updateEscrow(sku.getStoreId(), sku.getProductId(),
+                        state.getReservedQuantity(), slots);
+                return slots;
+            });
+
+            if (created != null) {
+                splitSlots.put(sku, created);
+                coolSamples.remove(sku);
+                log.info("Escrow SPLIT - Store: {}, Product: {}, Slots: {}, Rate: {}/s",
+                        sku.getStoreId(), sku.getProductId(), created, Math.round(rate));
+            }
+        } catch (Exception e) {
+            log.warn("Escrow split failed (non-fatal) - Store: {}, Product: {}, Error: {}",
+                    sku.getStoreId(), sku.getProductId(), e.getMessage());
+        }
+    }
+
+    void merge(Sku sku) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                EscrowState state = productRepository.lockEscrowState(sku.getStoreId(), sku.getProductId())
+                        .orElse(null);
+                if (state == null || state.getEscrowSlots() == 0) {
+                    return;
+                }
+
+                long escrowed = productRepository.lockEscrowed(sku.getStoreId(), sku.getProductId());
+                productRepository.deleteEscrowSlots(sku.getStoreId(), sku.getProductId());
+                productRepository.updateEscrow(sku.getStoreId(), sku.getProductId(),
+                        state.getQuantity() + (int) escrowed, 0);
+            });
+
+            splitSlots.remove(sku);
+            coolSamples.remove(sku);
+            log.info("Escrow MERGE - Store: {}, Product: {}", sku.getStoreId(), sku.getProductId());
+        } catch (Exception e) {
+            log.warn("Escrow merge failed (non-fatal) - Store: {}, Product: {}, Error: {}",
+                    sku.getStoreId(), sku.getProductId(), e.getMessage());
+        }
+    }
+
+    private Optional<Integer> takeWithRebalance(String storeId, String productId, int amount) {
+        Sku sku = new Sku(storeId, productId);
+        EscrowState state = productRepository.lockEscrowState(storeId, productId).orElse(null);
+        if (state == null) {
+            return Optional.empty();
+        }
+
+        int baseAvailable = state.getQuantity() - state.getReservedQuantity();
+        int slots = state.getEscrowSlots();
+
+        if (slots == 0) {
+            // merged by another instance since our last refresh
+            splitSlots.remove(sku);
+            if (baseAvailable < amount) {
+                return Optional.empty();
+            }
+            int after = state.getQuantity() - amount;
+            productRepository.updateEscrow(storeId, productId, after, 0);
+            return Optional.of(after);
+        }
+
+        splitSlots.put(sku, slots);
+        long pool = productRepository.lockEscrowed(storeId, productId) + baseAvailable;
+        if (pool < amount) {
+            return Optional.empty();
+        }
+
+        pool -= amount;
+        productRepository.spreadEscrow(storeId, productId, (int) (pool / slots), (int) (pool % slots));
+        productRepository.updateEscrow(storeId, productId, state.getReservedQuantity(), slots);
+
+        log.debug("Escrow REBALANCE - Store: {}, Product: {}, Pool: {}", storeId, productId, pool);
+        return Optional.of(state.getReservedQuantity() + (int) pool);
+    }
+
+    @Value
+    static class Sku {
+        String storeId;
+        String productId;
+    }
+}
@@ -0,0 +1,157 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.api.InventoryDTOs.InventoryData;
+import com.inventory.api.InventoryDTOs.InventoryResponse;
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.InventoryEvent;
+import com.inventory.repository.InventoryEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String IN_PROGRESS_MESSAGE = "A request with this idempotency key is already being processed";
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final String PENDING = "PENDING";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final InventoryEventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final InventoryProperties inventoryProperties;
+
+    public IdempotencyService(StringRedisTemplate stringRedisTemplate,
+                              InventoryEventRepository eventRepository,
+                              @Qualifier("objectMapper") ObjectMapper objectMapper,
+                              InventoryProperties inventoryProperties) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    public Optional<InventoryResponse> begin(String idempotencyKey) {
+        return begin(idempotencyKey, InventoryResponse.class,
+                () -> InventoryResponse.error(IN_PROGRESS_MESSAGE), this::findInEventLog);
+    }
+
+    // For responses other than InventoryResponse: the caller supplies the answer for a key still in flight and
+    // how to rebuild its response from the event log once Redis no longer has it
+    public <T> Optional<T> begin(String idempotencyKey, Class<T> type, Supplier<T> inProgress,
+                                 Function<String, Optional<T>> eventLog) {
+        String redisKey = KEY_PREFIX + idempotencyKey;
+        try {
+            Boolean claimed = stringRedisTemplate.opsForValue().setIfAbsent(
+                    redisKey, PENDING, inventoryProperties.getIdempotency().getPendingTtl());
+            if (!Boolean.TRUE.equals(claimed)) {
+                String stored = stringRedisTemplate.opsForValue().get(redisKey);
+                if (stored == null) {
+                    return eventLog.apply(idempotencyKey);
+                }
+                if (PENDING.equals(stored)) {
+                    log.info("Duplicate in-flight request - IdempotencyKey: {}", idempotencyKey);
+                    return Optional.of(inProgress.get());
+                }
+
+                log.debug("Idempotency HIT - Key: {}", redisKey);
+                return Optional.of(objectMapper.readValue(stored, type));
+            }
+        } catch (Exception e) {
+            log.warn("Idempotency fast path failed, checking event log - Key: {}, Error: {}",
+                    idempotencyKey, e.getMessage());
+            return eventLog.apply(idempotencyKey);
+        }
+        return replayAfterClaim(idempotencyKey, eventLog);
+    }
+
+    // Redis only remembers a key for the ttl, the event log for good: a retry that wins the claim after the entry
+    // expired is answered from the log, and the answer is stored again for the retries after it. One lookup per
+    // claimed key, so a repeated key costs it once per ttl
+    private <T> Optional<T> replayAfterClaim(String idempotencyKey, Function<String, Optional<T>> eventLog) {
+        Optional<T> logged;
+        try {
+            logged = eventLog.apply(idempotencyKey);
+        } catch (RuntimeException e) {
+            abandon(idempotencyKey);
+            throw e;
+        }
+        if (logged.isPresent()) {
+            log.info("Idempotency HIT after expiry, replaying from event log - Key: {}", idempotencyKey);
+            store(idempotencyKey, logged.get());
+        }
+        return logged;
+    }
+
+    public void complete(String idempotencyKey, Object response) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            store(idempotencyKey, response);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    store(idempotencyKey, response);
+                } else {
+                    abandon(idempotencyKey);
+                }
+            }
+        });
+    }
+
+    public void abandon(String idempotencyKey) {
+        try {
+            stringRedisTemplate.delete(KEY_PREFIX + idempotencyKey);
+        } catch (Exception e) {
+            log.warn("Idempotency release failed (non-fatal) - Key: {}, Error: {}", idempotencyKey, e.getMessage());
+        }
+    }
+
+    private void store(String idempotencyKey, Object response) {
+        try {
+            stringRedisTemplate.opsForValue().set(KEY_PREFIX + idempotencyKey,
+                    objectMapper.writeValueAsString(response),
+                    inventoryProperties.getIdempotency().getTtl());
+        } catch (Exception e) {
+            log.warn("Idempotency store failed (non-fatal) - Key: {}, Error: {}", idempotencyKey, e.getMessage());
+        }
+    }
+
+    private Optional<InventoryResponse> findInEventLog(String idempotencyKey) {
+        return eventRepository.findByEventId(idempotencyKey).map(this::replayFromEvent);
+    }
+
+    private InventoryResponse replayFromEvent(InventoryEvent event) {
+        if (!InventoryEvent.EventStatus.SUCCESS.name().equals(event.getStatus())) {
+            return InventoryResponse.error("The original request with this idempotency key failed");
+        }
+
+        InventoryData data = InventoryData.builder()
+                .storeId(event.getStoreId())
+                .productId(event.getProductId())
+                .quantity(event.getQuantityAfter())
+                .quantityBefore(event.getQuantityBefore())
+                .lastUpdated(event.getTimestamp())
+                .eventId(event.getEventId())
+                .cached(false)
+                .build();
+
+        String message = InventoryEvent.EventType.SALE.name().equals(event.getEventType())
+                ? "Sale processed successfully"
+                : "Restock processed successfully";
+
+        return InventoryResponse.success(message, data);
+    }
+}
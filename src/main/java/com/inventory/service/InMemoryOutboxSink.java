@@ -0,0 +1,46 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.InventoryEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.outbox.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final Deque<InventoryEvent> recent = new ArrayDeque<>();
+    private long published;
+
+    public InMemoryOutboxSink(InventoryProperties inventoryProperties) {
+        this.capacity = Math.max(1, inventoryProperties.getOutbox().getMemoryCapacity());
+    }
+
+    @Override
+    public synchronized void publish(List<InventoryEvent> events) {
+        for (InventoryEvent event : events) {
+            if (recent.size() == capacity) {
+                recent.removeFirst();
+            }
+            recent.addLast(event);
+        }
+        published += events.size();
+        log.debug("Outbox batch kept in memory - Events: {}, Total: {}", events.size(), published);
+    }
+
+    public synchronized List<InventoryEvent> recent() {
+        return new ArrayList<>(recent);
+    }
+
+    public synchronized long published() {
+        return published;
+    }
+}
@@ -0,0 +1,233 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryData;
+import com.inventory.api.InventoryDTOs.InventoryKey;
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.Product;
+import com.inventory.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Every write to the inventory:* keys goes through here. Writers never just DEL: a DEL leaves nothing for the
+// version check to compare against, so the row they committed is written through, or the key is dropped with a
+// version floor ("{<key>}:v") that cache_put.lua checks before any fill.
+@Slf4j
+@Component
+public class InventoryCache {
+
+    private static final String CACHE_PREFIX = "inventory:";
+    private static final RedisScript<Long> CACHE_PUT_SCRIPT =
+            new DefaultRedisScript<>(new ClassPathResource("scripts/cache_put.lua"), Long.class);
+    private static final RedisScript<Long> CACHE_EVICT_SCRIPT =
+            new DefaultRedisScript<>(new ClassPathResource("scripts/cache_evict.lua"), Long.class);
+
+    private final ProductRepository productRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final InventoryNearCache nearCache;
+    private final InventoryProperties inventoryProperties;
+    private final TransactionTemplate primaryRead;
+
+    public InventoryCache(ProductRepository productRepository,
+                          RedisTemplate<String, Object> redisTemplate,
+                          InventoryNearCache nearCache,
+                          InventoryProperties inventoryProperties,
+                          PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.redisTemplate = redisTemplate;
+        this.nearCache = nearCache;
+        this.inventoryProperties = inventoryProperties;
+        // A read-write transaction routes to the primary, the only place the committed row is certain to be. It is
+        // a new one: in afterCommit the finished transaction is still bound to the thread
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public static String key(String storeId, String productId) {
+        return CACHE_PREFIX + storeId + ":" + productId;
+    }
+
+    // The braces make the whole entry key the hash tag, so key and floor share a cluster slot
+    public static String floorKey(String key) {
+        return "{" + key + "}:v";
+    }
+
+    public boolean put(InventoryData data, boolean committed) {
+        String key = key(data.getStoreId(), data.getProductId());
+        Long stored = redisTemplate.execute(CACHE_PUT_SCRIPT, List.of(key, floorKey(key)), data,
+                versionOf(data), ttlMillis(), committed ? 1 : 0);
+        return stored != null && stored == 1L;
+    }
+
+    // Same script and arguments as put, one pipeline for all entries. Plain EVAL rather than EVALSHA:
+    // a NOSCRIPT reply inside a pipeline cannot be retried command by command
+    @SuppressWarnings("unchecked")
+    public List<Object> putAll(List<InventoryData> entries, boolean committed) {
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        byte[] script = CACHE_PUT_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[] ttl = valueSerializer.serialize(ttlMillis());
+        byte[] flag = valueSerializer.serialize(committed ? 1 : 0);
+
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (InventoryData data : entries) {
+                String key = key(data.getStoreId(), data.getProductId());
+                connection.scriptingCommands().eval(script, ReturnType.INTEGER, 2,
+                        keySerializer.serialize(key),
+                        keySerializer.serialize(floorKey(key)),
+                        valueSerializer.serialize(data),
+                        valueSerializer.serialize(versionOf(data)),
+                        ttl, flag);
+            }
+            return null;
+        });
+    }
+
+    // version is the committed row version, or null when the caller has none; the entry is dropped either way
+    public void evict(String storeId, String productId, Long version) {
+        String key = key(storeId, productId);
+        // Local copy goes at once; the DEL reaches other instances as a keyspace notification
+        nearCache.evict(key);
+        try {
+            redisTemplate.execute(CACHE_EVICT_SCRIPT, List.of(key, floorKey(key)),
+                    version != null ? version : 0L, ttlMillis());
+            log.debug("Cache INVALIDATED - Key: {}, Floor: {}", key, version);
+        } catch (Exception e) {
+            log.warn("Cache invalidation failed (non-fatal) - Store: {}, Product: {}, Error: {}",
+                    storeId, productId, e.getMessage());
+        }
+    }
+
+    // For writers that change rows in bulk or with UPDATE statements and hold no entity to build from: after
+    // commit, the rows are read back from the primary and written through at their committed version
+    public void refreshAfterCommit(Collection<InventoryKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<InventoryKey> copy = List.copyOf(keys);
+        afterCommit(() -> refresh(copy));
+    }
+
+    void refresh(List<InventoryKey> keys) {
+        Map<String, InventoryKey> pending = new LinkedHashMap<>();
+        for (InventoryKey k : keys) {
+            String key = key(k.getStoreId(), k.getProductId());
+            nearCache.evict(key);
+            pending.put(key, k);
+        }
+
+        List<InventoryData> current = new ArrayList<>();
+        List<Product> split = new ArrayList<>();
+        try {
+            primaryRead.executeWithoutResult(status -> {
+                for (Product product : productRepository.findAllByKeys(storeIds(keys), productIds(keys))) {
+                    if (product.isEscrowSplit()) {
+                        split.add(product);
+                    } else {
+                        current.add(toData(product));
+                    }
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Cache refresh read failed, dropping keys - Keys: {}, Error: {}", keys.size(), e.getMessage());
+            for (InventoryKey k : pending.values()) {
+                evict(k.getStoreId(), k.getProductId(), null);
+            }
+            return;
+        }
+
+        // Escrow slot moves don't bump the row version, so split SKUs are dropped with a floor, not written
+        for (Product product : split) {
+            pending.remove(key(product.getStoreId(), product.getProductId()));
+            evict(product.getStoreId(), product.getProductId(), product.getVersion());
+        }
+        if (!current.isEmpty()) {
+            try {
+                putAll(current, true);
+                for (InventoryData data : current) {
+                    pending.remove(key(data.getStoreId(), data.getProductId()));
+                }
+                log.debug("Cache WRITTEN (refresh) - Keys: {}", current.size());
+            } catch (Exception e) {
+                log.warn("Cache refresh write failed (non-fatal) - Keys: {}, Error: {}", current.size(), e.getMessage());
+                for (InventoryData data : current) {
+                    pending.remove(key(data.getStoreId(), data.getProductId()));
+                    evict(data.getStoreId(), data.getProductId(), data.getVersion());
+                }
+            }
+        }
+        // No row left to write through
+        for (InventoryKey k : pending.values()) {
+            evict(k.getStoreId(), k.getProductId(), null);
+        }
+    }
+
+    // Until the commit, a reader on the replica could put the old row straight back into the cache
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private InventoryData toData(Product product) {
+        return InventoryData.builder()
+                .storeId(product.getStoreId())
+                .productId(product.getProductId())
+                .quantity(product.getQuantity())
+                .reservedQuantity(product.getReservedQuantity())
+                .availableQuantity(product.getAvailableQuantity())
+                .lastUpdated(product.getLastUpdated())
+                .version(product.getVersion())
+                .cached(false)
+                .build();
+    }
+
+    private long ttlMillis() {
+        return inventoryProperties.getCache().getTtl().toMillis();
+    }
+
+    private static long versionOf(InventoryData data) {
+        return data.getVersion() != null ? data.getVersion() : 0L;
+    }
+
+    private static String[] storeIds(List<InventoryKey> keys) {
+        String[] ids = new String[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            ids[i] = keys.get(i).getStoreId();
+        }
+        return ids;
+    }
+
+    private static String[] productIds(List<InventoryKey> keys) {
+        String[] ids = new String[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            ids[i] = keys.get(i).getProductId();
+        }
+        return ids;
+    }
+}
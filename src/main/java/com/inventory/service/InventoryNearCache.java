@@ -0,0 +1,173 @@
+package com.inventory.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inventory.api.InventoryDTOs.InventoryData;
+import com.inventory.config.InventoryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class InventoryNearCache implements MessageListener {
+
+    private static final String KEYSPACE_PATTERN = "__keyspace@*__:inventory:*";
+    // Published by scripts/cache_put.lua on write-through, which a keyspace SET event would not signal
+    private static final String INVALIDATION_CHANNEL = "inventory:invalidations";
+    private static final String KEYSPACE_EVENTS = "notify-keyspace-events";
+
+    private final RedisConnectionFactory connectionFactory;
+    private final InventoryProperties.NearCache settings;
+    private final Cache<String, Entry> entries;
+    private final Timer entryAge;
+    private final Counter invalidations;
+
+    private RedisMessageListenerContainer listener;
+
+    public InventoryNearCache(RedisConnectionFactory connectionFactory,
+                              InventoryProperties inventoryProperties,
+                              MeterRegistry meterRegistry) {
+        this.connectionFactory = connectionFactory;
+        this.settings = inventoryProperties.getNearCache();
+        // Caffeine's size bound evicts by W-TinyLFU: a one-off key cannot push out a hot one
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxSize())
+                .expireAfterWrite(settings.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "inventory.near");
+        meterRegistry.gauge("inventory.near.hit.ratio", entries, cache -> cache.stats().hitRate());
+        this.entryAge = Timer.builder("inventory.near.entry.age")
+                .description("Age of L1 entries when served, an upper bound on their staleness")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.invalidations = meterRegistry.counter("inventory.near.invalidations");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        enableKeyspaceEvents();
+
+        listener = new RedisMessageListenerContainer();
+        listener.setConnectionFactory(connectionFactory);
+        listener.addMessageListener(this, new PatternTopic(KEYSPACE_PATTERN));
+        listener.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        listener.afterPropertiesSet();
+        listener.start();
+
+        log.info("Near cache started - Max size: {}, TTL: {}", settings.getMaxSize(), settings.getTtl());
+    }
+
+    public InventoryData get(String key) {
+        if (!settings.isEnabled()) {
+            return null;
+        }
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        entryAge.record(System.nanoTime() - entry.storedAt, TimeUnit.NANOSECONDS);
+        return entry.data;
+    }
+
+    public void put(String key, InventoryData data) {
+        if (settings.isEnabled()) {
+            entries.put(key, new Entry(data, System.nanoTime()));
+        }
+    }
+
+    public void evict(String key) {
+        entries.invalidate(key);
+    }
+
+    // Keyspace channel "__keyspace@<db>__:<key>", body is the command; SET ... EX also fires "expire", so only
+    // deletions and expiries count, otherwise every cache fill would flush the key on every instance.
+    // On the invalidation channel the body is the key itself.
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String event = new String(message.getBody(), StandardCharsets.UTF_8);
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String key;
+        if (INVALIDATION_CHANNEL.equals(channel)) {
+            key = event;
+            event = "write";
+        } else if ("del".equals(event) || "unlink".equals(event) || "expired".equals(event)) {
+            key = channel.substring(channel.indexOf("__:") + 3);
+        } else {
+            return;
+        }
+        entries.invalidate(key);
+        invalidations.increment();
+        log.debug("Near cache INVALIDATED - Key: {}, Event: {}", key, event);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.destroy();
+        } catch (Exception e) {
+            log.warn("Near cache listener did not stop cleanly: {}", e.getMessage());
+        }
+    }
+
+    // Managed Redis often forbids CONFIG SET; then entries only leave by TTL, which the warning makes visible
+    private void enableKeyspaceEvents() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            Properties config = connection.serverCommands().getConfig(KEYSPACE_EVENTS);
+            String current = config == null ? "" : config.getProperty(KEYSPACE_EVENTS, "");
+            String wanted = withFlags(current);
+            if (!wanted.equals(current)) {
+                connection.serverCommands().setConfig(KEYSPACE_EVENTS, wanted);
+                log.info("Keyspace notifications enabled - {}: {}", KEYSPACE_EVENTS, wanted);
+            }
+        } catch (Exception e) {
+            log.warn("Could not enable keyspace notifications, L1 entries expire by TTL only ({}) - Error: {}",
+                    settings.getTtl(), e.getMessage());
+        }
+    }
+
+    // K = keyspace channel, g = DEL/UNLINK, x = expiry; "A" already implies g and x
+    static String withFlags(String current) {
+        StringBuilder flags = new StringBuilder(current);
+        for (char flag : new char[]{'K', 'g', 'x'}) {
+            boolean implied = flag != 'K' && current.indexOf('A') >= 0;
+            if (current.indexOf(flag) < 0 && !implied) {
+                flags.append(flag);
+            }
+        }
+        return flags.toString();
+    }
+
+    private static final class Entry {
+        private final InventoryData data;
+        private final long storedAt;
+
+        private Entry(InventoryData data, long storedAt) {
+            this.data = data;
+            this.storedAt = storedAt;
+        }
+    }
+}
@@ -1,24 +1,40 @@
 package com.inventory.service;
 
 import com.inventory.api.InventoryDTOs.*;
+import com.inventory.config.InventoryProperties;
+import com.inventory.config.InventoryProperties.RestockMode;
+import com.inventory.config.InventoryProperties.SaleMode;
+import com.inventory.config.ReadConsistency;
 import com.inventory.model.InventoryEvent;
 import com.inventory.model.Product;
-import com.inventory.repository.InventoryEventRepository;
 import com.inventory.repository.ProductRepository;
+import com.inventory.repository.StockChange;
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import io.github.resilience4j.retry.annotation.Retry;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -26,11 +42,20 @@ import java.util.concurrent.TimeUnit;
 public class InventoryService {
 
     private final ProductRepository productRepository;
-    private final InventoryEventRepository eventRepository;
     private final RedisTemplate<String, Object> redisTemplate;
-
-    private static final String CACHE_PREFIX = "inventory:";
-    private static final int CACHE_TTL_MINUTES = 5;
+    private final InventoryProperties inventoryProperties;
+    private final SaleCoalescer saleCoalescer;
+    private final LedgerEngine ledgerEngine;
+    private final IdempotencyService idempotencyService;
+    private final HotSkuEscrow hotSkuEscrow;
+    private final RedisStockGate redisStockGate;
+    private final BatchSyncEngine batchSyncEngine;
+    private final EventWriter eventWriter;
+    private final PartitionedBatchExecutor partitionedBatchExecutor;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final InventoryNearCache nearCache;
+    private final InventoryCache inventoryCache;
 
     @CircuitBreaker(name = "inventoryService", fallbackMethod = "getInventoryFallback")
     @RateLimiter(name = "inventoryService")
@@ -39,7 +64,8 @@ public class InventoryService {
         log.debug("Query inventory - Store: {}, Product: {}", storeId, productId);
 
         String cacheKey = buildCacheKey(storeId, productId);
-        InventoryData cachedData = getCachedInventory(cacheKey);
+        boolean useCache = usesCache();
+        InventoryData cachedData = useCache ? getCachedInventory(cacheKey) : null;
 
         if (cachedData != null) {
             log.debug("Cache HIT - Key: {}", cacheKey);
@@ -53,45 +79,158 @@ public class InventoryService {
         return productRepository.findByStoreIdAndProductId(storeId, productId)
                 .map(product -> {
                     InventoryData data = buildInventoryData(product, false);
-                    setCachedInventory(cacheKey, data);
+                    // Escrow slot moves don't bump the row version, so a split SKU's total can't be version-checked
+                    if (useCache && !product.isEscrowSplit()) {
+                        setCachedInventory(cacheKey, data);
+                    }
                     return InventoryResponse.success("Retrieved from database", data);
                 })
                 .orElse(InventoryResponse.error("Product not found in inventory"));
     }
 
-    @CircuitBreaker(name = "inventoryService", fallbackMethod = "getInventoryFallback")
+    // A whole shelf in three round trips: one MGET, one IN query for the misses, one pipelined write-back
+    @CircuitBreaker(name = "inventoryService", fallbackMethod = "getInventoriesFallback")
+    @RateLimiter(name = "inventoryService")
     @Bulkhead(name = "inventoryService")
-    @Transactional
+    public MultiGetResponse getInventories(List<InventoryKey> keys) {
+        log.debug("Query inventory - Keys: {}", keys.size());
+
+        // Repeated keys are looked up once and answered at every position they were asked for
+        Map<String, InventoryKey> distinct = new LinkedHashMap<>();
+        for (InventoryKey key : keys) {
+            distinct.putIfAbsent(buildCacheKey(key.getStoreId(), key.getProductId()), key);
+        }
+
+        Map<String, InventoryData> found = new HashMap<>();
+        boolean useCache = usesCache();
+        if (useCache) {
+            List<String> remote = new ArrayList<>();
+            for (String cacheKey : distinct.keySet()) {
+                InventoryData local = nearCache.get(cacheKey);
+                if (local != null) {
+                    found.put(cacheKey, local.toBuilder().cached(true).build());
+                } else {
+                    remote.add(cacheKey);
+                }
+            }
+            getCachedInventories(remote, found);
+        }
+
+        List<InventoryKey> misses = new ArrayList<>();
+        for (Map.Entry<String, InventoryKey> entry : distinct.entrySet()) {
+            if (!found.containsKey(entry.getKey())) {
+                misses.add(entry.getValue());
+            }
+        }
+        int loadedCount = 0;
+        if (!misses.isEmpty()) {
+            log.debug("Cache MISS - Querying database - Keys: {}", misses.size());
+            List<InventoryData> fills = new ArrayList<>();
+            List<InventoryData> loaded = loadInventories(misses, fills);
+            for (InventoryData data : loaded) {
+                found.put(buildCacheKey(data.getStoreId(), data.getProductId()), data);
+            }
+            if (useCache) {
+                setCachedInventories(fills);
+            }
+            loadedCount = loaded.size();
+        }
+
+        List<InventoryData> items = new ArrayList<>(keys.size());
+        int notFound = 0;
+        for (InventoryKey key : keys) {
+            InventoryData data = found.get(buildCacheKey(key.getStoreId(), key.getProductId()));
+            if (data == null) {
+                notFound++;
+            }
+            items.add(data);
+        }
+        return MultiGetResponse.success(
+                String.format("Retrieved %d of %d keys, %d from database", keys.size() - notFound, keys.size(),
+                        loadedCount),
+                items, notFound);
+    }
+
+    @Retry(name = "inventoryService")
+    @CircuitBreaker(name = "inventoryService", fallbackMethod = "getInventoryFallback")
+    @Bulkhead(name = "inventoryWrite")
     public InventoryResponse processSale(SellRequest request) {
-        String eventId = UUID.randomUUID().toString();
-        log.info("Processing SALE - Store: {}, Product: {}, Qty: {}, EventId: {}",
-                request.getStoreId(), request.getProductId(), request.getQuantity(), eventId);
+        return withIdempotency(request.getIdempotencyKey(), () -> {
+            if (coalesces(request)) {
+                hotSkuEscrow.recordSale(request.getStoreId(), request.getProductId());
+                log.info("Processing SALE (coalesced) - Store: {}, Product: {}, Qty: {}",
+                        request.getStoreId(), request.getProductId(), request.getQuantity());
+                return saleCoalescer.submit(
+                        buildCacheKey(request.getStoreId(), request.getProductId()), request, this::applySaleBatch);
+            }
+            return new TransactionTemplate(transactionManager).execute(status -> executeSale(request));
+        });
+    }
+
+    // A coalesced sale waits for its lane outside any transaction: the lane commits on its own connection, so a
+    // waiting caller must not hold one too. Sales inside a caller's transaction (batch sync) never coalesce, as a
+    // lane would block on any row lock the batch already holds; they call executeSale directly.
+    private boolean coalesces(SellRequest request) {
+        return inventoryProperties.getSale().getMode() == SaleMode.COALESCING
+                && !ledgerEngine.owns(request.getStoreId())
+                && !redisStockGate.isActive()
+                && !hotSkuEscrow.isSplit(request.getStoreId(), request.getProductId());
+    }
+
+    private InventoryResponse executeSale(SellRequest request) {
+        if (ledgerEngine.owns(request.getStoreId())) {
+            log.info("Processing SALE (ledger) - Store: {}, Product: {}, Qty: {}",
+                    request.getStoreId(), request.getProductId(), request.getQuantity());
+            return ledgerEngine.sell(buildCacheKey(request.getStoreId(), request.getProductId()), request);
+        }
+
+        if (redisStockGate.isActive()) {
+            String eventId = eventIdFor(request.getIdempotencyKey());
+            log.info("Processing SALE (gate) - Store: {}, Product: {}, Qty: {}, EventId: {}",
+                    request.getStoreId(), request.getProductId(), request.getQuantity(), eventId);
+            return redisStockGate.sell(request, eventId);
+        }
 
-        if (eventRepository.existsByEventId(eventId)) {
-            return InventoryResponse.error("Event already processed");
+        hotSkuEscrow.recordSale(request.getStoreId(), request.getProductId());
+        if (hotSkuEscrow.isSplit(request.getStoreId(), request.getProductId())) {
+            String eventId = eventIdFor(request.getIdempotencyKey());
+            log.info("Processing SALE (escrow) - Store: {}, Product: {}, Qty: {}, EventId: {}",
+                    request.getStoreId(), request.getProductId(), request.getQuantity(), eventId);
+            return processSaleEscrowed(eventId, request);
         }
 
+        String eventId = eventIdFor(request.getIdempotencyKey());
+        log.info("Processing SALE - Store: {}, Product: {}, Qty: {}, EventId: {}",
+                request.getStoreId(), request.getProductId(), request.getQuantity(), eventId);
+
         try {
-            Product product = productRepository
-                    .findByStoreIdAndProductIdWithLock(request.getStoreId(), request.getProductId())
-                    .orElseGet(() -> createNewProduct(request.getStoreId(), request.getProductId()));
+            SaleMode mode = inventoryProperties.getSale().getMode();
+            if (mode == SaleMode.CONDITIONAL) {
+                return processSaleConditional(eventId, request);
+            }
+
+            boolean optimistic = mode == SaleMode.OPTIMISTIC;
+            Product product = loadForWrite(request.getStoreId(), request.getProductId(), optimistic);
+            if (product.isEscrowSplit()) {
+                return processSaleEscrowed(eventId, request);
+            }
 
             int quantityBefore = product.getQuantity();
 
-            if (product.getQuantity() < request.getQuantity()) {
+            if (product.getAvailableQuantity() < request.getQuantity()) {
                 logEvent(eventId, request, "SALE", "FAILED", quantityBefore, product.getQuantity());
                 return InventoryResponse.error(
                         String.format("Insufficient stock. Available: %d, Requested: %d",
-                                product.getQuantity(), request.getQuantity())
+                                product.getAvailableQuantity(), request.getQuantity())
                 );
             }
 
             product.removeQuantity(request.getQuantity());
             product.setLastUpdated(LocalDateTime.now());
-            productRepository.save(product);
+            saveForWrite(product, optimistic);
 
             logEvent(eventId, request, "SALE", "SUCCESS", quantityBefore, product.getQuantity());
-            invalidateCache(request.getStoreId(), request.getProductId());
+            refreshCacheAfterCommit(product);
 
             InventoryData data = buildInventoryData(product, false);
             data.setQuantityBefore(quantityBefore);
@@ -102,6 +241,9 @@ public class InventoryService {
 
             return InventoryResponse.success("Sale processed successfully", data);
 
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("SALE version conflict, will retry - Product: {}", request.getProductId());
+            throw e;
         } catch (Exception e) {
             log.error("Error processing sale", e);
             logEvent(eventId, request, "SALE", "FAILED", 0, 0);
@@ -109,74 +251,392 @@ public class InventoryService {
         }
     }
 
+    private InventoryResponse processSaleConditional(String eventId, SellRequest request) {
+        Optional<StockChange> change = productRepository.decrementIfAvailable(
+                request.getStoreId(), request.getProductId(), request.getQuantity());
+
+        if (change.isEmpty()) {
+            Optional<Product> product = productRepository
+                    .findByStoreIdAndProductId(request.getStoreId(), request.getProductId());
+            if (product.isPresent() && product.get().isEscrowSplit()) {
+                return processSaleEscrowed(eventId, request);
+            }
+            int available = product.map(Product::getAvailableQuantity).orElse(0);
+            logEvent(eventId, request, "SALE", "FAILED", available, available);
+            return InventoryResponse.error(
+                    String.format("Insufficient stock. Available: %d, Requested: %d",
+                            available, request.getQuantity())
+            );
+        }
+
+        int quantityBefore = change.get().getQuantityBefore();
+        int quantityAfter = change.get().getQuantityAfter();
+        int reserved = change.get().getReservedQuantity();
+
+        logEvent(eventId, request, "SALE", "SUCCESS", quantityBefore, quantityAfter);
+
+        InventoryData current = InventoryData.builder()
+                .storeId(request.getStoreId())
+                .productId(request.getProductId())
+                .quantity(quantityAfter)
+                .reservedQuantity(reserved)
+                .availableQuantity(quantityAfter - reserved)
+                .lastUpdated(LocalDateTime.now())
+                .version(change.get().getVersion())
+                .cached(false)
+                .build();
+        // The UPDATE already bumped the version, so the RETURNING row is exactly what commits
+        afterCommit(() -> writeCache(current));
+
+        InventoryData data = current.toBuilder()
+                .quantityBefore(quantityBefore)
+                .eventId(eventId)
+                .build();
+
+        log.info("SALE completed (conditional) - Product: {}, Before: {}, After: {}",
+                request.getProductId(), quantityBefore, quantityAfter);
+
+        return InventoryResponse.success("Sale processed successfully", data);
+    }
+
+    private InventoryResponse processSaleEscrowed(String eventId, SellRequest request) {
+        Optional<Integer> quantityAfter = hotSkuEscrow.take(
+                request.getStoreId(), request.getProductId(), request.getQuantity());
+
+        if (quantityAfter.isEmpty()) {
+            int available = hotSkuEscrow.availableQuantity(request.getStoreId(), request.getProductId());
+            logEvent(eventId, request, "SALE", "FAILED", available, available);
+            return InventoryResponse.error(
+                    String.format("Insufficient stock. Available: %d, Requested: %d",
+                            available, request.getQuantity())
+            );
+        }
+
+        int after = quantityAfter.get();
+        int before = after + request.getQuantity();
+
+        logEvent(eventId, request, "SALE", "SUCCESS", before, after);
+        // The slot UPDATE leaves the row version alone; the refresh drops the key at the version read from the primary
+        inventoryCache.refreshAfterCommit(List.of(new InventoryKey(request.getStoreId(), request.getProductId())));
+
+        InventoryData data = InventoryData.builder()
+                .storeId(request.getStoreId())
+                .productId(request.getProductId())
+                .quantity(after)
+                .quantityBefore(before)
+                .lastUpdated(LocalDateTime.now())
+                .eventId(eventId)
+                .cached(false)
+                .build();
+
+        log.info("SALE completed (escrow) - Product: {}, Before: {}, After: {}",
+                request.getProductId(), before, after);
+
+        return InventoryResponse.success("Sale processed successfully", data);
+    }
+
+    private List<InventoryResponse> applySaleBatch(List<SellRequest> requests) {
+        SellRequest first = requests.get(0);
+        List<InventoryResponse> responses = new ArrayList<>(requests.size());
+
+        Integer sold = new TransactionTemplate(transactionManager).execute(status -> {
+            Product product = productRepository
+                    .findByStoreIdAndProductIdWithLock(first.getStoreId(), first.getProductId())
+                    .orElseGet(() -> createNewProduct(first.getStoreId(), first.getProductId()));
+
+            if (product.isEscrowSplit()) {
+                int taken = 0;
+                for (SellRequest request : requests) {
+                    InventoryResponse response = processSaleEscrowed(eventIdFor(request.getIdempotencyKey()), request);
+                    responses.add(response);
+                    taken += response.isSuccess() ? 1 : 0;
+                }
+                return taken;
+            }
+
+            List<InventoryEvent> events = new ArrayList<>(requests.size());
+            List<InventoryEvent> keyedEvents = new ArrayList<>();
+            int accepted = 0;
+
+            for (SellRequest request : requests) {
+                String eventId = eventIdFor(request.getIdempotencyKey());
+                int quantityBefore = product.getQuantity();
+                List<InventoryEvent> target = request.getIdempotencyKey() != null ? keyedEvents : events;
+
+                if (product.getAvailableQuantity() < request.getQuantity()) {
+                    target.add(buildEvent(eventId, request, "SALE", "FAILED", quantityBefore, quantityBefore));
+                    responses.add(InventoryResponse.error(
+                            String.format("Insufficient stock. Available: %d, Requested: %d",
+                                    product.getAvailableQuantity(), request.getQuantity())
+                    ));
+                    continue;
+                }
+
+                product.removeQuantity(request.getQuantity());
+                target.add(buildEvent(eventId, request, "SALE", "SUCCESS", quantityBefore, product.getQuantity()));
+
+                InventoryData data = buildInventoryData(product, false);
+                data.setQuantityBefore(quantityBefore);
+                data.setEventId(eventId);
+                responses.add(InventoryResponse.success("Sale processed successfully", data));
+                accepted++;
+            }
+
+            if (accepted > 0) {
+                product.setLastUpdated(LocalDateTime.now());
+                productRepository.save(product);
+                refreshCacheAfterCommit(product);
+            }
+            eventWriter.writeAllDurable(keyedEvents);
+            eventWriter.writeAll(events);
+            return accepted;
+        });
+
+        log.info("SALE batch completed - Product: {}, Requests: {}, Accepted: {}",
+                first.getProductId(), requests.size(), sold);
+
+        return responses;
+    }
+
+    @Retry(name = "inventoryService")
     @CircuitBreaker(name = "inventoryService", fallbackMethod = "getInventoryFallback")
-    @Bulkhead(name = "inventoryService")
+    @Bulkhead(name = "inventoryWrite")
     @Transactional
     public InventoryResponse processRestock(RestockRequest request) {
-        String eventId = UUID.randomUUID().toString();
+        return withIdempotency(request.getIdempotencyKey(), () -> executeRestock(request));
+    }
+
+    private InventoryResponse executeRestock(RestockRequest request) {
+        if (ledgerEngine.owns(request.getStoreId())) {
+            log.info("Processing RESTOCK (ledger) - Store: {}, Product: {}, Qty: {}",
+                    request.getStoreId(), request.getProductId(), request.getQuantity());
+            return ledgerEngine.restock(buildCacheKey(request.getStoreId(), request.getProductId()), request);
+        }
+
+        if (redisStockGate.isActive()) {
+            String eventId = eventIdFor(request.getIdempotencyKey());
+            log.info("Processing RESTOCK (gate) - Store: {}, Product: {}, Qty: {}, EventId: {}",
+                    request.getStoreId(), request.getProductId(), request.getQuantity(), eventId);
+            return redisStockGate.restock(request, eventId);
+        }
+
+        String eventId = eventIdFor(request.getIdempotencyKey());
         log.info("Processing RESTOCK - Store: {}, Product: {}, Qty: {}",
                 request.getStoreId(), request.getProductId(), request.getQuantity());
 
         try {
-            Product product = productRepository
-                    .findByStoreIdAndProductIdWithLock(request.getStoreId(), request.getProductId())
-                    .orElseGet(() -> createNewProduct(request.getStoreId(), request.getProductId()));
+            boolean optimistic = inventoryProperties.getRestock().getMode() == RestockMode.OPTIMISTIC;
+            Product product = loadForWrite(request.getStoreId(), request.getProductId(), optimistic);
+            int escrowed = escrowedQuantity(product);
 
-            int quantityBefore = product.getQuantity();
+            int quantityBefore = product.getQuantity() + escrowed;
 
             product.addQuantity(request.getQuantity());
             product.setLastUpdated(LocalDateTime.now());
-            productRepository.save(product);
+            saveForWrite(product, optimistic);
 
-            logEvent(eventId, request, "RESTOCK", "SUCCESS", quantityBefore, product.getQuantity());
-            invalidateCache(request.getStoreId(), request.getProductId());
+            int quantityAfter = product.getQuantity() + escrowed;
+            logEvent(eventId, request, "RESTOCK", "SUCCESS", quantityBefore, quantityAfter);
+            refreshCacheAfterCommit(product);
 
             InventoryData data = buildInventoryData(product, false);
             data.setQuantityBefore(quantityBefore);
             data.setEventId(eventId);
 
             log.info("RESTOCK completed - Product: {}, Before: {}, After: {}",
-                    request.getProductId(), quantityBefore, product.getQuantity());
+                    request.getProductId(), quantityBefore, quantityAfter);
 
             return InventoryResponse.success("Restock processed successfully", data);
 
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("RESTOCK version conflict, will retry - Product: {}", request.getProductId());
+            throw e;
         } catch (Exception e) {
             log.error("Error processing restock", e);
             throw e;
         }
     }
 
+    private Product loadForWrite(String storeId, String productId, boolean optimistic) {
+        Optional<Product> product = optimistic
+                ? productRepository.findByStoreIdAndProductId(storeId, productId)
+                : productRepository.findByStoreIdAndProductIdWithLock(storeId, productId);
+        return product.orElseGet(() -> createNewProduct(storeId, productId));
+    }
+
+    private void saveForWrite(Product product, boolean optimistic) {
+        if (optimistic) {
+            productRepository.saveAndFlush(product);
+        } else {
+            productRepository.save(product);
+        }
+    }
+
+    private InventoryResponse withIdempotency(String idempotencyKey, Supplier<InventoryResponse> operation) {
+        if (idempotencyKey == null) {
+            return operation.get();
+        }
+
+        Optional<InventoryResponse> previous = idempotencyService.begin(idempotencyKey);
+        if (previous.isPresent()) {
+            log.info("Request replayed - IdempotencyKey: {}", idempotencyKey);
+            return previous.get();
+        }
+
+        try {
+            InventoryResponse response = operation.get();
+            idempotencyService.complete(idempotencyKey, response);
+            return response;
+        } catch (RuntimeException e) {
+            idempotencyService.abandon(idempotencyKey);
+            throw e;
+        }
+    }
+
+    private String eventIdFor(String idempotencyKey) {
+        return idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString();
+    }
+
+    // A consistency token asks for a row at least as new as the client's last write. Neither cache can promise
+    // that (a failed write-through or an L1 copy awaiting its invalidation still serves the old row), and a row
+    // read for a token is no better for everyone else, so token reads go to the database and fill nothing
+    private boolean usesCache() {
+        return ReadConsistency.requiredLsn() == null;
+    }
+
     private InventoryData getCachedInventory(String cacheKey) {
+        InventoryData local = nearCache.get(cacheKey);
+        if (local != null) {
+            log.debug("Cache HIT (L1) - Key: {}", cacheKey);
+            return local;
+        }
         try {
-            return (InventoryData) redisTemplate.opsForValue().get(cacheKey);
+            InventoryData data = (InventoryData) redisTemplate.opsForValue().get(cacheKey);
+            if (data != null) {
+                nearCache.put(cacheKey, data);
+            }
+            return data;
         } catch (Exception e) {
             log.warn("Redis GET failed, continuing without cache: {}", e.getMessage());
             return null;
         }
     }
 
+    private void getCachedInventories(List<String> cacheKeys, Map<String, InventoryData> found) {
+        if (cacheKeys.isEmpty()) {
+            return;
+        }
+        try {
+            List<Object> values = redisTemplate.opsForValue().multiGet(cacheKeys);
+            if (values == null) {
+                return;
+            }
+            for (int i = 0; i < cacheKeys.size(); i++) {
+                InventoryData data = (InventoryData) values.get(i);
+                if (data != null) {
+                    nearCache.put(cacheKeys.get(i), data);
+                    found.put(cacheKeys.get(i), data.toBuilder().cached(true).build());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Redis MGET failed, continuing without cache - Keys: {}, Error: {}",
+                    cacheKeys.size(), e.getMessage());
+        }
+    }
+
+    // fills receives the rows that may be cached, which leaves out escrow-split SKUs
+    private List<InventoryData> loadInventories(List<InventoryKey> keys, List<InventoryData> fills) {
+        String[] storeIds = new String[keys.size()];
+        String[] productIds = new String[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            storeIds[i] = keys.get(i).getStoreId();
+            productIds[i] = keys.get(i).getProductId();
+        }
+        List<InventoryData> loaded = new ArrayList<>(keys.size());
+        for (Product product : productRepository.findAllByKeys(storeIds, productIds)) {
+            InventoryData data = buildInventoryData(product, false);
+            loaded.add(data);
+            if (!product.isEscrowSplit()) {
+                fills.add(data);
+            }
+        }
+        return loaded;
+    }
+
+    // Reads may come from a lagging replica; the script refuses them once a newer version is cached
     private void setCachedInventory(String key, InventoryData data) {
         try {
-            redisTemplate.opsForValue().set(key, data, CACHE_TTL_MINUTES, TimeUnit.MINUTES);
-            log.debug("Cache SET - Key: {}, TTL: {}min", key, CACHE_TTL_MINUTES);
+            if (inventoryCache.put(data, false)) {
+                nearCache.put(key, data);
+                log.debug("Cache SET - Key: {}, Version: {}", key, data.getVersion());
+            } else {
+                log.debug("Cache SET refused, newer version cached - Key: {}, Version: {}", key, data.getVersion());
+            }
         } catch (Exception e) {
             log.warn("Cache write failed (non-fatal) - Key: {}, Error: {}", key, e.getMessage());
         }
     }
 
-    private void invalidateCache(String storeId, String productId) {
+    private void setCachedInventories(List<InventoryData> loaded) {
+        if (loaded.isEmpty()) {
+            return;
+        }
+        try {
+            List<Object> stored = inventoryCache.putAll(loaded, false);
+            int storedCount = 0;
+            for (int i = 0; i < loaded.size(); i++) {
+                if (Long.valueOf(1L).equals(stored.get(i))) {
+                    InventoryData data = loaded.get(i);
+                    nearCache.put(buildCacheKey(data.getStoreId(), data.getProductId()), data);
+                    storedCount++;
+                }
+            }
+            log.debug("Cache SET (pipelined) - Keys: {}, Stored: {}", loaded.size(), storedCount);
+        } catch (Exception e) {
+            log.warn("Cache write failed (non-fatal) - Keys: {}, Error: {}", loaded.size(), e.getMessage());
+        }
+    }
+
+    // Escrow slot moves don't bump the row version, so split SKUs are dropped rather than written, leaving the
+    // committed version as the floor for later fills
+    private void refreshCacheAfterCommit(Product product) {
+        if (product.isEscrowSplit()) {
+            afterCommit(() -> inventoryCache.evict(product.getStoreId(), product.getProductId(), product.getVersion()));
+            return;
+        }
+        // Built after commit: the flush has bumped the entity's version by then
+        afterCommit(() -> writeCache(buildInventoryData(product, false)));
+    }
+
+    private void writeCache(InventoryData data) {
+        String key = buildCacheKey(data.getStoreId(), data.getProductId());
+        // Local copy goes at once; the script publishes the key to the other instances' near caches
+        nearCache.evict(key);
         try {
-            String key = buildCacheKey(storeId, productId);
-            redisTemplate.delete(key);
-            log.debug("Cache INVALIDATED - Key: {}", key);
+            inventoryCache.put(data, true);
+            log.debug("Cache WRITTEN - Key: {}, Version: {}", key, data.getVersion());
         } catch (Exception e) {
-            log.warn("Cache invalidation failed (non-fatal) - Store: {}, Product: {}, Error: {}",
-                    storeId, productId, e.getMessage());
+            log.warn("Cache write failed (non-fatal), dropping key - Key: {}, Error: {}", key, e.getMessage());
+            inventoryCache.evict(data.getStoreId(), data.getProductId(), data.getVersion());
         }
     }
 
+    // Until the commit, a reader on the replica could put the old row straight back into the cache
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private String buildCacheKey(String storeId, String productId) {
-        return CACHE_PREFIX + storeId + ":" + productId;
+        return InventoryCache.key(storeId, productId);
     }
 
     private Product createNewProduct(String storeId, String productId) {
@@ -188,12 +648,22 @@ public class InventoryService {
                 .build();
     }
 
+    private int escrowedQuantity(Product product) {
+        return product.isEscrowSplit()
+                ? hotSkuEscrow.escrowedQuantity(product.getStoreId(), product.getProductId())
+                : 0;
+    }
+
     private InventoryData buildInventoryData(Product product, boolean cached) {
+        int escrowed = escrowedQuantity(product);
         return InventoryData.builder()
                 .storeId(product.getStoreId())
                 .productId(product.getProductId())
-                .quantity(product.getQuantity())
+                .quantity(product.getQuantity() + escrowed)
+                .reservedQuantity(product.getReservedQuantity())
+                .availableQuantity(product.getAvailableQuantity() + escrowed)
                 .lastUpdated(product.getLastUpdated())
+                .version(product.getVersion())
                 .cached(cached)
                 .build();
     }
@@ -202,40 +672,60 @@ public class InventoryService {
                           String eventType, String status,
                           int quantityBefore, int quantityAfter) {
         try {
-            String storeId = "";
-            String productId = "";
-            int quantityDelta = 0;
-
-            if (request instanceof SellRequest) {
-                SellRequest sell = (SellRequest) request;
-                storeId = sell.getStoreId();
-                productId = sell.getProductId();
-                quantityDelta = -sell.getQuantity();
-            } else if (request instanceof RestockRequest) {
-                RestockRequest restock = (RestockRequest) request;
-                storeId = restock.getStoreId();
-                productId = restock.getProductId();
-                quantityDelta = restock.getQuantity();
+            InventoryEvent event = buildEvent(eventId, request, eventType, status, quantityBefore, quantityAfter);
+            // A keyed request is deduplicated against this row, so it must commit with the stock change
+            if (idempotencyKey(request) != null) {
+                eventWriter.writeDurable(event);
+            } else {
+                eventWriter.write(event);
             }
-
-            InventoryEvent event = InventoryEvent.builder()
-                    .eventId(eventId)
-                    .storeId(storeId)
-                    .productId(productId)
-                    .eventType(eventType)
-                    .status(status)
-                    .quantityBefore(quantityBefore)
-                    .quantityAfter(quantityAfter)
-                    .quantityDelta(quantityDelta)
-                    .timestamp(LocalDateTime.now())
-                    .build();
-
-            eventRepository.save(event);
         } catch (Exception e) {
             log.error("Failed to log event", e);
         }
     }
 
+    private String idempotencyKey(Object request) {
+        if (request instanceof SellRequest sell) {
+            return sell.getIdempotencyKey();
+        }
+        if (request instanceof RestockRequest restock) {
+            return restock.getIdempotencyKey();
+        }
+        return null;
+    }
+
+    private InventoryEvent buildEvent(String eventId, Object request,
+                                      String eventType, String status,
+                                      int quantityBefore, int quantityAfter) {
+        String storeId = "";
+        String productId = "";
+        int quantityDelta = 0;
+
+        if (request instanceof SellRequest) {
+            SellRequest sell = (SellRequest) request;
+            storeId = sell.getStoreId();
+            productId = sell.getProductId();
+            quantityDelta = -sell.getQuantity();
+        } else if (request instanceof RestockRequest) {
+            RestockRequest restock = (RestockRequest) request;
+            storeId = restock.getStoreId();
+            productId = restock.getProductId();
+            quantityDelta = restock.getQuantity();
+        }
+
+        return InventoryEvent.builder()
+                .eventId(eventId)
+                .storeId(storeId)
+                .productId(productId)
+                .eventType(eventType)
+                .status(status)
+                .quantityBefore(quantityBefore)
+                .quantityAfter(quantityAfter)
+                .quantityDelta(quantityDelta)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
     @Transactional
     public SyncResponse processBatchSync(SyncRequest request) {
             log.info("Batch sync - Store: {}, Operations: {}",
@@ -253,40 +743,56 @@ public class InventoryService {
                         .build();
             }
 
-            int successCount = 0;
-            int failureCount = 0;
-            List<String> errors = new ArrayList<>();
+        List<BatchOperation> operations = request.getOperations();
+        // Chunks commit in transactions of their own; this one then never touches a connection
+        List<SyncResponse> parts = partitionedBatchExecutor.handles(operations)
+                ? partitionedBatchExecutor.execute(operations, chunk -> applyBatch(request, chunk))
+                : List.of(applyBatch(request, operations));
+
+        int successCount = 0;
+        int failureCount = 0;
+        List<String> errors = new ArrayList<>();
+        for (SyncResponse part : parts) {
+            successCount += part.getSuccessCount();
+            failureCount += part.getFailureCount();
+            errors.addAll(part.getErrors());
+        }
+
+        return SyncResponse.builder()
+                .success(failureCount == 0)
+                .message(String.format("Batch completed - Success: %d, Failed: %d",
+                        successCount, failureCount))
+                .successCount(successCount)
+                .failureCount(failureCount)
+                .errors(errors)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
 
-        for (BatchOperation op : request.getOperations()) {
+    private SyncResponse applyBatch(SyncRequest request, List<BatchOperation> operations) {
+        int successCount = 0;
+        int failureCount = 0;
+        List<String> errors = new ArrayList<>();
+
+        List<InventoryResponse> bulkResults = useBulkSync(request.getStoreId())
+                ? applyBulk(request.getStoreId(), operations)
+                : null;
+
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation op = operations.get(i);
             try {
-                if ("SALE".equals(op.getType())) {
-                    SellRequest sellReq = SellRequest.builder()
-                            .storeId(request.getStoreId())
-                            .productId(op.getProductId())
-                            .quantity(Math.abs(op.getDelta()))
-                            .timestamp(request.getTimestamp())
-                            .build();
-                    InventoryResponse response = processSale(sellReq);
-                    if (response.isSuccess()) {
-                        successCount++;
-                    } else {
-                        failureCount++;
-                        errors.add(response.getMessage());
-                    }
-                } else if ("RESTOCK".equals(op.getType())) {
-                    RestockRequest restockReq = RestockRequest.builder()
-                            .storeId(request.getStoreId())
-                            .productId(op.getProductId())
-                            .quantity(op.getDelta())
-                            .timestamp(request.getTimestamp())
-                            .build();
-                    InventoryResponse response = processRestock(restockReq);
-                    if (response.isSuccess()) {
-                        successCount++;
-                    } else {
-                        failureCount++;
-                        errors.add(response.getMessage());
-                    }
+                InventoryResponse response = bulkResults != null ? bulkResults.get(i) : null;
+                if (response == null) {
+                    response = withSavepoint(() -> processBatchOperation(request, op));
+                }
+                if (response == null) {
+                    continue;
+                }
+                if (response.isSuccess()) {
+                    successCount++;
+                } else {
+                    failureCount++;
+                    errors.add(response.getMessage());
                 }
             } catch (Exception e) {
                 failureCount++;
@@ -297,8 +803,6 @@ public class InventoryService {
 
         return SyncResponse.builder()
                 .success(failureCount == 0)
-                .message(String.format("Batch completed - Success: %d, Failed: %d",
-                        successCount, failureCount))
                 .successCount(successCount)
                 .failureCount(failureCount)
                 .errors(errors)
@@ -306,12 +810,78 @@ public class InventoryService {
                 .build();
     }
 
+    // A bulk apply that throws is undone on its own and every line is retried through the per-operation path
+    private List<InventoryResponse> applyBulk(String storeId, List<BatchOperation> operations) {
+        try {
+            return withSavepoint(() -> batchSyncEngine.apply(storeId, operations));
+        } catch (RuntimeException e) {
+            log.warn("Bulk sync rolled back, applying operations one by one - Store: {}, Error: {}",
+                    storeId, e.getMessage());
+            return null;
+        }
+    }
+
+    // Flushing before the savepoint is released makes write errors surface inside it; after a rollback the
+    // persistence context is cleared so entities changed by the failed work are not flushed with the rest
+    private <T> T withSavepoint(Supplier<T> work) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        TransactionTemplate savepoint = new TransactionTemplate(transactionManager);
+        savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        try {
+            return savepoint.execute(status -> {
+                T result = work.get();
+                entityManager.flush();
+                return result;
+            });
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            throw e;
+        }
+    }
+
+    private boolean useBulkSync(String storeId) {
+        return inventoryProperties.getSync().isBulk()
+                && !ledgerEngine.owns(storeId)
+                && !redisStockGate.isActive();
+    }
+
+    private InventoryResponse processBatchOperation(SyncRequest request, BatchOperation op) {
+        if ("SALE".equals(op.getType())) {
+            SellRequest sale = SellRequest.builder()
+                    .storeId(request.getStoreId())
+                    .productId(op.getProductId())
+                    .quantity(Math.abs(op.getDelta()))
+                    .timestamp(request.getTimestamp())
+                    .idempotencyKey(op.getIdempotencyKey())
+                    .build();
+            return withIdempotency(sale.getIdempotencyKey(), () -> executeSale(sale));
+        }
+        if ("RESTOCK".equals(op.getType())) {
+            return processRestock(RestockRequest.builder()
+                    .storeId(request.getStoreId())
+                    .productId(op.getProductId())
+                    .quantity(op.getDelta())
+                    .timestamp(request.getTimestamp())
+                    .idempotencyKey(op.getIdempotencyKey())
+                    .build());
+        }
+        return null;
+    }
+
     private InventoryResponse getInventoryFallback(String storeId, String productId, Exception ex) {
         log.error("Circuit breaker activated for getInventory - Store: {}, Product: {}, Error: {}",
                 storeId, productId, ex.getMessage());
         return InventoryResponse.error("Service temporarily unavailable. Please try again later.");
     }
 
+    private MultiGetResponse getInventoriesFallback(List<InventoryKey> keys, Exception ex) {
+        log.error("Circuit breaker activated for getInventories - Keys: {}, Error: {}", keys.size(), ex.getMessage());
+        return MultiGetResponse.error("Service temporarily unavailable. Please try again later.");
+    }
+
     private InventoryResponse processSaleFallback(SellRequest request, Exception ex) {
         log.error("Circuit breaker activated for processSale - Store: {}, Product: {}, Error: {}",
                 request.getStoreId(), request.getProductId(), ex.getMessage());
@@ -0,0 +1,468 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryData;
+import com.inventory.api.InventoryDTOs.InventoryKey;
+import com.inventory.api.InventoryDTOs.InventoryResponse;
+import com.inventory.api.InventoryDTOs.RestockRequest;
+import com.inventory.api.InventoryDTOs.SellRequest;
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.InventoryEvent;
+import com.inventory.model.Product;
+import com.inventory.repository.InventoryEventRepository;
+import com.inventory.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LedgerEngine {
+
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long PARK_NANOS = 50_000L;
+
+    private final ProductRepository productRepository;
+    private final InventoryEventRepository eventRepository;
+    private final InventoryCache inventoryCache;
+    private final PlatformTransactionManager transactionManager;
+    private final InventoryProperties inventoryProperties;
+
+    private volatile Worker[] workers = new Worker[0];
+
+    @PostConstruct
+    public void start() {
+        InventoryProperties.Ledger settings = inventoryProperties.getLedger();
+        if (!settings.isEnabled()) {
+            return;
+        }
+
+        Worker[] started = new Worker[Math.max(1, settings.getWorkers())];
+        for (int i = 0; i < started.length; i++) {
+            started[i] = new Worker(i, new RingBuffer<>(settings.getRingCapacity()));
+            started[i].start();
+        }
+        workers = started;
+
+        log.info("Ledger engine started - Workers: {}, Ring capacity: {}, Owned stores: {}",
+                started.length, started[0].ring.capacity(),
+                settings.getOwnedStores().isEmpty() ? "ALL" : settings.getOwnedStores());
+    }
+
+    public boolean owns(String storeId) {
+        if (workers.length == 0) {
+            return false;
+        }
+        Set<String> ownedStores = inventoryProperties.getLedger().getOwnedStores();
+        return ownedStores.isEmpty() || ownedStores.contains(storeId);
+    }
+
+    public InventoryResponse sell(String key, SellRequest request) {
+        return dispatch(new Command(key, request.getStoreId(), request.getProductId(),
+                -request.getQuantity(), request.getIdempotencyKey()));
+    }
+
+    public InventoryResponse restock(String key, RestockRequest request) {
+        return dispatch(new Command(key, request.getStoreId(), request.getProductId(),
+                request.getQuantity(), request.getIdempotencyKey()));
+    }
+
+    private InventoryResponse dispatch(Command command) {
+        Worker worker = workers[Math.floorMod(command.key.hashCode(), workers.length)];
+        long deadline = System.nanoTime() + inventoryProperties.getLedger().getTimeout().toNanos();
+
+        while (!worker.ring.offer(command)) {
+            if (System.nanoTime() > deadline) {
+                log.warn("Ledger ring full - Worker: {}, Key: {}", worker.index, command.key);
+                return InventoryResponse.error("Inventory engine is overloaded. Please try again later.");
+            }
+            Thread.onSpinWait();
+        }
+
+        try {
+            return command.result.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Ledger command failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for ledger worker", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for ledger worker", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (Worker worker : workers) {
+            worker.running = false;
+        }
+        for (Worker worker : workers) {
+            worker.shutdown();
+        }
+        workers = new Worker[0];
+    }
+
+    private InventoryEvent buildEvent(Command command, String eventId, String status,
+                                      int quantityBefore, int quantityAfter) {
+        return InventoryEvent.builder()
+                .eventId(eventId)
+                .storeId(command.storeId)
+                .productId(command.productId)
+                .eventType(command.delta < 0 ? "SALE" : "RESTOCK")
+                .status(status)
+                .quantityBefore(quantityBefore)
+                .quantityAfter(quantityAfter)
+                .quantityDelta(command.delta)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private final class Worker implements Runnable {
+        private final int index;
+        private final RingBuffer<Command> ring;
+        private final Thread thread;
+        private final ScheduledExecutorService persister;
+        private final Map<String, SkuState> skus = new HashMap<>();
+        private Map<String, Snapshot> dirty = new LinkedHashMap<>();
+        private List<InventoryEvent> events = new ArrayList<>();
+        private long lastFlushNanos = System.nanoTime();
+        private PersistBatch carryOver;
+        private final Queue<Snapshot> dropped = new ConcurrentLinkedQueue<>();
+        private volatile boolean running = true;
+
+        private Worker(int index, RingBuffer<Command> ring) {
+            this.index = index;
+            this.ring = ring;
+            this.thread = new Thread(this, "ledger-worker-" + index);
+            this.thread.setDaemon(true);
+            this.persister = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread persisterThread = new Thread(runnable, "ledger-persister-" + index);
+                persisterThread.setDaemon(true);
+                return persisterThread;
+            });
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            int idleSpins = 0;
+            while (running || !ring.isEmpty()) {
+                Command command = ring.poll();
+                if (command == null) {
+                    flushIfDue(false);
+                    if (++idleSpins < SPINS_BEFORE_PARK) {
+                        Thread.onSpinWait();
+                    } else {
+                        LockSupport.parkNanos(PARK_NANOS);
+                    }
+                    continue;
+                }
+                idleSpins = 0;
+                revertDropped();
+                apply(command);
+                flushIfDue(false);
+            }
+            flushIfDue(true);
+        }
+
+        private void apply(Command command) {
+            try {
+                SkuState state = skus.get(command.key);
+                if (state == null) {
+                    state = load(command);
+                    skus.put(command.key, state);
+                }
+
+                String eventId = command.eventId;
+                int quantityBefore = state.quantity;
+
+                int available = quantityBefore - state.reserved;
+
+                if (command.delta < 0 && available < -command.delta) {
+                    events.add(buildEvent(command, eventId, "FAILED", quantityBefore, quantityBefore));
+                    command.result.complete(InventoryResponse.error(
+                            String.format("Insufficient stock. Available: %d, Requested: %d",
+                                    available, -command.delta)
+                    ));
+                    return;
+                }
+
+                state.quantity = quantityBefore + command.delta;
+                state.lastUpdated = LocalDateTime.now();
+                dirty.merge(command.key, new Snapshot(command.key, command.storeId, command.productId,
+                        command.delta, state.lastUpdated), Snapshot::plus);
+                events.add(buildEvent(command, eventId, "SUCCESS", quantityBefore, state.quantity));
+
+                InventoryData data = InventoryData.builder()
+                        .storeId(command.storeId)
+                        .productId(command.productId)
+                        .quantity(state.quantity)
+                        .quantityBefore(quantityBefore)
+                        .lastUpdated(state.lastUpdated)
+                        .eventId(eventId)
+                        .cached(false)
+                        .build();
+
+                command.result.complete(InventoryResponse.success(
+                        command.delta < 0 ? "Sale processed successfully" : "Restock processed successfully",
+                        data));
+            } catch (RuntimeException e) {
+                log.error("Ledger command failed - Key: {}", command.key, e);
+                command.result.completeExceptionally(e);
+            }
+        }
+
+        // A change the persister gave up on never reached the row, so it is taken back out of memory too
+        private void revertDropped() {
+            Snapshot snapshot;
+            while ((snapshot = dropped.poll()) != null) {
+                SkuState state = skus.get(snapshot.key);
+                if (state != null) {
+                    state.quantity -= snapshot.delta;
+                }
+            }
+        }
+
+        private SkuState load(Command command) {
+            Optional<Product> product = new TransactionTemplate(transactionManager).execute(status ->
+                    productRepository.findByStoreIdAndProductId(command.storeId, command.productId));
+            SkuState state = new SkuState();
+            if (product != null && product.isPresent()) {
+                state.quantity = product.get().getQuantity();
+                state.reserved = product.get().getQuantity() - product.get().getAvailableQuantity();
+            }
+            return state;
+        }
+
+        private void flushIfDue(boolean force) {
+            if (dirty.isEmpty() && events.isEmpty()) {
+                return;
+            }
+            long now = System.nanoTime();
+            InventoryProperties.Ledger settings = inventoryProperties.getLedger();
+            if (!force
+                    && events.size() < settings.getFlushBatchSize()
+                    && now - lastFlushNanos < settings.getFlushInterval().toNanos()) {
+                return;
+            }
+
+            PersistBatch batch = new PersistBatch(dirty, events);
+            dirty = new LinkedHashMap<>();
+            events = new ArrayList<>();
+            lastFlushNanos = now;
+            persister.execute(() -> persist(batch));
+        }
+
+        // Rows are changed by the batch's net delta per SKU, never set to the ledger's copy: a restock or
+        // transfer committed elsewhere since the SKU was loaded is kept
+        private void persist(PersistBatch batch) {
+            PersistBatch pending = carryOver == null ? batch : carryOver.merge(batch);
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            try {
+                write(pending.snapshots.values(), pending.events);
+                carryOver = null;
+                log.debug("Ledger batch persisted - Worker: {}, SKUs: {}, Events: {}",
+                        index, pending.snapshots.size(), pending.events.size());
+            } catch (RuntimeException e) {
+                pending.attempts++;
+                int maxAttempts = Math.max(1, inventoryProperties.getLedger().getMaxPersistAttempts());
+                if (pending.attempts >= maxAttempts || persister.isShutdown()) {
+                    carryOver = null;
+                    log.error("Ledger batch persistence failed, persisting SKU by SKU - Worker: {}, SKUs: {}, " +
+                            "Events: {}, Attempts: {}", index, pending.snapshots.size(), pending.events.size(),
+                            pending.attempts, e);
+                    persistEach(pending);
+                    return;
+                }
+                carryOver = pending;
+                log.error("Ledger batch persistence failed, retrying - Worker: {}, SKUs: {}, Events: {}",
+                        index, pending.snapshots.size(), pending.events.size(), e);
+                persister.schedule(() -> persist(PersistBatch.empty()),
+                        inventoryProperties.getLedger().getRetryDelay().toMillis(), TimeUnit.MILLISECONDS);
+                return;
+            }
+
+            refresh(pending.snapshots.values());
+        }
+
+        // One SKU that can't be written no longer holds up the others: each SKU commits with its own events,
+        // and one that still fails is logged in full and reverted in memory
+        private void persistEach(PersistBatch batch) {
+            List<InventoryEvent> unmatched = new ArrayList<>(batch.events);
+            for (Snapshot snapshot : batch.snapshots.values()) {
+                List<InventoryEvent> skuEvents = new ArrayList<>();
+                unmatched.removeIf(event -> snapshot.matches(event) && skuEvents.add(event));
+                try {
+                    write(List.of(snapshot), skuEvents);
+                    refresh(List.of(snapshot));
+                } catch (RuntimeException e) {
+                    dropped.add(snapshot);
+                    log.error("Ledger change DROPPED - Worker: {}, Store: {}, Product: {}, Delta: {}, EventIds: {}",
+                            index, snapshot.storeId, snapshot.productId, snapshot.delta,
+                            skuEvents.stream().map(InventoryEvent::getEventId).toList(), e);
+                }
+            }
+            for (InventoryEvent event : unmatched) {
+                try {
+                    write(List.of(), List.of(event));
+                } catch (RuntimeException e) {
+                    log.error("Ledger event DROPPED - Worker: {}, EventId: {}, Type: {}, Status: {}, Store: {}, " +
+                                    "Product: {}", index, event.getEventId(), event.getEventType(), event.getStatus(),
+                            event.getStoreId(), event.getProductId(), e);
+                }
+            }
+        }
+
+        private void write(Collection<Snapshot> snapshots, List<InventoryEvent> events) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                for (Snapshot snapshot : snapshots) {
+                    int updated = productRepository.addQuantity(snapshot.storeId, snapshot.productId,
+                            snapshot.delta, snapshot.lastUpdated);
+                    if (updated == 0) {
+                        // A SKU the ledger loaded as absent started from zero, so its delta is its stock
+                        productRepository.save(Product.builder()
+                                .storeId(snapshot.storeId)
+                                .productId(snapshot.productId)
+                                .quantity(snapshot.delta)
+                                .lastUpdated(snapshot.lastUpdated)
+                                .build());
+                    }
+                }
+                eventRepository.saveAll(events);
+            });
+        }
+
+        // Committed by now, so the rows are written through at once
+        private void refresh(Collection<Snapshot> snapshots) {
+            List<InventoryKey> keys = new ArrayList<>(snapshots.size());
+            for (Snapshot snapshot : snapshots) {
+                keys.add(new InventoryKey(snapshot.storeId, snapshot.productId));
+            }
+            inventoryCache.refreshAfterCommit(keys);
+        }
+
+        private void shutdown() {
+            try {
+                thread.join(inventoryProperties.getLedger().getTimeout().toMillis());
+                persister.shutdown();
+                persister.awaitTermination(inventoryProperties.getLedger().getTimeout().toMillis(),
+                        TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (carryOver != null) {
+                log.error("Ledger worker {} stopped with unpersisted state - SKUs: {}, Events: {}",
+                        index, carryOver.snapshots.size(), carryOver.events.size());
+            }
+        }
+    }
+
+    private static final class Command {
+        private final String key;
+        private final String storeId;
+        private final String productId;
+        private final int delta;
+        private final String eventId;
+        private final CompletableFuture<InventoryResponse> result = new CompletableFuture<>();
+
+        private Command(String key, String storeId, String productId, int delta, String idempotencyKey) {
+            this.key = key;
+            this.storeId = storeId;
+            this.productId = productId;
+            this.delta = delta;
+            this.eventId = idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString();
+        }
+    }
+
+    private static final class SkuState {
+        private int quantity;
+        private int reserved;
+        private LocalDateTime lastUpdated;
+    }
+
+    private static final class Snapshot {
+        private final String key;
+        private final String storeId;
+        private final String productId;
+        private final int delta;
+        private final LocalDateTime lastUpdated;
+
+        private Snapshot(String key, String storeId, String productId, int delta, LocalDateTime lastUpdated) {
+            this.key = key;
+            this.storeId = storeId;
+            this.productId = productId;
+            this.delta = delta;
+            this.lastUpdated = lastUpdated;
+        }
+
+        private Snapshot plus(Snapshot later) {
+            return new Snapshot(key, storeId, productId, delta + later.delta, later.lastUpdated);
+        }
+
+        private boolean matches(InventoryEvent event) {
+            return storeId.equals(event.getStoreId()) && productId.equals(event.getProductId());
+        }
+    }
+
+    private static final class PersistBatch {
+        private final Map<String, Snapshot> snapshots;
+        private final List<InventoryEvent> events;
+        private int attempts;
+
+        private PersistBatch(Map<String, Snapshot> snapshots, List<InventoryEvent> events) {
+            this.snapshots = snapshots;
+            this.events = events;
+        }
+
+        private static PersistBatch empty() {
+            return new PersistBatch(new LinkedHashMap<>(), new ArrayList<>());
+        }
+
+        private PersistBatch merge(PersistBatch next) {
+            Map<String, Snapshot> mergedSnapshots = new LinkedHashMap<>(snapshots);
+            next.snapshots.forEach((key, snapshot) -> mergedSnapshots.merge(key, snapshot, Snapshot::plus));
+            List<InventoryEvent> mergedEvents = new ArrayList<>(events);
+            mergedEvents.addAll(next.events);
+            PersistBatch merged = new PersistBatch(mergedSnapshots, mergedEvents);
+            merged.attempts = attempts;
+            return merged;
+        }
+
+        private boolean isEmpty() {
+            return snapshots.isEmpty() && events.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.InventoryEvent;
+import com.inventory.repository.InventoryEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Only created when enabled, so an instance that doesn't relay needs no OutboxSink bean (sink=kafka with the
+// Kafka sink's module left out, say)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private final InventoryEventRepository eventRepository;
+    private final OutboxSink sink;
+    private final PlatformTransactionManager transactionManager;
+    private final InventoryProperties.Outbox settings;
+    private final Counter published;
+
+    private ScheduledExecutorService workers;
+
+    public OutboxRelay(InventoryEventRepository eventRepository,
+                       OutboxSink sink,
+                       PlatformTransactionManager transactionManager,
+                       InventoryProperties inventoryProperties,
+                       MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.sink = sink;
+        this.transactionManager = transactionManager;
+        this.settings = inventoryProperties.getOutbox();
+        this.published = meterRegistry.counter("inventory.outbox.published");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+
+        int count = Math.max(1, settings.getWorkers());
+        AtomicInteger index = new AtomicInteger();
+        workers = Executors.newScheduledThreadPool(count, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay-" + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < count; i++) {
+            workers.scheduleWithFixedDelay(this::drain, 0,
+                    settings.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        log.info("Outbox relay started - Workers: {}, Batch size: {}, Sink: {}",
+                count, settings.getBatchSize(), sink.getClass().getSimpleName());
+    }
+
+    // Keep claiming while batches come back full; an empty or partial batch waits for the next poll
+    void drain() {
+        while (relayOnce() >= settings.getBatchSize()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    // SKIP LOCKED lets every worker on every instance claim a disjoint batch without waiting on the others
+    int relayOnce() {
+        try {
+            Integer relayed = new TransactionTemplate(transactionManager).execute(status -> {
+                List<InventoryEvent> claimed = eventRepository.claimUnpublished(settings.getBatchSize());
+                if (claimed.isEmpty()) {
+                    return 0;
+                }
+
+                sink.publish(claimed);
+
+                List<Long> ids = new ArrayList<>(claimed.size());
+                for (InventoryEvent event : claimed) {
+                    ids.add(event.getId());
+                }
+                eventRepository.markProcessed(ids, LocalDateTime.now());
+                return claimed.size();
+            });
+
+            int count = relayed == null ? 0 : relayed;
+            if (count > 0) {
+                published.increment(count);
+                log.debug("Outbox batch relayed - Events: {}", count);
+            }
+            return count;
+        } catch (RuntimeException e) {
+            log.error("Outbox relay failed, batch left for retry - Error: {}", e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (workers == null) {
+            return;
+        }
+        workers.shutdown();
+        try {
+            workers.awaitTermination(settings.getPollInterval().toMillis() * 10, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.inventory.service;
+
+import com.inventory.model.InventoryEvent;
+
+import java.util.List;
+
+// Delivery is at-least-once: a batch is re-published if marking it processed fails, so sinks should dedupe on eventId
+public interface OutboxSink {
+
+    void publish(List<InventoryEvent> events);
+}
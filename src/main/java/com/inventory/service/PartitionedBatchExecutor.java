@@ -0,0 +1,204 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.BatchOperation;
+import com.inventory.api.InventoryDTOs.SyncResponse;
+import com.inventory.config.InventoryProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class PartitionedBatchExecutor {
+
+    private final PlatformTransactionManager transactionManager;
+    private final InventoryProperties.Sync settings;
+
+    private ExecutorService workers;
+
+    public PartitionedBatchExecutor(PlatformTransactionManager transactionManager,
+                                    InventoryProperties inventoryProperties) {
+        this.transactionManager = transactionManager;
+        this.settings = inventoryProperties.getSync();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!settings.isParallel()) {
+            return;
+        }
+
+        AtomicInteger index = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(partitionCount(), runnable -> {
+            Thread thread = new Thread(runnable, "batch-sync-" + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        log.info("Partitioned batch sync started - Workers: {}, Chunk size: {}",
+                partitionCount(), chunkSize());
+    }
+
+    // A batch that fits in one chunk stays on the caller's transaction
+    public boolean handles(List<BatchOperation> operations) {
+        return settings.getChunkSize() > 0 && operations.size() > settings.getChunkSize();
+    }
+
+    // Without the worker pool the whole batch is one partition, committed chunk by chunk on the caller's thread.
+    // Hashing on productId keeps every line of a product on one partition, in request order, so partitions
+    // never lock the same rows and each one can commit its chunks independently
+    public List<SyncResponse> execute(List<BatchOperation> operations,
+                                      Function<List<BatchOperation>, SyncResponse> work) {
+        if (workers == null) {
+            Partition partition = new Partition(operations);
+            runPartition(partition, work);
+            return partition.results;
+        }
+
+        int count = partitionCount();
+        List<Partition> partitions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            partitions.add(new Partition(new ArrayList<>()));
+        }
+        for (BatchOperation op : operations) {
+            partitions.get(Math.floorMod(Objects.hashCode(op.getProductId()), count)).lines.add(op);
+        }
+
+        List<Partition> submitted = new ArrayList<>(count);
+        List<Future<?>> pending = new ArrayList<>(count);
+        for (Partition partition : partitions) {
+            if (!partition.lines.isEmpty()) {
+                submitted.add(partition);
+                pending.add(workers.submit(() -> runPartition(partition, work)));
+            }
+        }
+
+        // The other partitions commit on their own, so a partition that dies keeps the results of the chunks it
+        // already committed and reports the rest of its lines as errors instead of failing the whole request
+        List<SyncResponse> results = new ArrayList<>();
+        boolean interrupted = false;
+        for (int i = 0; i < pending.size(); i++) {
+            Partition partition = submitted.get(i);
+            while (true) {
+                try {
+                    pending.get(i).get();
+                    results.addAll(partition.results);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    List<BatchOperation> unapplied = partition.lines.subList(partition.done, partition.lines.size());
+                    log.error("Batch sync partition failed - Unapplied operations: {}, Error: {}",
+                            unapplied.size(), e.getCause().toString());
+                    results.addAll(partition.results);
+                    results.add(rolledBack(unapplied, e.getCause()));
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return results;
+    }
+
+    private void runPartition(Partition partition, Function<List<BatchOperation>, SyncResponse> work) {
+        // REQUIRES_NEW: on the caller's thread each chunk must commit apart from the request's own transaction
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        int chunkSize = chunkSize();
+        List<BatchOperation> lines = partition.lines;
+
+        for (int from = 0; from < lines.size(); from += chunkSize) {
+            List<BatchOperation> chunk = lines.subList(from, Math.min(from + chunkSize, lines.size()));
+            try {
+                partition.results.add(transaction.execute(status -> work.apply(chunk)));
+                partition.done += chunk.size();
+            } catch (RuntimeException e) {
+                log.error("Batch sync chunk rolled back, applying lines one by one - Operations: {}, Error: {}",
+                        chunk.size(), e.getMessage());
+                runLines(transaction, chunk, work, partition);
+            }
+        }
+    }
+
+    // A persistence error inside a line's savepoint still marks the whole chunk rollback-only, so after a
+    // rollback each line gets a transaction of its own and only the lines that fail again are lost
+    private void runLines(TransactionTemplate transaction, List<BatchOperation> chunk,
+                          Function<List<BatchOperation>, SyncResponse> work, Partition partition) {
+        for (BatchOperation op : chunk) {
+            List<BatchOperation> line = List.of(op);
+            try {
+                partition.results.add(transaction.execute(status -> work.apply(line)));
+            } catch (RuntimeException e) {
+                log.error("Batch sync line rolled back - Product: {}, Error: {}", op.getProductId(), e.getMessage());
+                partition.results.add(rolledBack(line, e));
+            }
+            partition.done++;
+        }
+    }
+
+    private SyncResponse rolledBack(List<BatchOperation> chunk, Throwable e) {
+        List<String> errors = new ArrayList<>(chunk.size());
+        for (BatchOperation op : chunk) {
+            errors.add(String.format("Product %s: %s", op.getProductId(), e.getMessage()));
+        }
+        return SyncResponse.builder()
+                .success(false)
+                .successCount(0)
+                .failureCount(chunk.size())
+                .errors(errors)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private int partitionCount() {
+        return Math.max(1, settings.getWorkers());
+    }
+
+    private int chunkSize() {
+        return Math.max(1, settings.getChunkSize());
+    }
+
+    // One worker's share of a batch; done counts the lines whose outcome is already in results. Read by the
+    // caller only after the worker's Future completes
+    private static final class Partition {
+
+        private final List<BatchOperation> lines;
+        private final List<SyncResponse> results = new ArrayList<>();
+        private int done;
+
+        private Partition(List<BatchOperation> lines) {
+            this.lines = lines;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (workers == null) {
+            return;
+        }
+        workers.shutdown();
+        try {
+            workers.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryData;
+import com.inventory.api.InventoryDTOs.InventoryResponse;
+import com.inventory.config.InventoryProperties;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.reactive.enabled", havingValue = "true")
+public class ReactiveInventoryReader {
+
+    private static final RedisScript<Long> CACHE_PUT_SCRIPT =
+            new DefaultRedisScript<>(new ClassPathResource("scripts/cache_put.lua"), Long.class);
+
+    // Escrow-split SKUs report base plus slots, as InventoryService does
+    private static final String SELECT_INVENTORY =
+            "SELECT p.store_id, p.product_id, p.quantity, p.reserved_quantity, p.last_updated, p.version, p.escrow_slots, " +
+            "CASE WHEN p.escrow_slots > 0 THEN (SELECT COALESCE(SUM(s.quantity), 0) FROM product_escrow_slots s " +
+            "WHERE s.store_id = p.store_id AND s.product_id = p.product_id) ELSE 0 END AS escrowed " +
+            "FROM products p WHERE p.store_id = :storeId AND p.product_id = :productId";
+
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private final DatabaseClient replicaDatabaseClient;
+    private final InventoryNearCache nearCache;
+    private final InventoryProperties inventoryProperties;
+
+    @CircuitBreaker(name = "inventoryService", fallbackMethod = "getInventoryFallback")
+    @RateLimiter(name = "inventoryService")
+    public Mono<InventoryResponse> getInventory(String storeId, String productId) {
+        log.debug("Query inventory (reactive) - Store: {}, Product: {}", storeId, productId);
+        String cacheKey = InventoryCache.key(storeId, productId);
+
+        return getCachedInventory(cacheKey)
+                .map(data -> {
+                    log.debug("Cache HIT - Key: {}", cacheKey);
+                    return InventoryResponse.success("Retrieved from cache", data.toBuilder().cached(true).build());
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.debug("Cache MISS - Querying replica");
+                    // Escrow slot moves don't bump the row version, so a split SKU's total is never cached
+                    return findInventory(storeId, productId)
+                            .flatMap(found -> {
+                                InventoryResponse response =
+                                        InventoryResponse.success("Retrieved from database", found.getT1());
+                                return found.getT2()
+                                        ? Mono.just(response)
+                                        : setCachedInventory(cacheKey, found.getT1()).thenReturn(response);
+                            });
+                }))
+                .defaultIfEmpty(InventoryResponse.error("Product not found in inventory"));
+    }
+
+    private Mono<InventoryData> getCachedInventory(String cacheKey) {
+        InventoryData local = nearCache.get(cacheKey);
+        if (local != null) {
+            return Mono.just(local);
+        }
+        return reactiveRedisTemplate.opsForValue().get(cacheKey)
+                .cast(InventoryData.class)
+                .doOnNext(data -> nearCache.put(cacheKey, data))
+                .onErrorResume(e -> {
+                    log.warn("Redis GET failed, continuing without cache: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    // Same versioned put as InventoryCache: an older replica row never replaces a newer cached one, nor refills a
+    // key a later commit dropped
+    private Mono<Void> setCachedInventory(String key, InventoryData data) {
+        long version = data.getVersion() != null ? data.getVersion() : 0L;
+        long ttlMillis = inventoryProperties.getCache().getTtl().toMillis();
+        return reactiveRedisTemplate.execute(CACHE_PUT_SCRIPT, List.of(key, InventoryCache.floorKey(key)),
+                        List.of(data, version, ttlMillis, 0))
+                .next()
+                .doOnNext(stored -> {
+                    if (stored == 1L) {
+                        nearCache.put(key, data);
+                        log.debug("Cache SET - Key: {}, Version: {}", key, version);
+                    } else {
+                        log.debug("Cache SET refused, newer version cached - Key: {}, Version: {}", key, version);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Cache write failed (non-fatal) - Key: {}, Error: {}", key, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // The flag is true for escrow-split SKUs
+    private Mono<Tuple2<InventoryData, Boolean>> findInventory(String storeId, String productId) {
+        return replicaDatabaseClient.sql(SELECT_INVENTORY)
+                .bind("storeId", storeId)
+                .bind("productId", productId)
+                .map((row, metadata) -> {
+                    Integer slots = row.get("escrow_slots", Integer.class);
+                    return Tuples.of(toInventoryData(row), slots != null && slots > 0);
+                })
+                .one();
+    }
+
+    private InventoryData toInventoryData(Row row) {
+        int quantity = row.get("quantity", Integer.class);
+        Integer reserved = row.get("reserved_quantity", Integer.class);
+        int reservedQuantity = reserved == null ? 0 : reserved;
+        Long escrowedValue = row.get("escrowed", Long.class);
+        int escrowed = escrowedValue == null ? 0 : escrowedValue.intValue();
+        return InventoryData.builder()
+                .storeId(row.get("store_id", String.class))
+                .productId(row.get("product_id", String.class))
+                .quantity(quantity + escrowed)
+                .reservedQuantity(reservedQuantity)
+                .availableQuantity(quantity - reservedQuantity + escrowed)
+                .lastUpdated(row.get("last_updated", LocalDateTime.class))
+                .version(row.get("version", Long.class))
+                .cached(false)
+                .build();
+    }
+
+    private Mono<InventoryResponse> getInventoryFallback(String storeId, String productId, Exception ex) {
+        log.error("Circuit breaker activated for getInventory (reactive) - Store: {}, Product: {}, Error: {}",
+                storeId, productId, ex.getMessage());
+        return Mono.just(InventoryResponse.error("Service temporarily unavailable. Please try again later."));
+    }
+}
@@ -0,0 +1,450 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryData;
+import com.inventory.api.InventoryDTOs.InventoryKey;
+import com.inventory.api.InventoryDTOs.InventoryResponse;
+import com.inventory.api.InventoryDTOs.RestockRequest;
+import com.inventory.api.InventoryDTOs.SellRequest;
+import com.inventory.config.InventoryProperties;
+import com.inventory.config.InventoryProperties.SaleMode;
+import com.inventory.model.InventoryEvent;
+import com.inventory.model.Product;
+import com.inventory.repository.InventoryEventRepository;
+import com.inventory.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class RedisStockGate {
+
+    private static final String STOCK_PREFIX = "gate:stock:";
+    private static final String PENDING_PREFIX = "gate:pending:";
+
+    private static final long NOT_SEEDED = -1L;
+    private static final long REJECTED = 0L;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> APPLY_SCRIPT =
+            new DefaultRedisScript<>(new ClassPathResource("scripts/gate_apply.lua"), List.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SNAPSHOT_SCRIPT =
+            new DefaultRedisScript<>(new ClassPathResource("scripts/gate_snapshot.lua"), List.class);
+    private static final RedisScript<Long> REBUILD_SCRIPT =
+            new DefaultRedisScript<>(new ClassPathResource("scripts/gate_rebuild.lua"), Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ProductRepository productRepository;
+    private final InventoryEventRepository eventRepository;
+    private final InventoryCache inventoryCache;
+    private final PlatformTransactionManager transactionManager;
+    private final InventoryProperties inventoryProperties;
+    private final Counter driftCounter;
+    private final AtomicLong backlog = new AtomicLong();
+
+    private final Set<String> touched = ConcurrentHashMap.newKeySet();
+
+    public RedisStockGate(StringRedisTemplate stringRedisTemplate,
+                          ProductRepository productRepository,
+                          InventoryEventRepository eventRepository,
+                          InventoryCache inventoryCache,
+                          PlatformTransactionManager transactionManager,
+                          InventoryProperties inventoryProperties,
+                          MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.productRepository = productRepository;
+        this.eventRepository = eventRepository;
+        this.inventoryCache = inventoryCache;
+        this.transactionManager = transactionManager;
+        this.inventoryProperties = inventoryProperties;
+        this.driftCounter = meterRegistry.counter("inventory.gate.drift");
+        meterRegistry.gauge("inventory.gate.backlog", backlog);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isActive()) {
+            return;
+        }
+        InventoryProperties.Gate settings = inventoryProperties.getGate();
+        try {
+            stringRedisTemplate.opsForStream().createGroup(settings.getStream(), ReadOffset.from("0"), settings.getGroup());
+            log.info("Stock gate consumer group created - Stream: {}, Group: {}",
+                    settings.getStream(), settings.getGroup());
+        } catch (Exception e) {
+            log.debug("Stock gate consumer group already present: {}", e.getMessage());
+        }
+    }
+
+    public boolean isActive() {
+        return inventoryProperties.getSale().getMode() == SaleMode.REDIS;
+    }
+
+    public InventoryResponse sell(SellRequest request, String eventId) {
+        List<Long> result = apply("SALE", request.getStoreId(), request.getProductId(), request.getQuantity(), eventId);
+
+        if (result.get(0) == REJECTED) {
+            return InventoryResponse.error(
+                    String.format("Insufficient stock. Available: %d, Requested: %d",
+                            result.get(1), request.getQuantity())
+            );
+        }
+
+        log.info("SALE accepted (gate) - Product: {}, Before: {}, After: {}",
+                request.getProductId(), result.get(1), result.get(2));
+        return InventoryResponse.success("Sale processed successfully",
+                buildData(request.getStoreId(), request.getProductId(), result, eventId));
+    }
+
+    public InventoryResponse restock(RestockRequest request, String eventId) {
+        List<Long> result = apply("RESTOCK", request.getStoreId(), request.getProductId(), request.getQuantity(), eventId);
+
+        log.info("RESTOCK accepted (gate) - Product: {}, Before: {}, After: {}",
+                request.getProductId(), result.get(1), result.get(2));
+        return InventoryResponse.success("Restock processed successfully",
+                buildData(request.getStoreId(), request.getProductId(), result, eventId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> apply(String type, String storeId, String productId, int quantity, String eventId) {
+        List<String> keys = List.of(stockKey(storeId, productId), pendingKey(storeId, productId),
+                inventoryProperties.getGate().getStream());
+
+        List<Long> result = stringRedisTemplate.execute(APPLY_SCRIPT, keys,
+                String.valueOf(quantity), eventId, storeId, productId, type);
+        if (result.get(0) == NOT_SEEDED) {
+            rebuild(storeId, productId);
+            result = stringRedisTemplate.execute(APPLY_SCRIPT, keys,
+                    String.valueOf(quantity), eventId, storeId, productId, type);
+        }
+        if (result.get(0) == NOT_SEEDED) {
+            throw new IllegalStateException("Stock gate could not be seeded for " + storeId + ":" + productId);
+        }
+
+        touched.add(skuKey(storeId, productId));
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.gate.reconcile-interval:PT0.05S}")
+    public void reconcile() {
+        if (!isActive()) {
+            return;
+        }
+        try {
+            InventoryProperties.Gate settings = inventoryProperties.getGate();
+            StreamOperations<String, Object, Object> ops = stringRedisTemplate.opsForStream();
+            Consumer consumer = Consumer.from(settings.getGroup(), settings.getConsumerName());
+            StreamReadOptions options = StreamReadOptions.empty().count(settings.getBatchSize());
+
+            claimStale(ops, settings);
+
+            // entries delivered to us before a crash come back first
+            List<MapRecord<String, Object, Object>> records = ops.read(consumer, options,
+                    StreamOffset.create(settings.getStream(), ReadOffset.from("0")));
+            if (records == null || records.isEmpty()) {
+                records = ops.read(consumer, options,
+                        StreamOffset.create(settings.getStream(), ReadOffset.lastConsumed()));
+            }
+
+            Long size = ops.size(settings.getStream());
+            backlog.set(size != null ? size : 0);
+
+            if (records == null || records.isEmpty()) {
+                return;
+            }
+            applyBatch(records);
+        } catch (Exception e) {
+            log.warn("Stock gate reconcile failed, will retry - Error: {}", e.getMessage());
+        }
+    }
+
+    void applyBatch(List<MapRecord<String, Object, Object>> records) {
+        InventoryProperties.Gate settings = inventoryProperties.getGate();
+        List<GateEntry> entries = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            entries.add(GateEntry.from(record));
+        }
+
+        List<InventoryKey> skus = new TransactionTemplate(transactionManager).execute(status -> {
+            List<String> eventIds = new ArrayList<>(entries.size());
+            for (GateEntry entry : entries) {
+                eventIds.add(entry.eventId);
+            }
+            Set<String> applied = new HashSet<>(eventRepository.findExistingEventIds(eventIds));
+
+            Map<String, GateEntry> first = new LinkedHashMap<>();
+            Map<String, Integer> deltas = new LinkedHashMap<>();
+            List<InventoryEvent> events = new ArrayList<>(entries.size());
+
+            for (GateEntry entry : entries) {
+                if (!applied.add(entry.eventId)) {
+                    continue;
+                }
+                String sku = skuKey(entry.storeId, entry.productId);
+                first.putIfAbsent(sku, entry);
+                deltas.merge(sku, entry.delta, Integer::sum);
+                events.add(entry.toEvent());
+            }
+
+            for (Map.Entry<String, Integer> delta : deltas.entrySet()) {
+                GateEntry entry = first.get(delta.getKey());
+                if (productRepository.addToBase(entry.storeId, entry.productId, delta.getValue()) == 0) {
+                    productRepository.save(Product.builder()
+                            .storeId(entry.storeId)
+                            .productId(entry.productId)
+                            .quantity(delta.getValue())
+                            .lastUpdated(LocalDateTime.now())
+                            .build());
+                }
+            }
+            eventRepository.saveAll(events);
+            List<InventoryKey> keys = new ArrayList<>(first.size());
+            for (GateEntry entry : first.values()) {
+                keys.add(new InventoryKey(entry.storeId, entry.productId));
+            }
+            return keys;
+        });
+
+        // every entry leaves the pending hashes, including ones a previous attempt had already applied;
+        // before the ack, so a crash in between only repeats an HDEL
+        Map<String, List<Object>> settled = new LinkedHashMap<>();
+        for (GateEntry entry : entries) {
+            settled.computeIfAbsent(pendingKey(entry.storeId, entry.productId), k -> new ArrayList<>())
+                    .add(entry.eventId);
+        }
+        for (Map.Entry<String, List<Object>> pending : settled.entrySet()) {
+            stringRedisTemplate.opsForHash().delete(pending.getKey(), pending.getValue().toArray());
+        }
+
+        RecordId[] ids = new RecordId[records.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = records.get(i).getId();
+        }
+        StreamOperations<String, Object, Object> ops = stringRedisTemplate.opsForStream();
+        ops.acknowledge(settings.getStream(), settings.getGroup(), ids);
+        ops.delete(settings.getStream(), ids);
+
+        if (skus != null) {
+            inventoryCache.refreshAfterCommit(skus);
+        }
+
+        log.debug("Stock gate reconciled - Entries: {}, SKUs: {}", records.size(), skus != null ? skus.size() : 0);
+    }
+
+    private void claimStale(StreamOperations<String, Object, Object> ops, InventoryProperties.Gate settings) {
+        PendingMessages pending = ops.pending(settings.getStream(), settings.getGroup(),
+                Range.unbounded(), settings.getBatchSize());
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+
+        List<RecordId> stale = new ArrayList<>();
+        for (PendingMessage message : pending) {
+            if (!settings.getConsumerName().equals(message.getConsumerName())
+                    && message.getElapsedTimeSinceLastDelivery().compareTo(settings.getClaimIdle()) > 0) {
+                stale.add(message.getId());
+            }
+        }
+        if (!stale.isEmpty()) {
+            ops.claim(settings.getStream(), settings.getGroup(), settings.getConsumerName(),
+                    settings.getClaimIdle(), stale.toArray(new RecordId[0]));
+            log.info("Stock gate claimed stale entries - Count: {}", stale.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.gate.drift-check-interval:PT1M}")
+    public void detectDrift() {
+        if (!isActive()) {
+            return;
+        }
+
+        int checked = 0;
+        Iterator<String> it = touched.iterator();
+        while (it.hasNext() && checked < inventoryProperties.getGate().getDriftSampleSize()) {
+            String sku = it.next();
+            it.remove();
+            checked++;
+
+            String[] parts = sku.split(":", 2);
+            try {
+                checkDrift(parts[0], parts[1]);
+            } catch (Exception e) {
+                log.warn("Stock gate drift check failed - SKU: {}, Error: {}", sku, e.getMessage());
+            }
+        }
+    }
+
+    public Optional<Integer> checkDrift(String storeId, String productId) {
+        Snapshot snapshot = snapshot(storeId, productId);
+        if (snapshot.counter == null) {
+            return Optional.empty();
+        }
+
+        int drift = snapshot.counter - snapshot.expected;
+        if (drift != 0) {
+            driftCounter.increment();
+            log.warn("Stock gate DRIFT - Store: {}, Product: {}, Redis: {}, Expected: {}",
+                    storeId, productId, snapshot.counter, snapshot.expected);
+            if (inventoryProperties.getGate().isRepairDrift()) {
+                rebuild(storeId, productId);
+            }
+        }
+        return Optional.of(drift);
+    }
+
+    public int rebuild(String storeId, String productId) {
+        int attempts = Math.max(1, inventoryProperties.getGate().getMaxRebuildAttempts());
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            Snapshot snapshot = snapshot(storeId, productId);
+            Long set = stringRedisTemplate.execute(REBUILD_SCRIPT, List.of(stockKey(storeId, productId)),
+                    snapshot.seq, String.valueOf(snapshot.expected));
+            if (set != null && set == 1L) {
+                log.info("Stock gate REBUILT - Store: {}, Product: {}, Quantity: {}",
+                        storeId, productId, snapshot.expected);
+                return snapshot.expected;
+            }
+        }
+        throw new IllegalStateException(String.format(
+                "Stock gate rebuild for %s:%s kept racing with live traffic", storeId, productId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Snapshot snapshot(String storeId, String productId) {
+        List<String> raw = stringRedisTemplate.execute(SNAPSHOT_SCRIPT,
+                List.of(stockKey(storeId, productId), pendingKey(storeId, productId)));
+
+        Map<String, Integer> unreconciled = new HashMap<>();
+        for (int i = 2; i + 1 < raw.size(); i += 2) {
+            unreconciled.put(raw.get(i), Integer.parseInt(raw.get(i + 1)));
+        }
+
+        // one snapshot on the primary so stock and applied events are read consistently
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        tx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        Integer expected = tx.execute(status -> {
+            int available = productRepository.findByStoreIdAndProductId(storeId, productId)
+                    .map(Product::getAvailableQuantity)
+                    .orElse(0);
+            if (unreconciled.isEmpty()) {
+                return available;
+            }
+            // committed but not yet removed from the pending hash
+            for (String applied : eventRepository.findExistingEventIds(unreconciled.keySet())) {
+                unreconciled.remove(applied);
+            }
+            for (int delta : unreconciled.values()) {
+                available += delta;
+            }
+            return available;
+        });
+
+        Snapshot snapshot = new Snapshot();
+        snapshot.counter = raw.get(0).isEmpty() ? null : Integer.valueOf(raw.get(0));
+        snapshot.seq = raw.get(1);
+        snapshot.expected = expected != null ? expected : 0;
+        return snapshot;
+    }
+
+    private InventoryData buildData(String storeId, String productId, List<Long> result, String eventId) {
+        return InventoryData.builder()
+                .storeId(storeId)
+                .productId(productId)
+                .quantity(result.get(2).intValue())
+                .quantityBefore(result.get(1).intValue())
+                .lastUpdated(LocalDateTime.now())
+                .eventId(eventId)
+                .cached(false)
+                .build();
+    }
+
+    private String stockKey(String storeId, String productId) {
+        return STOCK_PREFIX + "{" + storeId + ":" + productId + "}";
+    }
+
+    // Same hash tag as the stock key, so both fit in one script on one slot
+    private String pendingKey(String storeId, String productId) {
+        return PENDING_PREFIX + "{" + storeId + ":" + productId + "}";
+    }
+
+    private String skuKey(String storeId, String productId) {
+        return storeId + ":" + productId;
+    }
+
+    private static class Snapshot {
+        private Integer counter;
+        private String seq;
+        private int expected;
+    }
+
+    private static class GateEntry {
+        private String eventId;
+        private String storeId;
+        private String productId;
+        private String type;
+        private int delta;
+        private int before;
+        private int after;
+
+        static GateEntry from(MapRecord<String, Object, Object> record) {
+            Map<Object, Object> fields = record.getValue();
+            GateEntry entry = new GateEntry();
+            entry.eventId = String.valueOf(fields.get("eventId"));
+            entry.storeId = String.valueOf(fields.get("storeId"));
+            entry.productId = String.valueOf(fields.get("productId"));
+            entry.type = String.valueOf(fields.get("type"));
+            entry.delta = Integer.parseInt(String.valueOf(fields.get("delta")));
+            entry.before = Integer.parseInt(String.valueOf(fields.get("before")));
+            entry.after = Integer.parseInt(String.valueOf(fields.get("after")));
+            return entry;
+        }
+
+        InventoryEvent toEvent() {
+            return InventoryEvent.builder()
+                    .eventId(eventId)
+                    .storeId(storeId)
+                    .productId(productId)
+                    .eventType(type)
+                    .status(InventoryEvent.EventStatus.SUCCESS.name())
+                    .quantityBefore(before)
+                    .quantityAfter(after)
+                    .quantityDelta(delta)
+                    .timestamp(LocalDateTime.now())
+                    .build();
+        }
+    }
+}
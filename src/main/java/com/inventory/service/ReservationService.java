@@ -0,0 +1,254 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryKey;
+import com.inventory.api.InventoryDTOs.ReservationData;
+import com.inventory.api.InventoryDTOs.ReservationResponse;
+import com.inventory.api.InventoryDTOs.ReserveRequest;
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.InventoryEvent;
+import com.inventory.model.Product;
+import com.inventory.model.StockReservation;
+import com.inventory.model.StockReservation.ReservationStatus;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.StockChange;
+import com.inventory.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationService {
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository reservationRepository;
+    private final EventWriter eventWriter;
+    private final InventoryCache inventoryCache;
+    private final LedgerEngine ledgerEngine;
+    private final HotSkuEscrow hotSkuEscrow;
+    private final RedisStockGate redisStockGate;
+    private final InventoryProperties inventoryProperties;
+
+    @Transactional
+    public ReservationResponse reserve(ReserveRequest request) {
+        log.info("Processing RESERVE - Store: {}, Product: {}, Qty: {}",
+                request.getStoreId(), request.getProductId(), request.getQuantity());
+
+        if (ledgerEngine.owns(request.getStoreId())) {
+            return ReservationResponse.error("Reservations are not available for ledger-owned stores");
+        }
+        if (redisStockGate.isActive()) {
+            return ReservationResponse.error("Reservations are not available while the Redis stock gate is active");
+        }
+
+        int updated = productRepository.reserveIfAvailable(
+                request.getStoreId(), request.getProductId(), request.getQuantity());
+
+        if (updated == 0) {
+            Optional<Product> product = productRepository
+                    .findByStoreIdAndProductId(request.getStoreId(), request.getProductId());
+            boolean escrowed = product.isPresent() && product.get().isEscrowSplit();
+            if (escrowed && hotSkuEscrow.moveToBase(
+                    request.getStoreId(), request.getProductId(), request.getQuantity())) {
+                updated = productRepository.reserveIfAvailable(
+                        request.getStoreId(), request.getProductId(), request.getQuantity());
+            }
+
+            if (updated == 0) {
+                int available = escrowed
+                        ? hotSkuEscrow.availableQuantity(request.getStoreId(), request.getProductId())
+                        : product.map(Product::getAvailableQuantity).orElse(0);
+                return ReservationResponse.error(
+                        String.format("Insufficient stock. Available: %d, Requested: %d",
+                                available, request.getQuantity())
+                );
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        StockReservation reservation = reservationRepository.save(StockReservation.builder()
+                .reservationId(UUID.randomUUID().toString())
+                .storeId(request.getStoreId())
+                .productId(request.getProductId())
+                .quantity(request.getQuantity())
+                .status(ReservationStatus.HELD.name())
+                .expiresAt(now.plus(resolveTtl(request.getTtlSeconds())))
+                .createdAt(now)
+                .build());
+
+        refreshAfterCommit(request.getStoreId(), request.getProductId());
+
+        log.info("RESERVE completed - Reservation: {}, Expires: {}",
+                reservation.getReservationId(), reservation.getExpiresAt());
+
+        return ReservationResponse.success("Stock reserved", toData(reservation));
+    }
+
+    @Transactional
+    public ReservationResponse confirm(String reservationId) {
+        log.info("Processing CONFIRM - Reservation: {}", reservationId);
+
+        Optional<StockReservation> found = reservationRepository.findByReservationIdWithLock(reservationId);
+        if (found.isEmpty()) {
+            return ReservationResponse.error("Reservation not found");
+        }
+
+        StockReservation reservation = found.get();
+        if (!ReservationStatus.HELD.name().equals(reservation.getStatus())) {
+            return ReservationResponse.error("Reservation is already " + reservation.getStatus());
+        }
+        if (reservation.getExpiresAt().isBefore(LocalDateTime.now())) {
+            if (!releaseHold(reservation, ReservationStatus.EXPIRED)) {
+                return missingHold(reservation);
+            }
+            return ReservationResponse.error("Reservation has expired");
+        }
+
+        StockChange change = productRepository
+                .consumeReserved(reservation.getStoreId(), reservation.getProductId(), reservation.getQuantity())
+                .orElseThrow(() -> new IllegalStateException(
+                        "Reserved stock is missing for reservation " + reservationId));
+
+        reservation.setStatus(ReservationStatus.CONFIRMED.name());
+        reservation.setUpdatedAt(LocalDateTime.now());
+
+        int escrowed = hotSkuEscrow.isSplit(reservation.getStoreId(), reservation.getProductId())
+                ? hotSkuEscrow.escrowedQuantity(reservation.getStoreId(), reservation.getProductId())
+                : 0;
+
+        eventWriter.write(InventoryEvent.builder()
+                .eventId(reservation.getReservationId())
+                .eventType(InventoryEvent.EventType.SALE.name())
+                .status(InventoryEvent.EventStatus.SUCCESS.name())
+                .storeId(reservation.getStoreId())
+                .productId(reservation.getProductId())
+                .quantityBefore(change.getQuantityBefore() + escrowed)
+                .quantityAfter(change.getQuantityAfter() + escrowed)
+                .quantityDelta(-reservation.getQuantity())
+                .timestamp(LocalDateTime.now())
+                .build());
+
+        refreshAfterCommit(reservation.getStoreId(), reservation.getProductId());
+
+        log.info("CONFIRM completed - Reservation: {}, Before: {}, After: {}",
+                reservationId, change.getQuantityBefore(), change.getQuantityAfter());
+
+        return ReservationResponse.success("Reservation confirmed", toData(reservation));
+    }
+
+    @Transactional
+    public ReservationResponse release(String reservationId) {
+        log.info("Processing RELEASE - Reservation: {}", reservationId);
+
+        Optional<StockReservation> found = reservationRepository.findByReservationIdWithLock(reservationId);
+        if (found.isEmpty()) {
+            return ReservationResponse.error("Reservation not found");
+        }
+
+        StockReservation reservation = found.get();
+        if (!ReservationStatus.HELD.name().equals(reservation.getStatus())) {
+            return ReservationResponse.error("Reservation is already " + reservation.getStatus());
+        }
+
+        if (!releaseHold(reservation, ReservationStatus.RELEASED)) {
+            return missingHold(reservation);
+        }
+        return ReservationResponse.success("Reservation released", toData(reservation));
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval:PT5S}")
+    @Transactional
+    public void releaseExpired() {
+        List<StockReservation> expired = reservationRepository.lockExpired(
+                LocalDateTime.now(), inventoryProperties.getReservation().getSweepBatchSize());
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        Map<String, StockReservation> firstBySku = new LinkedHashMap<>();
+        Map<String, Integer> heldBySku = new LinkedHashMap<>();
+        List<Long> ids = new ArrayList<>(expired.size());
+        for (StockReservation reservation : expired) {
+            String key = reservation.getStoreId() + ":" + reservation.getProductId();
+            firstBySku.putIfAbsent(key, reservation);
+            heldBySku.merge(key, reservation.getQuantity(), Integer::sum);
+            ids.add(reservation.getId());
+        }
+
+        for (Map.Entry<String, Integer> entry : heldBySku.entrySet()) {
+            StockReservation sku = firstBySku.get(entry.getKey());
+            int released = productRepository.releaseReserved(sku.getStoreId(), sku.getProductId(), entry.getValue());
+            if (released == 0) {
+                log.error("Expired holds exceed reserved stock, nothing released - Store: {}, Product: {}, Held: {}",
+                        sku.getStoreId(), sku.getProductId(), entry.getValue());
+            }
+        }
+        reservationRepository.updateStatus(ids, ReservationStatus.EXPIRED.name(), LocalDateTime.now());
+        List<InventoryKey> keys = new ArrayList<>(firstBySku.size());
+        for (StockReservation sku : firstBySku.values()) {
+            keys.add(new InventoryKey(sku.getStoreId(), sku.getProductId()));
+        }
+        inventoryCache.refreshAfterCommit(keys);
+
+        log.info("Expired reservations released - Reservations: {}, SKUs: {}", ids.size(), heldBySku.size());
+    }
+
+    // False when the row holds less reserved stock than the reservation: the guarded update changed nothing,
+    // and the reservation is left HELD rather than reported as given back
+    private boolean releaseHold(StockReservation reservation, ReservationStatus status) {
+        int released = productRepository.releaseReserved(
+                reservation.getStoreId(), reservation.getProductId(), reservation.getQuantity());
+        if (released == 0) {
+            return false;
+        }
+        reservation.setStatus(status.name());
+        reservation.setUpdatedAt(LocalDateTime.now());
+        refreshAfterCommit(reservation.getStoreId(), reservation.getProductId());
+        return true;
+    }
+
+    private ReservationResponse missingHold(StockReservation reservation) {
+        log.error("Reserved stock is missing - Reservation: {}, Store: {}, Product: {}, Qty: {}",
+                reservation.getReservationId(), reservation.getStoreId(), reservation.getProductId(),
+                reservation.getQuantity());
+        return ReservationResponse.error("Reserved stock is missing for reservation " + reservation.getReservationId());
+    }
+
+    private Duration resolveTtl(Integer ttlSeconds) {
+        InventoryProperties.Reservation settings = inventoryProperties.getReservation();
+        if (ttlSeconds == null) {
+            return settings.getDefaultTtl();
+        }
+        Duration requested = Duration.ofSeconds(ttlSeconds);
+        return requested.compareTo(settings.getMaxTtl()) > 0 ? settings.getMaxTtl() : requested;
+    }
+
+    private ReservationData toData(StockReservation reservation) {
+        return ReservationData.builder()
+                .reservationId(reservation.getReservationId())
+                .storeId(reservation.getStoreId())
+                .productId(reservation.getProductId())
+                .quantity(reservation.getQuantity())
+                .status(reservation.getStatus())
+                .expiresAt(reservation.getExpiresAt())
+                .build();
+    }
+
+    // Deferred like every other writer, then written through from the primary so a replica read cannot refill
+    // the key with the pre-commit row
+    private void refreshAfterCommit(String storeId, String productId) {
+        inventoryCache.refreshAfterCommit(List.of(new InventoryKey(storeId, productId)));
+    }
+}
@@ -0,0 +1,200 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryResponse;
+import com.inventory.api.InventoryDTOs.SellRequest;
+import com.inventory.config.InventoryProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class SaleCoalescer {
+
+    private final InventoryProperties.Coalescing settings;
+    private final ConcurrentMap<String, PendingBatch> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService[] lanes;
+
+    public SaleCoalescer(InventoryProperties inventoryProperties) {
+        this.settings = inventoryProperties.getCoalescing();
+        this.lanes = new ScheduledExecutorService[Math.max(1, settings.getLanes())];
+        for (int i = 0; i < lanes.length; i++) {
+            String threadName = "sale-coalescer-" + i;
+            lanes[i] = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public InventoryResponse submit(String key, SellRequest request,
+                                    Function<List<SellRequest>, List<InventoryResponse>> applier) {
+        PendingSale sale = new PendingSale(request);
+
+        while (true) {
+            PendingBatch batch = pending.computeIfAbsent(key, k -> openBatch(k, applier));
+            int size = batch.offer(sale, settings.getMaxBatchSize());
+            if (size < 0) {
+                pending.remove(key, batch);
+                continue;
+            }
+            if (size >= settings.getMaxBatchSize()) {
+                pending.remove(key, batch);
+                lane(key).execute(() -> flush(key, batch));
+            }
+            break;
+        }
+
+        return await(sale);
+    }
+
+    private PendingBatch openBatch(String key, Function<List<SellRequest>, List<InventoryResponse>> applier) {
+        PendingBatch batch = new PendingBatch(applier);
+        lane(key).schedule(() -> flush(key, batch), settings.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+        return batch;
+    }
+
+    private void flush(String key, PendingBatch batch) {
+        pending.remove(key, batch);
+        // A sale whose caller already gave up is left out: it was answered with an error and must not be applied
+        List<PendingSale> sales = new ArrayList<>();
+        for (PendingSale sale : batch.drain()) {
+            if (sale.claim()) {
+                sales.add(sale);
+            }
+        }
+        if (sales.isEmpty()) {
+            return;
+        }
+
+        List<SellRequest> requests = new ArrayList<>(sales.size());
+        for (PendingSale sale : sales) {
+            requests.add(sale.request);
+        }
+
+        try {
+            List<InventoryResponse> responses = batch.applier.apply(requests);
+            for (int i = 0; i < sales.size(); i++) {
+                sales.get(i).result.complete(responses.get(i));
+            }
+            log.debug("Coalesced batch applied - Key: {}, Sales: {}", key, sales.size());
+        } catch (RuntimeException e) {
+            log.error("Coalesced batch failed - Key: {}, Sales: {}", key, sales.size(), e);
+            for (PendingSale sale : sales) {
+                sale.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private InventoryResponse await(PendingSale sale) {
+        try {
+            return sale.result.get(settings.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Coalesced sale failed", e.getCause());
+        } catch (TimeoutException e) {
+            if (sale.cancel()) {
+                throw new IllegalStateException("Timed out waiting for coalesced sale batch", e);
+            }
+            // The batch already took the sale, so it may commit: only its outcome can be reported
+            return awaitClaimed(sale);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for coalesced sale batch", e);
+        }
+    }
+
+    private InventoryResponse awaitClaimed(PendingSale sale) {
+        try {
+            return sale.result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Coalesced sale failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for coalesced sale batch", e);
+        }
+    }
+
+    private ScheduledExecutorService lane(String key) {
+        return lanes[Math.floorMod(key.hashCode(), lanes.length)];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ScheduledExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private static final class PendingSale {
+        private static final int WAITING = 0;
+        private static final int CLAIMED = 1;
+        private static final int CANCELLED = 2;
+
+        private final SellRequest request;
+        private final CompletableFuture<InventoryResponse> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private PendingSale(SellRequest request) {
+            this.request = request;
+        }
+
+        boolean claim() {
+            return state.compareAndSet(WAITING, CLAIMED);
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(WAITING, CANCELLED);
+        }
+    }
+
+    private static final class PendingBatch {
+        private final Function<List<SellRequest>, List<InventoryResponse>> applier;
+        private final List<PendingSale> sales = new ArrayList<>();
+        private boolean open = true;
+        private boolean drained;
+
+        private PendingBatch(Function<List<SellRequest>, List<InventoryResponse>> applier) {
+            this.applier = applier;
+        }
+
+        synchronized int offer(PendingSale sale, int maxBatchSize) {
+            if (!open) {
+                return -1;
+            }
+            sales.add(sale);
+            if (sales.size() >= maxBatchSize) {
+                open = false;
+            }
+            return sales.size();
+        }
+
+        synchronized List<PendingSale> drain() {
+            open = false;
+            if (drained) {
+                return List.of();
+            }
+            drained = true;
+            return new ArrayList<>(sales);
+        }
+    }
+}
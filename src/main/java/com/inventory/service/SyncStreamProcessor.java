@@ -0,0 +1,184 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.api.InventoryDTOs.BatchOperation;
+import com.inventory.api.InventoryDTOs.SyncChunkResult;
+import com.inventory.api.InventoryDTOs.SyncRequest;
+import com.inventory.api.InventoryDTOs.SyncResponse;
+import com.inventory.config.InventoryProperties;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SyncStreamProcessor {
+
+    private final InventoryService inventoryService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final InventoryProperties inventoryProperties;
+
+    // Only the current chunk is held in memory; every chunk commits on its own before its result line is written
+    public void process(String storeId, InputStream input, OutputStream output) throws IOException {
+        int chunkSize = Math.max(1, inventoryProperties.getSync().getStreamChunkSize());
+        Chunk chunk = new Chunk(0, 1);
+        long line = 0;
+        int successCount = 0;
+        int failureCount = 0;
+        String aborted = null;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(input);
+             MappingIterator<BatchOperation> operations = objectMapper.readerFor(BatchOperation.class).readValues(parser)) {
+            while (true) {
+                BatchOperation operation;
+                try {
+                    if (!operations.hasNextValue()) {
+                        break;
+                    }
+                    operation = operations.nextValue();
+                } catch (JsonProcessingException e) {
+                    // A broken line leaves the parser with no reliable position to resume from
+                    aborted = String.format("Malformed JSON after line %d: %s", line, e.getOriginalMessage());
+                    break;
+                }
+
+                line++;
+                chunk.add(line, operation, validate(operation));
+                if (chunk.size() >= chunkSize) {
+                    SyncChunkResult result = apply(storeId, chunk);
+                    successCount += result.getSuccessCount();
+                    failureCount += result.getFailureCount();
+                    writeLine(output, result);
+                    chunk = new Chunk(chunk.index + 1, line + 1);
+                }
+            }
+        }
+
+        if (chunk.size() > 0) {
+            SyncChunkResult result = apply(storeId, chunk);
+            successCount += result.getSuccessCount();
+            failureCount += result.getFailureCount();
+            writeLine(output, result);
+            chunk = new Chunk(chunk.index + 1, line + 1);
+        }
+
+        String message = aborted != null
+                ? "Stream aborted - " + aborted
+                : String.format("Stream completed - Chunks: %d, Success: %d, Failed: %d",
+                        chunk.index, successCount, failureCount);
+
+        log.info("Streaming sync finished - Store: {}, Lines: {}, Chunks: {}, Success: {}, Failed: {}",
+                storeId, line, chunk.index, successCount, failureCount);
+
+        writeLine(output, SyncChunkResult.builder()
+                .type("SUMMARY")
+                .chunk(chunk.index)
+                .firstLine(1L)
+                .lines((int) line)
+                .successCount(successCount)
+                .failureCount(failureCount)
+                .errors(aborted != null ? List.of(aborted) : new ArrayList<>())
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    private SyncChunkResult apply(String storeId, Chunk chunk) {
+        int success = 0;
+        int failure = chunk.errors.size();
+        List<String> errors = new ArrayList<>(chunk.errors);
+
+        if (!chunk.operations.isEmpty()) {
+            try {
+                SyncResponse response = inventoryService.processBatchSync(SyncRequest.builder()
+                        .storeId(storeId)
+                        .operations(chunk.operations)
+                        .timestamp(LocalDateTime.now())
+                        .build());
+                success += response.getSuccessCount();
+                failure += response.getFailureCount();
+                errors.addAll(response.getErrors());
+            } catch (RuntimeException e) {
+                log.error("Streaming sync chunk failed - Store: {}, Chunk: {}, Error: {}",
+                        storeId, chunk.index, e.getMessage());
+                failure += chunk.operations.size();
+                errors.add(String.format("Chunk %d rolled back: %s", chunk.index, e.getMessage()));
+            }
+        }
+
+        return SyncChunkResult.builder()
+                .type("CHUNK")
+                .chunk(chunk.index)
+                .firstLine(chunk.firstLine)
+                .lines(chunk.size())
+                .successCount(success)
+                .failureCount(failure)
+                .errors(errors)
+                .message(failure == 0 ? "Chunk committed" : "Chunk committed with failures")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private String validate(BatchOperation operation) {
+        if (operation == null) {
+            return "empty operation";
+        }
+        Set<ConstraintViolation<BatchOperation>> violations = validator.validate(operation);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        List<String> messages = new ArrayList<>();
+        for (ConstraintViolation<BatchOperation> violation : violations) {
+            messages.add(violation.getPropertyPath() + " " + violation.getMessage());
+        }
+        messages.sort(null);
+        return String.join(", ", messages);
+    }
+
+    private void writeLine(OutputStream output, SyncChunkResult result) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(result));
+        output.write('\n');
+        output.flush();
+    }
+
+    private static final class Chunk {
+        private final int index;
+        private final long firstLine;
+        private final List<BatchOperation> operations = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private int size;
+
+        private Chunk(int index, long firstLine) {
+            this.index = index;
+            this.firstLine = firstLine;
+        }
+
+        private void add(long line, BatchOperation operation, String error) {
+            size++;
+            if (error == null) {
+                operations.add(operation);
+            } else {
+                errors.add(String.format("Line %d: %s", line, error));
+            }
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryKey;
+import com.inventory.api.InventoryDTOs.TransferData;
+import com.inventory.api.InventoryDTOs.TransferRequest;
+import com.inventory.api.InventoryDTOs.TransferResponse;
+import com.inventory.model.InventoryEvent;
+import com.inventory.model.Product;
+import com.inventory.repository.InventoryEventRepository;
+import com.inventory.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransferService {
+
+    private final ProductRepository productRepository;
+    private final InventoryEventRepository eventRepository;
+    private final EventWriter eventWriter;
+    private final InventoryCache inventoryCache;
+    private final LedgerEngine ledgerEngine;
+    private final RedisStockGate redisStockGate;
+    private final IdempotencyService idempotencyService;
+
+    @Transactional
+    public TransferResponse transfer(TransferRequest request) {
+        log.info("Processing TRANSFER - From: {}, To: {}, Product: {}, Qty: {}",
+                request.getFromStoreId(), request.getToStoreId(), request.getProductId(), request.getQuantity());
+
+        // Invalid requests and refusals that last only while a store's mode does are answered before the key is
+        // claimed, so they are never stored as the key's response
+        if (request.getFromStoreId().equals(request.getToStoreId())) {
+            return TransferResponse.error("Source and destination stores must differ");
+        }
+        if (ledgerEngine.owns(request.getFromStoreId()) || ledgerEngine.owns(request.getToStoreId())) {
+            return TransferResponse.error("Transfers are not available for ledger-owned stores");
+        }
+        if (redisStockGate.isActive()) {
+            return TransferResponse.error("Transfers are not available while the Redis stock gate is active");
+        }
+
+        String idempotencyKey = request.getIdempotencyKey();
+        if (idempotencyKey == null) {
+            return executeTransfer(request, UUID.randomUUID().toString());
+        }
+
+        Optional<TransferResponse> previous = idempotencyService.begin(idempotencyKey, TransferResponse.class,
+                () -> TransferResponse.error(IdempotencyService.IN_PROGRESS_MESSAGE), this::replayFromEventLog);
+        if (previous.isPresent()) {
+            log.info("Transfer replayed - IdempotencyKey: {}", idempotencyKey);
+            return previous.get();
+        }
+
+        try {
+            TransferResponse response = executeTransfer(request, idempotencyKey);
+            idempotencyService.complete(idempotencyKey, response);
+            return response;
+        } catch (RuntimeException e) {
+            idempotencyService.abandon(idempotencyKey);
+            throw e;
+        }
+    }
+
+    private TransferResponse executeTransfer(TransferRequest request, String transferId) {
+        // Rows are always locked in store order, so opposite transfers queue on the same first row
+        Map<String, Optional<Product>> locked = new HashMap<>();
+        for (String storeId : new TreeSet<>(List.of(request.getFromStoreId(), request.getToStoreId()))) {
+            locked.put(storeId, productRepository.findByStoreIdAndProductIdWithLock(storeId, request.getProductId()));
+        }
+
+        Optional<Product> found = locked.get(request.getFromStoreId());
+        if (found.isEmpty()) {
+            return TransferResponse.error("Product not found in inventory");
+        }
+        Product source = found.get();
+        Product target = locked.get(request.getToStoreId()).orElse(null);
+        if (source.isEscrowSplit() || (target != null && target.isEscrowSplit())) {
+            return TransferResponse.error("Transfers are not available for escrow-split products");
+        }
+
+        // Checked again under the row locks: a retry that got past an unavailable Redis still gets the response
+        // of a transfer that has committed
+        if (request.getIdempotencyKey() != null) {
+            Optional<TransferResponse> applied = replayFromEventLog(transferId);
+            if (applied.isPresent()) {
+                return applied.get();
+            }
+        }
+
+        int sourceBefore = source.getQuantity();
+        if (source.getAvailableQuantity() < request.getQuantity()) {
+            // A fresh id, so a retry with the same key is not mistaken for an applied transfer
+            eventWriter.write(buildEvent(outEventId(UUID.randomUUID().toString()),
+                    InventoryEvent.EventType.TRANSFER_OUT, InventoryEvent.EventStatus.FAILED, request.getFromStoreId(), request,
+                    -request.getQuantity(), sourceBefore, sourceBefore));
+            return TransferResponse.error(String.format("Insufficient stock. Available: %d, Requested: %d",
+                    source.getAvailableQuantity(), request.getQuantity()));
+        }
+
+        if (target == null) {
+            target = productRepository.save(Product.builder()
+                    .storeId(request.getToStoreId())
+                    .productId(request.getProductId())
+                    .quantity(0)
+                    .lastUpdated(LocalDateTime.now())
+                    .build());
+        }
+        int targetBefore = target.getQuantity();
+
+        source.removeQuantity(request.getQuantity());
+        source.setLastUpdated(LocalDateTime.now());
+        target.addQuantity(request.getQuantity());
+        target.setLastUpdated(LocalDateTime.now());
+
+        // Durable: these rows are what a retry of this transfer is answered from
+        eventWriter.writeAllDurable(List.of(
+                buildEvent(outEventId(transferId), InventoryEvent.EventType.TRANSFER_OUT,
+                        InventoryEvent.EventStatus.SUCCESS, request.getFromStoreId(), request,
+                        -request.getQuantity(), sourceBefore, source.getQuantity()),
+                buildEvent(inEventId(transferId), InventoryEvent.EventType.TRANSFER_IN,
+                        InventoryEvent.EventStatus.SUCCESS, request.getToStoreId(), request,
+                        request.getQuantity(), targetBefore, target.getQuantity())
+        ));
+
+        // Both rows are written through together, read back from the primary once the transfer is visible
+        inventoryCache.refreshAfterCommit(List.of(
+                new InventoryKey(request.getFromStoreId(), request.getProductId()),
+                new InventoryKey(request.getToStoreId(), request.getProductId())
+        ));
+
+        log.info("TRANSFER completed - Transfer: {}, From: {} ({} -> {}), To: {} ({} -> {})",
+                transferId, request.getFromStoreId(), sourceBefore, source.getQuantity(),
+                request.getToStoreId(), targetBefore, target.getQuantity());
+
+        return TransferResponse.success("Transfer completed", TransferData.builder()
+                .transferId(transferId)
+                .productId(request.getProductId())
+                .fromStoreId(request.getFromStoreId())
+                .toStoreId(request.getToStoreId())
+                .quantity(request.getQuantity())
+                .fromQuantityBefore(sourceBefore)
+                .fromQuantityAfter(source.getQuantity())
+                .toQuantityBefore(targetBefore)
+                .toQuantityAfter(target.getQuantity())
+                .build());
+    }
+
+    // The paired SUCCESS rows carry everything the original response did; they commit together or not at all
+    private Optional<TransferResponse> replayFromEventLog(String transferId) {
+        Map<String, InventoryEvent> events = new HashMap<>();
+        for (InventoryEvent event : eventRepository.findByEventIdIn(
+                List.of(outEventId(transferId), inEventId(transferId)))) {
+            events.put(event.getEventId(), event);
+        }
+        InventoryEvent out = events.get(outEventId(transferId));
+        InventoryEvent in = events.get(inEventId(transferId));
+        if (out == null || in == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(TransferResponse.success("Transfer completed", TransferData.builder()
+                .transferId(transferId)
+                .productId(out.getProductId())
+                .fromStoreId(out.getStoreId())
+                .toStoreId(in.getStoreId())
+                .quantity(in.getQuantityDelta())
+                .fromQuantityBefore(out.getQuantityBefore())
+                .fromQuantityAfter(out.getQuantityAfter())
+                .toQuantityBefore(in.getQuantityBefore())
+                .toQuantityAfter(in.getQuantityAfter())
+                .build()));
+    }
+
+    private InventoryEvent buildEvent(String eventId, InventoryEvent.EventType type, InventoryEvent.EventStatus status,
+                                      String storeId, TransferRequest request, int delta, int before, int after) {
+        return InventoryEvent.builder()
+                .eventId(eventId)
+                .eventType(type.name())
+                .status(status.name())
+                .storeId(storeId)
+                .productId(request.getProductId())
+                .quantityBefore(before)
+                .quantityAfter(after)
+                .quantityDelta(delta)
+                .timestamp(request.getTimestamp() != null ? request.getTimestamp() : LocalDateTime.now())
+                .build();
+    }
+
+    private String outEventId(String transferId) {
+        return transferId + ":out";
+    }
+
+    private String inEventId(String transferId) {
+        return transferId + ":in";
+    }
+}
@@ -0,0 +1,16 @@
+-- KEYS[1] = inventory cache key, KEYS[2] = its version floor ("{<key>}:v", same hash slot)
+-- ARGV = committed product version (0 when unknown), ttl in ms
+-- Drops the entry and raises the floor to the committed version, so cache_put.lua refuses any fill that read
+-- the row before this commit. The floor lives as long as an entry would. Returns 1.
+local version = tonumber(ARGV[1])
+
+redis.call('DEL', KEYS[1])
+if version > 0 then
+    local floor = tonumber(redis.call('GET', KEYS[2]))
+    if not floor or version > floor then
+        redis.call('SET', KEYS[2], version, 'PX', ARGV[2])
+    else
+        redis.call('PEXPIRE', KEYS[2], ARGV[2])
+    end
+end
+return 1
@@ -0,0 +1,32 @@
+-- KEYS[1] = inventory cache key, KEYS[2] = its version floor ("{<key>}:v", same hash slot)
+-- ARGV = serialized InventoryData, its product version, ttl in ms, 1 if the value comes from a committed write
+-- Stores the value unless the cached one, or the floor left by the last write, carries a newer version. The floor
+-- outlives a DEL, so a fill read from a lagging replica can never put back what a later commit replaced, whether
+-- the key is still there or not. Committed writes raise the floor and are published for the near caches of other
+-- instances (a SET fires no del/expired event). Returns 1 when stored, 0 when refused.
+local version = tonumber(ARGV[2])
+
+local floor = tonumber(redis.call('GET', KEYS[2]))
+if floor and floor > version then
+    return 0
+end
+
+local current = redis.call('GET', KEYS[1])
+if current then
+    local ok, cached = pcall(cjson.decode, current)
+    if ok and type(cached) == 'table' and tonumber(cached['version'])
+            and tonumber(cached['version']) > version then
+        return 0
+    end
+end
+
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+if ARGV[4] == '1' then
+    if not floor or version > floor then
+        redis.call('SET', KEYS[2], version, 'PX', ARGV[3])
+    else
+        redis.call('PEXPIRE', KEYS[2], ARGV[3])
+    end
+    redis.call('PUBLISH', 'inventory:invalidations', KEYS[1])
+end
+return 1
@@ -0,0 +1,28 @@
+-- KEYS[1] = per-SKU gate hash, KEYS[2] = per-SKU pending hash (same hash slot), KEYS[3] = gate stream
+-- ARGV = quantity, eventId, storeId, productId, type (SALE | RESTOCK)
+-- Returns {-1} when the SKU is not seeded, {0, available} when a sale is rejected,
+-- otherwise {1, before, after}. Accepted entries are also recorded in the pending hash (eventId -> delta)
+-- until the reconciler has written them to the database, so a snapshot never has to scan the stream.
+-- KEYS[3] is in another hash slot: the gate needs a single Redis primary, not Redis Cluster.
+local current = redis.call('HGET', KEYS[1], 'qty')
+if not current then
+    return {-1}
+end
+
+current = tonumber(current)
+local delta = tonumber(ARGV[1])
+if ARGV[5] == 'SALE' then
+    if current < delta then
+        return {0, current}
+    end
+    delta = -delta
+end
+
+local after = redis.call('HINCRBY', KEYS[1], 'qty', delta)
+redis.call('HINCRBY', KEYS[1], 'seq', 1)
+redis.call('HSET', KEYS[2], ARGV[2], delta)
+redis.call('XADD', KEYS[3], '*',
+    'eventId', ARGV[2], 'storeId', ARGV[3], 'productId', ARGV[4], 'type', ARGV[5],
+    'delta', delta, 'before', current, 'after', after)
+
+return {1, current, after}
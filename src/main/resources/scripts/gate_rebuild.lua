@@ -0,0 +1,10 @@
+-- KEYS[1] = per-SKU gate hash
+-- ARGV = seq observed by the snapshot, quantity to set
+-- Sets the counter only if no sale or restock went through since the snapshot.
+local seq = redis.call('HGET', KEYS[1], 'seq') or '0'
+if seq ~= ARGV[1] then
+    return 0
+end
+
+redis.call('HSET', KEYS[1], 'qty', ARGV[2])
+return 1
@@ -0,0 +1,12 @@
+-- KEYS[1] = per-SKU gate hash, KEYS[2] = per-SKU pending hash (same hash slot)
+-- Returns {qty or '', seq, eventId1, delta1, eventId2, delta2, ...} for the SKU's entries
+-- not yet reconciled, read atomically with the counter. Cost is the SKU's own backlog, not the stream's.
+local state = redis.call('HMGET', KEYS[1], 'qty', 'seq')
+local result = {state[1] or '', state[2] or '0'}
+
+local pending = redis.call('HGETALL', KEYS[2])
+for i = 1, #pending do
+    table.insert(result, pending[i])
+end
+
+return result
@@ -3,7 +3,12 @@ package com.inventory.api;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.inventory.api.InventoryDTOs.*;
+import com.inventory.config.ReadConsistency;
+import com.inventory.config.ReplicaLsnTracker;
+import com.inventory.service.CheckoutService;
 import com.inventory.service.InventoryService;
+import com.inventory.service.SyncStreamProcessor;
+import com.inventory.service.TransferService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,12 +18,20 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,12 +44,24 @@ class InventoryControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockBean
+    private ReplicaLsnTracker replicaLsnTracker;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @MockBean
     private InventoryService inventoryService;
 
+    @MockBean
+    private SyncStreamProcessor syncStreamProcessor;
+
+    @MockBean
+    private TransferService transferService;
+
+    @MockBean
+    private CheckoutService checkoutService;
+
     private InventoryData testData;
     private InventoryResponse successResponse;
     private InventoryResponse errorResponse;
@@ -159,6 +184,47 @@ class InventoryControllerTest {
                 .andExpect(jsonPath("$.data.quantity").value(90));
     }
 
+    @Test
+    @DisplayName("POST /api/v1/inventory/sell - Should return the primary's WAL position as a consistency token")
+    void processSale_Committed_ShouldReturnConsistencyToken() throws Exception {
+
+        SellRequest request = SellRequest.builder()
+                .storeId("STORE_001")
+                .productId("PROD_0001")
+                .quantity(10)
+                .build();
+
+        when(inventoryService.processSale(any(SellRequest.class))).thenReturn(successResponse);
+        when(replicaLsnTracker.issueToken()).thenReturn("16/B374D848");
+
+        mockMvc.perform(post("/api/v1/inventory/sell")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Consistency-Token", "16/B374D848"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/inventory - A consistency token should set the read floor for the request only")
+    void getInventory_WithConsistencyToken_ShouldRequireLsn() throws Exception {
+
+        List<Long> seen = new ArrayList<>();
+        doAnswer(invocation -> {
+            seen.add(ReadConsistency.requiredLsn());
+            return successResponse;
+        }).when(inventoryService).getInventory("STORE_001", "PROD_0001");
+
+        mockMvc.perform(get("/api/v1/inventory")
+                        .param("storeId", "STORE_001")
+                        .param("productId", "PROD_0001")
+                        .header("X-Consistency-Token", "16/B374D848"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Consistency-Token"));
+
+        assertThat(seen).containsExactly(0x16B374D848L);
+        assertThat(ReadConsistency.requiredLsn()).isNull();
+    }
+
     @Test
     @DisplayName("POST /api/v1/inventory/sell - Should return 400 when insufficient stock")
     void processSale_InsufficientStock_ShouldReturn400() throws Exception {
@@ -377,6 +443,155 @@ class InventoryControllerTest {
                 .andExpect(status().isPartialContent());
     }
 
+    @Test
+    @DisplayName("POST /api/v1/inventory/sync/stream - Should stream the processor's NDJSON result lines")
+    void streamBatchSync_ShouldWriteNdjson() throws Exception {
+
+        doAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(2);
+            output.write("{\"type\":\"SUMMARY\",\"successCount\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(syncStreamProcessor).process(eq("STORE_001"), any(), any());
+
+        mockMvc.perform(post("/api/v1/inventory/sync/stream")
+                        .param("storeId", "STORE_001")
+                        .contentType("application/x-ndjson")
+                        .content("{\"productId\":\"PROD_0001\",\"delta\":-1,\"type\":\"SALE\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string("{\"type\":\"SUMMARY\",\"successCount\":2}\n"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/transfer - Should return 200 when stock is moved")
+    void transfer_ValidRequest_ShouldReturn200() throws Exception {
+
+        TransferRequest request = TransferRequest.builder()
+                .fromStoreId("STORE_002")
+                .toStoreId("STORE_001")
+                .productId("PROD_0001")
+                .quantity(10)
+                .build();
+
+        TransferData data = TransferData.builder()
+                .transferId("transfer-1")
+                .productId("PROD_0001")
+                .fromStoreId("STORE_002")
+                .toStoreId("STORE_001")
+                .quantity(10)
+                .fromQuantityAfter(20)
+                .toQuantityAfter(15)
+                .build();
+
+        when(transferService.transfer(any(TransferRequest.class)))
+                .thenReturn(TransferResponse.success("Transfer completed", data));
+
+        mockMvc.perform(post("/api/v1/inventory/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.fromQuantityAfter").value(20))
+                .andExpect(jsonPath("$.data.toQuantityAfter").value(15));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/transfer - Should return 400 when stock is insufficient")
+    void transfer_InsufficientStock_ShouldReturn400() throws Exception {
+
+        TransferRequest request = TransferRequest.builder()
+                .fromStoreId("STORE_002")
+                .toStoreId("STORE_001")
+                .productId("PROD_0001")
+                .quantity(500)
+                .build();
+
+        when(transferService.transfer(any(TransferRequest.class)))
+                .thenReturn(TransferResponse.error("Insufficient stock. Available: 30, Requested: 500"));
+
+        mockMvc.perform(post("/api/v1/inventory/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Insufficient stock. Available: 30, Requested: 500"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/checkout - Should return 400 with every shortage when a line cannot be filled")
+    void checkout_ShortLine_ShouldReturn400() throws Exception {
+
+        CheckoutRequest request = CheckoutRequest.builder()
+                .storeId("STORE_001")
+                .lines(List.of(
+                        CheckoutLine.builder().productId("KIT_0001").quantity(1).build(),
+                        CheckoutLine.builder().productId("PROD_0003").quantity(2).build()))
+                .build();
+
+        when(checkoutService.checkout(any(CheckoutRequest.class))).thenReturn(CheckoutResponse.error(
+                "Checkout rejected", List.of("Insufficient stock for PROD_0003. Available: 1, Requested: 2")));
+
+        mockMvc.perform(post("/api/v1/inventory/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("Insufficient stock for PROD_0003. Available: 1, Requested: 2"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/checkout - Should return 400 when a line is invalid")
+    void checkout_InvalidLine_ShouldReturn400() throws Exception {
+
+        CheckoutRequest request = CheckoutRequest.builder()
+                .storeId("STORE_001")
+                .lines(List.of(CheckoutLine.builder().productId("PROD_0001").quantity(0).build()))
+                .build();
+
+        mockMvc.perform(post("/api/v1/inventory/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/multi-get - Should return items in request order without a consistency token")
+    void getInventories_ValidRequest_ShouldReturn200() throws Exception {
+
+        MultiGetRequest request = MultiGetRequest.builder()
+                .keys(List.of(
+                        InventoryKey.builder().storeId("STORE_001").productId("PROD_0001").build(),
+                        InventoryKey.builder().storeId("STORE_001").productId("PROD_0009").build()))
+                .build();
+
+        when(inventoryService.getInventories(request.getKeys()))
+                .thenReturn(MultiGetResponse.success("Retrieved 1 of 2 keys, 0 from database",
+                        Arrays.asList(testData, null), 1));
+
+        mockMvc.perform(post("/api/v1/inventory/multi-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].productId").value("PROD_0001"))
+                .andExpect(jsonPath("$.items[1]").isEmpty())
+                .andExpect(jsonPath("$.notFoundCount").value(1))
+                .andExpect(header().doesNotExist("X-Consistency-Token"));
+
+        verify(replicaLsnTracker, never()).issueToken();
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/inventory/multi-get - Should return 400 when a key is incomplete")
+    void getInventories_BlankProductId_ShouldReturn400() throws Exception {
+
+        MultiGetRequest request = MultiGetRequest.builder()
+                .keys(List.of(InventoryKey.builder().storeId("STORE_001").productId("").build()))
+                .build();
+
+        mockMvc.perform(post("/api/v1/inventory/multi-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /api/v1/inventory/health - Should return 200")
     void healthCheck_ShouldReturn200() throws Exception {
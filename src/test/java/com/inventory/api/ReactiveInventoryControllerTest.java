@@ -0,0 +1,108 @@
+package com.inventory.api;
+
+import com.inventory.api.InventoryDTOs.*;
+import com.inventory.config.ReplicaLsnTracker;
+import com.inventory.service.CheckoutService;
+import com.inventory.service.InventoryService;
+import com.inventory.service.ReactiveInventoryReader;
+import com.inventory.service.SyncStreamProcessor;
+import com.inventory.service.TransferService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = {InventoryController.class, ReactiveInventoryController.class},
+        properties = "inventory.reactive.enabled=true")
+@DisplayName("ReactiveInventoryController Tests")
+class ReactiveInventoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReplicaLsnTracker replicaLsnTracker;
+
+    @MockBean
+    private ReactiveInventoryReader reactiveInventoryReader;
+
+    @MockBean
+    private InventoryService inventoryService;
+
+    @MockBean
+    private SyncStreamProcessor syncStreamProcessor;
+
+    @MockBean
+    private TransferService transferService;
+
+    @MockBean
+    private CheckoutService checkoutService;
+
+    @Test
+    @DisplayName("GET /api/v1/inventory - Should be served by the reactive reader when enabled")
+    void getInventory_ReactiveEnabled_ShouldUseReactiveReader() throws Exception {
+        InventoryData data = InventoryData.builder()
+                .storeId("STORE_001")
+                .productId("PROD_0001")
+                .quantity(100)
+                .cached(true)
+                .build();
+        when(reactiveInventoryReader.getInventory("STORE_001", "PROD_0001"))
+                .thenReturn(Mono.just(InventoryResponse.success("Retrieved from cache", data)));
+
+        MvcResult started = mockMvc.perform(get("/api/v1/inventory")
+                        .param("storeId", "STORE_001")
+                        .param("productId", "PROD_0001"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Retrieved from cache"))
+                .andExpect(jsonPath("$.data.quantity").value(100));
+        verify(inventoryService, never()).getInventory(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/inventory - A consistency token should keep the read on the routed blocking path")
+    void getInventory_WithConsistencyToken_ShouldUseBlockingPath() throws Exception {
+        when(inventoryService.getInventory("STORE_001", "PROD_0001"))
+                .thenReturn(InventoryResponse.success("Retrieved from database", InventoryData.builder().build()));
+
+        mockMvc.perform(get("/api/v1/inventory")
+                        .param("storeId", "STORE_001")
+                        .param("productId", "PROD_0001")
+                        .header("X-Consistency-Token", "0/16B3748"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Retrieved from database"));
+        verify(reactiveInventoryReader, never()).getInventory(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/inventory - Should return 404 when the product is unknown")
+    void getInventory_UnknownProduct_ShouldReturn404() throws Exception {
+        when(reactiveInventoryReader.getInventory("STORE_001", "PROD_9999"))
+                .thenReturn(Mono.just(InventoryResponse.error("Product not found in inventory")));
+
+        MvcResult started = mockMvc.perform(get("/api/v1/inventory")
+                        .param("storeId", "STORE_001")
+                        .param("productId", "PROD_9999"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isNotFound());
+    }
+}
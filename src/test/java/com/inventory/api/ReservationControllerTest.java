@@ -0,0 +1,110 @@
+package com.inventory.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.api.InventoryDTOs.*;
+import com.inventory.config.ReplicaLsnTracker;
+import com.inventory.service.ReservationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReservationController.class)
+@DisplayName("ReservationController Tests")
+class ReservationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReplicaLsnTracker replicaLsnTracker;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ReservationService reservationService;
+
+    private ReservationData heldReservation() {
+        return ReservationData.builder()
+                .reservationId("res-1")
+                .storeId("STORE_001")
+                .productId("PROD_0001")
+                .quantity(2)
+                .status("HELD")
+                .expiresAt(LocalDateTime.now().plusMinutes(10))
+                .build();
+    }
+
+    @Test
+    @DisplayName("POST /reservations - Should return 200 when stock is held")
+    void reserve_ValidRequest_ShouldReturn200() throws Exception {
+        ReserveRequest request = ReserveRequest.builder()
+                .storeId("STORE_001")
+                .productId("PROD_0001")
+                .quantity(2)
+                .ttlSeconds(600)
+                .build();
+
+        when(reservationService.reserve(any(ReserveRequest.class)))
+                .thenReturn(ReservationResponse.success("Stock reserved", heldReservation()));
+
+        mockMvc.perform(post("/api/v1/inventory/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.reservationId").value("res-1"))
+                .andExpect(jsonPath("$.data.status").value("HELD"));
+    }
+
+    @Test
+    @DisplayName("POST /reservations - Should return 400 when quantity is invalid")
+    void reserve_InvalidQuantity_ShouldReturn400() throws Exception {
+        ReserveRequest request = ReserveRequest.builder()
+                .storeId("STORE_001")
+                .productId("PROD_0001")
+                .quantity(0)
+                .build();
+
+        mockMvc.perform(post("/api/v1/inventory/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /reservations/{id}/confirm - Should return 200 when confirmed")
+    void confirm_HeldReservation_ShouldReturn200() throws Exception {
+        ReservationData confirmed = heldReservation();
+        confirmed.setStatus("CONFIRMED");
+        when(reservationService.confirm("res-1"))
+                .thenReturn(ReservationResponse.success("Reservation confirmed", confirmed));
+
+        mockMvc.perform(post("/api/v1/inventory/reservations/res-1/confirm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("CONFIRMED"));
+    }
+
+    @Test
+    @DisplayName("POST /reservations/{id}/release - Should return 400 when reservation is not held")
+    void release_NotHeld_ShouldReturn400() throws Exception {
+        when(reservationService.release("res-1"))
+                .thenReturn(ReservationResponse.error("Reservation is already CONFIRMED"));
+
+        mockMvc.perform(post("/api/v1/inventory/reservations/res-1/release"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Reservation is already CONFIRMED"));
+    }
+}
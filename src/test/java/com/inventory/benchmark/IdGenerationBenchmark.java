@@ -0,0 +1,198 @@
+package com.inventory.benchmark;
+
+import com.inventory.model.InventoryEvent;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the two id strategies through Hibernate itself: IDENTITY (every persist executes its INSERT at once
+ * to read the key back) versus the pooled sequence InventoryEvent is mapped with (one nextval per 50 ids, rows
+ * flushed as JDBC batches). Both run with the application's batching settings, in a scratch schema.
+ * Not part of the regular suite; run against a real PostgreSQL:
+ *
+ * <pre>
+ * mvn test -Dtest=IdGenerationBenchmark \
+ *     -Dbenchmark.jdbc-url=jdbc:postgresql://localhost:5432/inventory_db \
+ *     -Dbenchmark.user=inventory_user -Dbenchmark.password=inventory_pass
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark.jdbc-url", matches = ".+")
+@DisplayName("ID generation insert benchmark")
+class IdGenerationBenchmark {
+
+    private static final int BLOCK = 50;
+    private static final String SCHEMA = "id_benchmark";
+
+    @Test
+    @DisplayName("Pooled sequence ids should insert faster than IDENTITY ids")
+    void compareInsertRates() throws SQLException {
+        int rows = Integer.getInteger("benchmark.rows", 20_000);
+
+        createSchema();
+        try (SessionFactory identity = sessionFactory(IdentityEvent.class);
+             SessionFactory pooled = sessionFactory(InventoryEvent.class)) {
+            insert(identity, BLOCK * 20, IdentityEvent::of);
+            insert(pooled, BLOCK * 20, IdGenerationBenchmark::pooledEvent);
+
+            double identityRate = rate(rows, timed(() -> insert(identity, rows, IdentityEvent::of)));
+            double pooledRate = rate(rows, timed(() -> insert(pooled, rows, IdGenerationBenchmark::pooledEvent)));
+
+            System.out.printf("IDENTITY: %,.0f inserts/s%n", identityRate);
+            System.out.printf("POOLED:   %,.0f inserts/s (batch of %d, %.1fx)%n",
+                    pooledRate, BLOCK, pooledRate / identityRate);
+
+            assertThat(pooledRate).isGreaterThan(identityRate);
+        } finally {
+            dropSchema();
+        }
+    }
+
+    // The same settings as application.properties; create-drop builds the tables and the pooled sequence
+    private SessionFactory sessionFactory(Class<?> entity) {
+        return new Configuration()
+                .addAnnotatedClass(entity)
+                .setProperty("hibernate.connection.url", System.getProperty("benchmark.jdbc-url"))
+                .setProperty("hibernate.connection.username", user())
+                .setProperty("hibernate.connection.password", password())
+                .setProperty("hibernate.default_schema", SCHEMA)
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(BLOCK))
+                .setProperty("hibernate.order_inserts", "true")
+                .buildSessionFactory();
+    }
+
+    // One transaction per block of rows, as the event writers commit them
+    private void insert(SessionFactory sessionFactory, int rows, IntFunction<Object> entity) {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < rows; i++) {
+                session.persist(entity.apply(i));
+                if ((i + 1) % BLOCK == 0) {
+                    session.getTransaction().commit();
+                    session.clear();
+                    session.beginTransaction();
+                }
+            }
+            session.getTransaction().commit();
+        }
+    }
+
+    private static InventoryEvent pooledEvent(int i) {
+        return InventoryEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("SALE")
+                .storeId("STORE_001")
+                .productId(String.format("PROD_%04d", i % 1000))
+                .quantityBefore(100)
+                .quantityAfter(99)
+                .quantityDelta(-1)
+                .timestamp(LocalDateTime.now())
+                .status("SUCCESS")
+                .build();
+    }
+
+    private void createSchema() throws SQLException {
+        execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+    }
+
+    private void dropSchema() throws SQLException {
+        execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc-url"), user(), password());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private String user() {
+        return System.getProperty("benchmark.user", "inventory_user");
+    }
+
+    private String password() {
+        return System.getProperty("benchmark.password", "inventory_pass");
+    }
+
+    private long timed(Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        return System.nanoTime() - start;
+    }
+
+    private double rate(int rows, long nanos) {
+        return rows / (nanos / 1_000_000_000.0);
+    }
+
+    // inventory_events as it was mapped before the pooled sequence, in its own table
+    @Entity
+    @Table(name = "identity_events")
+    static class IdentityEvent {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Column(name = "event_id", nullable = false, unique = true, length = 100)
+        private String eventId;
+
+        @Column(name = "event_type", nullable = false, length = 50)
+        private String eventType;
+
+        @Column(name = "store_id", nullable = false, length = 50)
+        private String storeId;
+
+        @Column(name = "product_id", nullable = false, length = 50)
+        private String productId;
+
+        @Column(name = "quantity_before")
+        private Integer quantityBefore;
+
+        @Column(name = "quantity_after")
+        private Integer quantityAfter;
+
+        @Column(name = "quantity_delta", nullable = false)
+        private Integer quantityDelta;
+
+        @Column(nullable = false)
+        private LocalDateTime timestamp;
+
+        @Column(nullable = false, length = 50)
+        private String status;
+
+        static IdentityEvent of(int i) {
+            IdentityEvent event = new IdentityEvent();
+            event.eventId = UUID.randomUUID().toString();
+            event.eventType = "SALE";
+            event.storeId = "STORE_001";
+            event.productId = String.format("PROD_%04d", i % 1000);
+            event.quantityBefore = 100;
+            event.quantityAfter = 99;
+            event.quantityDelta = -1;
+            event.timestamp = LocalDateTime.now();
+            event.status = "SUCCESS";
+            return event;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.inventory.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the same I/O-bound mix (cached reads plus sales, each sale a primary round trip) against two running
+ * instances, one per threading mode, with more concurrent callers than Tomcat has platform threads.
+ * Not part of the regular suite; start one instance plain and one with SPRING_PROFILES_ACTIVE=virtual on
+ * Java 21, both with the read rate limiter lifted
+ * (RESILIENCE4J_RATELIMITER_INSTANCES_INVENTORYSERVICE_LIMITFORPERIOD=1000000), then:
+ *
+ * <pre>
+ * mvn test -Dtest=VirtualThreadBenchmark \
+ *     -Dbenchmark.platform-url=http://localhost:8080 \
+ *     -Dbenchmark.virtual-url=http://localhost:8081 \
+ *     -Dbenchmark.concurrency=800 -Dbenchmark.seconds=30
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark.platform-url", matches = ".+")
+@EnabledIfSystemProperty(named = "benchmark.virtual-url", matches = ".+")
+@DisplayName("Platform vs virtual request threads benchmark")
+class VirtualThreadBenchmark {
+
+    private static final int READ_PERCENT = 80;
+
+    @Test
+    @DisplayName("Both modes should serve the I/O-bound mix; throughput and tail latency are printed")
+    void compareModes() throws InterruptedException {
+        int concurrency = Integer.getInteger("benchmark.concurrency", 800);
+        int seconds = Integer.getInteger("benchmark.seconds", 30);
+
+        Result platform = run(System.getProperty("benchmark.platform-url"), concurrency, seconds);
+        Result virtual = run(System.getProperty("benchmark.virtual-url"), concurrency, seconds);
+
+        System.out.printf("Callers: %d, %ds per mode, %d%% reads%n", concurrency, seconds, READ_PERCENT);
+        System.out.println("PLATFORM: " + platform);
+        System.out.println("VIRTUAL:  " + virtual);
+        System.out.printf("Throughput ratio (virtual / platform): %.2fx%n", virtual.rate() / platform.rate());
+
+        assertThat(platform.completed).isPositive();
+        assertThat(virtual.completed).isPositive();
+    }
+
+    private Result run(String baseUrl, int concurrency, int seconds) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(16))
+                .build();
+        ExecutorService callers = Executors.newFixedThreadPool(concurrency);
+        List<List<Long>> latencies = new ArrayList<>();
+        AtomicInteger rejected = new AtomicInteger();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        for (int i = 0; i < concurrency; i++) {
+            List<Long> own = new ArrayList<>();
+            latencies.add(own);
+            callers.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    int status = call(client, baseUrl);
+                    // 4xx is a business answer (e.g. out of stock) and still a served request
+                    if (status >= 500 || status == 429 || status < 0) {
+                        rejected.incrementAndGet();
+                    } else {
+                        own.add(System.nanoTime() - start);
+                    }
+                }
+            });
+        }
+        callers.shutdown();
+        callers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        List<Long> all = new ArrayList<>();
+        latencies.forEach(all::addAll);
+        Collections.sort(all);
+        return new Result(all.size(), rejected.get(), seconds, percentile(all, 50), percentile(all, 99));
+    }
+
+    private int call(HttpClient client, String baseUrl) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String storeId = String.format("STORE_%03d", random.nextInt(1, 101));
+        String productId = String.format("PROD_%04d", random.nextInt(1, 1001));
+        HttpRequest request = random.nextInt(100) < READ_PERCENT
+                ? HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/inventory?storeId=" + storeId + "&productId=" + productId))
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build()
+                : HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/inventory/sell"))
+                        .timeout(Duration.ofSeconds(30))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                                "{\"storeId\":\"%s\",\"productId\":\"%s\",\"quantity\":1}", storeId, productId)))
+                        .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private double percentile(List<Long> sorted, int percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = Math.min(sorted.size() - 1, (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1);
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    private static final class Result {
+        private final int completed;
+        private final int rejected;
+        private final int seconds;
+        private final double p50;
+        private final double p99;
+
+        private Result(int completed, int rejected, int seconds, double p50, double p99) {
+            this.completed = completed;
+            this.rejected = rejected;
+            this.seconds = seconds;
+            this.p50 = p50;
+            this.p99 = p99;
+        }
+
+        private double rate() {
+            return completed / (double) seconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,.0f req/s, p50 %.1f ms, p99 %.1f ms, rejected/failed %d",
+                    rate(), p50, p99, rejected);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.inventory.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import reactor.core.publisher.Mono;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveReplicaPool Tests")
+class ReactiveReplicaPoolTest {
+
+    @Mock
+    private ConnectionPool firstPool;
+
+    @Mock
+    private ConnectionPool secondPool;
+
+    @Mock
+    private ConnectionPool primaryPool;
+
+    private InventoryProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaNode first;
+    private ReplicaNode second;
+    private ReplicaPool replicaPool;
+    private ReactiveReplicaPool pool;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InventoryProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        first = new ReplicaNode("replica-1", mock(DataSource.class), mock(JdbcTemplate.class), meterRegistry);
+        second = new ReplicaNode("replica-2", mock(DataSource.class), mock(JdbcTemplate.class), meterRegistry);
+        replicaPool = new ReplicaPool(List.of(first, second), mock(DataSource.class), properties, meterRegistry);
+        pool = new ReactiveReplicaPool(replicaPool, Map.of(first, firstPool, second, secondPool), primaryPool,
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("A replica out of rotation on the blocking path should get no reactive reads either")
+    void create_laggingReplica_shouldUseTheHealthyOne() {
+        properties.getReplicas().setMaxLagBytes(0x100);
+        first.recordReplayed(0x2000);
+        second.recordReplayed(0x1000);
+        replicaPool.evaluate(0x2000L);
+        Connection connection = mock(Connection.class);
+        when(firstPool.create()).thenReturn(Mono.just(connection));
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(pool.create().block()).isSameAs(connection);
+        }
+        verify(primaryPool, never()).create();
+        verify(secondPool, never()).create();
+    }
+
+    @Test
+    @DisplayName("With no healthy replica, reactive reads should fall back to the primary")
+    void create_allUnhealthy_shouldUsePrimary() {
+        properties.getReplicas().setMaxLagBytes(0);
+        first.recordReplayed(0x1000);
+        second.recordReplayed(0x1000);
+        replicaPool.evaluate(0x2000L);
+        Connection connection = mock(Connection.class);
+        when(primaryPool.create()).thenReturn(Mono.just(connection));
+
+        assertThat(pool.create().block()).isSameAs(connection);
+        assertThat(meterRegistry.get("inventory.replica.primary.fallbacks").counter().count()).isEqualTo(1);
+        verify(firstPool, never()).create();
+        verify(secondPool, never()).create();
+    }
+
+    @Test
+    @DisplayName("A failed acquire should count toward the replica's error rate")
+    void create_acquireFailure_shouldRecordError() {
+        properties.getReplicas().setMaxLagBytes(0);
+        second.recordReplayed(0);
+        first.recordReplayed(0x1000);
+        replicaPool.evaluate(0x1000L);
+        when(firstPool.create()).thenReturn(Mono.error(new IllegalStateException("refused")));
+
+        assertThatThrownBy(() -> pool.create().block()).hasMessage("refused");
+
+        assertThat(meterRegistry.get("inventory.replica.errors").tag("replica", "replica-1").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("R2DBC targets should be derived from the replicas' JDBC URLs")
+    void r2dbcUrl_jdbcUrl_shouldKeepHostAndDatabase() {
+        assertThat(ReactiveReadConfig.r2dbcUrl("jdbc:postgresql://replica-2:5433/inventory_db?ApplicationName=inv"))
+                .isEqualTo("r2dbc:postgresql://replica-2:5433/inventory_db");
+        assertThatThrownBy(() -> ReactiveReadConfig.r2dbcUrl("postgres-replica:5432"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,94 @@
+package com.inventory.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.api.InventoryDTOs.InventoryData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("RedisConfig Tests")
+class RedisConfigTest {
+
+    private ObjectMapper redisObjectMapper;
+    private InventoryData data;
+
+    @BeforeEach
+    void setUp() {
+        redisObjectMapper = new RedisCacheConfig().redisObjectMapper();
+        data = InventoryData.builder()
+                .storeId("STORE_001")
+                .productId("PROD_0001")
+                .quantity(100)
+                .reservedQuantity(5)
+                .availableQuantity(95)
+                .lastUpdated(LocalDateTime.of(2025, 1, 29, 10, 30))
+                .version(7L)
+                .cached(false)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Value serializer - A cached entry should read back as InventoryData, version included")
+    @SuppressWarnings("unchecked")
+    void valueSerializer_inventoryData_shouldRoundTrip() {
+        RedisSerializer<Object> serializer = (RedisSerializer<Object>) new RedisConfig()
+                .redisTemplate(mock(RedisConnectionFactory.class), redisObjectMapper).getValueSerializer();
+
+        Object read = serializer.deserialize(serializer.serialize(data));
+
+        assertThat(read).isInstanceOf(InventoryData.class).isEqualTo(data);
+        assertThat(((InventoryData) read).getVersion()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Value serializer - version should stay a top-level number and script arguments plain numbers")
+    @SuppressWarnings("unchecked")
+    void valueSerializer_shouldKeepWhatTheCacheScriptsRead() throws Exception {
+        RedisTemplate<String, Object> template =
+                new RedisConfig().redisTemplate(mock(RedisConnectionFactory.class), redisObjectMapper);
+        RedisSerializer<Object> serializer = (RedisSerializer<Object>) template.getValueSerializer();
+
+        // cache_put.lua cjson-decodes the stored value and reads cached['version']
+        JsonNode stored = new ObjectMapper().readTree(serializer.serialize(data));
+        assertThat(stored.get("version").isNumber()).isTrue();
+        assertThat(stored.get("version").asLong()).isEqualTo(7L);
+
+        // version, ttl and the committed flag go out through the same serializer and are read with tonumber()
+        assertThat(text(serializer.serialize(7L))).isEqualTo("7");
+        assertThat(text(serializer.serialize(300000L))).isEqualTo("300000");
+        assertThat(text(serializer.serialize(1))).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Reactive template - Should read entries written by the blocking template")
+    @SuppressWarnings("unchecked")
+    void reactiveTemplate_entryFromBlockingTemplate_shouldRoundTrip() {
+        RedisSerializer<Object> blocking = (RedisSerializer<Object>) new RedisConfig()
+                .redisTemplate(mock(RedisConnectionFactory.class), redisObjectMapper).getValueSerializer();
+        ReactiveRedisTemplate<String, Object> reactive = new ReactiveReadConfig()
+                .reactiveRedisTemplate(mock(ReactiveRedisConnectionFactory.class), redisObjectMapper);
+        SerializationPair<Object> pair = reactive.getSerializationContext().getValueSerializationPair();
+
+        Object read = pair.read(ByteBuffer.wrap(blocking.serialize(data)));
+
+        assertThat(read).isInstanceOf(InventoryData.class).isEqualTo(data);
+    }
+
+    private String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,142 @@
+package com.inventory.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaLsnTracker Tests")
+class ReplicaLsnTrackerTest {
+
+    @Mock
+    private JdbcTemplate primary;
+
+    @Mock
+    private JdbcTemplate replica;
+
+    @Mock
+    private DataSource primaryDataSource;
+
+    private InventoryProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaNode node;
+    private ReplicaLsnTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InventoryProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        node = new ReplicaNode("replica-1", mock(DataSource.class), replica, meterRegistry);
+        ReplicaPool pool = new ReplicaPool(List.of(node), primaryDataSource, properties, meterRegistry);
+        tracker = new ReplicaLsnTracker(primary, pool, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("LSN text should round-trip through its 64-bit position")
+    void parse_lsnText_shouldRoundTrip() {
+        assertThat(ReplicaLsnTracker.parse("16/B374D848")).isEqualTo(0x16B374D848L);
+        assertThat(ReplicaLsnTracker.format(0x16B374D848L)).isEqualTo("16/B374D848");
+        assertThat(ReplicaLsnTracker.parse("0/0")).isZero();
+        assertThatThrownBy(() -> ReplicaLsnTracker.parse("B374D848")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Poll templates should carry the poll timeout, rounded up to a whole second")
+    void pollTemplate_shouldSetQueryTimeout() {
+        properties.getConsistency().setPollTimeout(Duration.ofMillis(300));
+        assertThat(ReplicaLsnTracker.pollTemplate(primaryDataSource, properties).getQueryTimeout()).isEqualTo(1);
+
+        properties.getConsistency().setPollTimeout(Duration.ofSeconds(3));
+        assertThat(ReplicaLsnTracker.pollTemplate(primaryDataSource, properties).getQueryTimeout()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Before the first poll no token should count as replayed")
+    void hasReplayed_beforeFirstPoll_shouldBeFalse() {
+        assertThat(tracker.hasReplayed(0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Polled replay position should satisfy tokens at or below it only")
+    void poll_replayPosition_shouldGateTokens() {
+        when(replica.queryForObject(anyString(), eq(String.class))).thenReturn("0/2000");
+
+        tracker.poll();
+
+        assertThat(tracker.hasReplayed(0x1FFF)).isTrue();
+        assertThat(tracker.hasReplayed(0x2000)).isTrue();
+        assertThat(tracker.hasReplayed(0x2001)).isFalse();
+    }
+
+    @Test
+    @DisplayName("A failed poll should keep the last known position")
+    void poll_replicaDown_shouldKeepLastPosition() {
+        when(replica.queryForObject(anyString(), eq(String.class)))
+                .thenReturn("0/2000")
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        tracker.poll();
+        tracker.poll();
+
+        assertThat(tracker.hasReplayed(0x2000)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Issued tokens should come from the primary")
+    void issueToken_shouldReadPrimary() {
+        when(primary.queryForObject(anyString(), eq(String.class))).thenReturn("0/1800");
+
+        assertThat(tracker.issueToken()).isEqualTo("0/1800");
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    @DisplayName("Each poll should measure replica lag against the primary")
+    void poll_primaryAhead_shouldTrackLagPerReplica() {
+        when(primary.queryForObject(anyString(), eq(String.class))).thenReturn("0/1800");
+        when(replica.queryForObject(anyString(), eq(String.class))).thenReturn("0/1000");
+
+        tracker.poll();
+
+        assertThat(meterRegistry.get("inventory.replica.lag.bytes").tag("replica", "replica-1").gauge().value())
+                .isEqualTo(0x800);
+    }
+
+    @Test
+    @DisplayName("A replica too far behind should not satisfy tokens it has replayed")
+    void poll_replicaPastLagThreshold_shouldStopServingTokens() {
+        properties.getReplicas().setMaxLagBytes(0x100);
+        when(primary.queryForObject(anyString(), eq(String.class))).thenReturn("0/1800");
+        when(replica.queryForObject(anyString(), eq(String.class))).thenReturn("0/1000");
+
+        tracker.poll();
+
+        assertThat(node.isHealthy()).isFalse();
+        assertThat(tracker.hasReplayed(0x1000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Disabled tracking should issue no token and never hold reads back")
+    void disabled_shouldIssueNothingAndAllowReplica() {
+        properties.getConsistency().setEnabled(false);
+
+        assertThat(tracker.issueToken()).isNull();
+        assertThat(tracker.hasReplayed(Long.MAX_VALUE)).isTrue();
+        verifyNoInteractions(primary, replica);
+    }
+}
@@ -0,0 +1,188 @@
+package com.inventory.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicaPool Tests")
+class ReplicaPoolTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstDataSource;
+
+    @Mock
+    private DataSource secondDataSource;
+
+    private InventoryProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaNode first;
+    private ReplicaNode second;
+    private ReplicaPool pool;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InventoryProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        first = new ReplicaNode("replica-1", firstDataSource, mock(JdbcTemplate.class), meterRegistry);
+        second = new ReplicaNode("replica-2", secondDataSource, mock(JdbcTemplate.class), meterRegistry);
+        pool = new ReplicaPool(List.of(first, second), primary, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadConsistency.clear();
+    }
+
+    @Test
+    @DisplayName("Reads should go to the replica with the fewest outstanding connections")
+    void getConnection_busyReplica_shouldPickLeastOutstanding() throws SQLException {
+        when(firstDataSource.getConnection()).thenReturn(mock(Connection.class));
+        first.borrow();
+        first.borrow();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(pool.pick(null)).isSameAs(second);
+        }
+        assertThat(meterRegistry.get("inventory.replica.outstanding").tag("replica", "replica-1").gauge().value())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Closing a borrowed connection should free its slot exactly once")
+    void borrow_close_shouldReleaseOutstandingOnce() throws SQLException {
+        Connection target = mock(Connection.class);
+        when(firstDataSource.getConnection()).thenReturn(target);
+
+        Connection connection = first.borrow();
+        assertThat(first.outstanding()).isEqualTo(1);
+
+        connection.close();
+        connection.close();
+
+        assertThat(first.outstanding()).isZero();
+        verify(target, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("A token read should only go to a replica that has replayed it")
+    void pick_token_shouldSkipReplicaBehindIt() {
+        first.recordReplayed(0x2000);
+        second.recordReplayed(0x1000);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(pool.pick(0x1800L)).isSameAs(first);
+        }
+        assertThat(pool.canServe(0x2000)).isTrue();
+        assertThat(pool.canServe(0x2001)).isFalse();
+    }
+
+    @Test
+    @DisplayName("A replica past the lag threshold should leave rotation and rejoin once caught up")
+    void evaluate_lagThreshold_shouldEjectAndRestore() {
+        properties.getReplicas().setMaxLagBytes(0x100);
+        first.recordReplayed(0x1000);
+        second.recordReplayed(0x1F00);
+
+        pool.evaluate(0x2000L);
+
+        assertThat(first.isHealthy()).isFalse();
+        assertThat(second.isHealthy()).isTrue();
+        assertThat(pool.pick(null)).isSameAs(second);
+        assertThat(meterRegistry.get("inventory.replica.healthy").tag("replica", "replica-1").gauge().value())
+                .isZero();
+
+        first.recordReplayed(0x2000);
+        pool.evaluate(0x2000L);
+
+        assertThat(first.isHealthy()).isTrue();
+    }
+
+    @Test
+    @DisplayName("A replica failing too many calls in a window should leave rotation")
+    void evaluate_errorRate_shouldEject() {
+        properties.getReplicas().setMinCalls(4);
+        properties.getReplicas().setErrorWindow(Duration.ZERO);
+        for (int i = 0; i < 3; i++) {
+            first.recordError();
+        }
+        first.recordReplayed(0);
+        second.recordReplayed(0);
+
+        pool.evaluate(null);
+
+        assertThat(first.isHealthy()).isFalse();
+        assertThat(second.isHealthy()).isTrue();
+        assertThat(meterRegistry.get("inventory.replica.errors").tag("replica", "replica-1").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Too few calls in the window should not eject a replica")
+    void evaluate_belowMinCalls_shouldKeepReplica() {
+        properties.getReplicas().setErrorWindow(Duration.ZERO);
+        first.recordError();
+
+        pool.evaluate(null);
+
+        assertThat(first.isHealthy()).isTrue();
+    }
+
+    @Test
+    @DisplayName("With no healthy replica, reads should fall back to the primary")
+    void getConnection_allUnhealthy_shouldUsePrimary() throws SQLException {
+        properties.getReplicas().setMaxLagBytes(0);
+        first.recordReplayed(0x1000);
+        second.recordReplayed(0x1000);
+        pool.evaluate(0x2000L);
+        Connection connection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(connection);
+
+        assertThat(pool.getConnection()).isSameAs(connection);
+        assertThat(meterRegistry.get("inventory.replica.primary.fallbacks").counter().count()).isEqualTo(1);
+        verifyNoInteractions(firstDataSource, secondDataSource);
+    }
+
+    @Test
+    @DisplayName("A token no replica has replayed should fall back to the primary")
+    void getConnection_tokenAheadOfAllReplicas_shouldUsePrimary() throws SQLException {
+        first.recordReplayed(0x1000);
+        second.recordReplayed(0x1000);
+        ReadConsistency.require(0x2000);
+        Connection connection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(connection);
+
+        assertThat(pool.getConnection()).isSameAs(connection);
+    }
+
+    @Test
+    @DisplayName("A failed connection attempt should count as an error and free its slot")
+    void borrow_connectionFailure_shouldRecordError() throws SQLException {
+        when(firstDataSource.getConnection()).thenThrow(new SQLException("refused"));
+
+        assertThatThrownBy(() -> first.borrow()).isInstanceOf(SQLException.class);
+
+        assertThat(first.outstanding()).isZero();
+        assertThat(meterRegistry.get("inventory.replica.errors").tag("replica", "replica-1").counter().count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.inventory.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicationRoutingDataSource Tests")
+class ReplicationRoutingDataSourceTest {
+
+    @Mock
+    private ReplicaLsnTracker lsnTracker;
+
+    @InjectMocks
+    private ReplicationRoutingDataSource routingDataSource;
+
+    @AfterEach
+    void tearDown() {
+        ReadConsistency.clear();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("Writes should always go to the primary")
+    void writeTransaction_shouldRouteToPrimary() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("primary");
+        verifyNoInteractions(lsnTracker);
+    }
+
+    @Test
+    @DisplayName("Reads without a token should go to the replica")
+    void readWithoutToken_shouldRouteToReplica() {
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica");
+        verifyNoInteractions(lsnTracker);
+    }
+
+    @Test
+    @DisplayName("Reads with a token the replica has not replayed should go to the primary")
+    void readWithTokenAhead_shouldRouteToPrimary() {
+        ReadConsistency.require(0x2000);
+        when(lsnTracker.hasReplayed(0x2000)).thenReturn(false);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("primary");
+        verify(lsnTracker).recordPrimaryRead();
+    }
+
+    @Test
+    @DisplayName("Reads with a token the replica has replayed should stay on the replica")
+    void readWithTokenReplayed_shouldRouteToReplica() {
+        ReadConsistency.require(0x2000);
+        when(lsnTracker.hasReplayed(0x2000)).thenReturn(true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica");
+        verify(lsnTracker, never()).recordPrimaryRead();
+    }
+}
@@ -285,4 +285,40 @@ class ProductRepositoryTest {
             assertThat(e.getMessage()).contains("Insufficient stock");
         }
     }
+
+    @Test
+    @DisplayName("reserveIfAvailable - Should hold stock only while enough is available")
+    void reserveIfAvailable_ShouldRespectAvailableQuantity() {
+        entityManager.persist(testProduct1);
+        entityManager.flush();
+
+        int first = productRepository.reserveIfAvailable("STORE_001", "PROD_0001", 60);
+        int second = productRepository.reserveIfAvailable("STORE_001", "PROD_0001", 60);
+        entityManager.clear();
+
+        Product reloaded = productRepository.findByStoreIdAndProductId("STORE_001", "PROD_0001").orElseThrow();
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(0);
+        assertThat(reloaded.getQuantity()).isEqualTo(100);
+        assertThat(reloaded.getReservedQuantity()).isEqualTo(60);
+        assertThat(reloaded.getAvailableQuantity()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("releaseReserved - Should return held stock to the available pool")
+    void releaseReserved_ShouldDecreaseReservedQuantity() {
+        testProduct1.setReservedQuantity(30);
+        entityManager.persist(testProduct1);
+        entityManager.flush();
+
+        int released = productRepository.releaseReserved("STORE_001", "PROD_0001", 30);
+        int overReleased = productRepository.releaseReserved("STORE_001", "PROD_0001", 1);
+        entityManager.clear();
+
+        Product reloaded = productRepository.findByStoreIdAndProductId("STORE_001", "PROD_0001").orElseThrow();
+        assertThat(released).isEqualTo(1);
+        assertThat(overReleased).isEqualTo(0);
+        assertThat(reloaded.getReservedQuantity()).isEqualTo(0);
+        assertThat(reloaded.getAvailableQuantity()).isEqualTo(100);
+    }
 }
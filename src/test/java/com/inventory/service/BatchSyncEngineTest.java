@@ -0,0 +1,294 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.BatchOperation;
+import com.inventory.api.InventoryDTOs.InventoryKey;
+import com.inventory.api.InventoryDTOs.InventoryResponse;
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.InventoryEvent;
+import com.inventory.model.Product;
+import com.inventory.repository.InventoryEventRepository;
+import com.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchSyncEngine Tests")
+class BatchSyncEngineTest {
+
+    private static final String STORE_ID = "STORE_001";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private InventoryEventRepository eventRepository;
+
+    @Mock
+    private InventoryCache inventoryCache;
+
+    @Mock
+    private HotSkuEscrow hotSkuEscrow;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private InventoryProperties properties;
+    private BatchSyncEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InventoryProperties();
+        engine = new BatchSyncEngine(productRepository, eventRepository, inventoryCache, hotSkuEscrow,
+                idempotencyService, properties);
+    }
+
+    @Test
+    @DisplayName("Apply - Rows should be locked in product order and events saved in one batch")
+    void apply_multipleProducts_shouldLockSortedAndBatchWrites() {
+        properties.getSync().setLockChunkSize(2);
+        Product first = product(1L, "PROD_0001", 100);
+        Product second = product(2L, "PROD_0002", 50);
+        Product third = product(3L, "PROD_0003", 10);
+        when(productRepository.findAllForUpdate(STORE_ID, List.of("PROD_0001", "PROD_0002")))
+                .thenReturn(List.of(first, second));
+        when(productRepository.findAllForUpdate(STORE_ID, List.of("PROD_0003")))
+                .thenReturn(List.of(third));
+
+        List<InventoryResponse> results = engine.apply(STORE_ID, Arrays.asList(
+                sale("PROD_0003", 5),
+                restock("PROD_0001", 20),
+                sale("PROD_0002", 10),
+                sale("PROD_0001", 30)
+        ));
+
+        assertThat(results).allMatch(InventoryResponse::isSuccess);
+        assertThat(results.get(3).getData().getQuantity()).isEqualTo(90);
+
+        assertThat(first.getQuantity()).isEqualTo(90);
+        assertThat(second.getQuantity()).isEqualTo(40);
+        assertThat(third.getQuantity()).isEqualTo(5);
+        assertThat(savedEvents()).hasSize(4);
+        verify(productRepository, never()).saveAll(anyList());
+
+        verify(inventoryCache, times(1)).refreshAfterCommit(argThat((Collection<InventoryKey> keys) -> keys.size() == 3));
+    }
+
+    @Test
+    @DisplayName("Apply - Sale above available stock should fail and record a FAILED event")
+    void apply_insufficientStock_shouldRecordFailedEvent() {
+        Product product = product(1L, "PROD_0001", 10);
+        product.setReservedQuantity(4);
+        when(productRepository.findAllForUpdate(eq(STORE_ID), anyList())).thenReturn(List.of(product));
+
+        List<InventoryResponse> results = engine.apply(STORE_ID, List.of(sale("PROD_0001", 7)));
+
+        assertThat(results.get(0).isSuccess()).isFalse();
+        assertThat(results.get(0).getMessage()).isEqualTo("Insufficient stock. Available: 6, Requested: 7");
+
+        List<InventoryEvent> events = savedEvents();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getStatus()).isEqualTo("FAILED");
+        assertThat(product.getQuantity()).isEqualTo(10);
+        verifyNoInteractions(inventoryCache);
+    }
+
+    @Test
+    @DisplayName("Apply - Replayed idempotency keys should get the stored response and not be applied twice")
+    void apply_replayedKey_shouldReplayStoredResponse() {
+        InventoryResponse original = InventoryResponse.error("Insufficient stock. Available: 2, Requested: 5");
+        when(idempotencyService.begin("key-1")).thenReturn(Optional.of(original));
+        when(idempotencyService.begin("key-2")).thenReturn(Optional.empty());
+        when(productRepository.findAllForUpdate(eq(STORE_ID), anyList()))
+                .thenReturn(List.of(product(1L, "PROD_0001", 100)));
+
+        BatchOperation replay = sale("PROD_0001", 5);
+        replay.setIdempotencyKey("key-1");
+        BatchOperation fresh = sale("PROD_0001", 5);
+        fresh.setIdempotencyKey("key-2");
+        BatchOperation duplicate = sale("PROD_0001", 5);
+        duplicate.setIdempotencyKey("key-2");
+
+        List<InventoryResponse> results = engine.apply(STORE_ID, Arrays.asList(replay, fresh, duplicate));
+
+        assertThat(results.get(0)).isSameAs(original);
+        assertThat(results.get(1).getData().getQuantity()).isEqualTo(95);
+        assertThat(results.get(2)).isSameAs(results.get(1));
+        assertThat(savedEvents()).extracting(InventoryEvent::getEventId).containsExactly("key-2");
+        verify(idempotencyService, times(1)).begin("key-2");
+        verify(idempotencyService).complete("key-2", results.get(1));
+        verify(idempotencyService, never()).complete(eq("key-1"), any());
+    }
+
+    @Test
+    @DisplayName("Apply - Replays should be answered before any row is locked")
+    void apply_replayedKey_shouldCheckBeforeLocking() {
+        when(idempotencyService.begin("key-1")).thenReturn(Optional.empty());
+        when(productRepository.findAllForUpdate(eq(STORE_ID), anyList()))
+                .thenReturn(List.of(product(1L, "PROD_0001", 100)));
+        BatchOperation op = sale("PROD_0001", 5);
+        op.setIdempotencyKey("key-1");
+
+        engine.apply(STORE_ID, List.of(op));
+
+        InOrder order = inOrder(idempotencyService, productRepository);
+        order.verify(idempotencyService).begin("key-1");
+        order.verify(productRepository).findAllForUpdate(eq(STORE_ID), anyList());
+        order.verify(idempotencyService).complete(eq("key-1"), any(InventoryResponse.class));
+    }
+
+    @Test
+    @DisplayName("Apply - A failed write should give the claimed keys back for the per-operation retry")
+    void apply_writeFails_shouldAbandonClaims() {
+        when(idempotencyService.begin("key-1")).thenReturn(Optional.empty());
+        when(productRepository.findAllForUpdate(eq(STORE_ID), anyList()))
+                .thenReturn(List.of(product(1L, "PROD_0001", 100)));
+        doThrow(new IllegalStateException("constraint violated")).when(productRepository).flush();
+        BatchOperation op = sale("PROD_0001", 5);
+        op.setIdempotencyKey("key-1");
+
+        assertThatThrownBy(() -> engine.apply(STORE_ID, List.of(op))).isInstanceOf(IllegalStateException.class);
+
+        verify(idempotencyService).abandon("key-1");
+        verify(idempotencyService, never()).complete(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Apply - Restock of an unknown product should insert a new row")
+    void apply_newProduct_shouldInsertRow() {
+        when(productRepository.findAllForUpdate(eq(STORE_ID), anyList())).thenReturn(new ArrayList<>());
+
+        List<InventoryResponse> results = engine.apply(STORE_ID, List.of(restock("PROD_0009", 25)));
+
+        assertThat(results.get(0).isSuccess()).isTrue();
+        List<Product> inserts = savedProducts();
+        assertThat(inserts).hasSize(1);
+        assertThat(inserts.get(0).getProductId()).isEqualTo("PROD_0009");
+        assertThat(inserts.get(0).getQuantity()).isEqualTo(25);
+    }
+
+    @Test
+    @DisplayName("Apply - Escrowed SKUs should be left to the per-operation path when netting is off")
+    void apply_escrowedProductWithoutNetting_shouldDefer() {
+        properties.getSync().setNetting(false);
+        Product escrowed = product(1L, "PROD_0001", 10);
+        escrowed.setEscrowSlots(8);
+        when(productRepository.findAllForUpdate(eq(STORE_ID), anyList())).thenReturn(List.of(escrowed));
+
+        List<InventoryResponse> results = engine.apply(STORE_ID, List.of(sale("PROD_0001", 5)));
+
+        assertThat(results.get(0)).isNull();
+        verify(eventRepository, never()).saveAll(anyList());
+        verifyNoInteractions(inventoryCache);
+    }
+
+    @Test
+    @DisplayName("Netting - Repeated lines for one product should produce a single row write")
+    void apply_repeatedLines_shouldWriteProductOnce() {
+        Product product = product(1L, "PROD_0001", 250);
+        when(productRepository.findAllForUpdate(eq(STORE_ID), anyList())).thenReturn(List.of(product));
+        List<BatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            operations.add(sale("PROD_0001", 1));
+        }
+
+        List<InventoryResponse> results = engine.apply(STORE_ID, operations);
+
+        assertThat(results.stream().filter(InventoryResponse::isSuccess)).hasSize(250);
+        assertThat(results.get(250).getMessage()).isEqualTo("Insufficient stock. Available: 0, Requested: 1");
+
+        assertThat(product.getQuantity()).isZero();
+        assertThat(savedEvents()).hasSize(300);
+    }
+
+    @Test
+    @DisplayName("Netting - Lines of an escrowed SKU should be checked in order and moved out of escrow once")
+    void apply_escrowedProduct_shouldTakeNetFromEscrowOnce() {
+        Product escrowed = product(1L, "PROD_0001", 10);
+        escrowed.setReservedQuantity(10);
+        escrowed.setEscrowSlots(8);
+        when(productRepository.findAllForUpdate(eq(STORE_ID), anyList())).thenReturn(List.of(escrowed));
+        when(productRepository.lockEscrowed(STORE_ID, "PROD_0001")).thenReturn(5L);
+        when(hotSkuEscrow.take(STORE_ID, "PROD_0001", 4)).thenReturn(Optional.of(16));
+
+        List<InventoryResponse> results = engine.apply(STORE_ID, Arrays.asList(
+                sale("PROD_0001", 3),
+                sale("PROD_0001", 3),
+                restock("PROD_0001", 2),
+                sale("PROD_0001", 3)
+        ));
+
+        assertThat(results.get(0).getData().getQuantity()).isEqualTo(12);
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(3).getData().getQuantity()).isEqualTo(11);
+
+        verify(hotSkuEscrow, times(1)).take(STORE_ID, "PROD_0001", 4);
+        verify(productRepository, never()).addToBase(anyString(), anyString(), anyInt());
+        assertThat(escrowed.getQuantity()).isEqualTo(10);
+        assertThat(savedEvents()).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Netting - Escrowed SKU with a positive net should only add to its base row")
+    void apply_escrowedProductNetRestock_shouldAddToBase() {
+        Product escrowed = product(1L, "PROD_0001", 0);
+        escrowed.setEscrowSlots(8);
+        when(productRepository.findAllForUpdate(eq(STORE_ID), anyList())).thenReturn(List.of(escrowed));
+        when(productRepository.lockEscrowed(STORE_ID, "PROD_0001")).thenReturn(8L);
+
+        engine.apply(STORE_ID, Arrays.asList(
+                sale("PROD_0001", 5),
+                restock("PROD_0001", 20)
+        ));
+
+        verify(productRepository, times(1)).addToBase(STORE_ID, "PROD_0001", 15);
+        verifyNoInteractions(hotSkuEscrow);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<InventoryEvent> savedEvents() {
+        ArgumentCaptor<List<InventoryEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventRepository).saveAll(events.capture());
+        return events.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Product> savedProducts() {
+        ArgumentCaptor<List<Product>> products = ArgumentCaptor.forClass(List.class);
+        verify(productRepository).saveAll(products.capture());
+        return products.getValue();
+    }
+
+    private Product product(Long id, String productId, int quantity) {
+        return Product.builder()
+                .id(id)
+                .storeId(STORE_ID)
+                .productId(productId)
+                .quantity(quantity)
+                .build();
+    }
+
+    private BatchOperation sale(String productId, int quantity) {
+        return BatchOperation.builder().productId(productId).delta(-quantity).type("SALE").build();
+    }
+
+    private BatchOperation restock(String productId, int quantity) {
+        return BatchOperation.builder().productId(productId).delta(quantity).type("RESTOCK").build();
+    }
+}
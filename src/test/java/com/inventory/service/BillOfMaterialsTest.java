@@ -0,0 +1,104 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.repository.BundleComponent;
+import com.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BillOfMaterials Tests")
+class BillOfMaterialsTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private InventoryProperties properties;
+    private BillOfMaterials billOfMaterials;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InventoryProperties();
+        billOfMaterials = new BillOfMaterials(productRepository, properties);
+    }
+
+    @Test
+    @DisplayName("Expand - Bundles should become component demand merged with plain lines, sorted by SKU")
+    void expand_bundleAndPlainLines_shouldMergeComponents() {
+        List<BundleComponent> recipe = List.of(
+                component("KIT_0001", "PROD_0002", 2),
+                component("KIT_0001", "PROD_0003", 1)
+        );
+        when(productRepository.findBundleComponents(anyCollection())).thenReturn(recipe);
+
+        Map<String, Integer> demand = billOfMaterials.expand(lines("PROD_0003", 1, "KIT_0001", 3));
+
+        assertThat(demand).containsExactly(
+                Map.entry("PROD_0002", 6),
+                Map.entry("PROD_0003", 4)
+        );
+    }
+
+    @Test
+    @DisplayName("Expand - Recipes and plain SKUs should be served from the cache")
+    void expand_repeatedSkus_shouldQueryOnce() {
+        when(productRepository.findBundleComponents(anyCollection())).thenReturn(List.of());
+
+        billOfMaterials.expand(lines("PROD_0001", 1, "PROD_0002", 1));
+        billOfMaterials.expand(lines("PROD_0002", 5, "PROD_0001", 2));
+
+        verify(productRepository, times(1)).findBundleComponents(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Expand - Recipes past the TTL should be looked up again")
+    void expand_expiredRecipes_shouldQueryAgain() {
+        properties.getCheckout().setBomCacheTtl(Duration.ZERO);
+        billOfMaterials = new BillOfMaterials(productRepository, properties);
+        when(productRepository.findBundleComponents(anyCollection())).thenReturn(List.of());
+
+        billOfMaterials.expand(lines("PROD_0001", 1, "PROD_0002", 1));
+        billOfMaterials.expand(lines("PROD_0001", 1, "PROD_0002", 1));
+
+        verify(productRepository, times(2)).findBundleComponents(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Expand - Only SKUs missing from the cache should be looked up")
+    void expand_partlyCached_shouldLookUpMissingOnly() {
+        when(productRepository.findBundleComponents(anyCollection())).thenReturn(List.of());
+        billOfMaterials.expand(lines("PROD_0001", 1, "PROD_0002", 1));
+
+        billOfMaterials.expand(lines("PROD_0002", 1, "PROD_0009", 1));
+
+        verify(productRepository).findBundleComponents(List.of("PROD_0009"));
+    }
+
+    private Map<String, Integer> lines(String first, int firstQuantity, String second, int secondQuantity) {
+        Map<String, Integer> lines = new LinkedHashMap<>();
+        lines.put(first, firstQuantity);
+        lines.put(second, secondQuantity);
+        return lines;
+    }
+
+    private BundleComponent component(String bundleId, String componentId, int quantity) {
+        BundleComponent component = mock(BundleComponent.class);
+        when(component.getBundleId()).thenReturn(bundleId);
+        when(component.getComponentId()).thenReturn(componentId);
+        when(component.getQuantity()).thenReturn(quantity);
+        return component;
+    }
+}
@@ -0,0 +1,235 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.CheckoutData;
+import com.inventory.api.InventoryDTOs.CheckoutItem;
+import com.inventory.api.InventoryDTOs.CheckoutLine;
+import com.inventory.api.InventoryDTOs.CheckoutRequest;
+import com.inventory.api.InventoryDTOs.CheckoutResponse;
+import com.inventory.api.InventoryDTOs.InventoryKey;
+import com.inventory.model.InventoryEvent;
+import com.inventory.model.Product;
+import com.inventory.repository.InventoryEventRepository;
+import com.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CheckoutService Tests")
+class CheckoutServiceTest {
+
+    private static final String STORE_ID = "STORE_001";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private InventoryEventRepository eventRepository;
+
+    @Mock
+    private EventWriter eventWriter;
+
+    @Mock
+    private BillOfMaterials billOfMaterials;
+
+    @Mock
+    private HotSkuEscrow hotSkuEscrow;
+
+    @Mock
+    private InventoryCache inventoryCache;
+
+    @Mock
+    private LedgerEngine ledgerEngine;
+
+    @Mock
+    private RedisStockGate redisStockGate;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @InjectMocks
+    private CheckoutService checkoutService;
+
+    @Test
+    @DisplayName("Checkout - Every component should be locked in one query, decremented and logged in one batch")
+    void checkout_availableStock_shouldSellEveryLine() {
+        Product first = product("PROD_0001", 50);
+        Product second = product("PROD_0002", 20);
+        when(billOfMaterials.expand(anyMap())).thenReturn(demand("PROD_0001", 4, "PROD_0002", 1));
+        when(productRepository.findAllForUpdate(eq(STORE_ID), anyCollection())).thenReturn(List.of(first, second));
+
+        CheckoutResponse response = checkoutService.checkout(request("order-1",
+                line("KIT_0001", 2), line("PROD_0002", 1)));
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData().getItems()).extracting("productId").containsExactly("PROD_0001", "PROD_0002");
+        assertThat(first.getQuantity()).isEqualTo(46);
+        assertThat(second.getQuantity()).isEqualTo(19);
+
+        verify(productRepository, times(1)).findAllForUpdate(eq(STORE_ID), anyCollection());
+        List<InventoryEvent> events = writtenEvents();
+        assertThat(events).extracting(InventoryEvent::getEventId).containsExactly("order-1:1", "order-1:2");
+        assertThat(events).extracting(InventoryEvent::getQuantityDelta).containsExactly(-4, -1);
+        verify(inventoryCache, times(1)).refreshAfterCommit(List.of(
+                new InventoryKey("STORE_001", "PROD_0001"), new InventoryKey("STORE_001", "PROD_0002")));
+    }
+
+    @Test
+    @DisplayName("Checkout - Lines for the same SKU should be summed before expansion")
+    void checkout_repeatedSku_shouldMergeLines() {
+        when(billOfMaterials.expand(anyMap())).thenReturn(demand("PROD_0001", 3, "PROD_0002", 1));
+        when(productRepository.findAllForUpdate(eq(STORE_ID), anyCollection()))
+                .thenReturn(List.of(product("PROD_0001", 50), product("PROD_0002", 50)));
+
+        checkoutService.checkout(request(null, line("PROD_0001", 1), line("PROD_0002", 1), line("PROD_0001", 2)));
+
+        verify(billOfMaterials).expand(Map.of("PROD_0001", 3, "PROD_0002", 1));
+    }
+
+    @Test
+    @DisplayName("Checkout - Any short line should reject the whole checkout and report every shortage")
+    void checkout_shortLines_shouldRejectAll() {
+        Product first = product("PROD_0001", 2);
+        when(billOfMaterials.expand(anyMap())).thenReturn(demand("PROD_0001", 4, "PROD_0009", 1));
+        when(productRepository.findAllForUpdate(eq(STORE_ID), anyCollection())).thenReturn(List.of(first));
+
+        CheckoutResponse response = checkoutService.checkout(request(null, line("PROD_0001", 4), line("PROD_0009", 1)));
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getErrors()).containsExactly(
+                "Insufficient stock for PROD_0001. Available: 2, Requested: 4",
+                "Product PROD_0009 not found in inventory"
+        );
+        assertThat(first.getQuantity()).isEqualTo(2);
+        verifyNoInteractions(eventWriter, inventoryCache);
+    }
+
+    @Test
+    @DisplayName("Checkout - Escrow-split components should be taken from their slots")
+    void checkout_escrowSplitComponent_shouldTakeFromEscrow() {
+        Product escrowed = product("PROD_0001", 0);
+        escrowed.setEscrowSlots(8);
+        when(billOfMaterials.expand(anyMap())).thenReturn(demand("PROD_0001", 3, "PROD_0002", 1));
+        when(productRepository.findAllForUpdate(eq(STORE_ID), anyCollection()))
+                .thenReturn(List.of(escrowed, product("PROD_0002", 5)));
+        when(hotSkuEscrow.availableQuantity(STORE_ID, "PROD_0001")).thenReturn(40);
+        when(hotSkuEscrow.take(STORE_ID, "PROD_0001", 3)).thenReturn(Optional.of(37));
+
+        CheckoutResponse response = checkoutService.checkout(request(null, line("PROD_0001", 3), line("PROD_0002", 1)));
+
+        assertThat(response.getData().getItems().get(0).getQuantityBefore()).isEqualTo(40);
+        assertThat(response.getData().getItems().get(0).getQuantityAfter()).isEqualTo(37);
+        assertThat(escrowed.getQuantity()).isZero();
+    }
+
+    @Test
+    @DisplayName("Checkout - A replayed idempotency key should return the stored response without locking")
+    void checkout_replayedKey_shouldReturnStoredResponse() {
+        when(billOfMaterials.expand(anyMap())).thenReturn(demand("PROD_0001", 1, "PROD_0002", 1));
+        CheckoutResponse stored = CheckoutResponse.success("Checkout completed",
+                CheckoutData.builder().checkoutId("order-1").storeId(STORE_ID).items(List.of()).build());
+        when(idempotencyService.begin(eq("order-1"), eq(CheckoutResponse.class), any(), any()))
+                .thenReturn(Optional.of(stored));
+
+        CheckoutResponse response = checkoutService.checkout(request("order-1", line("PROD_0001", 1)));
+
+        assertThat(response).isSameAs(stored);
+        verifyNoInteractions(productRepository, eventWriter);
+    }
+
+    @Test
+    @DisplayName("Checkout - A checkout found committed under the row locks should be answered from its events")
+    void checkout_committedUnderLock_shouldReplayFromEventLog() {
+        when(billOfMaterials.expand(anyMap())).thenReturn(demand("PROD_0001", 1, "PROD_0002", 2));
+        when(eventRepository.findByEventIdIn(List.of("order-1:1", "order-1:2"))).thenReturn(List.of(
+                event("order-1:2", "PROD_0002", 2, 10, 8),
+                event("order-1:1", "PROD_0001", 1, 5, 4)));
+
+        CheckoutResponse response = checkoutService.checkout(request("order-1", line("PROD_0001", 1)));
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData().getCheckoutId()).isEqualTo("order-1");
+        assertThat(response.getData().getItems()).extracting(CheckoutItem::getProductId)
+                .containsExactly("PROD_0001", "PROD_0002");
+        assertThat(response.getData().getItems()).extracting(CheckoutItem::getQuantity).containsExactly(1, 2);
+        assertThat(response.getData().getItems()).extracting(CheckoutItem::getQuantityAfter).containsExactly(4, 8);
+        InOrder order = inOrder(productRepository, eventRepository);
+        order.verify(productRepository).findAllForUpdate(eq(STORE_ID), anyCollection());
+        order.verify(eventRepository).findByEventIdIn(List.of("order-1:1", "order-1:2"));
+        verify(eventWriter, never()).writeAllDurable(anyList());
+        verify(idempotencyService).complete("order-1", response);
+    }
+
+    @Test
+    @DisplayName("Checkout - Ledger-owned stores should be rejected")
+    void checkout_ledgerOwnedStore_shouldReturnError() {
+        when(ledgerEngine.owns(STORE_ID)).thenReturn(true);
+
+        CheckoutResponse response = checkoutService.checkout(request(null, line("PROD_0001", 1)));
+
+        assertThat(response.isSuccess()).isFalse();
+        verifyNoInteractions(productRepository, billOfMaterials);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<InventoryEvent> writtenEvents() {
+        ArgumentCaptor<List<InventoryEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventWriter).writeAllDurable(events.capture());
+        return events.getValue();
+    }
+
+    private CheckoutRequest request(String idempotencyKey, CheckoutLine... lines) {
+        return CheckoutRequest.builder()
+                .storeId(STORE_ID)
+                .lines(Arrays.asList(lines))
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+
+    private InventoryEvent event(String eventId, String productId, int quantity, int before, int after) {
+        return InventoryEvent.builder()
+                .eventId(eventId)
+                .eventType("SALE")
+                .status("SUCCESS")
+                .storeId(STORE_ID)
+                .productId(productId)
+                .quantityDelta(-quantity)
+                .quantityBefore(before)
+                .quantityAfter(after)
+                .build();
+    }
+
+    private CheckoutLine line(String productId, int quantity) {
+        return CheckoutLine.builder().productId(productId).quantity(quantity).build();
+    }
+
+    private TreeMap<String, Integer> demand(String first, int firstQuantity, String second, int secondQuantity) {
+        TreeMap<String, Integer> demand = new TreeMap<>();
+        demand.put(first, firstQuantity);
+        demand.put(second, secondQuantity);
+        return demand;
+    }
+
+    private Product product(String productId, int quantity) {
+        return Product.builder()
+                .storeId(STORE_ID)
+                .productId(productId)
+                .quantity(quantity)
+                .build();
+    }
+}
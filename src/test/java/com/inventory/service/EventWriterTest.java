@@ -0,0 +1,344 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.config.InventoryProperties.EventDurability;
+import com.inventory.model.InventoryEvent;
+import com.inventory.repository.InventoryEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventWriter Tests")
+class EventWriterTest {
+
+    @Mock
+    private InventoryEventRepository eventRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private EventWriter writer;
+    private final List<Object[]> statements = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        properties = new InventoryProperties();
+        properties.getEvents().setDurability(EventDurability.GROUP);
+        properties.getEvents().setFlushInterval(Duration.ofMillis(1));
+        properties.getEvents().setRetryDelay(Duration.ofMillis(1));
+        meterRegistry = new SimpleMeterRegistry();
+        AtomicLong sequence = new AtomicLong();
+        lenient().when(jdbcTemplate.queryForList(startsWith("SELECT nextval"), eq(Long.class), any(Object[].class)))
+                .thenAnswer(inv -> {
+                    List<Long> blocks = new ArrayList<>();
+                    for (int i = 0; i < inv.<Integer>getArgument(2); i++) {
+                        blocks.add(sequence.addAndGet(50));
+                    }
+                    return blocks;
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Write - SYNC durability should save the event in the caller's transaction")
+    void write_syncDurability_shouldSaveDirectly() {
+        properties.getEvents().setDurability(EventDurability.SYNC);
+        start();
+        InventoryEvent event = event("evt-1");
+
+        writer.write(event);
+
+        verify(eventRepository, times(1)).save(event);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Write - GROUP durability should leave the event to a background multi-row insert")
+    void write_groupDurability_shouldFlushInBackground() {
+        recordStatements();
+        start();
+
+        writer.write(event("evt-1"));
+        writer.stop();
+
+        assertThat(statements).hasSize(1);
+        assertThat((String) statements.get(0)[0]).startsWith("INSERT INTO inventory_events").doesNotContain("ON CONFLICT");
+        assertThat((Object[]) statements.get(0)[1]).contains("evt-1", "SALE", "STORE_001");
+        verify(eventRepository, never()).save(any(InventoryEvent.class));
+        verify(eventRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Write - Concurrent writers should share one multi-row insert")
+    void write_concurrentWriters_shouldShareOneFlush() throws Exception {
+        properties.getEvents().setBatchSize(5);
+        properties.getEvents().setFlushInterval(Duration.ofSeconds(10));
+        recordStatements();
+        start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<Future<?>> writes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String eventId = "evt-" + i;
+            writes.add(executor.submit(() -> writer.write(event(eventId))));
+        }
+        for (Future<?> write : writes) {
+            write.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        writer.stop();
+
+        assertThat(statements).hasSize(1);
+        assertThat((Object[]) statements.get(0)[1]).hasSize(55);
+    }
+
+    @Test
+    @DisplayName("Write - Flushed rows should take pooled ids by the block, the way Hibernate does")
+    void write_flush_shouldTakeIdsByTheBlock() {
+        properties.getEvents().setBatchSize(60);
+        properties.getEvents().setFlushInterval(Duration.ofSeconds(10));
+        recordStatements();
+        start();
+
+        List<InventoryEvent> events = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            events.add(event("evt-" + i));
+        }
+        writer.writeAll(events);
+        writer.stop();
+
+        Object[] args = (Object[]) statements.get(0)[1];
+        assertThat(args[0]).isEqualTo(1L);
+        assertThat(args[49 * 11]).isEqualTo(50L);
+        assertThat(args[50 * 11]).isEqualTo(51L);
+        assertThat(args[59 * 11]).isEqualTo(60L);
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Long.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Write - A failed flush should be retried")
+    void write_flushFails_shouldRetry() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(1);
+        start();
+
+        writer.write(event("evt-1"));
+        writer.stop();
+
+        verify(jdbcTemplate, times(2)).update(anyString(), any(Object[].class));
+        assertThat(meterRegistry.counter("inventory.events.dropped").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Write - A row that keeps failing should be isolated and dropped while the rest of its batch lands")
+    void write_poisonEvent_shouldBeDroppedAlone() {
+        properties.getEvents().setBatchSize(4);
+        properties.getEvents().setFlushInterval(Duration.ofSeconds(10));
+        properties.getEvents().setMaxFlushAttempts(2);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(inv -> {
+            if (List.of((Object[]) inv.getRawArguments()[1]).contains("evt-bad")) {
+                throw new IllegalArgumentException("value too long for type character varying(50)");
+            }
+            statements.add(inv.getRawArguments());
+            return 1;
+        });
+        start();
+
+        writer.writeAll(List.of(event("evt-1"), event("evt-2"), event("evt-bad"), event("evt-4")));
+        writer.write(event("evt-5"));
+        writer.stop();
+
+        List<Object> stored = statements.stream().flatMap(statement -> List.of((Object[]) statement[1]).stream()).toList();
+        assertThat(stored).contains("evt-1", "evt-2", "evt-4", "evt-5").doesNotContain("evt-bad");
+        assertThat(meterRegistry.counter("inventory.events.dropped").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Write - A duplicate event id should be counted and logged while the rest of the batch lands")
+    void write_duplicateEventId_shouldSurfaceConflict() {
+        properties.getEvents().setBatchSize(2);
+        properties.getEvents().setFlushInterval(Duration.ofSeconds(10));
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DuplicateKeyException("inventory_events_event_id_key"))
+                .thenReturn(1)
+                .thenThrow(new DuplicateKeyException("inventory_events_event_id_key"));
+        start();
+
+        writer.writeAll(List.of(event("evt-1"), event("evt-2")));
+        writer.stop();
+
+        verify(jdbcTemplate, times(3)).update(anyString(), any(Object[].class));
+        assertThat(meterRegistry.counter("inventory.events.conflicts").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("inventory.events.dropped").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Write - Inserts should run in their own transaction, never the caller's")
+    void write_flush_shouldUseNewTransaction() {
+        recordStatements();
+        start();
+
+        writer.write(event("evt-1"));
+        writer.stop();
+
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    @DisplayName("Write - Inside a transaction the event should only be queued after commit")
+    void write_insideTransaction_shouldWaitForCommit() {
+        recordStatements();
+        start();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writer.write(event("evt-1"));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            assertThat(statements).isEmpty();
+
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        writer.stop();
+
+        assertThat(statements).hasSize(1);
+        verify(eventRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Write - A rolled-back transaction should write nothing")
+    void write_rolledBack_shouldDiscardEvents() {
+        start();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writer.write(event("evt-1"));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+            synchronizations.forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        writer.stop();
+
+        verifyNoInteractions(jdbcTemplate, eventRepository);
+    }
+
+    @Test
+    @DisplayName("Write - A full queue should save the events in the caller's transaction, not on a second connection")
+    void write_queueFullInsideTransaction_shouldSaveInCallerTransaction() throws Exception {
+        properties.getEvents().setQueueCapacity(2);
+        properties.getEvents().setOfferTimeout(Duration.ofMillis(10));
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(inv -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        start();
+
+        // The flusher is stuck on evt-0 while evt-1 and evt-2 fill the queue
+        writer.write(event("evt-0"));
+        assertThat(flushing.await(5, TimeUnit.SECONDS)).isTrue();
+        writer.writeAll(List.of(event("evt-1"), event("evt-2")));
+
+        InventoryEvent committed = event("evt-3");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writer.write(committed);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.beforeCommit(false));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        release.countDown();
+
+        verify(eventRepository).saveAll(List.of(committed));
+        assertThat(meterRegistry.counter("inventory.events.backpressure").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Write durable - Should save in the caller's transaction whatever the durability")
+    void writeAllDurable_groupDurability_shouldSaveDirectly() {
+        start();
+        List<InventoryEvent> events = List.of(event("evt-1"), event("evt-2"));
+
+        writer.writeAllDurable(events);
+
+        verify(eventRepository).saveAll(events);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private void start() {
+        writer = new EventWriter(eventRepository, jdbcTemplate, transactionManager, properties, meterRegistry);
+        writer.start();
+    }
+
+    private void recordStatements() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(inv -> {
+            statements.add(inv.getRawArguments());
+            return 1;
+        });
+    }
+
+    private InventoryEvent event(String eventId) {
+        return InventoryEvent.builder()
+                .eventId(eventId)
+                .eventType("SALE")
+                .storeId("STORE_001")
+                .productId("PROD_0001")
+                .quantityBefore(10)
+                .quantityAfter(9)
+                .quantityDelta(-1)
+                .timestamp(LocalDateTime.now())
+                .status("SUCCESS")
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.InventoryEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FileOutboxSink Tests")
+class FileOutboxSinkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Publish - Each batch should be appended as one JSON line per event")
+    void publish_batches_shouldAppendNdjsonLines() throws Exception {
+        Path file = directory.resolve("outbox/events.ndjson");
+        InventoryProperties properties = new InventoryProperties();
+        properties.getOutbox().setFilePath(file.toString());
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        FileOutboxSink sink = new FileOutboxSink(objectMapper, properties);
+
+        sink.publish(List.of(event("evt-1"), event("evt-2")));
+        sink.publish(List.of(event("evt-3")));
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines.get(2)).get("eventId").asText()).isEqualTo("evt-3");
+    }
+
+    private InventoryEvent event(String eventId) {
+        return InventoryEvent.builder()
+                .eventId(eventId)
+                .eventType("SALE")
+                .storeId("STORE_001")
+                .productId("PROD_0001")
+                .quantityDelta(-1)
+                .timestamp(LocalDateTime.now())
+                .status("SUCCESS")
+                .build();
+    }
+}
@@ -0,0 +1,182 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.Product;
+import com.inventory.repository.EscrowState;
+import com.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HotSkuEscrow Tests")
+class HotSkuEscrowTest {
+
+    private static final String STORE_ID = "STORE_001";
+    private static final String PRODUCT_ID = "PROD_0001";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryProperties properties;
+    private HotSkuEscrow escrow;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InventoryProperties();
+        properties.getEscrow().setEnabled(true);
+        properties.getEscrow().setSlots(8);
+        properties.getEscrow().setSplitRate(5);
+        properties.getEscrow().setMergeRate(1);
+        properties.getEscrow().setSampleInterval(Duration.ofSeconds(1));
+        properties.getEscrow().setCooldown(Duration.ofSeconds(1));
+        escrow = new HotSkuEscrow(productRepository, transactionManager, properties);
+    }
+
+    @Test
+    @DisplayName("Sample - SKU selling above the split rate should have its available stock spread over slots")
+    void sample_hotSku_shouldSplitAvailableStock() {
+        when(productRepository.findByEscrowSlotsGreaterThan(0)).thenReturn(Collections.emptyList());
+        EscrowState state = state(100, 20, 0);
+        when(productRepository.lockEscrowState(STORE_ID, PRODUCT_ID)).thenReturn(Optional.of(state));
+
+        for (int i = 0; i < 10; i++) {
+            escrow.recordSale(STORE_ID, PRODUCT_ID);
+        }
+        escrow.sample();
+
+        assertThat(escrow.isSplit(STORE_ID, PRODUCT_ID)).isTrue();
+        verify(productRepository, times(1)).createEscrowSlots(STORE_ID, PRODUCT_ID, 8, 10, 0);
+        verify(productRepository, times(1)).updateEscrow(STORE_ID, PRODUCT_ID, 20, 8);
+    }
+
+    @Test
+    @DisplayName("Sample - SKU below the split rate should stay on its single row")
+    void sample_coldSku_shouldNotSplit() {
+        when(productRepository.findByEscrowSlotsGreaterThan(0)).thenReturn(Collections.emptyList());
+
+        escrow.recordSale(STORE_ID, PRODUCT_ID);
+        escrow.sample();
+
+        assertThat(escrow.isSplit(STORE_ID, PRODUCT_ID)).isFalse();
+        verify(productRepository, never()).lockEscrowState(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Sample - Split SKU that cooled down should be merged back into the products row")
+    void sample_cooledSku_shouldMergeSlots() {
+        Product split = Product.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(20)
+                .escrowSlots(8)
+                .build();
+        when(productRepository.findByEscrowSlotsGreaterThan(0)).thenReturn(List.of(split));
+        EscrowState state = state(20, 20, 8);
+        when(productRepository.lockEscrowState(STORE_ID, PRODUCT_ID)).thenReturn(Optional.of(state));
+        when(productRepository.lockEscrowed(STORE_ID, PRODUCT_ID)).thenReturn(80L);
+
+        escrow.sample();
+
+        assertThat(escrow.isSplit(STORE_ID, PRODUCT_ID)).isFalse();
+        verify(productRepository, times(1)).deleteEscrowSlots(STORE_ID, PRODUCT_ID);
+        verify(productRepository, times(1)).updateEscrow(STORE_ID, PRODUCT_ID, 100, 0);
+    }
+
+    @Test
+    @DisplayName("Take - Slot with enough stock should be decremented without locking the products row")
+    void take_slotHasStock_shouldDecrementSlot() {
+        splitLocally();
+        when(productRepository.takeFromEscrowSlot(eq(STORE_ID), eq(PRODUCT_ID), anyInt(), eq(3)))
+                .thenReturn(Optional.of(97L));
+
+        Optional<Integer> after = escrow.take(STORE_ID, PRODUCT_ID, 3);
+
+        assertThat(after).contains(97);
+        verify(productRepository, never()).lockEscrowState(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Take - Dry slots should be pooled and rebalanced under lock")
+    void take_slotsDry_shouldRebalance() {
+        splitLocally();
+        when(productRepository.takeFromEscrowSlot(eq(STORE_ID), eq(PRODUCT_ID), anyInt(), eq(5))).thenReturn(Optional.empty());
+        EscrowState state = state(12, 10, 4);
+        when(productRepository.lockEscrowState(STORE_ID, PRODUCT_ID)).thenReturn(Optional.of(state));
+        when(productRepository.lockEscrowed(STORE_ID, PRODUCT_ID)).thenReturn(6L);
+
+        Optional<Integer> after = escrow.take(STORE_ID, PRODUCT_ID, 5);
+
+        // pool = 6 escrowed + 2 available on the base row, minus the 5 sold
+        assertThat(after).contains(13);
+        verify(productRepository, times(4)).takeFromEscrowSlot(eq(STORE_ID), eq(PRODUCT_ID), anyInt(), eq(5));
+        verify(productRepository, times(1)).spreadEscrow(STORE_ID, PRODUCT_ID, 0, 3);
+        verify(productRepository, times(1)).updateEscrow(STORE_ID, PRODUCT_ID, 10, 4);
+    }
+
+    @Test
+    @DisplayName("Take - Pool smaller than the sale should be rejected without changes")
+    void take_insufficientPool_shouldReturnEmpty() {
+        splitLocally();
+        when(productRepository.takeFromEscrowSlot(eq(STORE_ID), eq(PRODUCT_ID), anyInt(), eq(50))).thenReturn(Optional.empty());
+        EscrowState state = state(10, 10, 4);
+        when(productRepository.lockEscrowState(STORE_ID, PRODUCT_ID)).thenReturn(Optional.of(state));
+        when(productRepository.lockEscrowed(STORE_ID, PRODUCT_ID)).thenReturn(6L);
+
+        Optional<Integer> after = escrow.take(STORE_ID, PRODUCT_ID, 50);
+
+        assertThat(after).isEmpty();
+        verify(productRepository, never()).spreadEscrow(anyString(), anyString(), anyInt(), anyInt());
+        verify(productRepository, never()).updateEscrow(anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Take - SKU merged elsewhere should be sold from the products row")
+    void take_mergedElsewhere_shouldSellFromBaseRow() {
+        EscrowState state = state(40, 0, 0);
+        when(productRepository.lockEscrowState(STORE_ID, PRODUCT_ID)).thenReturn(Optional.of(state));
+
+        Optional<Integer> after = escrow.take(STORE_ID, PRODUCT_ID, 5);
+
+        assertThat(after).contains(35);
+        assertThat(escrow.isSplit(STORE_ID, PRODUCT_ID)).isFalse();
+        verify(productRepository, times(1)).updateEscrow(STORE_ID, PRODUCT_ID, 35, 0);
+        verify(productRepository, never()).lockEscrowed(anyString(), anyString());
+    }
+
+    private void splitLocally() {
+        Product split = Product.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(10)
+                .escrowSlots(4)
+                .build();
+        properties.getEscrow().setCooldown(Duration.ofHours(1));
+        when(productRepository.findByEscrowSlotsGreaterThan(0)).thenReturn(List.of(split));
+        escrow.sample();
+    }
+
+    private EscrowState state(int quantity, int reserved, int slots) {
+        EscrowState state = mock(EscrowState.class);
+        lenient().when(state.getQuantity()).thenReturn(quantity);
+        lenient().when(state.getReservedQuantity()).thenReturn(reserved);
+        lenient().when(state.getEscrowSlots()).thenReturn(slots);
+        return state;
+    }
+}
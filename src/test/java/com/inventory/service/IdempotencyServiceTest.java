@@ -0,0 +1,198 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.inventory.api.InventoryDTOs.InventoryData;
+import com.inventory.api.InventoryDTOs.InventoryResponse;
+import com.inventory.api.InventoryDTOs.TransferData;
+import com.inventory.api.InventoryDTOs.TransferResponse;
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.InventoryEvent;
+import com.inventory.repository.InventoryEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService Tests")
+class IdempotencyServiceTest {
+
+    private static final String KEY = "pos-42-txn-1001";
+    private static final String REDIS_KEY = "idempotency:pos-42-txn-1001";
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private InventoryEventRepository eventRepository;
+
+    private ObjectMapper objectMapper;
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        idempotencyService = new IdempotencyService(stringRedisTemplate, eventRepository,
+                objectMapper, new InventoryProperties());
+        lenient().when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("First use of a key should claim it with SETNX and let the request proceed")
+    void begin_newKey_shouldClaimAndProceed() {
+        when(valueOperations.setIfAbsent(REDIS_KEY, "PENDING", Duration.ofSeconds(30))).thenReturn(true);
+
+        when(eventRepository.findByEventId(KEY)).thenReturn(Optional.empty());
+
+        Optional<InventoryResponse> result = idempotencyService.begin(KEY);
+
+        assertThat(result).isEmpty();
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Key claimed again after its Redis entry expired should replay from the event log, not re-run")
+    void begin_expiredKeyInEventLog_shouldReplayAndStoreAgain() {
+        when(valueOperations.setIfAbsent(REDIS_KEY, "PENDING", Duration.ofSeconds(30))).thenReturn(true);
+        when(eventRepository.findByEventId(KEY)).thenReturn(Optional.of(saleEvent()));
+
+        Optional<InventoryResponse> result = idempotencyService.begin(KEY);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getMessage()).isEqualTo("Sale processed successfully");
+        assertThat(result.get().getData().getQuantity()).isEqualTo(70);
+        verify(valueOperations, times(1)).set(eq(REDIS_KEY), contains("Sale processed successfully"),
+                eq(Duration.ofHours(24)));
+    }
+
+    @Test
+    @DisplayName("Event log failure after a claim should release the key and fail the request")
+    void begin_eventLogDownAfterClaim_shouldReleaseKey() {
+        when(valueOperations.setIfAbsent(REDIS_KEY, "PENDING", Duration.ofSeconds(30))).thenReturn(true);
+        when(eventRepository.findByEventId(KEY)).thenThrow(new RuntimeException("connection refused"));
+
+        assertThatThrownBy(() -> idempotencyService.begin(KEY)).hasMessage("connection refused");
+        verify(stringRedisTemplate, times(1)).delete(REDIS_KEY);
+    }
+
+    @Test
+    @DisplayName("Completed key should replay the stored response")
+    void begin_completedKey_shouldReplayStoredResponse() throws Exception {
+        InventoryResponse original = InventoryResponse.success("Sale processed successfully",
+                InventoryData.builder().storeId("STORE_001").productId("PROD_0001").quantity(70).build());
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(REDIS_KEY)).thenReturn(objectMapper.writeValueAsString(original));
+
+        Optional<InventoryResponse> result = idempotencyService.begin(KEY);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().isSuccess()).isTrue();
+        assertThat(result.get().getData().getQuantity()).isEqualTo(70);
+    }
+
+    @Test
+    @DisplayName("Completed key of another response type should replay it as that type")
+    void begin_completedTransferKey_shouldReplayTypedResponse() throws Exception {
+        TransferResponse original = TransferResponse.success("Transfer completed",
+                TransferData.builder().transferId(KEY).fromQuantityAfter(25).toQuantityAfter(5).build());
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(REDIS_KEY)).thenReturn(objectMapper.writeValueAsString(original));
+
+        Optional<TransferResponse> result = idempotencyService.begin(KEY, TransferResponse.class,
+                () -> TransferResponse.error("in flight"), key -> Optional.empty());
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getData().getTransferId()).isEqualTo(KEY);
+        assertThat(result.get().getData().getFromQuantityAfter()).isEqualTo(25);
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    @DisplayName("Key still being processed should be rejected")
+    void begin_pendingKey_shouldRejectDuplicate() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(REDIS_KEY)).thenReturn("PENDING");
+
+        Optional<InventoryResponse> result = idempotencyService.begin(KEY);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().isSuccess()).isFalse();
+        assertThat(result.get().getMessage()).contains("already being processed");
+    }
+
+    @Test
+    @DisplayName("Redis outage should fall back to the event log")
+    void begin_redisDown_shouldFallbackToEventLog() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RuntimeException("Redis connection refused"));
+        when(eventRepository.findByEventId(KEY)).thenReturn(Optional.of(saleEvent()));
+
+        Optional<InventoryResponse> result = idempotencyService.begin(KEY);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getMessage()).isEqualTo("Sale processed successfully");
+        assertThat(result.get().getData().getQuantityBefore()).isEqualTo(100);
+        assertThat(result.get().getData().getQuantity()).isEqualTo(70);
+    }
+
+    @Test
+    @DisplayName("Redis outage with no prior event should let the request proceed")
+    void begin_redisDownUnknownKey_shouldProceed() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RuntimeException("Redis connection refused"));
+        when(eventRepository.findByEventId(KEY)).thenReturn(Optional.empty());
+
+        assertThat(idempotencyService.begin(KEY)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Completing outside a transaction should store the response immediately")
+    void complete_noTransaction_shouldStoreResponse() {
+        idempotencyService.complete(KEY, InventoryResponse.error("Insufficient stock. Available: 0, Requested: 1"));
+
+        verify(valueOperations, times(1)).set(eq(REDIS_KEY), contains("Insufficient stock"), eq(Duration.ofHours(24)));
+    }
+
+    @Test
+    @DisplayName("Abandoning a key should release it")
+    void abandon_shouldDeleteKey() {
+        idempotencyService.abandon(KEY);
+
+        verify(stringRedisTemplate, times(1)).delete(REDIS_KEY);
+    }
+
+    private InventoryEvent saleEvent() {
+        return InventoryEvent.builder()
+                .eventId(KEY)
+                .eventType("SALE")
+                .status("SUCCESS")
+                .storeId("STORE_001")
+                .productId("PROD_0001")
+                .quantityBefore(100)
+                .quantityAfter(70)
+                .quantityDelta(-30)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
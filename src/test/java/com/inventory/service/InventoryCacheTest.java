@@ -0,0 +1,158 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryData;
+import com.inventory.api.InventoryDTOs.InventoryKey;
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.Product;
+import com.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InventoryCache Tests")
+class InventoryCacheTest {
+
+    private static final String STORE_ID = "STORE_001";
+    private static final String KEY = "inventory:STORE_001:PROD_0001";
+    private static final String FLOOR_KEY = "{inventory:STORE_001:PROD_0001}:v";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private InventoryNearCache nearCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new InventoryCache(productRepository, redisTemplate, nearCache, new InventoryProperties(),
+                transactionManager);
+    }
+
+    @Test
+    @DisplayName("Keys - The floor should share the entry's hash slot")
+    void floorKey_shouldHashTagTheWholeEntryKey() {
+        assertThat(InventoryCache.key(STORE_ID, "PROD_0001")).isEqualTo(KEY);
+        assertThat(InventoryCache.floorKey(KEY)).isEqualTo(FLOOR_KEY);
+    }
+
+    @Test
+    @DisplayName("Put - Fills and write-throughs should pass the entry, its floor, the version and the flag")
+    void put_shouldPassFloorKeyAndVersion() {
+        doReturn(1L).when(redisTemplate).execute(any(RedisScript.class), anyList(), any(), any(), any(), any());
+
+        boolean stored = cache.put(data("PROD_0001", 10, 7L), true);
+
+        assertThat(stored).isTrue();
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY, FLOOR_KEY)),
+                argThat((InventoryData data) -> data.getQuantity() == 10), eq(7L), eq(300000L), eq(1));
+    }
+
+    @Test
+    @DisplayName("Put - Many entries should go out as one pipeline of two-key EVALs")
+    void putAll_shouldPipelineEvalWithFloorKey() {
+        RedisScriptingCommands scripting = stubPipelinedCachePut(1L);
+
+        List<Object> stored = cache.putAll(List.of(data("PROD_0001", 10, 7L)), false);
+
+        assertThat(stored).containsExactly(1L);
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(scripting, times(1)).eval(any(byte[].class), eq(ReturnType.INTEGER), eq(2),
+                eq(bytes(KEY)), eq(bytes(FLOOR_KEY)), any(byte[].class),
+                eq(bytes("7")), eq(bytes("300000")), eq(bytes("0")));
+    }
+
+    @Test
+    @DisplayName("Evict - Should drop L1 at once and leave the committed version as floor")
+    void evict_withVersion_shouldRaiseFloor() {
+        cache.evict(STORE_ID, "PROD_0001", 9L);
+
+        verify(nearCache).evict(KEY);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY, FLOOR_KEY)), eq(9L), eq(300000L));
+    }
+
+    @Test
+    @DisplayName("Refresh - Rows should be written through, split SKUs floored and missing rows dropped")
+    void refresh_mixedRows_shouldWriteThroughFromPrimary() {
+        Product plain = Product.builder().storeId(STORE_ID).productId("PROD_0001").quantity(10).version(7L).build();
+        Product split = Product.builder().storeId(STORE_ID).productId("PROD_0002").quantity(5).version(3L)
+                .escrowSlots(4).build();
+        when(productRepository.findAllByKeys(any(), any())).thenReturn(List.of(plain, split));
+        stubPipelinedCachePut(1L);
+
+        cache.refresh(List.of(new InventoryKey(STORE_ID, "PROD_0001"), new InventoryKey(STORE_ID, "PROD_0002"),
+                new InventoryKey(STORE_ID, "PROD_0003")));
+
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW
+                        && !definition.isReadOnly()));
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("inventory:STORE_001:PROD_0002", "{inventory:STORE_001:PROD_0002}:v")), eq(3L), eq(300000L));
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("inventory:STORE_001:PROD_0003", "{inventory:STORE_001:PROD_0003}:v")), eq(0L), eq(300000L));
+        verify(nearCache).evict(KEY);
+    }
+
+    @Test
+    @DisplayName("Refresh - A failed primary read should still drop every key")
+    void refresh_readFails_shouldDropKeys() {
+        when(productRepository.findAllByKeys(any(), any())).thenThrow(new RuntimeException("primary down"));
+
+        cache.refresh(List.of(new InventoryKey(STORE_ID, "PROD_0001")));
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY, FLOOR_KEY)), eq(0L), eq(300000L));
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    // Runs the pipeline callback against a mocked connection and answers with the given script results
+    private RedisScriptingCommands stubPipelinedCachePut(Object... results) {
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisScriptingCommands scripting = mock(RedisScriptingCommands.class);
+        when(connection.scriptingCommands()).thenReturn(scripting);
+        doReturn(RedisSerializer.string()).when(redisTemplate).getKeySerializer();
+        doReturn(RedisSerializer.json()).when(redisTemplate).getValueSerializer();
+        doAnswer(inv -> {
+            inv.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return Arrays.asList(results);
+        }).when(redisTemplate).executePipelined(any(RedisCallback.class));
+        return scripting;
+    }
+
+    // No timestamp: the default JSON serializer has no java.time support
+    private InventoryData data(String productId, int quantity, long version) {
+        return InventoryData.builder().storeId(STORE_ID).productId(productId).quantity(quantity).version(version).build();
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
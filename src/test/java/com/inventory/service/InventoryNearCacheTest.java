@@ -0,0 +1,106 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryData;
+import com.inventory.config.InventoryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("InventoryNearCache Tests")
+class InventoryNearCacheTest {
+
+    private static final String KEY = "inventory:STORE_001:PROD_0001";
+
+    private InventoryProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryNearCache nearCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InventoryProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        nearCache = new InventoryNearCache(mock(RedisConnectionFactory.class), properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Stored entries should be served and counted as hits")
+    void get_storedEntry_shouldReturnItAndRecordHit() {
+        InventoryData data = data();
+        nearCache.put(KEY, data);
+
+        assertThat(nearCache.get(KEY)).isSameAs(data);
+        assertThat(nearCache.get("inventory:STORE_001:PROD_0002")).isNull();
+
+        assertThat(meterRegistry.get("inventory.near.hit.ratio").gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("inventory.near.entry.age").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A keyspace DEL from any instance should evict the entry")
+    void onMessage_delEvent_shouldEvict() {
+        nearCache.put(KEY, data());
+
+        nearCache.onMessage(keyspace(KEY, "del"), null);
+
+        assertThat(nearCache.get(KEY)).isNull();
+        assertThat(meterRegistry.get("inventory.near.invalidations").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("The expire event fired by SET ... EX should not evict")
+    void onMessage_expireEventFromCacheFill_shouldKeepEntry() {
+        InventoryData data = data();
+        nearCache.put(KEY, data);
+
+        nearCache.onMessage(keyspace(KEY, "expire"), null);
+
+        assertThat(nearCache.get(KEY)).isSameAs(data);
+    }
+
+    @Test
+    @DisplayName("A write-through published on the invalidation channel should evict the entry")
+    void onMessage_invalidationChannel_shouldEvict() {
+        nearCache.put(KEY, data());
+
+        nearCache.onMessage(new DefaultMessage("inventory:invalidations".getBytes(StandardCharsets.UTF_8),
+                KEY.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(nearCache.get(KEY)).isNull();
+        assertThat(meterRegistry.get("inventory.near.invalidations").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Disabled near cache should store nothing")
+    void get_disabled_shouldReturnNull() {
+        properties.getNearCache().setEnabled(false);
+
+        nearCache.put(KEY, data());
+
+        assertThat(nearCache.get(KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("Keyspace flags should be added without dropping existing ones")
+    void withFlags_existingConfig_shouldAppendMissingFlags() {
+        assertThat(InventoryNearCache.withFlags("")).isEqualTo("Kgx");
+        assertThat(InventoryNearCache.withFlags("Ex")).isEqualTo("ExKg");
+        assertThat(InventoryNearCache.withFlags("AKE")).isEqualTo("AKE");
+    }
+
+    private DefaultMessage keyspace(String key, String event) {
+        return new DefaultMessage(("__keyspace@0__:" + key).getBytes(StandardCharsets.UTF_8),
+                event.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private InventoryData data() {
+        return InventoryData.builder().storeId("STORE_001").productId("PROD_0001").quantity(10).build();
+    }
+}
@@ -1,27 +1,45 @@
 package com.inventory.service;
 
 import com.inventory.api.InventoryDTOs.*;
+import com.inventory.config.InventoryProperties;
+import com.inventory.config.InventoryProperties.RestockMode;
+import com.inventory.config.InventoryProperties.SaleMode;
+import com.inventory.config.ReadConsistency;
 import com.inventory.model.InventoryEvent;
 import com.inventory.model.Product;
 import com.inventory.repository.InventoryEventRepository;
 import com.inventory.repository.ProductRepository;
+import com.inventory.repository.StockChange;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -41,6 +59,45 @@ class InventoryServiceTest {
     @Mock
     private ValueOperations<String, Object> valueOperations;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private LedgerEngine ledgerEngine;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private HotSkuEscrow hotSkuEscrow;
+
+    @Mock
+    private RedisStockGate redisStockGate;
+
+    @Mock
+    private BatchSyncEngine batchSyncEngine;
+
+    @Mock
+    private EventWriter eventWriter;
+
+    @Mock
+    private PartitionedBatchExecutor partitionedBatchExecutor;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private InventoryNearCache nearCache;
+
+    @Mock
+    private InventoryCache inventoryCache;
+
+    @Spy
+    private InventoryProperties inventoryProperties = new InventoryProperties();
+
+    @Spy
+    private SaleCoalescer saleCoalescer = new SaleCoalescer(inventoryProperties);
+
     @InjectMocks
     private InventoryService inventoryService;
 
@@ -60,6 +117,14 @@ class InventoryServiceTest {
                 .build();
 
         lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().doAnswer(inv -> eventRepository.save(inv.getArgument(0)))
+                .when(eventWriter).write(any(InventoryEvent.class));
+        lenient().doAnswer(inv -> eventRepository.saveAll(inv.<List<InventoryEvent>>getArgument(0)))
+                .when(eventWriter).writeAll(anyList());
+        lenient().doAnswer(inv -> eventRepository.save(inv.getArgument(0)))
+                .when(eventWriter).writeDurable(any(InventoryEvent.class));
+        lenient().doAnswer(inv -> eventRepository.saveAll(inv.<List<InventoryEvent>>getArgument(0)))
+                .when(eventWriter).writeAllDurable(anyList());
     }
 
     @Test
@@ -85,6 +150,35 @@ class InventoryServiceTest {
         verify(productRepository, never()).findByStoreIdAndProductId(anyString(), anyString());
     }
 
+    @Test
+    @DisplayName("GET - L1 HIT should answer without a Redis round trip")
+    void getInventory_nearCacheHit_shouldSkipRedis() {
+        InventoryData cachedData = InventoryData.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(100)
+                .cached(false)
+                .build();
+        when(nearCache.get(CACHE_KEY)).thenReturn(cachedData);
+
+        InventoryResponse response = inventoryService.getInventory(STORE_ID, PRODUCT_ID);
+
+        assertThat(response.getMessage()).isEqualTo("Retrieved from cache");
+        assertThat(response.getData().getCached()).isTrue();
+        verifyNoInteractions(valueOperations);
+    }
+
+    @Test
+    @DisplayName("GET - Redis HIT should fill L1, and a database read should fill both tiers")
+    void getInventory_nearCacheMiss_shouldFillNearCache() {
+        InventoryData cachedData = InventoryData.builder().storeId(STORE_ID).productId(PRODUCT_ID).quantity(100).build();
+        when(valueOperations.get(CACHE_KEY)).thenReturn(cachedData);
+
+        inventoryService.getInventory(STORE_ID, PRODUCT_ID);
+
+        verify(nearCache).put(CACHE_KEY, cachedData);
+    }
+
     @Test
     @DisplayName("GET - Cache MISS should query database and store in cache")
     void getInventory_cacheMiss_shouldQueryDatabaseAndCache() {
@@ -101,7 +195,24 @@ class InventoryServiceTest {
 
         verify(valueOperations, times(1)).get(CACHE_KEY);
         verify(productRepository, times(1)).findByStoreIdAndProductId(STORE_ID, PRODUCT_ID);
-        verify(valueOperations, times(1)).set(eq(CACHE_KEY), any(InventoryData.class), eq(5L), eq(TimeUnit.MINUTES));
+        verifyCachePut(100, 0);
+    }
+
+    @Test
+    @DisplayName("GET - A fill refused because Redis holds a newer version should not reach the near cache")
+    void getInventory_olderReplicaRow_shouldNotFillNearCache() {
+        testProduct.setVersion(3L);
+        when(valueOperations.get(CACHE_KEY)).thenReturn(null);
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+        stubCachePut(false);
+
+        InventoryResponse response = inventoryService.getInventory(STORE_ID, PRODUCT_ID);
+
+        assertThat(response.getMessage()).isEqualTo("Retrieved from database");
+        assertThat(response.getData().getVersion()).isEqualTo(3L);
+        verify(inventoryCache).put(argThat((InventoryData data) -> data.getVersion() == 3L), eq(false));
+        verify(nearCache, never()).put(anyString(), any());
     }
 
     @Test
@@ -140,7 +251,7 @@ class InventoryServiceTest {
         when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID))
                 .thenReturn(Optional.of(testProduct));
         doThrow(new RuntimeException("Redis write timeout"))
-                .when(valueOperations).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+                .when(inventoryCache).put(any(InventoryData.class), anyBoolean());
 
         InventoryResponse response = inventoryService.getInventory(STORE_ID, PRODUCT_ID);
 
@@ -149,6 +260,111 @@ class InventoryServiceTest {
         assertThat(response.getData().getQuantity()).isEqualTo(100);
     }
 
+    @Test
+    @DisplayName("GET - An escrow-split SKU read from the database should not be cached")
+    void getInventory_escrowSplitSku_shouldSkipCacheFill() {
+        testProduct.setEscrowSlots(4);
+        when(valueOperations.get(CACHE_KEY)).thenReturn(null);
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+        when(hotSkuEscrow.escrowedQuantity(STORE_ID, PRODUCT_ID)).thenReturn(40);
+
+        InventoryResponse response = inventoryService.getInventory(STORE_ID, PRODUCT_ID);
+
+        assertThat(response.getData().getQuantity()).isEqualTo(140);
+        verify(inventoryCache, never()).put(any(InventoryData.class), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Multi-get - L1, one MGET and one IN query should answer every key in request order")
+    void getInventories_mixedTiers_shouldUseOneRoundTripPerTier() {
+        InventoryData local = InventoryData.builder().storeId(STORE_ID).productId(PRODUCT_ID).quantity(10).build();
+        InventoryData remote = InventoryData.builder().storeId(STORE_ID).productId("PROD_0002").quantity(20).build();
+        when(nearCache.get(CACHE_KEY)).thenReturn(local);
+        when(valueOperations.multiGet(List.of(cacheKey("PROD_0002"), cacheKey("PROD_0003"), cacheKey("PROD_0009"))))
+                .thenReturn(Arrays.asList(remote, null, null));
+        when(productRepository.findAllByKeys(aryEq(new String[]{STORE_ID, STORE_ID}),
+                aryEq(new String[]{"PROD_0003", "PROD_0009"})))
+                .thenReturn(List.of(multiGetProduct("PROD_0003", 30)));
+        when(inventoryCache.putAll(anyList(), eq(false))).thenReturn(List.of(1L));
+
+        MultiGetResponse response = inventoryService.getInventories(List.of(inventoryKey("PROD_0002"),
+                inventoryKey(PRODUCT_ID), inventoryKey("PROD_0009"), inventoryKey("PROD_0003"), inventoryKey(PRODUCT_ID)));
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getItems()).extracting(data -> data == null ? null : data.getQuantity())
+                .containsExactly(20, 10, null, 30, 10);
+        assertThat(response.getItems().get(0).getCached()).isTrue();
+        assertThat(response.getItems().get(3).getCached()).isFalse();
+        assertThat(response.getNotFoundCount()).isEqualTo(1);
+
+        verify(valueOperations, times(1)).multiGet(anyCollection());
+        verify(inventoryCache, times(1)).putAll(argThat((List<InventoryData> fills) -> fills.size() == 1
+                && "PROD_0003".equals(fills.get(0).getProductId())), eq(false));
+        verify(nearCache).put(cacheKey("PROD_0002"), remote);
+        verify(nearCache).put(eq(cacheKey("PROD_0003")), argThat((InventoryData data) -> data.getQuantity() == 30));
+    }
+
+    @Test
+    @DisplayName("Multi-get - Every key found in cache should skip the database and the write-back")
+    void getInventories_allCached_shouldSkipDatabase() {
+        InventoryData remote = InventoryData.builder().storeId(STORE_ID).productId(PRODUCT_ID).quantity(10).build();
+        when(valueOperations.multiGet(List.of(CACHE_KEY))).thenReturn(Arrays.asList(remote));
+
+        MultiGetResponse response = inventoryService.getInventories(List.of(inventoryKey(PRODUCT_ID)));
+
+        assertThat(response.getItems()).extracting(InventoryData::getQuantity).containsExactly(10);
+        verify(productRepository, never()).findAllByKeys(any(), any());
+        verify(inventoryCache, never()).putAll(anyList(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Multi-get - Redis failure should fall back to the database, and refused fills should skip L1")
+    void getInventories_redisFail_shouldFallbackToDatabase() {
+        when(valueOperations.multiGet(anyCollection())).thenThrow(new RuntimeException("Redis connection timeout"));
+        when(productRepository.findAllByKeys(any(), any())).thenReturn(List.of(multiGetProduct(PRODUCT_ID, 10)));
+        when(inventoryCache.putAll(anyList(), eq(false))).thenReturn(List.of(0L));
+
+        MultiGetResponse response = inventoryService.getInventories(List.of(inventoryKey(PRODUCT_ID)));
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getItems()).extracting(InventoryData::getQuantity).containsExactly(10);
+        verify(nearCache, never()).put(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("GET - A read carrying a consistency token should skip both caches and fill neither")
+    void getInventory_withConsistencyToken_shouldBypassCache() {
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+
+        ReadConsistency.require(42L);
+        try {
+            InventoryResponse response = inventoryService.getInventory(STORE_ID, PRODUCT_ID);
+
+            assertThat(response.getMessage()).isEqualTo("Retrieved from database");
+        } finally {
+            ReadConsistency.clear();
+        }
+        verifyNoInteractions(nearCache, valueOperations, inventoryCache);
+    }
+
+    @Test
+    @DisplayName("Multi-get - A read carrying a consistency token should go to the database for every key")
+    void getInventories_withConsistencyToken_shouldBypassCache() {
+        when(productRepository.findAllByKeys(any(), any())).thenReturn(List.of(multiGetProduct(PRODUCT_ID, 10)));
+
+        ReadConsistency.require(42L);
+        try {
+            MultiGetResponse response = inventoryService.getInventories(List.of(inventoryKey(PRODUCT_ID)));
+
+            assertThat(response.getItems()).extracting(InventoryData::getQuantity).containsExactly(10);
+        } finally {
+            ReadConsistency.clear();
+        }
+        verifyNoInteractions(nearCache, valueOperations, inventoryCache);
+    }
+
     @Test
     @DisplayName("POST /sell - Successful sale should update stock and invalidate cache")
     void processSale_sufficientStock_shouldProcessSuccessfully() {
@@ -159,7 +375,6 @@ class InventoryServiceTest {
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        when(eventRepository.existsByEventId(anyString())).thenReturn(false);
         when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID))
                 .thenReturn(Optional.of(testProduct));
         when(productRepository.save(any(Product.class))).thenReturn(testProduct);
@@ -174,7 +389,9 @@ class InventoryServiceTest {
 
         verify(productRepository, times(1)).save(any(Product.class));
         verify(eventRepository, times(1)).save(any(InventoryEvent.class));
-        verify(redisTemplate, times(1)).delete(CACHE_KEY);
+        verifyCachePut(70, 1);
+        verify(inventoryCache, never()).evict(anyString(), anyString(), any());
+        verify(nearCache, times(1)).evict(CACHE_KEY);
     }
 
     @Test
@@ -187,7 +404,6 @@ class InventoryServiceTest {
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        when(eventRepository.existsByEventId(anyString())).thenReturn(false);
         when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID))
                 .thenReturn(Optional.of(testProduct));
 
@@ -204,23 +420,93 @@ class InventoryServiceTest {
     }
 
     @Test
-    @DisplayName("POST /sell - Idempotency should prevent event duplication")
-    void processSale_duplicateEvent_shouldReturnError() {
+    @DisplayName("POST /sell - Replayed idempotency key should return the original response without touching stock")
+    void processSale_duplicateIdempotencyKey_shouldReplayOriginalResponse() {
         SellRequest request = SellRequest.builder()
                 .storeId(STORE_ID)
                 .productId(PRODUCT_ID)
                 .quantity(30)
+                .idempotencyKey("pos-42-txn-1001")
                 .build();
+        InventoryResponse original = InventoryResponse.success("Sale processed successfully",
+                InventoryData.builder().quantity(70).quantityBefore(100).eventId("pos-42-txn-1001").build());
 
-        when(eventRepository.existsByEventId(anyString())).thenReturn(true);
+        when(idempotencyService.begin("pos-42-txn-1001")).thenReturn(Optional.of(original));
 
         InventoryResponse response = inventoryService.processSale(request);
 
-        assertThat(response.isSuccess()).isFalse();
-        assertThat(response.getMessage()).isEqualTo("Event already processed");
+        assertThat(response).isSameAs(original);
 
         verify(productRepository, never()).findByStoreIdAndProductIdWithLock(anyString(), anyString());
         verify(productRepository, never()).save(any(Product.class));
+        verify(eventRepository, never()).save(any(InventoryEvent.class));
+        verify(idempotencyService, never()).complete(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("POST /sell - Idempotency key should become the event id and the response should be recorded")
+    void processSale_newIdempotencyKey_shouldUseKeyAsEventId() {
+        SellRequest request = SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(30)
+                .idempotencyKey("pos-42-txn-1002")
+                .build();
+
+        when(idempotencyService.begin("pos-42-txn-1002")).thenReturn(Optional.empty());
+        when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+
+        InventoryResponse response = inventoryService.processSale(request);
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData().getEventId()).isEqualTo("pos-42-txn-1002");
+
+        verify(eventRepository, times(1)).save(argThat(event -> "pos-42-txn-1002".equals(event.getEventId())));
+        verify(eventWriter, never()).write(any(InventoryEvent.class));
+        verify(idempotencyService, times(1)).complete("pos-42-txn-1002", response);
+        verify(eventRepository, never()).existsByEventId(anyString());
+    }
+
+    @Test
+    @DisplayName("POST /sell - Failed processing should release the idempotency key for a retry")
+    void processSale_idempotentRequestFails_shouldAbandonKey() {
+        SellRequest request = SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(30)
+                .idempotencyKey("pos-42-txn-1003")
+                .build();
+
+        when(idempotencyService.begin("pos-42-txn-1003")).thenReturn(Optional.empty());
+        when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID))
+                .thenThrow(new RuntimeException("Lock timeout"));
+
+        assertThatThrownBy(() -> inventoryService.processSale(request))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Lock timeout");
+
+        verify(idempotencyService, times(1)).abandon("pos-42-txn-1003");
+        verify(idempotencyService, never()).complete(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("POST /restock - Replayed idempotency key should not add stock twice")
+    void processRestock_duplicateIdempotencyKey_shouldReplayOriginalResponse() {
+        RestockRequest request = RestockRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(50)
+                .idempotencyKey("dc-7-shipment-88")
+                .build();
+        InventoryResponse original = InventoryResponse.success("Restock processed successfully", null);
+
+        when(idempotencyService.begin("dc-7-shipment-88")).thenReturn(Optional.of(original));
+
+        InventoryResponse response = inventoryService.processRestock(request);
+
+        assertThat(response).isSameAs(original);
+        verifyNoInteractions(productRepository, eventRepository);
     }
 
     @Test
@@ -232,7 +518,6 @@ class InventoryServiceTest {
                 .quantity(10)
                 .build();
 
-        when(eventRepository.existsByEventId(anyString())).thenReturn(false);
         when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, "PROD_NEW"))
                 .thenReturn(Optional.empty());
 
@@ -255,11 +540,11 @@ class InventoryServiceTest {
                 .quantity(30)
                 .build();
 
-        when(eventRepository.existsByEventId(anyString())).thenReturn(false);
         when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID))
                 .thenReturn(Optional.of(testProduct));
         when(productRepository.save(any(Product.class))).thenReturn(testProduct);
-        doThrow(new RuntimeException("Redis timeout")).when(redisTemplate).delete(anyString());
+        doThrow(new RuntimeException("Redis timeout"))
+                .when(inventoryCache).put(any(InventoryData.class), anyBoolean());
 
         InventoryResponse response = inventoryService.processSale(request);
 
@@ -294,7 +579,7 @@ class InventoryServiceTest {
         verify(eventRepository, times(1)).save(argThat(event ->
                 "RESTOCK".equals(event.getEventType()) && "SUCCESS".equals(event.getStatus())
         ));
-        verify(redisTemplate, times(1)).delete(CACHE_KEY);
+        verifyCachePut(150, 1);
     }
 
     @Test
@@ -336,7 +621,8 @@ class InventoryServiceTest {
         when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID))
                 .thenReturn(Optional.of(testProduct));
         when(productRepository.save(any(Product.class))).thenReturn(testProduct);
-        doThrow(new RuntimeException("Redis timeout")).when(redisTemplate).delete(anyString());
+        doThrow(new RuntimeException("Redis timeout"))
+                .when(inventoryCache).put(any(InventoryData.class), anyBoolean());
 
         InventoryResponse response = inventoryService.processRestock(request);
 
@@ -349,6 +635,7 @@ class InventoryServiceTest {
     @Test
     @DisplayName("POST /sync - Batch with multiple operations should process all")
     void processBatchSync_multipleOperations_shouldProcessAll() {
+        inventoryProperties.getSync().setBulk(false);
         SyncRequest request = SyncRequest.builder()
                 .storeId(STORE_ID)
                 .operations(Arrays.asList(
@@ -363,7 +650,6 @@ class InventoryServiceTest {
         Product product2 = Product.builder().storeId(STORE_ID).productId("PROD_0002").quantity(100).build();
         Product product3 = Product.builder().storeId(STORE_ID).productId("PROD_0003").quantity(50).build();
 
-        when(eventRepository.existsByEventId(anyString())).thenReturn(false);
         when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, "PROD_0001"))
                 .thenReturn(Optional.of(product1));
         when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, "PROD_0002"))
@@ -382,9 +668,33 @@ class InventoryServiceTest {
         verify(productRepository, times(3)).save(any(Product.class));
     }
 
+    @Test
+    @DisplayName("POST /sync - Sales inside the batch transaction should lock in place, never through a coalescing lane")
+    void processBatchSync_coalescingMode_shouldBypassCoalescer() {
+        inventoryProperties.getSync().setBulk(false);
+        inventoryProperties.getSale().setMode(SaleMode.COALESCING);
+        SyncRequest request = SyncRequest.builder()
+                .storeId(STORE_ID)
+                .operations(List.of(
+                        BatchOperation.builder().productId(PRODUCT_ID).delta(50).type("RESTOCK").build(),
+                        BatchOperation.builder().productId(PRODUCT_ID).delta(-10).type("SALE").build()))
+                .timestamp(LocalDateTime.now())
+                .build();
+        when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+
+        SyncResponse response = inventoryService.processBatchSync(request);
+
+        assertThat(response.getSuccessCount()).isEqualTo(2);
+        assertThat(testProduct.getQuantity()).isEqualTo(140);
+        verify(saleCoalescer, never()).submit(anyString(), any(SellRequest.class), any());
+    }
+
     @Test
     @DisplayName("POST /sync - Batch with partial failures should return errors")
     void processBatchSync_partialFailures_shouldReturnErrors() {
+        inventoryProperties.getSync().setBulk(false);
         SyncRequest request = SyncRequest.builder()
                 .storeId(STORE_ID)
                 .operations(Arrays.asList(
@@ -397,7 +707,6 @@ class InventoryServiceTest {
         Product product1 = testProduct;
         Product product2 = Product.builder().storeId(STORE_ID).productId("PROD_0002").quantity(100).build();
 
-        when(eventRepository.existsByEventId(anyString())).thenReturn(false);
         when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, "PROD_0001"))
                 .thenReturn(Optional.of(product1));
         when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, "PROD_0002"))
@@ -434,6 +743,140 @@ class InventoryServiceTest {
         verify(productRepository, never()).save(any(Product.class));
     }
 
+    @Test
+    @DisplayName("POST /sync - Bulk mode should apply the batch through the set-based engine")
+    void processBatchSync_bulkMode_shouldDelegateToEngine() {
+        List<BatchOperation> operations = Arrays.asList(
+                BatchOperation.builder().productId("PROD_0001").delta(-10).type("SALE").build(),
+                BatchOperation.builder().productId("PROD_0002").delta(-500).type("SALE").build()
+        );
+        SyncRequest request = SyncRequest.builder()
+                .storeId(STORE_ID)
+                .operations(operations)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        when(batchSyncEngine.apply(STORE_ID, operations)).thenReturn(Arrays.asList(
+                InventoryResponse.success("Sale processed successfully", null),
+                InventoryResponse.error("Insufficient stock. Available: 5, Requested: 500")
+        ));
+
+        SyncResponse response = inventoryService.processBatchSync(request);
+
+        assertThat(response.getSuccessCount()).isEqualTo(1);
+        assertThat(response.getFailureCount()).isEqualTo(1);
+        assertThat(response.getErrors()).containsExactly("Insufficient stock. Available: 5, Requested: 500");
+        verify(productRepository, never()).findByStoreIdAndProductIdWithLock(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("POST /sync - Lines deferred by the bulk engine should go through the per-operation path")
+    void processBatchSync_deferredLine_shouldFallBackToSingleOperation() {
+        List<BatchOperation> operations = Arrays.asList(
+                BatchOperation.builder().productId("PROD_0001").delta(-10).type("SALE").build(),
+                BatchOperation.builder().productId("PROD_0002").delta(50).type("RESTOCK").build()
+        );
+        SyncRequest request = SyncRequest.builder()
+                .storeId(STORE_ID)
+                .operations(operations)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        when(batchSyncEngine.apply(STORE_ID, operations)).thenReturn(Arrays.asList(
+                null,
+                InventoryResponse.success("Restock processed successfully", null)
+        ));
+        when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+
+        SyncResponse response = inventoryService.processBatchSync(request);
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getSuccessCount()).isEqualTo(2);
+        verify(productRepository, times(1)).findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID);
+    }
+
+    @Test
+    @DisplayName("POST /sync - Ledger-owned stores should not use the bulk engine")
+    void processBatchSync_ledgerOwnedStore_shouldSkipBulkEngine() {
+        SyncRequest request = SyncRequest.builder()
+                .storeId(STORE_ID)
+                .operations(List.of(BatchOperation.builder().productId(PRODUCT_ID).delta(-1).type("SALE").build()))
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        when(ledgerEngine.owns(STORE_ID)).thenReturn(true);
+        when(ledgerEngine.sell(eq(CACHE_KEY), any(SellRequest.class)))
+                .thenReturn(InventoryResponse.success("Sale processed successfully", null));
+
+        SyncResponse response = inventoryService.processBatchSync(request);
+
+        assertThat(response.getSuccessCount()).isEqualTo(1);
+        verifyNoInteractions(batchSyncEngine);
+    }
+
+    @Test
+    @DisplayName("POST /sync - Partitioned mode should merge the counts and errors of every chunk")
+    void processBatchSync_partitioned_shouldMergeChunkResults() {
+        BatchOperation first = BatchOperation.builder().productId("PROD_0001").delta(-10).type("SALE").build();
+        BatchOperation second = BatchOperation.builder().productId("PROD_0002").delta(-500).type("SALE").build();
+        SyncRequest request = SyncRequest.builder()
+                .storeId(STORE_ID)
+                .operations(Arrays.asList(first, second))
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        when(partitionedBatchExecutor.handles(request.getOperations())).thenReturn(true);
+        when(partitionedBatchExecutor.execute(eq(request.getOperations()), any())).thenAnswer(inv -> {
+            Function<List<BatchOperation>, SyncResponse> work = inv.getArgument(1);
+            return Arrays.asList(work.apply(List.of(first)), work.apply(List.of(second)));
+        });
+        when(batchSyncEngine.apply(STORE_ID, List.of(first)))
+                .thenReturn(List.of(InventoryResponse.success("Sale processed successfully", null)));
+        when(batchSyncEngine.apply(STORE_ID, List.of(second)))
+                .thenReturn(List.of(InventoryResponse.error("Insufficient stock. Available: 5, Requested: 500")));
+
+        SyncResponse response = inventoryService.processBatchSync(request);
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getSuccessCount()).isEqualTo(1);
+        assertThat(response.getFailureCount()).isEqualTo(1);
+        assertThat(response.getErrors()).containsExactly("Insufficient stock. Available: 5, Requested: 500");
+        assertThat(response.getMessage()).isEqualTo("Batch completed - Success: 1, Failed: 1");
+    }
+
+    @Test
+    @DisplayName("POST /sync - A bulk apply that throws should roll back to its savepoint and retry per operation")
+    void processBatchSync_bulkApplyFails_shouldFallBackToSingleOperations() {
+        SyncRequest request = SyncRequest.builder()
+                .storeId(STORE_ID)
+                .operations(List.of(BatchOperation.builder().productId(PRODUCT_ID).delta(-10).type("SALE").build()))
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        when(batchSyncEngine.apply(eq(STORE_ID), anyList()))
+                .thenThrow(new IllegalStateException("Escrow slots exhausted for PROD_0001"));
+        when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+
+        SyncResponse response;
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            response = inventoryService.processBatchSync(request);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getSuccessCount()).isEqualTo(1);
+        verify(transactionManager, times(1)).rollback(any());
+        verify(entityManager, times(1)).clear();
+        verify(entityManager, times(1)).flush();
+        assertThat(testProduct.getQuantity()).isEqualTo(90);
+    }
+
     @Test
     @DisplayName("Pessimistic Lock - Should use findByStoreIdAndProductIdWithLock")
     void processSale_shouldUsePessimisticLock() {
@@ -443,7 +886,6 @@ class InventoryServiceTest {
                 .quantity(10)
                 .build();
 
-        when(eventRepository.existsByEventId(anyString())).thenReturn(false);
         when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID))
                 .thenReturn(Optional.of(testProduct));
         when(productRepository.save(any(Product.class))).thenReturn(testProduct);
@@ -476,4 +918,408 @@ class InventoryServiceTest {
         verify(productRepository, never())
                 .findByStoreIdAndProductId(anyString(), anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Conditional sale - Guarded UPDATE should decrement without taking a row lock")
+    void processSale_conditionalMode_shouldDecrementWithoutLock() {
+        inventoryProperties.getSale().setMode(SaleMode.CONDITIONAL);
+        SellRequest request = SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(30)
+                .build();
+
+        StockChange change = mock(StockChange.class);
+        when(change.getQuantityBefore()).thenReturn(100);
+        when(change.getQuantityAfter()).thenReturn(70);
+        when(change.getReservedQuantity()).thenReturn(5);
+        when(change.getVersion()).thenReturn(8L);
+        when(productRepository.decrementIfAvailable(STORE_ID, PRODUCT_ID, 30))
+                .thenReturn(Optional.of(change));
+
+        InventoryResponse response = inventoryService.processSale(request);
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getMessage()).isEqualTo("Sale processed successfully");
+        assertThat(response.getData().getQuantity()).isEqualTo(70);
+        assertThat(response.getData().getQuantityBefore()).isEqualTo(100);
+        assertThat(response.getData().getEventId()).isNotNull();
+
+        verify(productRepository, never()).findByStoreIdAndProductIdWithLock(anyString(), anyString());
+        verify(productRepository, never()).save(any(Product.class));
+        verify(eventRepository, times(1)).save(argThat(event ->
+                "SUCCESS".equals(event.getStatus())
+                        && event.getQuantityBefore() == 100
+                        && event.getQuantityAfter() == 70
+        ));
+        verify(inventoryCache, times(1)).put(argThat((InventoryData data) ->
+                data.getAvailableQuantity() == 65 && data.getEventId() == null && data.getVersion() == 8L), eq(true));
+    }
+
+    @Test
+    @DisplayName("Conditional sale - A failed write-through should drop the key with the committed version as floor")
+    void processSale_conditionalModeCacheWriteFail_shouldEvictWithFloor() {
+        inventoryProperties.getSale().setMode(SaleMode.CONDITIONAL);
+        SellRequest request = SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(30)
+                .build();
+
+        StockChange change = mock(StockChange.class);
+        when(change.getQuantityBefore()).thenReturn(100);
+        when(change.getQuantityAfter()).thenReturn(70);
+        when(change.getVersion()).thenReturn(8L);
+        when(productRepository.decrementIfAvailable(STORE_ID, PRODUCT_ID, 30))
+                .thenReturn(Optional.of(change));
+        doThrow(new RuntimeException("Redis timeout"))
+                .when(inventoryCache).put(any(InventoryData.class), eq(true));
+
+        InventoryResponse response = inventoryService.processSale(request);
+
+        assertThat(response.isSuccess()).isTrue();
+        verify(inventoryCache, times(1)).evict(STORE_ID, PRODUCT_ID, 8L);
+    }
+
+    @Test
+    @DisplayName("Conditional sale - Rejected UPDATE should report available stock")
+    void processSale_conditionalModeInsufficientStock_shouldReturnError() {
+        inventoryProperties.getSale().setMode(SaleMode.CONDITIONAL);
+        SellRequest request = SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(150)
+                .build();
+
+        when(productRepository.decrementIfAvailable(STORE_ID, PRODUCT_ID, 150))
+                .thenReturn(Optional.empty());
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+
+        InventoryResponse response = inventoryService.processSale(request);
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).contains("Available: 100, Requested: 150");
+
+        verify(eventRepository, times(1)).save(argThat(event -> "FAILED".equals(event.getStatus())));
+        verify(inventoryCache, never()).evict(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Conditional sale - Unknown product should report zero stock")
+    void processSale_conditionalModeUnknownProduct_shouldReturnError() {
+        inventoryProperties.getSale().setMode(SaleMode.CONDITIONAL);
+        SellRequest request = SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId("PROD_NEW")
+                .quantity(10)
+                .build();
+
+        when(productRepository.decrementIfAvailable(STORE_ID, "PROD_NEW", 10))
+                .thenReturn(Optional.empty());
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, "PROD_NEW"))
+                .thenReturn(Optional.empty());
+
+        InventoryResponse response = inventoryService.processSale(request);
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).contains("Available: 0, Requested: 10");
+    }
+
+    @Test
+    @DisplayName("Stock gate - Sales in REDIS mode should be decided by the gate without touching the database")
+    void processSale_redisGateActive_shouldDelegateToGate() {
+        SellRequest request = SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(3)
+                .idempotencyKey("order-9")
+                .build();
+        InventoryResponse accepted = InventoryResponse.success("Sale processed successfully", null);
+
+        when(idempotencyService.begin("order-9")).thenReturn(Optional.empty());
+        when(redisStockGate.isActive()).thenReturn(true);
+        when(redisStockGate.sell(request, "order-9")).thenReturn(accepted);
+
+        InventoryResponse response = inventoryService.processSale(request);
+
+        assertThat(response).isSameAs(accepted);
+        verify(idempotencyService, times(1)).complete("order-9", accepted);
+        verifyNoInteractions(productRepository, eventRepository);
+    }
+
+    @Test
+    @DisplayName("Escrow - Sales of a split hot SKU should take from a slot and log summed before/after")
+    void processSale_escrowSplitSku_shouldTakeFromSlot() {
+        SellRequest request = SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(3)
+                .build();
+
+        when(hotSkuEscrow.isSplit(STORE_ID, PRODUCT_ID)).thenReturn(true);
+        when(hotSkuEscrow.take(STORE_ID, PRODUCT_ID, 3)).thenReturn(Optional.of(97));
+
+        InventoryResponse response = inventoryService.processSale(request);
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData().getQuantity()).isEqualTo(97);
+        assertThat(response.getData().getQuantityBefore()).isEqualTo(100);
+
+        verify(hotSkuEscrow, times(1)).recordSale(STORE_ID, PRODUCT_ID);
+        verify(productRepository, never()).findByStoreIdAndProductIdWithLock(anyString(), anyString());
+        verify(eventRepository, times(1)).save(argThat(event ->
+                "SUCCESS".equals(event.getStatus())
+                        && event.getQuantityBefore() == 100
+                        && event.getQuantityAfter() == 97
+        ));
+        verify(inventoryCache, times(1)).refreshAfterCommit(List.of(new InventoryKey(STORE_ID, PRODUCT_ID)));
+    }
+
+    @Test
+    @DisplayName("Escrow - Locked read of a SKU split by another instance should be routed to its slots")
+    void processSale_lockedRowAlreadySplit_shouldRouteToEscrow() {
+        SellRequest request = SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(3)
+                .build();
+        testProduct.setQuantity(0);
+        testProduct.setEscrowSlots(4);
+
+        when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+        when(hotSkuEscrow.take(STORE_ID, PRODUCT_ID, 3)).thenReturn(Optional.empty());
+        when(hotSkuEscrow.availableQuantity(STORE_ID, PRODUCT_ID)).thenReturn(2);
+
+        InventoryResponse response = inventoryService.processSale(request);
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).contains("Available: 2, Requested: 3");
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    @DisplayName("Escrow - GET of a split SKU should report base plus escrowed quantity")
+    void getInventory_escrowSplitSku_shouldReportSummedQuantity() {
+        testProduct.setQuantity(10);
+        testProduct.setReservedQuantity(10);
+        testProduct.setEscrowSlots(4);
+
+        when(valueOperations.get(CACHE_KEY)).thenReturn(null);
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+        when(hotSkuEscrow.escrowedQuantity(STORE_ID, PRODUCT_ID)).thenReturn(90);
+
+        InventoryResponse response = inventoryService.getInventory(STORE_ID, PRODUCT_ID);
+
+        assertThat(response.getData().getQuantity()).isEqualTo(100);
+        assertThat(response.getData().getAvailableQuantity()).isEqualTo(90);
+        assertThat(response.getData().getReservedQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Optimistic sale - Should read without a lock and flush the versioned write")
+    void processSale_optimisticMode_shouldUseVersionedWrite() {
+        inventoryProperties.getSale().setMode(SaleMode.OPTIMISTIC);
+        SellRequest request = SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(10)
+                .build();
+
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(testProduct);
+
+        InventoryResponse response = inventoryService.processSale(request);
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData().getQuantity()).isEqualTo(90);
+
+        verify(productRepository, never()).findByStoreIdAndProductIdWithLock(anyString(), anyString());
+        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository, times(1)).saveAndFlush(testProduct);
+        verifyCachePut(90, 1);
+    }
+
+    @Test
+    @DisplayName("Optimistic sale - Version conflict should propagate for retry without logging a FAILED event")
+    void processSale_optimisticModeVersionConflict_shouldPropagate() {
+        inventoryProperties.getSale().setMode(SaleMode.OPTIMISTIC);
+        SellRequest request = SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(10)
+                .build();
+
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAndFlush(any(Product.class)))
+                .thenThrow(new OptimisticLockingFailureException("stale version"));
+
+        assertThatThrownBy(() -> inventoryService.processSale(request))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        verify(eventRepository, never()).save(any(InventoryEvent.class));
+        verify(inventoryCache, never()).evict(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Optimistic restock - Should read without a lock and flush the versioned write")
+    void processRestock_optimisticMode_shouldUseVersionedWrite() {
+        inventoryProperties.getRestock().setMode(RestockMode.OPTIMISTIC);
+        RestockRequest request = RestockRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(50)
+                .build();
+
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(testProduct);
+
+        InventoryResponse response = inventoryService.processRestock(request);
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData().getQuantity()).isEqualTo(150);
+
+        verify(productRepository, never()).findByStoreIdAndProductIdWithLock(anyString(), anyString());
+        verify(productRepository, times(1)).saveAndFlush(testProduct);
+    }
+
+    @Test
+    @DisplayName("Coalesced sale - Concurrent sales should be decided first come, first served in one write")
+    void processSale_coalescingMode_shouldApplyBatchAsSingleWrite() throws Exception {
+        inventoryProperties.getSale().setMode(SaleMode.COALESCING);
+        inventoryProperties.getCoalescing().setWindow(Duration.ofMillis(200));
+
+        when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        List<Future<InventoryResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            SellRequest request = SellRequest.builder()
+                    .storeId(STORE_ID)
+                    .productId(PRODUCT_ID)
+                    .quantity(40)
+                    .build();
+            futures.add(callers.submit(() -> inventoryService.processSale(request)));
+        }
+
+        List<InventoryResponse> responses = new ArrayList<>();
+        for (Future<InventoryResponse> future : futures) {
+            responses.add(future.get(5, TimeUnit.SECONDS));
+        }
+        callers.shutdown();
+
+        assertThat(responses).filteredOn(InventoryResponse::isSuccess).hasSize(2);
+        assertThat(responses).filteredOn(response -> !response.isSuccess())
+                .singleElement()
+                .satisfies(response -> assertThat(response.getMessage())
+                        .contains("Available: 20, Requested: 40"));
+        assertThat(testProduct.getQuantity()).isEqualTo(20);
+
+        verify(productRepository, times(1)).findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID);
+        verify(productRepository, times(1)).save(testProduct);
+        verify(eventRepository, times(1)).saveAll(argThat((List<InventoryEvent> events) -> events.size() == 3));
+        verify(eventRepository, never()).existsByEventId(anyString());
+        verifyCachePut(20, 1);
+    }
+
+    @Test
+    @DisplayName("Ledger - Owned stores should be served by the ledger engine without touching the database")
+    void processSale_ledgerOwnedStore_shouldDelegateToLedger() {
+        SellRequest request = SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(10)
+                .build();
+        InventoryResponse ledgerResponse = InventoryResponse.success("Sale processed successfully", null);
+
+        when(ledgerEngine.owns(STORE_ID)).thenReturn(true);
+        when(ledgerEngine.sell(CACHE_KEY, request)).thenReturn(ledgerResponse);
+
+        InventoryResponse response = inventoryService.processSale(request);
+
+        assertThat(response).isSameAs(ledgerResponse);
+        verifyNoInteractions(productRepository, eventRepository);
+    }
+
+    @Test
+    @DisplayName("Ledger - Restocks for owned stores should be served by the ledger engine")
+    void processRestock_ledgerOwnedStore_shouldDelegateToLedger() {
+        RestockRequest request = RestockRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(10)
+                .build();
+        InventoryResponse ledgerResponse = InventoryResponse.success("Restock processed successfully", null);
+
+        when(ledgerEngine.owns(STORE_ID)).thenReturn(true);
+        when(ledgerEngine.restock(CACHE_KEY, request)).thenReturn(ledgerResponse);
+
+        InventoryResponse response = inventoryService.processRestock(request);
+
+        assertThat(response).isSameAs(ledgerResponse);
+        verifyNoInteractions(productRepository, eventRepository);
+    }
+
+    @Test
+    @DisplayName("POST /sell - Reserved stock should not be available for sale")
+    void processSale_reservedStock_shouldOnlySellAvailableQuantity() {
+        testProduct.setReservedQuantity(80);
+        SellRequest request = SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(30)
+                .build();
+
+        when(productRepository.findByStoreIdAndProductIdWithLock(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+
+        InventoryResponse response = inventoryService.processSale(request);
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).contains("Available: 20, Requested: 30");
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    @DisplayName("GET - Response should report reserved and available quantities")
+    void getInventory_withReservations_shouldReportAvailableQuantity() {
+        testProduct.setReservedQuantity(25);
+        when(valueOperations.get(CACHE_KEY)).thenReturn(null);
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(testProduct));
+
+        InventoryResponse response = inventoryService.getInventory(STORE_ID, PRODUCT_ID);
+
+        assertThat(response.getData().getQuantity()).isEqualTo(100);
+        assertThat(response.getData().getReservedQuantity()).isEqualTo(25);
+        assertThat(response.getData().getAvailableQuantity()).isEqualTo(75);
+    }
+
+    private InventoryKey inventoryKey(String productId) {
+        return InventoryKey.builder().storeId(STORE_ID).productId(productId).build();
+    }
+
+    private String cacheKey(String productId) {
+        return "inventory:" + STORE_ID + ":" + productId;
+    }
+
+    private Product multiGetProduct(String productId, int quantity) {
+        return Product.builder().storeId(STORE_ID).productId(productId).quantity(quantity).build();
+    }
+
+    private void stubCachePut(boolean stored) {
+        when(inventoryCache.put(any(InventoryData.class), eq(false))).thenReturn(stored);
+    }
+
+    // committed = 1 for a post-commit write-through, 0 for a fill from a read
+    private void verifyCachePut(int quantity, int committed) {
+        verify(inventoryCache, times(1)).put(argThat((InventoryData data) -> data.getQuantity() == quantity),
+                eq(committed == 1));
+    }
+}
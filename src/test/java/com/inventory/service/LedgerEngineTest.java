@@ -0,0 +1,186 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryKey;
+import com.inventory.api.InventoryDTOs.InventoryResponse;
+import com.inventory.api.InventoryDTOs.RestockRequest;
+import com.inventory.api.InventoryDTOs.SellRequest;
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.Product;
+import com.inventory.repository.InventoryEventRepository;
+import com.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LedgerEngine Tests")
+class LedgerEngineTest {
+
+    private static final String STORE_ID = "STORE_001";
+    private static final String PRODUCT_ID = "PROD_0001";
+    private static final String KEY = "inventory:STORE_001:PROD_0001";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private InventoryEventRepository eventRepository;
+
+    @Mock
+    private InventoryCache inventoryCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryProperties properties;
+    private LedgerEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InventoryProperties();
+        properties.getLedger().setEnabled(true);
+        properties.getLedger().setWorkers(2);
+        properties.getLedger().setFlushInterval(Duration.ofMillis(10));
+        engine = new LedgerEngine(productRepository, eventRepository, inventoryCache,
+                transactionManager, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    @Test
+    @DisplayName("Disabled engine should not own any store")
+    void owns_disabled_shouldReturnFalse() {
+        properties.getLedger().setEnabled(false);
+        engine.start();
+
+        assertThat(engine.owns(STORE_ID)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Engine should only own the configured store partitions")
+    void owns_ownedStores_shouldFilterStores() {
+        properties.getLedger().setOwnedStores(Set.of(STORE_ID));
+        engine.start();
+
+        assertThat(engine.owns(STORE_ID)).isTrue();
+        assertThat(engine.owns("STORE_002")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Sales should be serialized in memory and rejected once stock runs out")
+    void sell_sequentialSales_shouldDecrementInMemory() {
+        // All three events in one flush, so the row gets the net delta in one statement
+        properties.getLedger().setFlushBatchSize(3);
+        properties.getLedger().setFlushInterval(Duration.ofSeconds(30));
+        engine.start();
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(product(10)));
+        when(productRepository.addQuantity(eq(STORE_ID), eq(PRODUCT_ID), anyInt(), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        InventoryResponse first = engine.sell(KEY, sale(4));
+        InventoryResponse second = engine.sell(KEY, sale(4));
+        InventoryResponse third = engine.sell(KEY, sale(4));
+
+        assertThat(first.isSuccess()).isTrue();
+        assertThat(first.getData().getQuantityBefore()).isEqualTo(10);
+        assertThat(first.getData().getQuantity()).isEqualTo(6);
+        assertThat(second.getData().getQuantity()).isEqualTo(2);
+        assertThat(third.isSuccess()).isFalse();
+        assertThat(third.getMessage()).isEqualTo("Insufficient stock. Available: 2, Requested: 4");
+
+        verify(productRepository, times(1)).findByStoreIdAndProductId(STORE_ID, PRODUCT_ID);
+        verify(productRepository, timeout(2000))
+                .addQuantity(eq(STORE_ID), eq(PRODUCT_ID), eq(-8), any(LocalDateTime.class));
+        verify(inventoryCache, timeout(2000).atLeastOnce())
+                .refreshAfterCommit(List.of(new InventoryKey(STORE_ID, PRODUCT_ID)));
+    }
+
+    @Test
+    @DisplayName("Restock of an unknown SKU should insert the product when it is persisted")
+    void restock_unknownProduct_shouldInsertOnFlush() {
+        engine.start();
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID)).thenReturn(Optional.empty());
+
+        InventoryResponse response = engine.restock(KEY, RestockRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(25)
+                .build());
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getMessage()).isEqualTo("Restock processed successfully");
+        assertThat(response.getData().getQuantity()).isEqualTo(25);
+
+        verify(productRepository, timeout(2000)).save(argThat(product -> product.getQuantity() == 25));
+        verify(eventRepository, timeout(2000).atLeastOnce()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("A SKU that keeps failing to persist should be dropped alone and reverted in memory")
+    void persist_poisonSku_shouldBeDroppedAndReverted() {
+        properties.getLedger().setWorkers(1);
+        properties.getLedger().setFlushBatchSize(2);
+        properties.getLedger().setFlushInterval(Duration.ofSeconds(30));
+        properties.getLedger().setRetryDelay(Duration.ofMillis(1));
+        properties.getLedger().setMaxPersistAttempts(2);
+        engine.start();
+        when(productRepository.findByStoreIdAndProductId(eq(STORE_ID), anyString()))
+                .thenAnswer(inv -> Optional.of(product(10)));
+        when(productRepository.addQuantity(eq(STORE_ID), eq("PROD_BAD"), anyInt(), any(LocalDateTime.class)))
+                .thenThrow(new IllegalStateException("check constraint violated"));
+        when(productRepository.addQuantity(eq(STORE_ID), eq(PRODUCT_ID), anyInt(), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        engine.sell("inventory:STORE_001:PROD_BAD", sale("PROD_BAD", 4));
+        engine.sell(KEY, sale(PRODUCT_ID, 3));
+
+        verify(inventoryCache, timeout(2000))
+                .refreshAfterCommit(List.of(new InventoryKey(STORE_ID, PRODUCT_ID)));
+        verify(productRepository, times(3))
+                .addQuantity(eq(STORE_ID), eq("PROD_BAD"), eq(-4), any(LocalDateTime.class));
+        verify(inventoryCache, never()).refreshAfterCommit(List.of(new InventoryKey(STORE_ID, "PROD_BAD")));
+
+        // The dropped sale is given back, so the ledger agrees with the row again
+        InventoryResponse next = engine.sell("inventory:STORE_001:PROD_BAD", sale("PROD_BAD", 1));
+        assertThat(next.getData().getQuantityBefore()).isEqualTo(10);
+    }
+
+    private Product product(int quantity) {
+        return Product.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(quantity)
+                .build();
+    }
+
+    private SellRequest sale(int quantity) {
+        return sale(PRODUCT_ID, quantity);
+    }
+
+    private SellRequest sale(String productId, int quantity) {
+        return SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId(productId)
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.inventory.service;
+
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.InventoryEvent;
+import com.inventory.repository.InventoryEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    @Mock
+    private InventoryEventRepository eventRepository;
+
+    @Mock
+    private OutboxSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InventoryProperties();
+        properties.getOutbox().setBatchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(eventRepository, sink, transactionManager, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Relay - Claimed batch should be published and marked processed in bulk")
+    void relayOnce_pendingEvents_shouldPublishAndMark() {
+        List<InventoryEvent> claimed = List.of(event(1L), event(2L));
+        when(eventRepository.claimUnpublished(2)).thenReturn(claimed);
+
+        int relayed = relay.relayOnce();
+
+        assertThat(relayed).isEqualTo(2);
+        verify(sink, times(1)).publish(claimed);
+        verify(eventRepository, times(1)).markProcessed(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        assertThat(meterRegistry.counter("inventory.outbox.published").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Relay - Empty outbox should not call the sink")
+    void relayOnce_noEvents_shouldDoNothing() {
+        when(eventRepository.claimUnpublished(2)).thenReturn(new ArrayList<>());
+
+        assertThat(relay.relayOnce()).isZero();
+        verifyNoInteractions(sink);
+        verify(eventRepository, never()).markProcessed(anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Relay - Sink failure should leave the batch unmarked for the next claim")
+    void relayOnce_sinkFails_shouldNotMarkProcessed() {
+        when(eventRepository.claimUnpublished(2)).thenReturn(List.of(event(1L)));
+        doThrow(new IllegalStateException("sink down")).when(sink).publish(anyList());
+
+        assertThat(relay.relayOnce()).isZero();
+        verify(eventRepository, never()).markProcessed(anyCollection(), any());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Drain - Full batches should be claimed back to back until a partial batch")
+    void drain_fullBatches_shouldKeepClaiming() {
+        when(eventRepository.claimUnpublished(2))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L), event(4L)))
+                .thenReturn(List.of(event(5L)));
+
+        relay.drain();
+
+        verify(sink, times(3)).publish(anyList());
+        assertThat(meterRegistry.counter("inventory.outbox.published").count()).isEqualTo(5.0);
+    }
+
+    private InventoryEvent event(Long id) {
+        return InventoryEvent.builder()
+                .id(id)
+                .eventId("evt-" + id)
+                .eventType("SALE")
+                .storeId("STORE_001")
+                .productId("PROD_0001")
+                .quantityDelta(-1)
+                .timestamp(LocalDateTime.now())
+                .status("SUCCESS")
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.BatchOperation;
+import com.inventory.api.InventoryDTOs.SyncResponse;
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.Product;
+import com.inventory.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Chunks must really commit, so the test itself runs without the usual rolled-back test transaction
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:testdb;MODE=PostgreSQL",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@DisplayName("PartitionedBatchExecutor JPA Tests")
+class PartitionedBatchExecutorJpaTest {
+
+    private static final String STORE_ID = "STORE_001";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Execute - A database error on one line should leave the other lines of its chunk committed")
+    void execute_databaseErrorOnOneLine_shouldCommitTheOthers() {
+        InventoryProperties properties = new InventoryProperties();
+        properties.getSync().setParallel(false);
+        properties.getSync().setChunkSize(3);
+        PartitionedBatchExecutor executor = new PartitionedBatchExecutor(transactionManager, properties);
+        executor.start();
+
+        // product_id is VARCHAR(50): the insert only fails in the database, at flush
+        String tooLong = "P".repeat(60);
+        List<SyncResponse> results = executor.execute(
+                List.of(line("PROD_0001"), line(tooLong), line("PROD_0003")), this::insertEach);
+
+        assertThat(results.stream().mapToInt(SyncResponse::getSuccessCount).sum()).isEqualTo(2);
+        assertThat(results.stream().mapToInt(SyncResponse::getFailureCount).sum()).isEqualTo(1);
+        assertThat(productRepository.findByStoreIdAndProductId(STORE_ID, "PROD_0001")).isPresent();
+        assertThat(productRepository.findByStoreIdAndProductId(STORE_ID, "PROD_0003")).isPresent();
+        assertThat(productRepository.count()).isEqualTo(2);
+    }
+
+    // Same shape as InventoryService's batch work: every line in its own savepoint, flushed before release
+    private SyncResponse insertEach(List<BatchOperation> chunk) {
+        TransactionTemplate savepoint = new TransactionTemplate(transactionManager);
+        savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        int successCount = 0;
+        List<String> errors = new ArrayList<>();
+
+        for (BatchOperation op : chunk) {
+            try {
+                savepoint.executeWithoutResult(status -> {
+                    productRepository.save(Product.builder()
+                            .storeId(STORE_ID)
+                            .productId(op.getProductId())
+                            .quantity(op.getDelta())
+                            .lastUpdated(LocalDateTime.now())
+                            .build());
+                    entityManager.flush();
+                });
+                successCount++;
+            } catch (RuntimeException e) {
+                entityManager.clear();
+                errors.add(String.format("Product %s: %s", op.getProductId(), e.getMessage()));
+            }
+        }
+
+        return SyncResponse.builder()
+                .success(errors.isEmpty())
+                .successCount(successCount)
+                .failureCount(errors.size())
+                .errors(errors)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private BatchOperation line(String productId) {
+        return BatchOperation.builder()
+                .productId(productId)
+                .delta(10)
+                .type("RESTOCK")
+                .build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.BatchOperation;
+import com.inventory.api.InventoryDTOs.SyncResponse;
+import com.inventory.config.InventoryProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PartitionedBatchExecutor Tests")
+class PartitionedBatchExecutorTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryProperties properties;
+    private PartitionedBatchExecutor executor;
+    private final List<List<BatchOperation>> chunks = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        properties = new InventoryProperties();
+        properties.getSync().setParallel(true);
+        properties.getSync().setWorkers(3);
+        properties.getSync().setChunkSize(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Handles - Chunk size 0 should keep every batch in the caller's transaction")
+    void handles_chunkingDisabled_shouldReturnFalse() {
+        properties.getSync().setChunkSize(0);
+        start();
+
+        assertThat(executor.handles(operations(10))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Execute - Parallel mode off should commit chunk by chunk, in order, on the caller's thread")
+    void execute_parallelDisabled_shouldCommitChunksInline() {
+        properties.getSync().setParallel(false);
+        start();
+        List<BatchOperation> operations = operations(5);
+        List<String> threads = new ArrayList<>();
+
+        List<SyncResponse> results = executor.execute(operations, chunk -> {
+            threads.add(Thread.currentThread().getName());
+            return record(chunk);
+        });
+
+        assertThat(results).hasSize(3);
+        assertThat(chunks).containsExactly(operations.subList(0, 2), operations.subList(2, 4), operations.subList(4, 5));
+        assertThat(threads).containsOnly(Thread.currentThread().getName());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Handles - Batches that fit in one chunk should stay on the caller")
+    void handles_singleChunk_shouldReturnFalse() {
+        start();
+
+        assertThat(executor.handles(operations(2))).isFalse();
+        assertThat(executor.handles(operations(3))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Execute - Lines of one product should stay in order and every chunk should commit on its own")
+    void execute_manyProducts_shouldKeepProductOrderPerChunk() {
+        start();
+        List<BatchOperation> operations = operations(40);
+
+        List<SyncResponse> results = executor.execute(operations, this::record);
+
+        assertThat(results.stream().mapToInt(SyncResponse::getSuccessCount).sum()).isEqualTo(40);
+        assertThat(chunks).allMatch(chunk -> chunk.size() <= 2);
+        verify(transactionManager, times(chunks.size())).commit(any());
+
+        for (int product = 0; product < 5; product++) {
+            String productId = String.format("PROD_%04d", product);
+            List<Integer> sequence = new ArrayList<>();
+            synchronized (chunks) {
+                for (List<BatchOperation> chunk : chunks) {
+                    for (BatchOperation op : chunk) {
+                        if (productId.equals(op.getProductId())) {
+                            sequence.add(op.getDelta());
+                        }
+                    }
+                }
+            }
+            assertThat(sequence).hasSize(8).isSorted();
+        }
+    }
+
+    @Test
+    @DisplayName("Execute - A failing chunk should be rolled back and its lines retried one by one")
+    void execute_chunkFails_shouldRetryLinesOneByOne() {
+        properties.getSync().setWorkers(1);
+        start();
+        List<BatchOperation> operations = operations(10);
+
+        List<SyncResponse> results = executor.execute(operations, chunk -> {
+            if (chunk.contains(operations.get(0))) {
+                throw new IllegalStateException("deadlock detected");
+            }
+            return record(chunk);
+        });
+
+        assertThat(results.stream().mapToInt(SyncResponse::getFailureCount).sum()).isEqualTo(1);
+        assertThat(results.stream().mapToInt(SyncResponse::getSuccessCount).sum()).isEqualTo(9);
+        assertThat(results.stream().flatMap(result -> result.getErrors().stream()))
+                .containsExactly("Product PROD_0000: deadlock detected");
+        assertThat(chunks).contains(List.of(operations.get(1)));
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Execute - A failed partition should be reported as errors while the others stay committed")
+    void execute_partitionFails_shouldReportItsLinesAsErrors() {
+        start();
+        List<BatchOperation> operations = operations(40);
+
+        // An Error is not retried line by line, so it escapes the partition's worker
+        List<SyncResponse> results = executor.execute(operations, chunk -> {
+            if (chunk.stream().anyMatch(op -> "PROD_0000".equals(op.getProductId()))) {
+                throw new LinkageError("driver class missing");
+            }
+            return record(chunk);
+        });
+
+        int failed = results.stream().mapToInt(SyncResponse::getFailureCount).sum();
+        int committed = results.stream().mapToInt(SyncResponse::getSuccessCount).sum();
+        assertThat(failed).isGreaterThanOrEqualTo(8);
+        assertThat(committed + failed).isEqualTo(40);
+        assertThat(chunks.stream().mapToInt(List::size).sum()).isEqualTo(committed);
+        assertThat(results.stream().flatMap(result -> result.getErrors().stream()))
+                .contains("Product PROD_0000: driver class missing");
+    }
+
+    private void start() {
+        executor = new PartitionedBatchExecutor(transactionManager, properties);
+        executor.start();
+    }
+
+    private SyncResponse record(List<BatchOperation> chunk) {
+        chunks.add(new ArrayList<>(chunk));
+        return SyncResponse.builder()
+                .success(true)
+                .successCount(chunk.size())
+                .failureCount(0)
+                .errors(new ArrayList<>())
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    // Five products, interleaved; the delta is the line's position so order can be checked per product
+    private List<BatchOperation> operations(int count) {
+        List<BatchOperation> operations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            operations.add(BatchOperation.builder()
+                    .productId(String.format("PROD_%04d", i % 5))
+                    .delta(i)
+                    .type("RESTOCK")
+                    .build());
+        }
+        return operations;
+    }
+}
@@ -0,0 +1,200 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryData;
+import com.inventory.api.InventoryDTOs.InventoryResponse;
+import com.inventory.config.InventoryProperties;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveInventoryReader Tests")
+class ReactiveInventoryReaderTest {
+
+    private static final String CACHE_KEY = "inventory:STORE_001:PROD_0001";
+
+    @Mock
+    private ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private DatabaseClient replicaDatabaseClient;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+
+    @Mock
+    private RowsFetchSpec<Tuple2<InventoryData, Boolean>> fetchSpec;
+
+    @Mock
+    private InventoryNearCache nearCache;
+
+    @Spy
+    private InventoryProperties inventoryProperties = new InventoryProperties();
+
+    @InjectMocks
+    private ReactiveInventoryReader reader;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(reactiveRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("L1 hit - Should answer from memory without Redis or the replica")
+    void getInventory_nearCacheHit_shouldSkipRedis() {
+        InventoryData cached = InventoryData.builder().storeId("STORE_001").productId("PROD_0001").quantity(3).build();
+        when(nearCache.get(CACHE_KEY)).thenReturn(cached);
+
+        InventoryResponse response = reader.getInventory("STORE_001", "PROD_0001").block();
+
+        assertThat(response.getData().getCached()).isTrue();
+        verifyNoInteractions(valueOperations, replicaDatabaseClient);
+    }
+
+    @Test
+    @DisplayName("Cache hit - Should answer from Redis without touching the replica")
+    void getInventory_cacheHit_shouldReturnCachedData() {
+        InventoryData cached = InventoryData.builder().storeId("STORE_001").productId("PROD_0001").quantity(7).build();
+        when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.just(cached));
+
+        InventoryResponse response = reader.getInventory("STORE_001", "PROD_0001").block();
+
+        assertThat(response.getMessage()).isEqualTo("Retrieved from cache");
+        assertThat(response.getData().getCached()).isTrue();
+        assertThat(response.getData().getQuantity()).isEqualTo(7);
+        verifyNoInteractions(replicaDatabaseClient);
+    }
+
+    @Test
+    @DisplayName("Cache miss - Should read the replica and populate the cache, checked against the version floor")
+    void getInventory_cacheMiss_shouldQueryReplicaAndCache() {
+        when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.empty());
+        stubCachePut(Flux.just(1L));
+        stubReplica(row(40, 5, 0L));
+
+        InventoryResponse response = reader.getInventory("STORE_001", "PROD_0001").block();
+
+        assertThat(response.getMessage()).isEqualTo("Retrieved from database");
+        assertThat(response.getData().getQuantity()).isEqualTo(40);
+        assertThat(response.getData().getReservedQuantity()).isEqualTo(5);
+        assertThat(response.getData().getAvailableQuantity()).isEqualTo(35);
+        assertThat(response.getData().getCached()).isFalse();
+        verify(executeSpec).bind("storeId", "STORE_001");
+        verify(executeSpec).bind("productId", "PROD_0001");
+        verify(reactiveRedisTemplate).execute(any(RedisScript.class), eq(List.of(CACHE_KEY, "{" + CACHE_KEY + "}:v")),
+                eq(List.of(response.getData(), 4L, 300000L, 0)));
+        verify(nearCache).put(CACHE_KEY, response.getData());
+    }
+
+    @Test
+    @DisplayName("Cache miss - An escrow-split SKU should add escrowed stock and skip the cache")
+    void getInventory_escrowSplitSku_shouldNotCache() {
+        when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.empty());
+        stubReplica(row(40, 5, 12L));
+
+        InventoryResponse response = reader.getInventory("STORE_001", "PROD_0001").block();
+
+        assertThat(response.getData().getQuantity()).isEqualTo(52);
+        assertThat(response.getData().getAvailableQuantity()).isEqualTo(47);
+        verify(reactiveRedisTemplate, never()).execute(any(RedisScript.class), anyList(), anyList());
+        verify(nearCache, never()).put(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Cache miss - A put refused for an older version should leave the near cache alone")
+    void getInventory_olderReplicaRow_shouldNotFillNearCache() {
+        when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.empty());
+        stubCachePut(Flux.just(0L));
+        stubReplica(row(40, 5, 0L));
+
+        InventoryResponse response = reader.getInventory("STORE_001", "PROD_0001").block();
+
+        assertThat(response.getMessage()).isEqualTo("Retrieved from database");
+        verify(nearCache, never()).put(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Redis down - Should fall through to the replica and still answer")
+    void getInventory_redisDown_shouldServeFromReplica() {
+        when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+        stubCachePut(Flux.error(new RedisConnectionFailureException("down")));
+        stubReplica(row(10, 0, 0L));
+
+        InventoryResponse response = reader.getInventory("STORE_001", "PROD_0001").block();
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData().getQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Unknown product - Should return not found without caching")
+    void getInventory_unknownProduct_shouldReturnError() {
+        when(valueOperations.get(CACHE_KEY)).thenReturn(Mono.empty());
+        when(replicaDatabaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
+        doReturn(fetchSpec).when(executeSpec).map(any(BiFunction.class));
+        when(fetchSpec.one()).thenReturn(Mono.empty());
+
+        InventoryResponse response = reader.getInventory("STORE_001", "PROD_0001").block();
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).isEqualTo("Product not found in inventory");
+        verify(reactiveRedisTemplate, never()).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    private void stubCachePut(Flux<Long> result) {
+        doReturn(result).when(reactiveRedisTemplate).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    // Runs the reader's own row mapping against the mocked row
+    @SuppressWarnings("unchecked")
+    private void stubReplica(Row row) {
+        when(replicaDatabaseClient.sql(anyString())).thenReturn(executeSpec);
+        when(executeSpec.bind(anyString(), any())).thenReturn(executeSpec);
+        doAnswer(invocation -> {
+            BiFunction<Row, RowMetadata, Tuple2<InventoryData, Boolean>> mapper = invocation.getArgument(0);
+            when(fetchSpec.one()).thenReturn(Mono.fromSupplier(() -> mapper.apply(row, null)));
+            return fetchSpec;
+        }).when(executeSpec).map(any(BiFunction.class));
+    }
+
+    private Row row(int quantity, int reserved, long escrowed) {
+        Row row = mock(Row.class);
+        when(row.get("store_id", String.class)).thenReturn("STORE_001");
+        when(row.get("product_id", String.class)).thenReturn("PROD_0001");
+        when(row.get("quantity", Integer.class)).thenReturn(quantity);
+        when(row.get("reserved_quantity", Integer.class)).thenReturn(reserved);
+        when(row.get("escrowed", Long.class)).thenReturn(escrowed);
+        when(row.get("last_updated", LocalDateTime.class)).thenReturn(LocalDateTime.now());
+        when(row.get("version", Long.class)).thenReturn(4L);
+        when(row.get("escrow_slots", Integer.class)).thenReturn(escrowed > 0 ? 4 : 0);
+        return row;
+    }
+}
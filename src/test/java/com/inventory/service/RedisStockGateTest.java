@@ -0,0 +1,208 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryKey;
+import com.inventory.api.InventoryDTOs.InventoryResponse;
+import com.inventory.api.InventoryDTOs.SellRequest;
+import com.inventory.config.InventoryProperties;
+import com.inventory.config.InventoryProperties.SaleMode;
+import com.inventory.model.InventoryEvent;
+import com.inventory.model.Product;
+import com.inventory.repository.InventoryEventRepository;
+import com.inventory.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisStockGate Tests")
+class RedisStockGateTest {
+
+    private static final String STORE_ID = "STORE_001";
+    private static final String PRODUCT_ID = "PROD_0001";
+    private static final String STREAM = "gate:stream";
+    private static final List<String> SNAPSHOT_KEYS =
+            List.of("gate:stock:{STORE_001:PROD_0001}", "gate:pending:{STORE_001:PROD_0001}");
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private InventoryEventRepository eventRepository;
+
+    @Mock
+    private InventoryCache inventoryCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RedisStockGate gate;
+
+    @BeforeEach
+    void setUp() {
+        InventoryProperties properties = new InventoryProperties();
+        properties.getSale().setMode(SaleMode.REDIS);
+        meterRegistry = new SimpleMeterRegistry();
+        gate = new RedisStockGate(stringRedisTemplate, productRepository, eventRepository, inventoryCache,
+                transactionManager, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Sell - Accepted decrement should return the counter before and after")
+    void sell_enoughStock_shouldReturnCounterValues() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(),
+                eq("3"), eq("evt-1"), eq(STORE_ID), eq(PRODUCT_ID), eq("SALE")))
+                .thenReturn(List.of(1L, 10L, 7L));
+
+        InventoryResponse response = gate.sell(sale(3), "evt-1");
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData().getQuantityBefore()).isEqualTo(10);
+        assertThat(response.getData().getQuantity()).isEqualTo(7);
+        assertThat(response.getData().getEventId()).isEqualTo("evt-1");
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Sell - Rejected decrement should report the counter as available stock")
+    void sell_insufficientStock_shouldReturnError() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(),
+                eq("30"), eq("evt-1"), eq(STORE_ID), eq(PRODUCT_ID), eq("SALE")))
+                .thenReturn(List.of(0L, 10L));
+
+        InventoryResponse response = gate.sell(sale(30), "evt-1");
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).isEqualTo("Insufficient stock. Available: 10, Requested: 30");
+    }
+
+    @Test
+    @DisplayName("Sell - Unseeded SKU should be seeded from the database before the decrement")
+    void sell_unseededSku_shouldRebuildThenApply() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(),
+                eq("3"), eq("evt-1"), eq(STORE_ID), eq(PRODUCT_ID), eq("SALE")))
+                .thenReturn(List.of(-1L), List.of(1L, 50L, 47L));
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(SNAPSHOT_KEYS)))
+                .thenReturn(List.of("", "0"));
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(Product.builder().storeId(STORE_ID).productId(PRODUCT_ID).quantity(50).build()));
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), eq("0"), eq("50"))).thenReturn(1L);
+
+        InventoryResponse response = gate.sell(sale(3), "evt-1");
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData().getQuantity()).isEqualTo(47);
+    }
+
+    @Test
+    @DisplayName("Reconcile - Batch should apply one net delta per SKU and skip already applied events")
+    @SuppressWarnings("unchecked")
+    void applyBatch_entries_shouldApplyNetDeltaOnce() {
+        when(stringRedisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(eventRepository.findExistingEventIds(anyCollection())).thenReturn(List.of("evt-2"));
+        when(productRepository.addToBase(STORE_ID, PRODUCT_ID, -5)).thenReturn(1);
+
+        gate.applyBatch(List.of(
+                record("1-0", "evt-1", "SALE", -2, 10, 8),
+                record("2-0", "evt-2", "SALE", -1, 8, 7),
+                record("3-0", "evt-3", "SALE", -3, 7, 4)
+        ));
+
+        verify(productRepository, times(1)).addToBase(STORE_ID, PRODUCT_ID, -5);
+        verify(eventRepository, times(1)).saveAll(argThat(events -> {
+            List<InventoryEvent> list = (List<InventoryEvent>) events;
+            return list.size() == 2
+                    && "evt-1".equals(list.get(0).getEventId())
+                    && "evt-3".equals(list.get(1).getEventId())
+                    && list.get(1).getQuantityAfter() == 4;
+        }));
+        verify(hashOperations, times(1)).delete("gate:pending:{STORE_001:PROD_0001}", "evt-1", "evt-2", "evt-3");
+        verify(streamOperations, times(1)).acknowledge(eq(STREAM), eq("reconciler"), any(RecordId[].class));
+        verify(streamOperations, times(1)).delete(eq(STREAM), any(RecordId[].class));
+        verify(inventoryCache, times(1)).refreshAfterCommit(List.of(new InventoryKey(STORE_ID, PRODUCT_ID)));
+    }
+
+    @Test
+    @DisplayName("Drift - Counter that disagrees with database plus unreconciled entries should be counted")
+    void checkDrift_mismatch_shouldIncrementDriftCounter() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(SNAPSHOT_KEYS)))
+                .thenReturn(List.of("90", "5", "evt-9", "-3"));
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(Product.builder().storeId(STORE_ID).productId(PRODUCT_ID).quantity(100).build()));
+        when(eventRepository.findExistingEventIds(anyCollection())).thenReturn(List.of());
+
+        Optional<Integer> drift = gate.checkDrift(STORE_ID, PRODUCT_ID);
+
+        assertThat(drift).contains(-7);
+        assertThat(meterRegistry.counter("inventory.gate.drift").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Drift - Entries already applied to the database should not be counted twice")
+    void checkDrift_appliedEntry_shouldReportNoDrift() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), eq(SNAPSHOT_KEYS)))
+                .thenReturn(List.of("97", "5", "evt-9", "-3"));
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID))
+                .thenReturn(Optional.of(Product.builder().storeId(STORE_ID).productId(PRODUCT_ID).quantity(97).build()));
+        when(eventRepository.findExistingEventIds(anyCollection())).thenAnswer(inv -> {
+            Collection<String> ids = inv.getArgument(0);
+            return List.copyOf(ids);
+        });
+
+        Optional<Integer> drift = gate.checkDrift(STORE_ID, PRODUCT_ID);
+
+        assertThat(drift).contains(0);
+        assertThat(meterRegistry.counter("inventory.gate.drift").count()).isZero();
+    }
+
+    private SellRequest sale(int quantity) {
+        return SellRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(quantity)
+                .build();
+    }
+
+    private MapRecord<String, Object, Object> record(String id, String eventId, String type,
+                                                     int delta, int before, int after) {
+        Map<Object, Object> fields = Map.of(
+                "eventId", eventId,
+                "storeId", STORE_ID,
+                "productId", PRODUCT_ID,
+                "type", type,
+                "delta", String.valueOf(delta),
+                "before", String.valueOf(before),
+                "after", String.valueOf(after));
+        return MapRecord.<String, Object, Object>create(STREAM, fields).withId(RecordId.of(id));
+    }
+}
@@ -0,0 +1,271 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryKey;
+import com.inventory.api.InventoryDTOs.ReservationResponse;
+import com.inventory.api.InventoryDTOs.ReserveRequest;
+import com.inventory.config.InventoryProperties;
+import com.inventory.model.InventoryEvent;
+import com.inventory.model.Product;
+import com.inventory.model.StockReservation;
+import com.inventory.repository.ProductRepository;
+import com.inventory.repository.StockChange;
+import com.inventory.repository.StockReservationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReservationService Tests")
+class ReservationServiceTest {
+
+    private static final String STORE_ID = "STORE_001";
+    private static final String PRODUCT_ID = "PROD_0001";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockReservationRepository reservationRepository;
+
+    @Mock
+    private EventWriter eventWriter;
+
+    @Mock
+    private InventoryCache inventoryCache;
+
+    @Mock
+    private LedgerEngine ledgerEngine;
+
+    @Mock
+    private HotSkuEscrow hotSkuEscrow;
+
+    @Mock
+    private RedisStockGate redisStockGate;
+
+    @Spy
+    private InventoryProperties inventoryProperties = new InventoryProperties();
+
+    @InjectMocks
+    private ReservationService reservationService;
+
+    @Test
+    @DisplayName("Reserve - Should hold stock with a single guarded update and record the hold")
+    void reserve_availableStock_shouldHold() {
+        ReserveRequest request = ReserveRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(2)
+                .ttlSeconds(60)
+                .build();
+
+        when(productRepository.reserveIfAvailable(STORE_ID, PRODUCT_ID, 2)).thenReturn(1);
+        when(reservationRepository.save(any(StockReservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ReservationResponse response = reservationService.reserve(request);
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData().getReservationId()).isNotBlank();
+        assertThat(response.getData().getStatus()).isEqualTo("HELD");
+        assertThat(response.getData().getExpiresAt())
+                .isBetween(LocalDateTime.now().plusSeconds(50), LocalDateTime.now().plusSeconds(61));
+        verify(productRepository, never()).findByStoreIdAndProductIdWithLock(anyString(), anyString());
+        verify(inventoryCache, times(1)).refreshAfterCommit(List.of(new InventoryKey(STORE_ID, PRODUCT_ID)));
+    }
+
+    @Test
+    @DisplayName("Reserve - TTL should be capped at the configured maximum")
+    void reserve_excessiveTtl_shouldBeCapped() {
+        ReserveRequest request = ReserveRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(1)
+                .ttlSeconds(86_400)
+                .build();
+
+        when(productRepository.reserveIfAvailable(STORE_ID, PRODUCT_ID, 1)).thenReturn(1);
+        when(reservationRepository.save(any(StockReservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ReservationResponse response = reservationService.reserve(request);
+
+        assertThat(response.getData().getExpiresAt()).isBefore(LocalDateTime.now().plusHours(1).plusSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Reserve - Insufficient available stock should return error")
+    void reserve_insufficientStock_shouldReturnError() {
+        ReserveRequest request = ReserveRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(50)
+                .build();
+        Product product = Product.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(100)
+                .reservedQuantity(70)
+                .build();
+
+        when(productRepository.reserveIfAvailable(STORE_ID, PRODUCT_ID, 50)).thenReturn(0);
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID)).thenReturn(Optional.of(product));
+
+        ReservationResponse response = reservationService.reserve(request);
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).isEqualTo("Insufficient stock. Available: 30, Requested: 50");
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Reserve - Escrowed SKU should pull stock back from its slots before reserving")
+    void reserve_escrowedSku_shouldMoveStockToBase() {
+        ReserveRequest request = ReserveRequest.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(5)
+                .build();
+        Product product = Product.builder()
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(0)
+                .escrowSlots(4)
+                .build();
+
+        when(productRepository.reserveIfAvailable(STORE_ID, PRODUCT_ID, 5)).thenReturn(0, 1);
+        when(productRepository.findByStoreIdAndProductId(STORE_ID, PRODUCT_ID)).thenReturn(Optional.of(product));
+        when(hotSkuEscrow.moveToBase(STORE_ID, PRODUCT_ID, 5)).thenReturn(true);
+        when(reservationRepository.save(any(StockReservation.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        ReservationResponse response = reservationService.reserve(request);
+
+        assertThat(response.isSuccess()).isTrue();
+        verify(hotSkuEscrow, times(1)).moveToBase(STORE_ID, PRODUCT_ID, 5);
+        verify(productRepository, times(2)).reserveIfAvailable(STORE_ID, PRODUCT_ID, 5);
+    }
+
+    @Test
+    @DisplayName("Confirm - Held reservation should consume reserved stock and log a sale")
+    void confirm_heldReservation_shouldConsumeStock() {
+        StockReservation reservation = reservation("HELD", LocalDateTime.now().plusMinutes(5));
+        StockChange change = mock(StockChange.class);
+        when(change.getQuantityBefore()).thenReturn(100);
+        when(change.getQuantityAfter()).thenReturn(98);
+        when(reservationRepository.findByReservationIdWithLock("res-1")).thenReturn(Optional.of(reservation));
+        when(productRepository.consumeReserved(STORE_ID, PRODUCT_ID, 2)).thenReturn(Optional.of(change));
+
+        ReservationResponse response = reservationService.confirm("res-1");
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(reservation.getStatus()).isEqualTo("CONFIRMED");
+        verify(eventWriter, times(1)).write(argThat((InventoryEvent event) ->
+                "SALE".equals(event.getEventType())
+                        && "res-1".equals(event.getEventId())
+                        && event.getQuantityAfter() == 98));
+    }
+
+    @Test
+    @DisplayName("Confirm - Expired reservation should be released instead")
+    void confirm_expiredReservation_shouldRelease() {
+        StockReservation reservation = reservation("HELD", LocalDateTime.now().minusSeconds(1));
+        when(reservationRepository.findByReservationIdWithLock("res-1")).thenReturn(Optional.of(reservation));
+        when(productRepository.releaseReserved(STORE_ID, PRODUCT_ID, 2)).thenReturn(1);
+
+        ReservationResponse response = reservationService.confirm("res-1");
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).isEqualTo("Reservation has expired");
+        assertThat(reservation.getStatus()).isEqualTo("EXPIRED");
+        verify(productRepository, times(1)).releaseReserved(STORE_ID, PRODUCT_ID, 2);
+        verify(productRepository, never()).consumeReserved(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Release - Held reservation should return stock to the pool")
+    void release_heldReservation_shouldReleaseStock() {
+        StockReservation reservation = reservation("HELD", LocalDateTime.now().plusMinutes(5));
+        when(reservationRepository.findByReservationIdWithLock("res-1")).thenReturn(Optional.of(reservation));
+        when(productRepository.releaseReserved(STORE_ID, PRODUCT_ID, 2)).thenReturn(1);
+
+        ReservationResponse response = reservationService.release("res-1");
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(reservation.getStatus()).isEqualTo("RELEASED");
+        verify(productRepository, times(1)).releaseReserved(STORE_ID, PRODUCT_ID, 2);
+    }
+
+    @Test
+    @DisplayName("Release - A hold the row no longer carries should return an error and stay HELD")
+    void release_reservedStockMissing_shouldReturnError() {
+        StockReservation reservation = reservation("HELD", LocalDateTime.now().plusMinutes(5));
+        when(reservationRepository.findByReservationIdWithLock("res-1")).thenReturn(Optional.of(reservation));
+        when(productRepository.releaseReserved(STORE_ID, PRODUCT_ID, 2)).thenReturn(0);
+
+        ReservationResponse response = reservationService.release("res-1");
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).isEqualTo("Reserved stock is missing for reservation res-1");
+        assertThat(reservation.getStatus()).isEqualTo("HELD");
+        verifyNoInteractions(inventoryCache);
+    }
+
+    @Test
+    @DisplayName("Release - Already confirmed reservation should be rejected")
+    void release_confirmedReservation_shouldReturnError() {
+        StockReservation reservation = reservation("CONFIRMED", LocalDateTime.now().plusMinutes(5));
+        when(reservationRepository.findByReservationIdWithLock("res-1")).thenReturn(Optional.of(reservation));
+
+        ReservationResponse response = reservationService.release("res-1");
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).isEqualTo("Reservation is already CONFIRMED");
+        verify(productRepository, never()).releaseReserved(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Sweeper - Expired holds should be released in bulk, one update per SKU")
+    void releaseExpired_shouldReleasePerSku() {
+        StockReservation first = reservation("HELD", LocalDateTime.now().minusMinutes(1));
+        first.setId(1L);
+        StockReservation second = reservation("HELD", LocalDateTime.now().minusMinutes(1));
+        second.setId(2L);
+        second.setQuantity(3);
+        StockReservation other = reservation("HELD", LocalDateTime.now().minusMinutes(1));
+        other.setId(3L);
+        other.setProductId("PROD_0002");
+
+        when(reservationRepository.lockExpired(any(LocalDateTime.class), eq(500)))
+                .thenReturn(List.of(first, second, other));
+
+        reservationService.releaseExpired();
+
+        verify(productRepository, times(1)).releaseReserved(STORE_ID, PRODUCT_ID, 5);
+        verify(productRepository, times(1)).releaseReserved(STORE_ID, "PROD_0002", 2);
+        verify(reservationRepository, times(1))
+                .updateStatus(eq(List.of(1L, 2L, 3L)), eq("EXPIRED"), any(LocalDateTime.class));
+        verify(inventoryCache, times(1)).refreshAfterCommit(List.of(
+                new InventoryKey(STORE_ID, PRODUCT_ID), new InventoryKey(STORE_ID, "PROD_0002")));
+    }
+
+    private StockReservation reservation(String status, LocalDateTime expiresAt) {
+        return StockReservation.builder()
+                .reservationId("res-1")
+                .storeId(STORE_ID)
+                .productId(PRODUCT_ID)
+                .quantity(2)
+                .status(status)
+                .expiresAt(expiresAt)
+                .createdAt(LocalDateTime.now().minusMinutes(10))
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.inventory.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RingBuffer Tests")
+class RingBufferTest {
+
+    @Test
+    @DisplayName("Capacity should be rounded up to a power of two")
+    void capacity_shouldRoundUpToPowerOfTwo() {
+        assertThat(new RingBuffer<String>(1000).capacity()).isEqualTo(1024);
+        assertThat(new RingBuffer<String>(1).capacity()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Items should be polled in FIFO order and offers rejected when full")
+    void offerAndPoll_shouldBeFifoAndBounded() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(i)).isTrue();
+        }
+        assertThat(ring.offer(99)).isFalse();
+        assertThat(ring.size()).isEqualTo(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.poll()).isEqualTo(i);
+        }
+        assertThat(ring.poll()).isNull();
+        assertThat(ring.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Concurrent producers should never lose or duplicate items")
+    void offer_concurrentProducers_shouldDeliverEveryItem() throws Exception {
+        RingBuffer<Integer> ring = new RingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        List<Integer> received = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+            Integer item = ring.poll();
+            if (item != null) {
+                received.add(item);
+            }
+        }
+        executor.shutdownNow();
+
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(received).doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,157 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryResponse;
+import com.inventory.api.InventoryDTOs.SellRequest;
+import com.inventory.config.InventoryProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SaleCoalescer Tests")
+class SaleCoalescerTest {
+
+    private static final String KEY = "inventory:STORE_001:PROD_0001";
+
+    private InventoryProperties properties;
+    private SaleCoalescer coalescer;
+    private ExecutorService callers;
+    private List<List<SellRequest>> appliedBatches;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InventoryProperties();
+        properties.getCoalescing().setWindow(Duration.ofMillis(200));
+        coalescer = new SaleCoalescer(properties);
+        callers = Executors.newFixedThreadPool(4);
+        appliedBatches = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        coalescer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Concurrent sales of one SKU should be applied as one batch and answered individually")
+    void submit_concurrentSales_shouldApplyOneBatch() throws Exception {
+        List<Future<InventoryResponse>> futures = new ArrayList<>();
+        for (int qty = 1; qty <= 4; qty++) {
+            SellRequest request = sale("PROD_0001", qty);
+            futures.add(callers.submit(() -> coalescer.submit(KEY, request, echoApplier())));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            InventoryResponse response = futures.get(i).get(5, TimeUnit.SECONDS);
+            assertThat(response.getMessage()).isEqualTo("qty=" + (i + 1));
+        }
+
+        assertThat(appliedBatches).hasSize(1);
+        assertThat(appliedBatches.get(0)).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Different SKUs should never share a batch")
+    void submit_differentKeys_shouldUseSeparateBatches() throws Exception {
+        Future<InventoryResponse> first = callers.submit(() ->
+                coalescer.submit(KEY, sale("PROD_0001", 1), echoApplier()));
+        Future<InventoryResponse> second = callers.submit(() ->
+                coalescer.submit("inventory:STORE_001:PROD_0002", sale("PROD_0002", 2), echoApplier()));
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getMessage()).isEqualTo("qty=1");
+        assertThat(second.get(5, TimeUnit.SECONDS).getMessage()).isEqualTo("qty=2");
+        assertThat(appliedBatches).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("A full batch should be flushed without waiting for the window")
+    void submit_fullBatch_shouldFlushImmediately() {
+        properties.getCoalescing().setWindow(Duration.ofSeconds(30));
+        properties.getCoalescing().setMaxBatchSize(1);
+
+        long start = System.nanoTime();
+        InventoryResponse response = coalescer.submit(KEY, sale("PROD_0001", 3), echoApplier());
+
+        assertThat(response.getMessage()).isEqualTo("qty=3");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("A failing batch should surface the error to every caller")
+    void submit_applierFails_shouldPropagateToCaller() {
+        properties.getCoalescing().setWindow(Duration.ofMillis(1));
+
+        assertThatThrownBy(() -> coalescer.submit(KEY, sale("PROD_0001", 1), requests -> {
+            throw new IllegalStateException("database unavailable");
+        }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("database unavailable");
+    }
+
+    @Test
+    @DisplayName("A sale that timed out before its batch flushed should not be applied")
+    void submit_timedOutBeforeFlush_shouldNotApply() throws Exception {
+        properties.getCoalescing().setWindow(Duration.ofMillis(300));
+        properties.getCoalescing().setTimeout(Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> coalescer.submit(KEY, sale("PROD_0001", 1), echoApplier()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Timed out");
+
+        Thread.sleep(600);
+        assertThat(appliedBatches).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A sale its batch already took should report the batch outcome, however long it runs")
+    void submit_timedOutAfterClaim_shouldWaitForResult() {
+        properties.getCoalescing().setWindow(Duration.ofMillis(1));
+        properties.getCoalescing().setTimeout(Duration.ofMillis(50));
+        Function<List<SellRequest>, List<InventoryResponse>> slowApplier = requests -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return echoApplier().apply(requests);
+        };
+
+        InventoryResponse response = coalescer.submit(KEY, sale("PROD_0001", 2), slowApplier);
+
+        assertThat(response.getMessage()).isEqualTo("qty=2");
+        assertThat(appliedBatches).hasSize(1);
+    }
+
+    private Function<List<SellRequest>, List<InventoryResponse>> echoApplier() {
+        return requests -> {
+            appliedBatches.add(requests);
+            List<InventoryResponse> responses = new ArrayList<>();
+            for (SellRequest request : requests) {
+                responses.add(InventoryResponse.success("qty=" + request.getQuantity(), null));
+            }
+            return responses;
+        };
+    }
+
+    private SellRequest sale(String productId, int quantity) {
+        return SellRequest.builder()
+                .storeId("STORE_001")
+                .productId(productId)
+                .quantity(quantity)
+                .build();
+    }
+}
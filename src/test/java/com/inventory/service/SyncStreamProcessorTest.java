@@ -0,0 +1,145 @@
+package com.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.inventory.api.InventoryDTOs.SyncChunkResult;
+import com.inventory.api.InventoryDTOs.SyncRequest;
+import com.inventory.api.InventoryDTOs.SyncResponse;
+import com.inventory.config.InventoryProperties;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SyncStreamProcessor Tests")
+class SyncStreamProcessorTest {
+
+    private static final String STORE_ID = "STORE_001";
+
+    @Mock
+    private InventoryService inventoryService;
+
+    private ObjectMapper objectMapper;
+    private InventoryProperties properties;
+    private SyncStreamProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        properties = new InventoryProperties();
+        properties.getSync().setStreamChunkSize(2);
+        processor = new SyncStreamProcessor(inventoryService, objectMapper, validator, properties);
+    }
+
+    @Test
+    @DisplayName("Process - Operations should be applied in chunks with one result line per chunk")
+    void process_validStream_shouldApplyEachChunk() throws Exception {
+        when(inventoryService.processBatchSync(any(SyncRequest.class)))
+                .thenAnswer(inv -> succeeded(((SyncRequest) inv.getArgument(0)).getOperations().size()));
+
+        List<SyncChunkResult> results = process(
+                sale("PROD_0001", 1) + sale("PROD_0002", 2) + "\n" + sale("PROD_0003", 3));
+
+        ArgumentCaptor<SyncRequest> requests = ArgumentCaptor.forClass(SyncRequest.class);
+        verify(inventoryService, times(2)).processBatchSync(requests.capture());
+        assertThat(requests.getAllValues().get(0).getOperations()).hasSize(2);
+        assertThat(requests.getAllValues().get(1).getOperations())
+                .extracting("productId").containsExactly("PROD_0003");
+        assertThat(requests.getAllValues()).extracting(SyncRequest::getStoreId).containsOnly(STORE_ID);
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).getType()).isEqualTo("CHUNK");
+        assertThat(results.get(1).getFirstLine()).isEqualTo(3L);
+        assertThat(results.get(2).getType()).isEqualTo("SUMMARY");
+        assertThat(results.get(2).getSuccessCount()).isEqualTo(3);
+        assertThat(results.get(2).getChunk()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Process - Invalid lines should be reported as failures without reaching the service")
+    void process_invalidOperation_shouldCountAsFailure() throws Exception {
+        when(inventoryService.processBatchSync(any(SyncRequest.class))).thenReturn(succeeded(1));
+
+        List<SyncChunkResult> results = process(
+                "{\"productId\":\"PROD_0001\",\"type\":\"SALE\"}\n" + sale("PROD_0002", 1));
+
+        assertThat(results.get(0).getSuccessCount()).isEqualTo(1);
+        assertThat(results.get(0).getFailureCount()).isEqualTo(1);
+        assertThat(results.get(0).getErrors()).containsExactly("Line 1: delta must not be null");
+    }
+
+    @Test
+    @DisplayName("Process - Malformed JSON should stop the stream after the chunks already committed")
+    void process_malformedLine_shouldAbort() throws Exception {
+        when(inventoryService.processBatchSync(any(SyncRequest.class))).thenReturn(succeeded(2));
+
+        List<SyncChunkResult> results = process(
+                sale("PROD_0001", 1) + sale("PROD_0002", 1) + "{broken\n" + sale("PROD_0003", 1));
+
+        verify(inventoryService, times(1)).processBatchSync(any(SyncRequest.class));
+        SyncChunkResult summary = results.get(results.size() - 1);
+        assertThat(summary.getType()).isEqualTo("SUMMARY");
+        assertThat(summary.getSuccessCount()).isEqualTo(2);
+        assertThat(summary.getMessage()).startsWith("Stream aborted - Malformed JSON after line 2");
+    }
+
+    @Test
+    @DisplayName("Process - A chunk that rolls back should fail its lines and let later chunks run")
+    void process_chunkThrows_shouldContinue() throws Exception {
+        when(inventoryService.processBatchSync(any(SyncRequest.class)))
+                .thenThrow(new IllegalStateException("deadlock detected"))
+                .thenReturn(succeeded(1));
+
+        List<SyncChunkResult> results = process(
+                sale("PROD_0001", 1) + sale("PROD_0002", 1) + sale("PROD_0003", 1));
+
+        assertThat(results.get(0).getFailureCount()).isEqualTo(2);
+        assertThat(results.get(0).getErrors()).containsExactly("Chunk 0 rolled back: deadlock detected");
+        assertThat(results.get(1).getSuccessCount()).isEqualTo(1);
+        assertThat(results.get(2).getFailureCount()).isEqualTo(2);
+    }
+
+    private List<SyncChunkResult> process(String body) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        processor.process(STORE_ID, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), output);
+
+        List<SyncChunkResult> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, SyncChunkResult.class));
+        }
+        return results;
+    }
+
+    private String sale(String productId, int quantity) {
+        return String.format("{\"productId\":\"%s\",\"delta\":%d,\"type\":\"SALE\"}%n", productId, -quantity);
+    }
+
+    private SyncResponse succeeded(int count) {
+        return SyncResponse.builder()
+                .success(true)
+                .message("Batch sync completed")
+                .successCount(count)
+                .failureCount(0)
+                .errors(new ArrayList<>())
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
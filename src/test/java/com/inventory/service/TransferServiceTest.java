@@ -0,0 +1,250 @@
+package com.inventory.service;
+
+import com.inventory.api.InventoryDTOs.InventoryKey;
+import com.inventory.api.InventoryDTOs.TransferData;
+import com.inventory.api.InventoryDTOs.TransferRequest;
+import com.inventory.api.InventoryDTOs.TransferResponse;
+import com.inventory.model.InventoryEvent;
+import com.inventory.model.Product;
+import com.inventory.repository.InventoryEventRepository;
+import com.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransferService Tests")
+class TransferServiceTest {
+
+    private static final String FROM_STORE = "STORE_002";
+    private static final String TO_STORE = "STORE_001";
+    private static final String PRODUCT_ID = "PROD_0001";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private InventoryEventRepository eventRepository;
+
+    @Mock
+    private EventWriter eventWriter;
+
+    @Mock
+    private InventoryCache inventoryCache;
+
+    @Mock
+    private LedgerEngine ledgerEngine;
+
+    @Mock
+    private RedisStockGate redisStockGate;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @InjectMocks
+    private TransferService transferService;
+
+    @Test
+    @DisplayName("Transfer - Should move stock, write paired events and invalidate both keys at once")
+    void transfer_availableStock_shouldMoveQuantity() {
+        Product source = product(FROM_STORE, 30);
+        Product target = product(TO_STORE, 5);
+        when(productRepository.findByStoreIdAndProductIdWithLock(FROM_STORE, PRODUCT_ID)).thenReturn(Optional.of(source));
+        when(productRepository.findByStoreIdAndProductIdWithLock(TO_STORE, PRODUCT_ID)).thenReturn(Optional.of(target));
+
+        TransferResponse response = transferService.transfer(request(10, "move-1"));
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData().getFromQuantityAfter()).isEqualTo(20);
+        assertThat(response.getData().getToQuantityAfter()).isEqualTo(15);
+        assertThat(source.getQuantity()).isEqualTo(20);
+        assertThat(target.getQuantity()).isEqualTo(15);
+
+        List<InventoryEvent> events = writtenEvents();
+        assertThat(events).extracting(InventoryEvent::getEventId).containsExactly("move-1:out", "move-1:in");
+        assertThat(events).extracting(InventoryEvent::getEventType).containsExactly("TRANSFER_OUT", "TRANSFER_IN");
+        assertThat(events).extracting(InventoryEvent::getQuantityDelta).containsExactly(-10, 10);
+
+        verify(inventoryCache, times(1)).refreshAfterCommit(List.of(
+                new InventoryKey("STORE_002", "PROD_0001"), new InventoryKey("STORE_001", "PROD_0001")));
+    }
+
+    @Test
+    @DisplayName("Transfer - Rows should be locked in store order whatever the direction")
+    void transfer_anyDirection_shouldLockInStoreOrder() {
+        when(productRepository.findByStoreIdAndProductIdWithLock(anyString(), eq(PRODUCT_ID)))
+                .thenAnswer(inv -> Optional.of(product(inv.getArgument(0), 30)));
+
+        transferService.transfer(request(1, null));
+
+        InOrder order = inOrder(productRepository);
+        order.verify(productRepository).findByStoreIdAndProductIdWithLock(TO_STORE, PRODUCT_ID);
+        order.verify(productRepository).findByStoreIdAndProductIdWithLock(FROM_STORE, PRODUCT_ID);
+    }
+
+    @Test
+    @DisplayName("Transfer - Missing destination row should be created")
+    void transfer_newDestination_shouldCreateRow() {
+        when(productRepository.findByStoreIdAndProductIdWithLock(FROM_STORE, PRODUCT_ID))
+                .thenReturn(Optional.of(product(FROM_STORE, 30)));
+        when(productRepository.findByStoreIdAndProductIdWithLock(TO_STORE, PRODUCT_ID)).thenReturn(Optional.empty());
+        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TransferResponse response = transferService.transfer(request(10, null));
+
+        assertThat(response.getData().getToQuantityBefore()).isZero();
+        assertThat(response.getData().getToQuantityAfter()).isEqualTo(10);
+        verify(productRepository, times(1)).save(argThat(product -> TO_STORE.equals(product.getStoreId())));
+    }
+
+    @Test
+    @DisplayName("Transfer - Insufficient available stock should leave both rows untouched")
+    void transfer_insufficientStock_shouldReturnError() {
+        Product source = product(FROM_STORE, 10);
+        source.setReservedQuantity(8);
+        when(productRepository.findByStoreIdAndProductIdWithLock(FROM_STORE, PRODUCT_ID)).thenReturn(Optional.of(source));
+        when(productRepository.findByStoreIdAndProductIdWithLock(TO_STORE, PRODUCT_ID))
+                .thenReturn(Optional.of(product(TO_STORE, 0)));
+
+        TransferResponse response = transferService.transfer(request(5, "move-1"));
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).isEqualTo("Insufficient stock. Available: 2, Requested: 5");
+        assertThat(source.getQuantity()).isEqualTo(10);
+        verify(eventWriter, times(1)).write(argThat(event ->
+                "FAILED".equals(event.getStatus()) && !"move-1:out".equals(event.getEventId())));
+        verify(eventWriter, never()).writeAllDurable(anyList());
+        verifyNoInteractions(inventoryCache);
+    }
+
+    @Test
+    @DisplayName("Transfer - A replayed idempotency key should return the stored response without locking")
+    void transfer_replayedKey_shouldReturnStoredResponse() {
+        TransferResponse stored = TransferResponse.success("Transfer completed",
+                TransferData.builder().transferId("move-1").fromQuantityAfter(25).toQuantityAfter(5).build());
+        when(idempotencyService.begin(eq("move-1"), eq(TransferResponse.class), any(), any()))
+                .thenReturn(Optional.of(stored));
+
+        TransferResponse response = transferService.transfer(request(5, "move-1"));
+
+        assertThat(response).isSameAs(stored);
+        verifyNoInteractions(productRepository, eventWriter);
+        verify(idempotencyService, never()).complete(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Transfer - A transfer found committed under the row locks should be answered from its events")
+    void transfer_committedUnderLock_shouldReplayFromEventLog() {
+        Product source = product(FROM_STORE, 25);
+        when(productRepository.findByStoreIdAndProductIdWithLock(FROM_STORE, PRODUCT_ID)).thenReturn(Optional.of(source));
+        when(productRepository.findByStoreIdAndProductIdWithLock(TO_STORE, PRODUCT_ID))
+                .thenReturn(Optional.of(product(TO_STORE, 5)));
+        when(eventRepository.findByEventIdIn(List.of("move-1:out", "move-1:in"))).thenReturn(List.of(
+                event("move-1:in", TO_STORE, 5, 0, 5),
+                event("move-1:out", FROM_STORE, -5, 30, 25)));
+
+        TransferResponse response = transferService.transfer(request(5, "move-1"));
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData().getTransferId()).isEqualTo("move-1");
+        assertThat(response.getData().getQuantity()).isEqualTo(5);
+        assertThat(response.getData().getFromQuantityBefore()).isEqualTo(30);
+        assertThat(response.getData().getFromQuantityAfter()).isEqualTo(25);
+        assertThat(response.getData().getToStoreId()).isEqualTo(TO_STORE);
+        assertThat(response.getData().getToQuantityAfter()).isEqualTo(5);
+        assertThat(source.getQuantity()).isEqualTo(25);
+        verifyNoInteractions(eventWriter);
+        verify(idempotencyService).complete("move-1", response);
+    }
+
+    @Test
+    @DisplayName("Transfer - A failure should release the idempotency key")
+    void transfer_failure_shouldAbandonKey() {
+        when(productRepository.findByStoreIdAndProductIdWithLock(anyString(), eq(PRODUCT_ID)))
+                .thenThrow(new IllegalStateException("lock timeout"));
+
+        assertThatThrownBy(() -> transferService.transfer(request(5, "move-1"))).hasMessage("lock timeout");
+
+        verify(idempotencyService).abandon("move-1");
+        verify(idempotencyService, never()).complete(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Transfer - Same source and destination should be rejected before locking")
+    void transfer_sameStore_shouldReturnError() {
+        TransferRequest request = request(5, null);
+        request.setToStoreId(FROM_STORE);
+
+        TransferResponse response = transferService.transfer(request);
+
+        assertThat(response.getMessage()).isEqualTo("Source and destination stores must differ");
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Transfer - Escrow-split products should be rejected")
+    void transfer_escrowSplitSource_shouldReturnError() {
+        Product source = product(FROM_STORE, 30);
+        source.setEscrowSlots(8);
+        when(productRepository.findByStoreIdAndProductIdWithLock(FROM_STORE, PRODUCT_ID)).thenReturn(Optional.of(source));
+        when(productRepository.findByStoreIdAndProductIdWithLock(TO_STORE, PRODUCT_ID)).thenReturn(Optional.empty());
+
+        TransferResponse response = transferService.transfer(request(5, null));
+
+        assertThat(response.getMessage()).isEqualTo("Transfers are not available for escrow-split products");
+        verifyNoInteractions(eventWriter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<InventoryEvent> writtenEvents() {
+        ArgumentCaptor<List<InventoryEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventWriter).writeAllDurable(events.capture());
+        return events.getValue();
+    }
+
+    private TransferRequest request(int quantity, String idempotencyKey) {
+        return TransferRequest.builder()
+                .fromStoreId(FROM_STORE)
+                .toStoreId(TO_STORE)
+                .productId(PRODUCT_ID)
+                .quantity(quantity)
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+
+    private InventoryEvent event(String eventId, String storeId, int delta, int before, int after) {
+        return InventoryEvent.builder()
+                .eventId(eventId)
+                .eventType(delta < 0 ? "TRANSFER_OUT" : "TRANSFER_IN")
+                .status("SUCCESS")
+                .storeId(storeId)
+                .productId(PRODUCT_ID)
+                .quantityDelta(delta)
+                .quantityBefore(before)
+                .quantityAfter(after)
+                .build();
+    }
+
+    private Product product(String storeId, int quantity) {
+        return Product.builder()
+                .storeId(storeId)
+                .productId(PRODUCT_ID)
+                .quantity(quantity)
+                .reservedQuantity(0)
+                .escrowSlots(0)
+                .build();
+    }
+}